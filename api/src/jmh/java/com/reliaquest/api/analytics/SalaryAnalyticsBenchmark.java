@@ -0,0 +1,51 @@
+package com.reliaquest.api.analytics;
+
+import com.reliaquest.api.store.EmployeeColumns;
+import com.reliaquest.api.store.EmployeeFixtures;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Sequential scan against fork-join partition-and-merge for the by-title aggregation, across dataset sizes. The
+ * size where {@code parallel} overtakes {@code sequential} on the target hardware is the value to use for
+ * {@code analytics.parallel-threshold}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SalaryAnalyticsBenchmark {
+
+    @Param({"1000", "10000", "50000", "100000", "1000000"})
+    int size;
+
+    @Param({"8192"})
+    int leafSize;
+
+    private EmployeeColumns columns;
+    private SalaryAggregation sequential;
+    private SalaryAggregation parallel;
+
+    @Setup
+    public void setUp() {
+        this.columns = EmployeeColumns.of(EmployeeFixtures.employees(this.size, 42));
+        this.sequential = new SalaryAggregation(Integer.MAX_VALUE, this.leafSize);
+        this.parallel = new SalaryAggregation(0, this.leafSize);
+    }
+
+    @Benchmark
+    public SalaryAccumulator[] sequential() {
+        return this.sequential.aggregate(this.columns, this.columns.titleCount(), this.columns::titleCode);
+    }
+
+    @Benchmark
+    public SalaryAccumulator[] parallel() {
+        return this.parallel.aggregate(this.columns, this.columns.titleCount(), this.columns::titleCode);
+    }
+}
@@ -0,0 +1,65 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeSnapshot;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Client throughput against running mock server shards, given as {@code -Dmock-server.shard-urls}.
+ *
+ * <ul>
+ *   <li>{@code scatterGather}: the full list from every shard in parallel, revalidation state cleared first so
+ *       every shard sends its whole list.
+ *   <li>{@code revalidate}: the same with revalidation, i.e. one 304 per unchanged shard.
+ *   <li>{@code routedLookup}: by-id reads from eight threads, each sent to the owning shard only.
+ * </ul>
+ *
+ * <p>{@code scripts/shard-benchmark.sh} starts 1, 2, 4 and 8 shards holding the same total and runs this against
+ * each topology.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ShardedClientBenchmark {
+
+    private MockServerClient client;
+    private String[] ids;
+
+    @Setup
+    public void setUp() {
+        List<String> shardUrls =
+                Arrays.asList(System.getProperty("mock-server.shard-urls", "http://localhost:8112/api/v1/employee")
+                        .split(","));
+        this.client = new MockServerClient();
+        this.client.configureShards(shardUrls);
+        this.ids = this.client.getAllEmployees().stream().map(Employee::getId).toArray(String[]::new);
+    }
+
+    @Benchmark
+    public EmployeeSnapshot scatterGather() {
+        this.client.clearConditionalResponses();
+        return this.client.getEmployeeSnapshot();
+    }
+
+    @Benchmark
+    public EmployeeSnapshot revalidate() {
+        return this.client.getEmployeeSnapshot();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Employee routedLookup() {
+        return this.client.getEmployeeById(this.ids[ThreadLocalRandom.current().nextInt(this.ids.length)]);
+    }
+}
@@ -0,0 +1,78 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.reliaquest.api.model.DownstreamEmployeeDto;
+import com.reliaquest.api.store.EmployeeFixtures;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Parse time of the mock server's employee list, as the client parses it, per wire format: JSON text, Smile as the
+ * mock server writes it (shared field names and short string values) and CBOR, which has no back-references.
+ * The body size of each format, and of its gzip encoding, is printed at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class WireFormatBenchmark {
+
+    @Param({"json", "smile", "cbor"})
+    String format;
+
+    @Param({"100000"})
+    int size;
+
+    private ObjectMapper mapper;
+    private byte[] body;
+
+    @Setup
+    public void setUp() throws IOException {
+        this.mapper =
+                switch (this.format) {
+                    case "json" -> new ObjectMapper();
+                    case "smile" -> new ObjectMapper(SmileFactory.builder()
+                            .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                            .build());
+                    case "cbor" -> new ObjectMapper(new CBORFactory());
+                    default -> throw new IllegalArgumentException("Unknown format " + this.format);
+                };
+        this.body = this.mapper.writeValueAsBytes(Map.of(
+                "data", EmployeeFixtures.employees(this.size, 42), "status", "Successfully processed request."));
+        System.out.printf(
+                Locale.ROOT,
+                "%n%s: %,d employees in %,d bytes (%.1f B/employee), %,d bytes gzipped%n",
+                this.format,
+                this.size,
+                this.body.length,
+                (double) this.body.length / this.size,
+                gzippedLength(this.body));
+    }
+
+    @Benchmark
+    public DownstreamEmployeeDto parse() throws IOException {
+        return this.mapper.readValue(this.body, DownstreamEmployeeDto.class);
+    }
+
+    private static int gzippedLength(byte[] bytes) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(bytes);
+        }
+        return compressed.size();
+    }
+}
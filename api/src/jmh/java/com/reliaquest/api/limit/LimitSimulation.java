@@ -0,0 +1,168 @@
+package com.reliaquest.api.limit;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The {@link LoadGenerator} workload in one process, against a simulated mock server, to compare where the
+ * {@link AdaptiveConcurrencyLimit} is applied without starting either application.
+ *
+ * <p>The simulated mock server serves {@code capacity} requests at a time in {@code 5 ms} each. Further requests
+ * queue, and once more than {@code 4 * capacity} are waiting it answers 429 after 1 ms. Users alternate between a
+ * lookup by id (a mock server call) and a local read (about 0.2 ms of work), and back off for the 1 s
+ * {@code Retry-After} on a 503, like the load generator does. Each mode runs for the given time:
+ *
+ * <ul>
+ *   <li>{@code off}: no limit;
+ *   <li>{@code all}: every request is admitted through the limit, local reads included;
+ *   <li>{@code downstream}: only requests that call the mock server are, i.e. {@link CallsDownstream} handlers.
+ * </ul>
+ *
+ * <p>Arguments: users (default 64), seconds per mode (default 20), mock server capacity (default 8).
+ */
+public class LimitSimulation {
+
+    private static final long SERVICE_NANOS = Duration.ofMillis(5).toNanos();
+    private static final long LOCAL_NANOS = Duration.ofMillis(1).toNanos() / 5;
+    private static final long THROTTLE_NANOS = Duration.ofMillis(1).toNanos();
+    private static final long RETRY_AFTER_MILLIS = 1_000;
+
+    private final String mode;
+    private final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 4, 200);
+    private final Semaphore server;
+    private final int maxQueued;
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final LongAdder localAnswered = new LongAdder();
+    private final LongAdder downstreamAnswered = new LongAdder();
+    private final LongAdder localRejected = new LongAdder();
+    private final LongAdder downstreamRejected = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    // Latencies of answered lookups in microseconds; guarded by this.
+    private long[] latencies = new long[1 << 16];
+    private int latencyCount;
+
+    LimitSimulation(String mode, int capacity) {
+        this.mode = mode;
+        this.server = new Semaphore(capacity, true);
+        this.maxQueued = 4 * capacity;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int users = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int capacity = args.length > 2 ? Integer.parseInt(args[2]) : 8;
+
+        System.out.printf(
+                Locale.ROOT,
+                "%d users, %d s per mode, mock server capacity %d (%.0f lookups/s)%n",
+                users,
+                seconds,
+                capacity,
+                capacity * 1e9 / SERVICE_NANOS);
+        for (String mode : List.of("off", "all", "downstream"))
+            new LimitSimulation(mode, capacity).run(users, seconds);
+    }
+
+    private void run(int users, int seconds) throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            Thread thread = new Thread(() -> this.user(running), "simulated-user-%d".formatted(i));
+            thread.start();
+            threads.add(thread);
+        }
+        Thread.sleep(TimeUnit.SECONDS.toMillis(seconds));
+        running.set(false);
+        for (Thread thread : threads) thread.join();
+
+        long[] sorted;
+        synchronized (this) {
+            sorted = Arrays.copyOf(this.latencies, this.latencyCount);
+        }
+        Arrays.sort(sorted);
+        long p99 = sorted.length == 0 ? 0 : sorted[(int) Math.ceil(0.99 * sorted.length) - 1];
+        System.out.printf(
+                Locale.ROOT,
+                "%-10s local reads %,7.0f/s (%,d rejected), lookups %,6.0f/s (%,d rejected, %,d throttled),"
+                        + " lookup p99 %,d ms, final limit %d%n",
+                this.mode,
+                this.localAnswered.doubleValue() / seconds,
+                this.localRejected.sum(),
+                this.downstreamAnswered.doubleValue() / seconds,
+                this.downstreamRejected.sum(),
+                this.throttled.sum(),
+                p99 / 1000,
+                this.limit.limit());
+    }
+
+    private void user(AtomicBoolean running) {
+        boolean lookup = ThreadLocalRandom.current().nextBoolean();
+        while (running.get()) {
+            lookup = !lookup;
+            boolean limited = "all".equals(this.mode) || "downstream".equals(this.mode) && lookup;
+            if (limited && !this.limit.tryAcquire()) {
+                (lookup ? this.downstreamRejected : this.localRejected).increment();
+                sleep(RETRY_AFTER_MILLIS);
+                continue;
+            }
+            try {
+                if (lookup) this.lookup();
+                else this.localRead();
+            } finally {
+                if (limited) this.limit.release();
+            }
+        }
+    }
+
+    private void localRead() {
+        LockSupport.parkNanos(LOCAL_NANOS);
+        this.localAnswered.increment();
+    }
+
+    private void lookup() {
+        long started = System.nanoTime();
+        if (this.queued.incrementAndGet() > this.maxQueued) {
+            this.queued.decrementAndGet();
+            LockSupport.parkNanos(THROTTLE_NANOS);
+            this.throttled.increment();
+            this.limit.onOverload();
+            return;
+        }
+        this.server.acquireUninterruptibly();
+        this.queued.decrementAndGet();
+        try {
+            LockSupport.parkNanos(SERVICE_NANOS);
+        } finally {
+            this.server.release();
+        }
+        long elapsed = System.nanoTime() - started;
+        this.limit.onSample(elapsed);
+        this.downstreamAnswered.increment();
+        this.recordLatency(elapsed / 1000);
+    }
+
+    private synchronized void recordLatency(long micros) {
+        if (this.latencyCount == this.latencies.length)
+            this.latencies = Arrays.copyOf(this.latencies, this.latencies.length * 2);
+        this.latencies[this.latencyCount++] = micros;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
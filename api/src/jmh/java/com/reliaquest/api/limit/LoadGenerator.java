@@ -0,0 +1,131 @@
+package com.reliaquest.api.limit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop load against a running api: a number of users each send a request, wait for the answer and send
+ * the next, for a fixed time. Half the requests look up an employee by id (always a mock server call), the other
+ * half are searches and the highest salary (answered from the api's local data).
+ *
+ * <p>Prints per second the requests answered 2xx (the goodput), rejected with 503, failed otherwise, and the p99
+ * latency of the successful ones, followed by totals. A 503 is taken as a cue to back off for its
+ * {@code Retry-After}, as a well-behaved client would.
+ *
+ * <p>Arguments: api base URL (default {@code http://localhost:8111}), users (default 64), seconds (default 60).
+ */
+public class LoadGenerator {
+
+    private static final HttpClient CLIENT =
+            HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    // Latencies of successful requests within the current second, in microseconds; guarded by this.
+    private long[] latencies = new long[1024];
+    private int latencyCount;
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8111";
+        int users = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 60;
+        new LoadGenerator().run(baseUrl, users, seconds);
+    }
+
+    private void run(String baseUrl, int users, int seconds) throws Exception {
+        List<String> ids = new ArrayList<>();
+        for (JsonNode employee : new ObjectMapper().readTree(URI.create(baseUrl + "/").toURL()))
+            ids.add(employee.get("id").asText());
+        if (ids.isEmpty()) throw new IllegalStateException("The api at " + baseUrl + " has no employees");
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            Thread thread = new Thread(() -> this.user(baseUrl, ids, running), "load-%d".formatted(i));
+            thread.start();
+            threads.add(thread);
+        }
+
+        System.out.printf("%6s %10s %10s %10s %10s%n", "second", "ok", "rejected", "failed", "p99_ms");
+        long totalSucceeded = 0, totalRejected = 0, totalFailed = 0;
+        for (int second = 1; second <= seconds; second++) {
+            Thread.sleep(1_000);
+            long ok = this.succeeded.sumThenReset();
+            long rejectedNow = this.rejected.sumThenReset();
+            long failedNow = this.failed.sumThenReset();
+            totalSucceeded += ok;
+            totalRejected += rejectedNow;
+            totalFailed += failedNow;
+            System.out.printf("%6d %10d %10d %10d %10.1f%n", second, ok, rejectedNow, failedNow, this.p99Millis());
+        }
+        running.set(false);
+        for (Thread thread : threads) thread.join();
+
+        System.out.printf(
+                "total: %d users, %d s, goodput %.1f/s, %d ok, %d rejected, %d failed%n",
+                users, seconds, (double) totalSucceeded / seconds, totalSucceeded, totalRejected, totalFailed);
+    }
+
+    private void user(String baseUrl, List<String> ids, AtomicBoolean running) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (running.get()) {
+            int pick = random.nextInt(4);
+            String path =
+                    switch (pick) {
+                        case 0, 1 -> "/" + ids.get(random.nextInt(ids.size()));
+                        case 2 -> "/search/" + (char) ('a' + random.nextInt(26));
+                        default -> "/highestSalary";
+                    };
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(Duration.ofSeconds(30))
+                    .build();
+            long started = System.nanoTime();
+            try {
+                HttpResponse<Void> response = CLIENT.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() / 100 == 2) {
+                    this.succeeded.increment();
+                    this.recordLatency((System.nanoTime() - started) / 1_000);
+                } else if (response.statusCode() == 503) {
+                    this.rejected.increment();
+                    long retryAfter = response.headers()
+                            .firstValueAsLong("Retry-After")
+                            .orElse(1);
+                    Thread.sleep(retryAfter * 1_000);
+                } else {
+                    this.failed.increment();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                this.failed.increment();
+            }
+        }
+    }
+
+    private synchronized void recordLatency(long micros) {
+        if (this.latencyCount == this.latencies.length)
+            this.latencies = Arrays.copyOf(this.latencies, this.latencies.length * 2);
+        this.latencies[this.latencyCount++] = micros;
+    }
+
+    private synchronized double p99Millis() {
+        if (this.latencyCount == 0) return 0;
+        Arrays.sort(this.latencies, 0, this.latencyCount);
+        long p99 = this.latencies[Math.min(this.latencyCount - 1, (int) Math.ceil(0.99 * this.latencyCount) - 1)];
+        this.latencyCount = 0;
+        return p99 / 1_000.0;
+    }
+}
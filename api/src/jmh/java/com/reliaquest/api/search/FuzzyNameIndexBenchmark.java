@@ -0,0 +1,95 @@
+package com.reliaquest.api.search;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.store.EmployeeColumns;
+import com.reliaquest.api.store.EmployeeFixtures;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Latency distribution (p50/p99 in the sample-time output) of fuzzy name searches with one or two typos, against
+ * the linear scan it replaces: a bounded edit distance to every name token of every employee.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FuzzyNameIndexBenchmark {
+
+    @Param({"1000000"})
+    int size;
+
+    private EmployeeColumns columns;
+    private FuzzyNameIndex index;
+    private String[] queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        List<Employee> employees = EmployeeFixtures.employeesWithVariedNames(this.size, 42);
+        this.columns = EmployeeColumns.of(employees);
+        this.index = FuzzyNameIndex.build(this.columns);
+
+        SplittableRandom random = new SplittableRandom(7);
+        this.queries = new String[1024];
+        for (int i = 0; i < this.queries.length; i++) {
+            String name = employees.get(random.nextInt(this.size)).getEmployeeName();
+            this.queries[i] = typo(random, name);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void nextQuery() {
+        this.next = (this.next + 1) % this.queries.length;
+    }
+
+    @Benchmark
+    public List<FuzzyNameIndex.Match> indexed() {
+        return this.index.search(this.columns, this.queries[this.next], 2, 10);
+    }
+
+    @Benchmark
+    public int scan() {
+        List<String> queryTokens = NameTerms.tokens(this.queries[this.next]);
+        int matches = 0;
+        for (int slot = 0; slot < this.columns.slotCount(); slot++) {
+            List<String> nameTokens = NameTerms.tokens(this.columns.name(slot));
+            boolean all = true;
+            for (String queryToken : queryTokens) {
+                boolean any = false;
+                for (String nameToken : nameTokens) {
+                    if (FuzzyNameIndex.distance(queryToken, nameToken, 2) <= 2) {
+                        any = true;
+                        break;
+                    }
+                }
+                all &= any;
+            }
+            if (all) matches++;
+        }
+        return matches;
+    }
+
+    // One substitution in the last name and, for half the queries, a swapped pair in the first name.
+    private static String typo(SplittableRandom random, String name) {
+        char[] chars = name.toCharArray();
+        int space = name.indexOf(' ');
+        chars[space + 1 + random.nextInt(chars.length - space - 1)] = (char) ('a' + random.nextInt(26));
+        if (random.nextBoolean() && space > 2) {
+            int swap = random.nextInt(space - 1);
+            char swapped = chars[swap];
+            chars[swap] = chars[swap + 1];
+            chars[swap + 1] = swapped;
+        }
+        return new String(chars);
+    }
+}
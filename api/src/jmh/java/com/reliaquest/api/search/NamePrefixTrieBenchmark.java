@@ -0,0 +1,76 @@
+package com.reliaquest.api.search;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.NameOrder;
+import com.reliaquest.api.store.EmployeeColumns;
+import com.reliaquest.api.store.EmployeeFixtures;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Autocomplete latency for the prefixes a user types on the way to a name (one to five letters of the first or
+ * last name, and a whole first name followed by the start of the last), against the {@code contains} scan behind
+ * the name search endpoint.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NamePrefixTrieBenchmark {
+
+    @Param({"10000", "1000000"})
+    int size;
+
+    private EmployeeColumns columns;
+    private NamePrefixTrie trie;
+    private String[] prefixes;
+    private String[] twoTokenPrefixes;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        List<Employee> employees = EmployeeFixtures.employeesWithVariedNames(this.size, 42);
+        this.columns = EmployeeColumns.of(employees);
+        this.trie = NamePrefixTrie.build(this.columns);
+
+        SplittableRandom random = new SplittableRandom(7);
+        this.prefixes = new String[1024];
+        this.twoTokenPrefixes = new String[1024];
+        for (int i = 0; i < this.prefixes.length; i++) {
+            String[] tokens = employees.get(random.nextInt(this.size))
+                    .getEmployeeName()
+                    .toLowerCase(Locale.ROOT)
+                    .split(" ");
+            String token = tokens[random.nextInt(tokens.length)];
+            this.prefixes[i] = token.substring(0, Math.min(token.length(), 1 + random.nextInt(5)));
+            this.twoTokenPrefixes[i] = tokens[0] + " " + tokens[1].substring(0, 1 + random.nextInt(3));
+        }
+    }
+
+    @Benchmark
+    public int[] trie() {
+        this.next = (this.next + 1) & 1023;
+        return this.trie.complete(this.columns, this.prefixes[this.next], NameOrder.SALARY, 10);
+    }
+
+    @Benchmark
+    public int[] trieTwoTokens() {
+        this.next = (this.next + 1) & 1023;
+        return this.trie.complete(this.columns, this.twoTokenPrefixes[this.next], NameOrder.SALARY, 10);
+    }
+
+    @Benchmark
+    public int[] containsScan() {
+        this.next = (this.next + 1) & 1023;
+        return this.columns.slotsWithNameContaining(this.prefixes[this.next]);
+    }
+}
@@ -0,0 +1,77 @@
+package com.reliaquest.api.store;
+
+import com.reliaquest.api.model.Employee;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Scan throughput of the {@code EmployeeService} operators over a {@code List<Employee>} (the previous stream
+ * pipelines, copied verbatim) against the same operators over {@link EmployeeColumns}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmployeeColumnsBenchmark {
+
+    private static final String SEARCH = "miller";
+
+    @Param({"10000", "1000000"})
+    int size;
+
+    private List<Employee> list;
+    private EmployeeColumns columns;
+
+    @Setup
+    public void setUp() {
+        this.list = EmployeeFixtures.employees(this.size, 42);
+        this.columns = EmployeeColumns.of(this.list);
+    }
+
+    @Benchmark
+    public Integer highestSalaryList() {
+        return this.list.stream()
+                .max(Comparator.comparingInt(Employee::getEmployeeSalary))
+                .map(Employee::getEmployeeSalary)
+                .orElse(-1);
+    }
+
+    @Benchmark
+    public int highestSalaryColumns() {
+        return this.columns.maxSalary();
+    }
+
+    @Benchmark
+    public List<String> topTenList() {
+        return this.list.stream()
+                .sorted(Comparator.comparingLong(Employee::getEmployeeSalary).reversed())
+                .limit(10)
+                .map(Employee::getEmployeeName)
+                .toList();
+    }
+
+    @Benchmark
+    public List<String> topTenColumns() {
+        return this.columns.names(this.columns.topSalarySlots(10));
+    }
+
+    @Benchmark
+    public List<Employee> searchList() {
+        return this.list.stream()
+                .filter(employee -> employee.getEmployeeName().toLowerCase().contains(SEARCH))
+                .toList();
+    }
+
+    @Benchmark
+    public List<Employee> searchColumns() {
+        return this.columns.employees(this.columns.slotsWithNameContaining(SEARCH));
+    }
+}
@@ -0,0 +1,71 @@
+package com.reliaquest.api.store;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Deterministic employee data shaped like the mock server's: UUID ids, a small set of repeating titles and
+ * names of a dozen or so characters.
+ */
+public final class EmployeeFixtures {
+
+    private static final String[] FIRST_NAMES = {"Liam", "Olivia", "Noah", "Emma", "Ethan", "Ava", "Mason", "Isabella"};
+    private static final String[] LAST_NAMES = {"Anderson", "Chen", "Miller", "Garcia", "White", "Nguyen", "Smith"};
+    private static final String[] TITLES = {
+        "Software Engineer", "Marketing Manager", "Financial Analyst", "UX/UI Designer", "Sales Associate",
+        "Human Resources Generalist", "Product Owner", "Customer Success Lead"
+    };
+    private static final String[] SYLLABLES = {
+        "an", "bel", "car", "da", "el", "fin", "ga", "hol", "is", "jo", "ka", "lin", "mar", "no", "ol", "per", "qui",
+        "ro", "sa", "ter", "ul", "ve", "wen", "xa", "yo", "zel"
+    };
+
+    private EmployeeFixtures() {}
+
+    public static List<Employee> employees(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                    + LAST_NAMES[random.nextInt(LAST_NAMES.length)] + " " + i;
+            employees.add(new Employee(
+                    new UUID(random.nextLong(), random.nextLong()).toString(),
+                    name,
+                    random.nextInt(30_000, 500_000),
+                    random.nextInt(16, 71),
+                    TITLES[random.nextInt(TITLES.length)],
+                    "employee" + i + "@company.com"));
+        }
+        return employees;
+    }
+
+    /**
+     * Employees whose names are made of generated syllables, out of about 18,000 possible first and 475,000
+     * possible last names, so that name searches narrow down to a few employees as they would on real data.
+     */
+    public static List<Employee> employeesWithVariedNames(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String name = word(random, 2 + random.nextInt(2)) + " " + word(random, 3 + random.nextInt(2));
+            employees.add(new Employee(
+                    new UUID(random.nextLong(), random.nextLong()).toString(),
+                    name,
+                    random.nextInt(30_000, 500_000),
+                    random.nextInt(16, 71),
+                    TITLES[random.nextInt(TITLES.length)],
+                    "employee" + i + "@company.com"));
+        }
+        return employees;
+    }
+
+    private static String word(SplittableRandom random, int syllables) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < syllables; i++) word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        word.setCharAt(0, Character.toUpperCase(word.charAt(0)));
+        return word.toString();
+    }
+}
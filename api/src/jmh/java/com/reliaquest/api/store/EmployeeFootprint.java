@@ -0,0 +1,28 @@
+package com.reliaquest.api.store;
+
+import com.reliaquest.api.model.Employee;
+import java.util.List;
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * Prints the retained heap per employee of a {@code List<Employee>} and of {@link EmployeeColumns} holding the
+ * same data, walking both object graphs with JOL.
+ */
+public class EmployeeFootprint {
+
+    public static void main(String[] args) {
+        for (int size : new int[] {10_000, 100_000, 1_000_000}) {
+            List<Employee> list = EmployeeFixtures.employees(size, 42);
+            EmployeeColumns columns = EmployeeColumns.of(list);
+
+            long listBytes = GraphLayout.parseInstance(list).totalSize();
+            long columnBytes = GraphLayout.parseInstance(columns).totalSize();
+            System.out.printf(
+                    "%,10d employees: list %,6.1f B/employee, columns %,6.1f B/employee (%.1fx smaller)%n",
+                    size,
+                    (double) listBytes / size,
+                    (double) columnBytes / size,
+                    (double) listBytes / columnBytes);
+        }
+    }
+}
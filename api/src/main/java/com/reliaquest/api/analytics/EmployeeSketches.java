@@ -0,0 +1,93 @@
+package com.reliaquest.api.analytics;
+
+import com.reliaquest.api.store.EmployeeColumns;
+import com.reliaquest.api.store.EmployeeDataListener;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.stereotype.Component;
+
+/**
+ * Salary and age quantile sketches, overall and per title, kept current by the employee data store so
+ * percentile queries never sort or scan employees.
+ *
+ * <p>Per-title sketches are indexed by {@link EmployeeColumns} title code. Updates happen under the store's write
+ * lock; reads go through {@code EmployeeDataStore.query}, whose read lock excludes them.
+ */
+@Component
+public class EmployeeSketches implements EmployeeDataListener {
+
+    public static final double RELATIVE_ACCURACY = 0.01;
+
+    private final QuantileSketch salary = new QuantileSketch(RELATIVE_ACCURACY);
+    private final QuantileSketch age = new QuantileSketch(RELATIVE_ACCURACY);
+    private final List<QuantileSketch> salaryByTitle = new ArrayList<>();
+    private final List<QuantileSketch> ageByTitle = new ArrayList<>();
+
+    @Override
+    public void onReset(EmployeeColumns columns) {
+        this.salary.clear();
+        this.age.clear();
+        this.salaryByTitle.clear();
+        this.ageByTitle.clear();
+        for (int slot = 0; slot < columns.slotCount(); slot++) {
+            if (columns.isLive(slot)) this.update(columns, slot, true);
+        }
+    }
+
+    @Override
+    public void onAdded(EmployeeColumns columns, int slot) {
+        this.update(columns, slot, true);
+    }
+
+    @Override
+    public void onRemoved(EmployeeColumns columns, int slot) {
+        this.update(columns, slot, false);
+    }
+
+    public QuantileSketch salary() {
+        return this.salary;
+    }
+
+    public QuantileSketch age() {
+        return this.age;
+    }
+
+    /**
+     * @return the title's salary sketch, empty if no employee ever had the title
+     */
+    public QuantileSketch salary(int titleCode) {
+        return titleCode < this.salaryByTitle.size() ? this.salaryByTitle.get(titleCode) : this.empty();
+    }
+
+    public QuantileSketch age(int titleCode) {
+        return titleCode < this.ageByTitle.size() ? this.ageByTitle.get(titleCode) : this.empty();
+    }
+
+    private void update(EmployeeColumns columns, int slot, boolean added) {
+        int titleCode = columns.titleCode(slot);
+        int salaryValue = columns.salary(slot);
+        if (salaryValue != EmployeeColumns.NULL_INT) {
+            this.apply(this.salary, salaryValue, added);
+            if (titleCode >= 0) this.apply(sketchFor(this.salaryByTitle, titleCode), salaryValue, added);
+        }
+        int ageValue = columns.age(slot);
+        if (ageValue != EmployeeColumns.NULL_INT) {
+            this.apply(this.age, ageValue, added);
+            if (titleCode >= 0) this.apply(sketchFor(this.ageByTitle, titleCode), ageValue, added);
+        }
+    }
+
+    private void apply(QuantileSketch sketch, int value, boolean added) {
+        if (added) sketch.add(value);
+        else sketch.remove(value);
+    }
+
+    private static QuantileSketch sketchFor(List<QuantileSketch> byTitle, int titleCode) {
+        while (byTitle.size() <= titleCode) byTitle.add(new QuantileSketch(RELATIVE_ACCURACY));
+        return byTitle.get(titleCode);
+    }
+
+    private QuantileSketch empty() {
+        return new QuantileSketch(RELATIVE_ACCURACY);
+    }
+}
@@ -0,0 +1,117 @@
+package com.reliaquest.api.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Mergeable quantile sketch with a relative error guarantee, after DDSketch (Masson, Rim and Lee, 2019).
+ *
+ * <p>Positive values are counted in logarithmic buckets: bucket {@code i} holds values in
+ * {@code (gamma^(i-1), gamma^i]} with {@code gamma = (1 + a) / (1 - a)}, and is reported as
+ * {@code 2 gamma^i / (gamma + 1)}. Every quantile returned is therefore within a relative error {@code a} of the
+ * true value at that rank, whatever the distribution. Memory depends only on the value range: salaries from 30k to
+ * 500k at 1% accuracy take about 140 buckets.
+ *
+ * <p>Unlike t-digest or KLL, buckets are plain counts, so a value can be removed exactly by decrementing its
+ * bucket; removing a value that was never added corrupts the sketch. Not thread safe.
+ */
+public final class QuantileSketch {
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+
+    private long[] counts = new long[0];
+    private int offset;
+    private long zeroCount;
+    private long count;
+
+    public QuantileSketch(double relativeAccuracy) {
+        if (relativeAccuracy <= 0 || relativeAccuracy >= 1)
+            throw new IllegalArgumentException("Relative accuracy must be in (0, 1): " + relativeAccuracy);
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(this.gamma);
+    }
+
+    public double getRelativeAccuracy() {
+        return this.relativeAccuracy;
+    }
+
+    public long getCount() {
+        return this.count;
+    }
+
+    public void add(int value) {
+        this.update(value, 1);
+    }
+
+    public void remove(int value) {
+        this.update(value, -1);
+    }
+
+    public void merge(QuantileSketch other) {
+        if (other.gamma != this.gamma) throw new IllegalArgumentException("Sketches differ in relative accuracy");
+        for (int i = 0; i < other.counts.length; i++) {
+            if (other.counts[i] == 0) continue;
+            int index = i + other.offset;
+            this.ensureBucket(index);
+            this.counts[index - this.offset] += other.counts[i];
+        }
+        this.zeroCount += other.zeroCount;
+        this.count += other.count;
+    }
+
+    public void clear() {
+        this.counts = new long[0];
+        this.offset = 0;
+        this.zeroCount = 0;
+        this.count = 0;
+    }
+
+    /**
+     * Value at rank {@code q * (count - 1)}, within the relative accuracy.
+     *
+     * @throws IllegalStateException if the sketch is empty
+     */
+    public double quantile(double q) {
+        if (this.count == 0) throw new IllegalStateException("Empty sketch");
+        double rank = q * (this.count - 1);
+        long cumulative = this.zeroCount;
+        if (rank < cumulative) return 0;
+        for (int i = 0; i < this.counts.length; i++) {
+            cumulative += this.counts[i];
+            if (cumulative > rank) return 2 * Math.pow(this.gamma, i + this.offset) / (this.gamma + 1);
+        }
+        return 2 * Math.pow(this.gamma, this.counts.length - 1 + this.offset) / (this.gamma + 1);
+    }
+
+    private void update(int value, long delta) {
+        this.count += delta;
+        if (value <= 0) {
+            this.zeroCount += delta;
+            return;
+        }
+        int index = (int) Math.ceil(Math.log(value) / this.logGamma);
+        this.ensureBucket(index);
+        this.counts[index - this.offset] += delta;
+    }
+
+    // Grows the bucket array, in either direction, so that it covers the index.
+    private void ensureBucket(int index) {
+        if (this.counts.length == 0) {
+            this.counts = new long[16];
+            this.offset = index - 8;
+            return;
+        }
+        if (index < this.offset) {
+            int grow = Math.max(this.offset - index, this.counts.length / 2);
+            long[] grown = new long[this.counts.length + grow];
+            System.arraycopy(this.counts, 0, grown, grow, this.counts.length);
+            this.counts = grown;
+            this.offset -= grow;
+        } else if (index >= this.offset + this.counts.length) {
+            int required = index - this.offset + 1;
+            this.counts = Arrays.copyOf(this.counts, Math.max(required, this.counts.length + this.counts.length / 2));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.reliaquest.api.analytics;
+
+import com.reliaquest.api.model.SalaryStatistics;
+
+/**
+ * Running count, min, max, mean and variance of salaries. Values are added with Welford's update and partial
+ * results are combined with Chan et al.'s parallel merge, so partitions can be aggregated independently and
+ * merged without losing precision to a sum of squares.
+ */
+public final class SalaryAccumulator {
+
+    private long count;
+    private int min = Integer.MAX_VALUE;
+    private int max = Integer.MIN_VALUE;
+    private double mean;
+    private double squaredDeviations;
+
+    public void add(int salary) {
+        this.count++;
+        if (salary < this.min) this.min = salary;
+        if (salary > this.max) this.max = salary;
+        double delta = salary - this.mean;
+        this.mean += delta / this.count;
+        this.squaredDeviations += delta * (salary - this.mean);
+    }
+
+    public void merge(SalaryAccumulator other) {
+        if (other.count == 0) return;
+        if (this.count == 0) {
+            this.count = other.count;
+            this.min = other.min;
+            this.max = other.max;
+            this.mean = other.mean;
+            this.squaredDeviations = other.squaredDeviations;
+            return;
+        }
+        long total = this.count + other.count;
+        double delta = other.mean - this.mean;
+        this.mean += delta * other.count / total;
+        this.squaredDeviations += other.squaredDeviations + delta * delta * this.count * other.count / total;
+        this.count = total;
+        this.min = Math.min(this.min, other.min);
+        this.max = Math.max(this.max, other.max);
+    }
+
+    public long getCount() {
+        return this.count;
+    }
+
+    /**
+     * Statistics for the group, using the population standard deviation.
+     */
+    public SalaryStatistics toStatistics(String group) {
+        return new SalaryStatistics(
+                group, this.count, this.min, this.max, this.mean, Math.sqrt(this.squaredDeviations / this.count));
+    }
+}
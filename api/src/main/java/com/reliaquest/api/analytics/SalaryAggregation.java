@@ -0,0 +1,85 @@
+package com.reliaquest.api.analytics;
+
+import com.reliaquest.api.store.EmployeeColumns;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Group-by salary aggregation over {@link EmployeeColumns}. Groups are dense indexes (a title code, an age band)
+ * so every partition accumulates into a plain array.
+ *
+ * <p>Below {@code parallelThreshold} employees the slots are scanned on the calling thread. Above it the slot
+ * range is split in halves down to {@code leafSize} slots, leaves are aggregated on the common fork-join pool and
+ * partial arrays are merged back up. Callers run this inside {@code EmployeeDataStore.query}, whose read lock
+ * keeps the columns unchanged while the pool's workers read them.
+ */
+public class SalaryAggregation {
+
+    private final int parallelThreshold;
+    private final int leafSize;
+
+    public SalaryAggregation(int parallelThreshold, int leafSize) {
+        this.parallelThreshold = parallelThreshold;
+        this.leafSize = Math.max(1, leafSize);
+    }
+
+    /**
+     * @param groups number of groups; {@code groupOfSlot} maps a slot to {@code [0, groups)}, or -1 to skip it
+     */
+    public SalaryAccumulator[] aggregate(EmployeeColumns columns, int groups, IntUnaryOperator groupOfSlot) {
+        Partition all = new Partition(columns, groups, groupOfSlot, this.leafSize, 0, columns.slotCount());
+        if (columns.size() < this.parallelThreshold) return all.aggregate();
+        return ForkJoinPool.commonPool().invoke(all);
+    }
+
+    private static final class Partition extends RecursiveTask<SalaryAccumulator[]> {
+
+        private final EmployeeColumns columns;
+        private final int groups;
+        private final IntUnaryOperator groupOfSlot;
+        private final int leafSize;
+        private final int from;
+        private final int to;
+
+        Partition(EmployeeColumns columns, int groups, IntUnaryOperator groupOfSlot, int leafSize, int from, int to) {
+            this.columns = columns;
+            this.groups = groups;
+            this.groupOfSlot = groupOfSlot;
+            this.leafSize = leafSize;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SalaryAccumulator[] compute() {
+            if (this.to - this.from <= this.leafSize) return this.aggregate();
+
+            int middle = (this.from + this.to) >>> 1;
+            Partition left = this.split(this.from, middle);
+            Partition right = this.split(middle, this.to);
+            left.fork();
+            SalaryAccumulator[] merged = right.compute();
+            SalaryAccumulator[] leftResult = left.join();
+            for (int group = 0; group < merged.length; group++) merged[group].merge(leftResult[group]);
+            return merged;
+        }
+
+        SalaryAccumulator[] aggregate() {
+            SalaryAccumulator[] accumulators = new SalaryAccumulator[this.groups];
+            for (int group = 0; group < this.groups; group++) accumulators[group] = new SalaryAccumulator();
+            for (int slot = this.from; slot < this.to; slot++) {
+                if (!this.columns.isLive(slot)) continue;
+                int salary = this.columns.salary(slot);
+                if (salary == EmployeeColumns.NULL_INT) continue;
+                int group = this.groupOfSlot.applyAsInt(slot);
+                if (group >= 0) accumulators[group].add(salary);
+            }
+            return accumulators;
+        }
+
+        private Partition split(int from, int to) {
+            return new Partition(this.columns, this.groups, this.groupOfSlot, this.leafSize, from, to);
+        }
+    }
+}
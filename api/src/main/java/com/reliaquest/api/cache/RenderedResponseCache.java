@@ -0,0 +1,225 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.ResponseCacheStats;
+import com.reliaquest.api.store.EmployeeColumns;
+import com.reliaquest.api.store.EmployeeDataListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fully rendered response bodies of the employee aggregate and search endpoints, valid for one generation of the
+ * employee data.
+ *
+ * <p>The generation moves on every change to the data (this is an {@link EmployeeDataListener}), which drops every
+ * entry at once. An entry is only stored and only served for the generation it was rendered at, so a response
+ * computed while the data changed is never handed out for the new data.
+ *
+ * <p>Search responses are keyed by the lower-cased query, since the search ignores case, and kept in a least
+ * recently used map; the two aggregates have one entry each. The cache is bounded by the bytes of the bodies it holds,
+ * not by their number, since one broad search can render most of the employee list: least recently used searches are
+ * evicted once the bodies add up to more than {@code maxBytes}, and a body larger than {@code maxEntryBytes} is never
+ * stored at all.
+ *
+ * <p>Exported per route (tag {@code route}): {@code api.response.cache.requests} (tag {@code result}: hit or miss)
+ * and {@code api.response.cache.bytes.saved}, plus the {@code api.response.cache.entries} gauge.
+ */
+@Slf4j
+@Component
+public class RenderedResponseCache implements EmployeeDataListener {
+
+    public enum Route {
+        HIGHEST_SALARY,
+        TOP_TEN_NAMES,
+        SEARCH;
+
+        String tag() {
+            return this.name().toLowerCase(Locale.ROOT).replace('_', '-');
+        }
+    }
+
+    public record Rendered(long generation, String contentType, byte[] body) {}
+
+    private final long maxBytes;
+    private final int maxEntryBytes;
+    private final Map<Route, Counter> hitCounters = new EnumMap<>(Route.class);
+    private final Map<Route, Counter> missCounters = new EnumMap<>(Route.class);
+    private final Map<Route, Counter> bytesSavedCounters = new EnumMap<>(Route.class);
+
+    // Guarded by this.
+    private long generation;
+    private final Map<Route, Rendered> aggregates = new EnumMap<>(Route.class);
+    private final LinkedHashMap<String, Rendered> searches = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+    private long evictions;
+    private long oversized;
+    private long invalidations;
+
+    private volatile boolean bypassed;
+
+    @Autowired
+    public RenderedResponseCache(
+            MeterRegistry meterRegistry,
+            @Value("${response-cache.max-bytes:16777216}") long maxBytes,
+            @Value("${response-cache.max-entry-bytes:1048576}") int maxEntryBytes) {
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = maxEntryBytes;
+        for (Route route : Route.values()) {
+            this.hitCounters.put(route, requestCounter(meterRegistry, route, "hit"));
+            this.missCounters.put(route, requestCounter(meterRegistry, route, "miss"));
+            this.bytesSavedCounters.put(
+                    route,
+                    Counter.builder("api.response.cache.bytes.saved")
+                            .description("Response bytes served from the cache instead of being rendered")
+                            .baseUnit("bytes")
+                            .tag("route", route.tag())
+                            .register(meterRegistry));
+        }
+        Gauge.builder("api.response.cache.entries", this, RenderedResponseCache::size)
+                .description("Rendered responses held for the current data generation")
+                .register(meterRegistry);
+        Gauge.builder("api.response.cache.size", this, RenderedResponseCache::bytes)
+                .description("Body bytes of the rendered responses held for the current data generation")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, Route route, String result) {
+        return Counter.builder("api.response.cache.requests")
+                .description("Cacheable requests by whether they were answered from the cache")
+                .tag("route", route.tag())
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    public static String searchKey(String searchString) {
+        // Same lower-casing as the name search itself, so equal keys always have equal results.
+        return searchString.toLowerCase();
+    }
+
+    /**
+     * While bypassed, every request goes through to its endpoint and nothing is stored; for startup warmup, which
+     * has to exercise the endpoints themselves rather than the cache.
+     */
+    public void setBypassed(boolean bypassed) {
+        this.bypassed = bypassed;
+    }
+
+    public boolean isBypassed() {
+        return this.bypassed;
+    }
+
+    public synchronized long generation() {
+        return this.generation;
+    }
+
+    /**
+     * The response rendered for the key at the given generation, or null (counted as a miss) if there is none.
+     *
+     * @param key the search key for {@link Route#SEARCH}, ignored otherwise
+     */
+    public Rendered get(Route route, String key, long generation) {
+        Rendered rendered;
+        synchronized (this) {
+            rendered = route == Route.SEARCH ? this.searches.get(key) : this.aggregates.get(route);
+        }
+        if (rendered == null || rendered.generation() != generation) {
+            this.missCounters.get(route).increment();
+            return null;
+        }
+        this.hitCounters.get(route).increment();
+        this.bytesSavedCounters.get(route).increment(rendered.body().length);
+        return rendered;
+    }
+
+    /**
+     * Stores a response rendered at its generation; ignored when the data has moved on since or when the body is
+     * larger than a single entry may be.
+     */
+    public synchronized void put(Route route, String key, Rendered rendered) {
+        if (rendered.generation() != this.generation) return;
+        if (rendered.body().length > this.maxEntryBytes) {
+            this.oversized++;
+            return;
+        }
+
+        Rendered replaced =
+                route == Route.SEARCH ? this.searches.put(key, rendered) : this.aggregates.put(route, rendered);
+        this.bytes += rendered.body().length - (replaced == null ? 0 : replaced.body().length);
+        // Only searches are evicted; the two aggregates are a few bytes each.
+        while (this.bytes > this.maxBytes && !this.searches.isEmpty()) {
+            Iterator<Rendered> eldest = this.searches.values().iterator();
+            this.bytes -= eldest.next().body().length;
+            eldest.remove();
+            this.evictions++;
+        }
+    }
+
+    public synchronized int size() {
+        return this.aggregates.size() + this.searches.size();
+    }
+
+    public synchronized long bytes() {
+        return this.bytes;
+    }
+
+    public ResponseCacheStats stats() {
+        long hits = 0;
+        long misses = 0;
+        double bytesSaved = 0;
+        for (Route route : Route.values()) {
+            hits += (long) this.hitCounters.get(route).count();
+            misses += (long) this.missCounters.get(route).count();
+            bytesSaved += this.bytesSavedCounters.get(route).count();
+        }
+        synchronized (this) {
+            return new ResponseCacheStats(
+                    this.generation,
+                    this.aggregates.size() + this.searches.size(),
+                    this.bytes,
+                    hits,
+                    misses,
+                    hits + misses == 0 ? 0 : (double) hits / (hits + misses),
+                    (long) bytesSaved,
+                    this.evictions,
+                    this.oversized,
+                    this.invalidations);
+        }
+    }
+
+    @Override
+    public void onReset(EmployeeColumns columns) {
+        this.invalidate();
+    }
+
+    @Override
+    public void onAdded(EmployeeColumns columns, int slot) {
+        this.invalidate();
+    }
+
+    @Override
+    public void onRemoved(EmployeeColumns columns, int slot) {
+        this.invalidate();
+    }
+
+    private synchronized void invalidate() {
+        this.generation++;
+        int dropped = this.aggregates.size() + this.searches.size();
+        if (dropped == 0) return;
+
+        this.aggregates.clear();
+        this.searches.clear();
+        this.bytes = 0;
+        this.invalidations++;
+        log.debug("Dropped %d rendered responses at data generation %d".formatted(dropped, this.generation));
+    }
+}
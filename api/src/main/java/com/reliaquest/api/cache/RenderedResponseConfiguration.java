@@ -0,0 +1,27 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.store.EmployeeDataStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RenderedResponseConfiguration {
+
+    /*
+     * Can be switched off to compare against rendering every response.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "response-cache.enabled", matchIfMissing = true)
+    public FilterRegistrationBean<RenderedResponseFilter> renderedResponseFilter(
+            EmployeeDataStore employeeDataStore, RenderedResponseCache cache) {
+        FilterRegistrationBean<RenderedResponseFilter> registration =
+                new FilterRegistrationBean<>(new RenderedResponseFilter(employeeDataStore, cache));
+        registration.addUrlPatterns(
+                RenderedResponseFilter.HIGHEST_SALARY_PATH,
+                RenderedResponseFilter.TOP_TEN_NAMES_PATH,
+                RenderedResponseFilter.SEARCH_PATH + "*");
+        return registration;
+    }
+}
@@ -0,0 +1,101 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.exception.ApiException;
+import com.reliaquest.api.store.EmployeeDataStore;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.UriUtils;
+
+/**
+ * Answers {@code GET /highestSalary}, {@code /topTenHighestEarningEmployeeNames} and {@code /search/{searchString}}
+ * from the {@link RenderedResponseCache} when it holds the response for the current data, without reaching the
+ * controller, the service or Jackson. Otherwise the request goes through as usual and a 200 response is stored.
+ *
+ * <p>The current generation is read through {@link EmployeeDataStore#query}, so the data is refreshed first when
+ * it is stale, exactly as the endpoints themselves would do. While the cache is
+ * {@linkplain RenderedResponseCache#setBypassed bypassed} every request goes through.
+ */
+public class RenderedResponseFilter extends OncePerRequestFilter {
+
+    public static final String HIGHEST_SALARY_PATH = "/highestSalary";
+    public static final String TOP_TEN_NAMES_PATH = "/topTenHighestEarningEmployeeNames";
+    public static final String SEARCH_PATH = "/search/";
+
+    private final EmployeeDataStore employeeDataStore;
+    private final RenderedResponseCache cache;
+
+    public RenderedResponseFilter(EmployeeDataStore employeeDataStore, RenderedResponseCache cache) {
+        this.employeeDataStore = employeeDataStore;
+        this.cache = cache;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        RenderedResponseCache.Route route = routeOf(path);
+        String key = route == RenderedResponseCache.Route.SEARCH ? searchKeyOf(path) : null;
+        if (route == null || (route == RenderedResponseCache.Route.SEARCH && key == null)
+                || !HttpMethod.GET.matches(request.getMethod())
+                || this.cache.isBypassed()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long generation;
+        try {
+            generation = this.employeeDataStore.query(columns -> this.cache.generation());
+        } catch (ApiException e) {
+            // The data cannot be loaded; let the endpoint fail the way it always does.
+            chain.doFilter(request, response);
+            return;
+        }
+
+        RenderedResponseCache.Rendered rendered = this.cache.get(route, key, generation);
+        if (rendered != null) {
+            response.setStatus(HttpStatus.OK.value());
+            response.setContentType(rendered.contentType());
+            response.setContentLength(rendered.body().length);
+            response.getOutputStream().write(rendered.body());
+            return;
+        }
+
+        ContentCachingResponseWrapper recorder = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, recorder);
+        if (recorder.getStatus() == HttpStatus.OK.value())
+            this.cache.put(
+                    route,
+                    key,
+                    new RenderedResponseCache.Rendered(
+                            generation, recorder.getContentType(), recorder.getContentAsByteArray()));
+        recorder.copyBodyToResponse();
+    }
+
+    // Null for anything but the three cached routes; a search needs a non-empty single path segment.
+    static RenderedResponseCache.Route routeOf(String path) {
+        if (HIGHEST_SALARY_PATH.equals(path)) return RenderedResponseCache.Route.HIGHEST_SALARY;
+        if (TOP_TEN_NAMES_PATH.equals(path)) return RenderedResponseCache.Route.TOP_TEN_NAMES;
+        if (path.startsWith(SEARCH_PATH)
+                && path.length() > SEARCH_PATH.length()
+                && path.indexOf('/', SEARCH_PATH.length()) < 0) return RenderedResponseCache.Route.SEARCH;
+        return null;
+    }
+
+    // Null when the search string is not validly encoded; the endpoint then answers on its own.
+    private static String searchKeyOf(String path) {
+        try {
+            return RenderedResponseCache.searchKey(
+                    UriUtils.decode(path.substring(SEARCH_PATH.length()), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
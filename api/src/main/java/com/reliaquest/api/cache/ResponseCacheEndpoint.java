@@ -0,0 +1,23 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.ResponseCacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code GET /actuator/responsecache}: hit ratio and bytes saved by the rendered response cache.
+ */
+@Component
+@Endpoint(id = "responsecache")
+public class ResponseCacheEndpoint {
+
+    @Autowired
+    RenderedResponseCache cache;
+
+    @ReadOperation
+    public ResponseCacheStats stats() {
+        return this.cache.stats();
+    }
+}
@@ -0,0 +1,234 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.exception.ApiException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+/**
+ * Admission of outbound mock server requests, so the few requests the mock server accepts go to the callers that
+ * need them most.
+ *
+ * <p>At most {@code mock-server.dispatch.max-concurrent} requests are sent at once. Beyond that, requests queue per
+ * {@link RequestClass} and freed slots are handed out by smooth weighted round robin over the classes with waiting
+ * requests: out of every 13 grants under full contention, 8 go to interactive reads, 4 to writes and 1 to bulk
+ * fetches, so interactive traffic comes first without ever starving the rest.
+ *
+ * <p>Every class has a deadline, roughly how long its callers wait for an answer. A request still queued past its
+ * deadline is dropped with 503 rather than sent for a caller that has given up.
+ *
+ * <p>Exported per class (tag {@code class}): {@code mockserver.dispatch.wait} (queue wait timer),
+ * {@code mockserver.dispatch.expired} (requests dropped at their deadline) and {@code mockserver.dispatch.queued}.
+ */
+@Slf4j
+@Component
+public class DownstreamDispatcher {
+
+    public static final String DOWNSTREAM_DEADLINE_EXCEEDED = "downstream_deadline_exceeded";
+    public static final String DOWNSTREAM_DEADLINE_EXCEEDED_MESSAGE =
+            "The mock server is busy and the request could not be sent in time";
+
+    public enum RequestClass {
+        // A single employee by id, for a caller waiting on it.
+        INTERACTIVE(8),
+        // Creates, deletes and other changes.
+        WRITE(4),
+        // Full lists, change feeds and streams, mostly refreshing the local data.
+        BULK(1);
+
+        final int weight;
+
+        RequestClass(int weight) {
+            this.weight = weight;
+        }
+
+        /*
+            GETs ending in an employee id are interactive, other GETs bulk, anything else a write.
+        */
+        static RequestClass of(HttpRequest request) {
+            if (!"GET".equals(request.method())) return WRITE;
+            String path = request.uri().getPath();
+            try {
+                UUID.fromString(path.substring(path.lastIndexOf('/') + 1));
+                return INTERACTIVE;
+            } catch (IllegalArgumentException e) {
+                return BULK;
+            }
+        }
+
+        String tag() {
+            return this.name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final int maxConcurrent;
+    private final Map<RequestClass, Long> deadlineNanos = new EnumMap<>(RequestClass.class);
+    private final Map<RequestClass, Timer> waitTimers = new EnumMap<>(RequestClass.class);
+    private final Map<RequestClass, Counter> expiredCounters = new EnumMap<>(RequestClass.class);
+
+    // Guarded by this.
+    private final Map<RequestClass, ArrayDeque<Waiter>> queues = new EnumMap<>(RequestClass.class);
+    private final int[] currentWeights = new int[RequestClass.values().length];
+    private int running;
+
+    @Autowired
+    public DownstreamDispatcher(
+            MeterRegistry meterRegistry,
+            @Value("${mock-server.dispatch.max-concurrent:8}") int maxConcurrent,
+            @Value("${mock-server.dispatch.deadline.interactive:2s}") Duration interactiveDeadline,
+            @Value("${mock-server.dispatch.deadline.write:5s}") Duration writeDeadline,
+            @Value("${mock-server.dispatch.deadline.bulk:30s}") Duration bulkDeadline) {
+        this.maxConcurrent = maxConcurrent;
+        this.deadlineNanos.put(RequestClass.INTERACTIVE, interactiveDeadline.toNanos());
+        this.deadlineNanos.put(RequestClass.WRITE, writeDeadline.toNanos());
+        this.deadlineNanos.put(RequestClass.BULK, bulkDeadline.toNanos());
+
+        for (RequestClass requestClass : RequestClass.values()) {
+            ArrayDeque<Waiter> queue = new ArrayDeque<>();
+            this.queues.put(requestClass, queue);
+            this.waitTimers.put(
+                    requestClass,
+                    Timer.builder("mockserver.dispatch.wait")
+                            .description("Time mock server requests waited for a slot")
+                            .tag("class", requestClass.tag())
+                            .publishPercentiles(0.5, 0.99)
+                            .register(meterRegistry));
+            this.expiredCounters.put(
+                    requestClass,
+                    Counter.builder("mockserver.dispatch.expired")
+                            .description("Mock server requests dropped after waiting past their deadline")
+                            .tag("class", requestClass.tag())
+                            .register(meterRegistry));
+            Gauge.builder("mockserver.dispatch.queued", this, dispatcher -> dispatcher.queued(requestClass))
+                    .description("Mock server requests waiting for a slot")
+                    .tag("class", requestClass.tag())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Waits for a slot to send a request of the given class; every successful acquire must be released.
+     *
+     * @throws ApiException with 503 when the class deadline passes first
+     */
+    public void acquire(RequestClass requestClass) {
+        long started = System.nanoTime();
+        synchronized (this) {
+            if (this.running < this.maxConcurrent && this.queued() == 0) {
+                this.running++;
+            } else {
+                this.await(requestClass, new Waiter(started + this.deadlineNanos.get(requestClass)));
+            }
+        }
+        this.waitTimers.get(requestClass).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+
+    public synchronized void release() {
+        this.running--;
+        this.grant();
+    }
+
+    synchronized int queued() {
+        return this.queues.values().stream().mapToInt(ArrayDeque::size).sum();
+    }
+
+    synchronized int queued(RequestClass requestClass) {
+        return this.queues.get(requestClass).size();
+    }
+
+    // Guarded by this.
+    private void await(RequestClass requestClass, Waiter waiter) {
+        this.queues.get(requestClass).add(waiter);
+        boolean interrupted = false;
+        long remaining;
+        while (!waiter.granted && (remaining = waiter.deadline - System.nanoTime()) > 0) {
+            try {
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            } catch (InterruptedException e) {
+                interrupted = true;
+                break;
+            }
+        }
+        if (waiter.granted) {
+            if (interrupted) Thread.currentThread().interrupt();
+            return;
+        }
+
+        this.queues.get(requestClass).remove(waiter);
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+            throw new ApiException(
+                    HttpStatus.INTERNAL_SERVER_ERROR.getReasonPhrase(),
+                    MockServerClient.DOWNSTREAM_API_FAILURE,
+                    HttpStatus.INTERNAL_SERVER_ERROR.value());
+        }
+        this.expiredCounters.get(requestClass).increment();
+        log.info("Dropped a %s mock server request queued past its deadline".formatted(requestClass.tag()));
+        throw new ApiException(
+                DOWNSTREAM_DEADLINE_EXCEEDED,
+                DOWNSTREAM_DEADLINE_EXCEEDED_MESSAGE,
+                HttpStatus.SERVICE_UNAVAILABLE.value());
+    }
+
+    // Guarded by this. Expired waiters are skipped here and leave the queue when they wake up.
+    private void grant() {
+        boolean granted = false;
+        while (this.running < this.maxConcurrent) {
+            Waiter next = this.next();
+            if (next == null) break;
+            if (next.deadline - System.nanoTime() <= 0) continue;
+
+            next.granted = true;
+            this.running++;
+            granted = true;
+        }
+        if (granted) this.notifyAll();
+    }
+
+    /*
+        Smooth weighted round robin: every class with waiting requests gains its weight, the class with the
+        most is served and pays back the sum of the weights that took part.
+    */
+    private Waiter next() {
+        RequestClass selected = null;
+        int total = 0;
+        for (RequestClass requestClass : RequestClass.values()) {
+            if (this.queues.get(requestClass).isEmpty()) continue;
+            this.currentWeights[requestClass.ordinal()] += requestClass.weight;
+            total += requestClass.weight;
+            if (selected == null
+                    || this.currentWeights[requestClass.ordinal()] > this.currentWeights[selected.ordinal()])
+                selected = requestClass;
+        }
+        if (selected == null) return null;
+
+        this.currentWeights[selected.ordinal()] -= total;
+        return this.queues.get(selected).poll();
+    }
+
+    private static final class Waiter {
+
+        private final long deadline;
+
+        // Guarded by the dispatcher.
+        private boolean granted;
+
+        Waiter(long deadline) {
+            this.deadline = deadline;
+        }
+    }
+}
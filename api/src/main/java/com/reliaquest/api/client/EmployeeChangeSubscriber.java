@@ -0,0 +1,176 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.exception.ApiException;
+import com.reliaquest.api.model.EmployeeChange;
+import com.reliaquest.api.model.EmployeeSnapshot;
+import com.reliaquest.api.store.EmployeeDataStore;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps a long-lived Server-Sent Events subscription to the mock server's employee change stream and applies
+ * each change to {@link EmployeeDataStore} as it arrives, so reads stay fresh without polling.
+ *
+ * <p>When the stream drops, the subscription is re-established with exponential backoff and resumed from the
+ * store's version through {@code Last-Event-ID}; the mock server replays what was missed, or asks for a resync
+ * when its change log no longer covers that version.
+ */
+@Slf4j
+@Component
+public class EmployeeChangeSubscriber {
+
+    public static final String ACCEPT = "Accept";
+    public static final String TEXT_EVENT_STREAM = "text/event-stream";
+    public static final String LAST_EVENT_ID = "Last-Event-ID";
+    public static final String RESYNC_EVENT = "resync";
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    EmployeeDataStore employeeDataStore;
+
+    @Autowired
+    MockServerClient mockServerClient;
+
+    @Value("${mock-server.events.enabled:true}")
+    private boolean enabled;
+
+    @Value("${mock-server.events.reconnect-delay:1s}")
+    private Duration reconnectDelay;
+
+    @Value("${mock-server.events.max-reconnect-delay:30s}")
+    private Duration maxReconnectDelay;
+
+    private volatile boolean running;
+    private Thread subscriberThread;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        // Each shard has its own change stream; sharded data is kept fresh by conditional reloads instead.
+        if (!this.enabled || this.mockServerClient.isSharded()) return;
+        this.running = true;
+        this.subscriberThread = new Thread(this::run, "employee-change-subscriber");
+        this.subscriberThread.setDaemon(true);
+        this.subscriberThread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        this.running = false;
+        if (this.subscriberThread != null) this.subscriberThread.interrupt();
+    }
+
+    private void run() {
+        Duration delay = this.reconnectDelay;
+        while (this.running) {
+            try {
+                this.subscribe();
+                delay = this.reconnectDelay;
+            } catch (IOException | ApiException e) {
+                log.warn("Employee change stream failed: " + e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                this.employeeDataStore.setPushConnected(false);
+            }
+
+            try {
+                Thread.sleep(delay.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            delay = delay.multipliedBy(2);
+            if (delay.compareTo(this.maxReconnectDelay) > 0) delay = this.maxReconnectDelay;
+        }
+    }
+
+    /*
+     * Blocks for as long as the stream stays open.
+     */
+    private void subscribe() throws IOException, InterruptedException {
+        // Every reconnect picks an endpoint afresh, so a stream that dropped with its endpoint moves elsewhere.
+        String url = this.mockServerClient.selectUrl(this.mockServerClient.getShardUrls().get(0));
+        HttpRequest.Builder requestBuilder = HttpRequest.newBuilder()
+                .uri(URI.create(url + "/events"))
+                .header(ACCEPT, TEXT_EVENT_STREAM)
+                .GET();
+        // Subscribing from a loaded version lets the mock server replay whatever changed since, atomically with
+        // the subscription; changes would otherwise be lost between the first load and the first event.
+        this.employeeDataStore.ensureLoaded();
+        long version = this.employeeDataStore.getVersion();
+        if (version != EmployeeSnapshot.UNKNOWN_VERSION)
+            requestBuilder.header(
+                    LAST_EVENT_ID, MockServerClient.versionTag(this.employeeDataStore.getEpoch(), version));
+
+        HttpResponse<Stream<String>> response =
+                this.httpClient.send(requestBuilder.build(), HttpResponse.BodyHandlers.ofLines());
+
+        try (Stream<String> lines = response.body()) {
+            if (response.statusCode() != HttpStatus.OK.value())
+                throw new IOException("Unexpected status " + response.statusCode());
+
+            log.info("Subscribed to employee changes from version " + version);
+            this.employeeDataStore.setPushConnected(true);
+            this.dispatch(lines.iterator());
+        }
+    }
+
+    /*
+     * Minimal text/event-stream parsing: "id", "event" and "data" fields accumulate until a blank line
+     * dispatches the event; comments and other fields are ignored.
+     */
+    private void dispatch(Iterator<String> lines) throws IOException {
+        String id = null;
+        String event = null;
+        StringBuilder data = new StringBuilder();
+        while (this.running && lines.hasNext()) {
+            String line = lines.next();
+            if (line.isEmpty()) {
+                if (event != null || data.length() > 0) this.handle(id, event, data.toString());
+                id = null;
+                event = null;
+                data.setLength(0);
+            } else if (line.startsWith("id:")) {
+                id = fieldValue(line);
+            } else if (line.startsWith("event:")) {
+                event = fieldValue(line);
+            } else if (line.startsWith("data:")) {
+                if (data.length() > 0) data.append('\n');
+                data.append(fieldValue(line));
+            }
+        }
+    }
+
+    private void handle(String id, String event, String data) throws IOException {
+        if (RESYNC_EVENT.equals(event)) {
+            log.info("Mock server requested a resync of employee data");
+            this.employeeDataStore.resync();
+            return;
+        }
+        this.employeeDataStore.applyPushedChange(
+                MockServerClient.epochOf(id), this.objectMapper.readValue(data, EmployeeChange.class));
+    }
+
+    private static String fieldValue(String line) {
+        String value = line.substring(line.indexOf(':') + 1);
+        return value.startsWith(" ") ? value.substring(1) : value;
+    }
+}
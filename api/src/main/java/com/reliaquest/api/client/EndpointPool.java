@@ -0,0 +1,190 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.model.EndpointStats;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Equivalent mock server endpoints serving the same data, one of which is picked per request.
+ *
+ * <p>Selection is power-of-two-choices: two random endpoints that are not ejected are compared and the one with
+ * the lower load wins. Load is the latency EWMA scaled by the requests in flight, so a slow endpoint and a busy
+ * one are both avoided without ever sending all traffic to a single "best" endpoint.
+ *
+ * <p>An endpoint that answers 429 or fails to answer (timeout, refused connection) is ejected for at least the
+ * ejection duration. After that, it only takes traffic again once a health probe has succeeded. When every
+ * endpoint is ejected the one ejected longest ago is used anyway, so requests fail on their own merits.
+ */
+public final class EndpointPool {
+
+    /*
+     * Weight of the newest latency sample; about the last ten requests dominate the average.
+     */
+    static final double EWMA_WEIGHT = 0.2;
+
+    private final String shard;
+    private final List<Endpoint> endpoints;
+
+    EndpointPool(String shard, List<Endpoint> endpoints) {
+        this.shard = shard;
+        this.endpoints = List.copyOf(endpoints);
+    }
+
+    /*
+     * Replica URLs of a shard are separated by '|'.
+     */
+    static List<String> replicaUrls(String shard) {
+        return List.of(shard.split("\\|"));
+    }
+
+    public String shard() {
+        return this.shard;
+    }
+
+    public List<Endpoint> endpoints() {
+        return this.endpoints;
+    }
+
+    public Endpoint select() {
+        Endpoint selected = this.endpoints.size() == 1 ? this.endpoints.get(0) : this.choose();
+        selected.selected.increment();
+        return selected;
+    }
+
+    private Endpoint choose() {
+        Endpoint[] available = new Endpoint[this.endpoints.size()];
+        int count = 0;
+        Endpoint longestEjected = null;
+        for (Endpoint endpoint : this.endpoints) {
+            if (!endpoint.ejected) available[count++] = endpoint;
+            else if (longestEjected == null || endpoint.ejectedAt < longestEjected.ejectedAt)
+                longestEjected = endpoint;
+        }
+
+        if (count == 0) return longestEjected;
+        if (count == 1) return available[0];
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(count);
+        int second = random.nextInt(count - 1);
+        if (second >= first) second++;
+        return available[first].load() <= available[second].load() ? available[first] : available[second];
+    }
+
+    public List<EndpointStats> stats() {
+        return this.endpoints.stream()
+                .map(endpoint -> endpoint.stats(this.shard))
+                .toList();
+    }
+
+    public static final class Endpoint {
+
+        private final String url;
+        private final URI healthUri;
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final LongAdder selected = new LongAdder();
+        private final LongAdder succeeded = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder throttled = new LongAdder();
+        private final LongAdder ejections = new LongAdder();
+
+        // Guarded by this.
+        private double ewmaNanos;
+
+        private volatile boolean ejected;
+        private volatile long ejectedAt;
+        private volatile long ejectedUntil;
+
+        Endpoint(String url) {
+            this.url = url;
+            this.healthUri = URI.create(url).resolve("/actuator/health");
+        }
+
+        public String url() {
+            return this.url;
+        }
+
+        URI healthUri() {
+            return this.healthUri;
+        }
+
+        // Unmeasured endpoints count as 1 ms, so in-flight requests still spread load before any sample exists.
+        double load() {
+            double ewma;
+            synchronized (this) {
+                ewma = this.ewmaNanos;
+            }
+            return Math.max(ewma, 1_000_000) * (this.inFlight.get() + 1);
+        }
+
+        void started() {
+            this.inFlight.incrementAndGet();
+        }
+
+        void finished() {
+            this.inFlight.decrementAndGet();
+        }
+
+        void succeeded(long nanos) {
+            this.succeeded.increment();
+            synchronized (this) {
+                this.ewmaNanos = this.ewmaNanos == 0 ? nanos : this.ewmaNanos + EWMA_WEIGHT * (nanos - this.ewmaNanos);
+            }
+        }
+
+        void throttled(Duration ejection) {
+            this.throttled.increment();
+            this.eject(ejection);
+        }
+
+        void failed(Duration ejection) {
+            this.failed.increment();
+            this.eject(ejection);
+        }
+
+        boolean isEjected() {
+            return this.ejected;
+        }
+
+        // Ejected and past the minimum ejection time, i.e. waiting for a successful probe.
+        boolean isProbeDue() {
+            return this.ejected && System.nanoTime() - this.ejectedUntil >= 0;
+        }
+
+        void readmit() {
+            this.ejected = false;
+        }
+
+        private void eject(Duration ejection) {
+            long now = System.nanoTime();
+            this.ejectedUntil = now + ejection.toNanos();
+            if (this.ejected) return;
+            this.ejectedAt = now;
+            this.ejected = true;
+            this.ejections.increment();
+        }
+
+        EndpointStats stats(String shard) {
+            double ewma;
+            synchronized (this) {
+                ewma = this.ewmaNanos;
+            }
+            return new EndpointStats(
+                    shard,
+                    this.url,
+                    this.ejected,
+                    this.inFlight.get(),
+                    ewma / 1_000_000,
+                    this.selected.sum(),
+                    this.succeeded.sum(),
+                    this.failed.sum(),
+                    this.throttled.sum(),
+                    this.ejections.sum());
+        }
+    }
+}
@@ -1,78 +1,413 @@
 package com.reliaquest.api.client;
 
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.reliaquest.api.exception.ApiException;
+import com.reliaquest.api.jfr.DownstreamExchangeEvent;
+import com.reliaquest.api.jfr.JsonParseEvent;
+import com.reliaquest.api.limit.AdaptiveConcurrencyLimit;
 import com.reliaquest.api.model.*;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 
 @Slf4j
 @Component
+// Serves the first request and probes endpoints from startup, so it is created even in the fast-start profile.
+@Lazy(false)
 public class MockServerClient {
 
     public static final String CONTENT_TYPE = "Content-Type";
+    public static final String CONTENT_LENGTH = "Content-Length";
     public static final String APPLICATION_JSON = "application/json";
+    public static final String ACCEPT = "Accept";
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+    public static final String APPLICATION_SMILE = "application/x-jackson-smile";
+    public static final String SMILE_OR_JSON = APPLICATION_SMILE + ", " + APPLICATION_JSON + ";q=0.9";
+    public static final String ETAG = "ETag";
+    public static final String IF_NONE_MATCH = "If-None-Match";
     public static final String DELETE = "DELETE";
     public static final String API_INPUT_SERIALIZATION_FAILURE = "API Input serialization failure";
     public static final String DOWNSTREAM_API_FAILURE = "Downstream API failure";
     public static final String DOWNSTREAM_API_RESPONSE_PROCESSING_FAILURE =
             "Downstream API response processing failure";
     public static final String EMPLOYEE_NOT_FOUND = "employee_not_found";
+    public static final String SHARD_REBALANCE_IN_PROGRESS = "shard_rebalance_in_progress";
+    public static final String SHARD_REBALANCE_IN_PROGRESS_MESSAGE =
+            "Employees are being moved between mock server shards, retry shortly";
     private final HttpClient httpClient;
     private final ObjectMapper objectMapper;
+    private final ObjectMapper smileMapper;
+    private final ObjectReader employeeReader;
+
+    // Last parsed response and its ETag per URL, revalidated with If-None-Match instead of re-fetched.
+    private final Map<String, ConditionalResponse<?>> conditionalResponses = new ConcurrentHashMap<>();
+
+    // Runs the per-shard requests of a scatter-gather.
+    private final ExecutorService shardExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "mock-server-shard");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Shard URLs, their endpoint pools and their ring, replaced as a whole when the shards are rebalanced.
+    private volatile Shards shards;
+
+    // Creates and deletes hold the read side while they are sent, a rebalance the (fair) write side.
+    private final ReentrantReadWriteLock writeFence = new ReentrantReadWriteLock(true);
+
+    // Every endpoint by origin (scheme://host:port), so each request is accounted to the server it went to.
+    private final Map<String, EndpointPool.Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService probeExecutor;
+
+    // Fed with every downstream outcome; absent when the client is used outside the application.
+    @Autowired(required = false)
+    AdaptiveConcurrencyLimit concurrencyLimit;
+
+    // Admits requests by priority class; absent (no admission control) outside the application.
+    @Autowired(required = false)
+    DownstreamDispatcher dispatcher;
+
+    @Value("${mock-server.pool.request-timeout:10s}")
+    private Duration requestTimeout = Duration.ofSeconds(10);
+
+    @Value("${mock-server.pool.ejection:5s}")
+    private Duration ejection = Duration.ofSeconds(5);
+
+    @Value("${mock-server.pool.probe-interval:1s}")
+    private Duration probeInterval = Duration.ofSeconds(1);
+
+    // Asks for Smile (binary JSON) instead of JSON text; a mock server that cannot produce it answers JSON anyway.
+    @Value("${mock-server.smile.enabled:true}")
+    boolean smile = true;
 
     @Value("${mock-server.api-url}")
     protected String API_URL;
 
+    // Comma separated, with '|' between equivalent endpoints of a shard; when empty, API_URL is the only shard.
+    @Value("${mock-server.shard-urls:}")
+    protected List<String> SHARD_URLS;
+
     public MockServerClient() {
         this.httpClient = HttpClient.newHttpClient();
         this.objectMapper = new ObjectMapper();
+        this.smileMapper = new ObjectMapper(new SmileFactory());
+        this.employeeReader = this.objectMapper.readerFor(Employee.class);
+    }
+
+    @PostConstruct
+    void init() {
+        this.configureShards(SHARD_URLS == null || SHARD_URLS.isEmpty() ? List.of(API_URL) : SHARD_URLS);
+
+        this.probeExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "mock-server-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = this.probeInterval.toMillis();
+        this.probeExecutor.scheduleWithFixedDelay(
+                this::probeEjectedEndpoints, interval, interval, TimeUnit.MILLISECONDS);
     }
 
+    @PreDestroy
+    void stopProbes() {
+        if (this.probeExecutor != null) this.probeExecutor.shutdownNow();
+    }
+
+    /*
+        Routes to a new set of shards: shard i is served by the endpoints in shardUrls[i] and owns the ids the
+        ring assigns to i. A single entry is an unsharded mock server.
+    */
+    public void configureShards(List<String> shardUrls) {
+        List<EndpointPool> pools = shardUrls.stream().map(this::pool).toList();
+        this.shards = new Shards(List.copyOf(shardUrls), pools, new ShardRing(shardUrls.size()));
+        log.info("Routing to %d mock server shard(s): %s".formatted(shardUrls.size(), shardUrls));
+    }
+
+    /*
+        Runs a rebalance with creates and deletes fenced off: it waits for those in flight, and any sent meanwhile
+        fail with 503 instead of landing on a shard whose employees are being copied. A create on a shard after
+        it was listed would otherwise be dropped by its old owner, and a delete during the copy undone by the
+        import.
+    */
+    public <T> T withWritesFenced(Supplier<T> rebalance) {
+        this.writeFence.writeLock().lock();
+        try {
+            return rebalance.get();
+        } finally {
+            this.writeFence.writeLock().unlock();
+        }
+    }
+
+    public List<String> getShardUrls() {
+        return this.shards.urls();
+    }
+
+    /*
+        One endpoint of the shard, picked by its pool; shards not in use yet (during a rebalance) get a pool of
+        their own.
+    */
+    public String selectUrl(String shardUrl) {
+        for (EndpointPool pool : this.shards.pools())
+            if (pool.shard().equals(shardUrl)) return pool.select().url();
+        return this.pool(shardUrl).select().url();
+    }
+
+    public List<EndpointStats> getEndpointStats() {
+        return this.shards.pools().stream()
+                .flatMap(pool -> pool.stats().stream())
+                .toList();
+    }
+
+    /*
+        Readmits ejected endpoints whose ejection time is up once their health endpoint answers 200. Endpoints
+        that still fail stay ejected and are probed again on the next round.
+    */
+    void probeEjectedEndpoints() {
+        for (EndpointPool.Endpoint endpoint : this.endpoints.values()) {
+            if (!endpoint.isProbeDue()) continue;
+
+            HttpRequest request = HttpRequest.newBuilder(endpoint.healthUri())
+                    .timeout(this.requestTimeout)
+                    .GET()
+                    .build();
+            try {
+                HttpResponse<Void> response = this.httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == HttpStatus.OK.value()) {
+                    endpoint.readmit();
+                    log.info("Mock server endpoint %s is healthy again".formatted(endpoint.url()));
+                }
+            } catch (IOException e) {
+                log.debug("Health probe of %s failed: %s".formatted(endpoint.url(), e.getMessage()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /*
+        Drops the ETags and bodies kept for revalidation, so the next reads transfer everything again.
+    */
+    void clearConditionalResponses() {
+        this.conditionalResponses.clear();
+    }
+
+    /*
+        Every shard keeps its own change log, so sharded data has no single change feed to follow.
+    */
+    public boolean isSharded() {
+        return this.shards.urls().size() > 1;
+    }
+
+    /*
+        The returned list is shared with later calls while the downstream data is unchanged and must not be
+        modified.
+    */
     public List<Employee> getAllEmployees() {
+        return this.getEmployeeSnapshot().employees();
+    }
+
+    /*
+        The full list along with the data version carried in its ETag.
+
+        With several shards all of them are asked in parallel and their lists concatenated. The version is
+        the sum of the shard versions, which moves whenever any shard's data does, and the epoch lists the
+        shard epochs, so a restarted shard changes it. Every shard is revalidated on its own, so only the
+        shards that changed send their list again.
+    */
+    public EmployeeSnapshot getEmployeeSnapshot() {
+        List<EmployeeSnapshot> parts = this.scatter(this.shards.pools(), this::getEmployeeSnapshot);
+        if (parts.size() == 1) return parts.get(0);
+
+        boolean versioned = parts.stream().allMatch(part -> part.version() != EmployeeSnapshot.UNKNOWN_VERSION);
+        boolean epochs = parts.stream().allMatch(part -> part.epoch() != null);
+        List<Employee> employees =
+                new ArrayList<>(parts.stream().mapToInt(part -> part.employees().size()).sum());
+        parts.forEach(part -> employees.addAll(part.employees()));
+        return new EmployeeSnapshot(
+                epochs ? parts.stream().map(EmployeeSnapshot::epoch).collect(Collectors.joining(",")) : null,
+                versioned
+                        ? parts.stream().mapToLong(EmployeeSnapshot::version).sum()
+                        : EmployeeSnapshot.UNKNOWN_VERSION,
+                Collections.unmodifiableList(employees));
+    }
+
+    private EmployeeSnapshot getEmployeeSnapshot(String url) {
+        ConditionalResponse<DownstreamEmployeeDto> response =
+                this.invokeConditionalGet(url, DownstreamEmployeeDto.class);
+
+        List<Employee> employees = response.body().getEmployees();
+        return snapshotOf(response.eTag(), employees == null ? List.of() : Collections.unmodifiableList(employees));
+    }
+
+    /*
+        Creates and deletes after the given data version of the given epoch. The result asks for a resync when
+        the version is no longer covered by the mock server's change log, or was issued by another mock server
+        process (a restarted one, or another endpoint of the pool).
+    */
+    public EmployeeChanges getEmployeeChanges(String epoch, long since) {
         HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(API_URL))
-                .GET() // Making a GET request
+                .uri(URI.create(
+                        this.selectUrl(this.shards.urls().get(0)) + "/changes?since=" + versionTag(epoch, since)))
+                .GET()
                 .build();
 
-        DownstreamEmployeeDto employeesResponse = this.invokeApi(request, DownstreamEmployeeDto.class);
+        DownstreamEmployeeChangesDto changesResponse = this.invokeApi(request, DownstreamEmployeeChangesDto.class);
 
-        return employeesResponse.getEmployees();
+        return changesResponse.getChanges();
     }
 
     /*
-        invokeApi() has not been used in getEmployeeById() because in case of invalid ID, mock server
-        returns a 404 which we need to send it back to the client.
-        invokeApi() would treat a 404 as an error and a 500 internal server error will be returned
-        to the client.
+        Parses a representative payload of every downstream response type, and serializes every request
+        body type, so Jackson builds its (de)serializers before the first real call. Nothing is sent.
     */
-    public Employee getEmployeeById(String id) {
+    public void warmUpSerialization() {
+        String employee = "{\"id\":\"00000000-0000-0000-0000-000000000000\",\"employee_name\":\"Warm Up\","
+                + "\"employee_salary\":1,\"employee_age\":30,\"employee_title\":\"Warm Up\","
+                + "\"employee_email\":\"warm.up@company.com\"}";
+        try {
+            this.objectMapper.readValue("{\"data\":[" + employee + "]}", DownstreamEmployeeDto.class);
+            this.objectMapper.readValue("{\"data\":" + employee + "}", DownstreamEmployeeByIdDto.class);
+            this.objectMapper.readValue(
+                    "{\"data\":{\"version\":1,\"resync_required\":false,\"changes\":[{\"sequence\":1,"
+                            + "\"type\":\"CREATED\",\"employee\":" + employee + "}]}}",
+                    DownstreamEmployeeChangesDto.class);
+            this.objectMapper.readValue("{\"data\":true}", DownstreamEmployeeDeleteDto.class);
+            this.employeeReader.readValue(employee);
+            this.objectMapper.writeValueAsBytes(new CreateEmployeeDto("Warm Up", 1, 30, "Warm Up"));
+            this.objectMapper.writeValueAsBytes(new DeleteEmployeeDto("Warm Up"));
+            // The list and by-id payloads once more as Smile, the format the mock server is asked for.
+            this.smileMapper.readValue(
+                    this.smileMapper.writeValueAsBytes(this.objectMapper.readTree("{\"data\":[" + employee + "]}")),
+                    DownstreamEmployeeDto.class);
+            this.smileMapper.readValue(
+                    this.smileMapper.writeValueAsBytes(this.objectMapper.readTree("{\"data\":" + employee + "}")),
+                    DownstreamEmployeeByIdDto.class);
+        } catch (IOException e) {
+            log.warn("Client serialization warmup failed: %s".formatted(e.getMessage()));
+        }
+    }
+
+    /*
+        Streams all employees without materializing the downstream list. The mock server is asked for
+        newline delimited JSON and each record is parsed only when the returned stream pulls it, so the
+        HttpClient only requests more of the body as fast as the caller consumes it. A plain JSON envelope
+        is also accepted, in which case the "data" array is walked element by element.
+
+        With several shards they are streamed one after another.
+
+        The returned stream holds the downstream connection open and must be closed by the caller.
+    */
+    public Stream<Employee> streamAllEmployees() {
+        List<EndpointPool> pools = this.shards.pools();
+        if (pools.size() == 1) return this.streamAllEmployees(pools.get(0).select().url());
+        return pools.stream().flatMap(pool -> this.streamAllEmployees(pool.select().url()));
+    }
+
+    private Stream<Employee> streamAllEmployees(String url) {
         HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(API_URL + "/" + id))
+                .uri(URI.create(url))
+                .header(ACCEPT, APPLICATION_NDJSON)
                 .GET()
                 .build();
 
-        HttpResponse<String> response = null;
-        try {
-            response = this.httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-        } catch (IOException | InterruptedException e) {
+        HttpResponse<InputStream> response = this.send(request, HttpResponse.BodyHandlers.ofInputStream());
+
+        if (HttpStatus.valueOf(response.statusCode()).isError()) {
+            closeQuietly(response.body());
             throw new ApiException(
                     HttpStatus.INTERNAL_SERVER_ERROR.getReasonPhrase(),
                     DOWNSTREAM_API_FAILURE,
                     HttpStatus.INTERNAL_SERVER_ERROR.value());
         }
 
-        log.info("Status Code: " + response.statusCode());
-        log.info("Response Body: " + response.body());
+        JsonParseEvent event = new JsonParseEvent();
+        event.begin();
+        boolean ndjson = response.headers()
+                .firstValue(CONTENT_TYPE)
+                .map(contentType -> contentType.startsWith(APPLICATION_NDJSON))
+                .orElse(false);
+        JsonParser parser = null;
+        try {
+            parser = this.objectMapper.getFactory().createParser(response.body());
+            if (!ndjson) positionAtEmployeeData(parser);
+        } catch (IOException e) {
+            closeQuietly(parser != null ? parser : response.body());
+            throw new ApiException(
+                    HttpStatus.INTERNAL_SERVER_ERROR.getReasonPhrase(),
+                    DOWNSTREAM_API_RESPONSE_PROCESSING_FAILURE,
+                    HttpStatus.INTERNAL_SERVER_ERROR.value());
+        }
+
+        JsonParser employeeParser = parser;
+        EmployeeSpliterator employees = new EmployeeSpliterator(employeeParser, this.employeeReader);
+        return StreamSupport.stream(employees, false).onClose(() -> {
+            event.record(
+                    Employee.class,
+                    ndjson ? JsonParseEvent.NDJSON : JsonParseEvent.JSON,
+                    employeeParser.currentLocation().getByteOffset(),
+                    employees.records);
+            closeQuietly(employeeParser);
+        });
+    }
+
+    /*
+        invokeApi() has not been used in getEmployeeById() because in case of invalid ID, mock server
+        returns a 404 which we need to send it back to the client.
+        invokeApi() would treat a 404 as an error and a 500 internal server error will be returned
+        to the client.
+
+        Only the shard owning the id is asked.
+    */
+    public Employee getEmployeeById(String id) {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(this.shards.urlOfId(id) + "/" + id))
+                .GET()
+                .build();
+
+        HttpResponse<byte[]> response = this.send(request);
+        log.info("Response Body: " + bodyOf(response));
 
         if (response.statusCode() == HttpStatus.NOT_FOUND.value())
             throw new ApiException(
@@ -86,19 +421,13 @@ public class MockServerClient {
                     DOWNSTREAM_API_FAILURE,
                     HttpStatus.INTERNAL_SERVER_ERROR.value());
 
-        DownstreamEmployeeByIdDto employeeResponse = null;
-        try {
-            employeeResponse = this.objectMapper.readValue(response.body(), DownstreamEmployeeByIdDto.class);
-        } catch (JsonProcessingException e) {
-            throw new ApiException(
-                    HttpStatus.INTERNAL_SERVER_ERROR.getReasonPhrase(),
-                    DOWNSTREAM_API_RESPONSE_PROCESSING_FAILURE,
-                    HttpStatus.INTERNAL_SERVER_ERROR.value());
-        }
-
-        return employeeResponse.getEmployee();
+        return this.parse(response, DownstreamEmployeeByIdDto.class).getEmployee();
     }
 
+    /*
+        A shard assigns new employees ids from its own slice, so any shard can take a create. Hashing the name
+        onto the ring spreads creates evenly.
+    */
     public Employee createEmployee(CreateEmployeeDto input) {
 
         String serializedInput = null;
@@ -111,17 +440,23 @@ public class MockServerClient {
                     HttpStatus.INTERNAL_SERVER_ERROR.value());
         }
 
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(API_URL))
-                .header(CONTENT_TYPE, APPLICATION_JSON)
-                .POST(HttpRequest.BodyPublishers.ofString(serializedInput))
-                .build();
-
-        DownstreamEmployeeByIdDto employeeResponse = this.invokeApi(request, DownstreamEmployeeByIdDto.class);
+        // The shard is picked inside the fence, so a create waiting out a rebalance goes by the new ring.
+        String body = serializedInput;
+        DownstreamEmployeeByIdDto employeeResponse = this.fenced(() -> this.invokeApi(
+                HttpRequest.newBuilder()
+                        .uri(URI.create(this.shards.urlOf(String.valueOf(input.getName()))))
+                        .header(CONTENT_TYPE, APPLICATION_JSON)
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(),
+                DownstreamEmployeeByIdDto.class));
 
         return employeeResponse.getEmployee();
     }
 
+    /*
+        The mock server deletes by name, which does not say which shard holds the employee, so every shard is
+        asked. Names are checked for uniqueness before a delete, so at most one shard deletes anything.
+    */
     public DownstreamEmployeeDeleteDto deleteEmployee(DeleteEmployeeDto deleteEmployeeDto) {
 
         // Convert the POJO to a JSON string
@@ -135,43 +470,393 @@ public class MockServerClient {
                     HttpStatus.INTERNAL_SERVER_ERROR.value());
         }
 
+        String body = jsonBody;
+        List<DownstreamEmployeeDeleteDto> results = this.fenced(() -> this.scatter(this.shards.pools(), url -> {
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(URI.create(url))
+                    .header(CONTENT_TYPE, APPLICATION_JSON)
+                    .method(DELETE, HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+            return this.invokeApi(request, DownstreamEmployeeDeleteDto.class);
+        }));
+
+        return results.stream()
+                .filter(result -> Boolean.TRUE.equals(result.getData()))
+                .findFirst()
+                .orElse(results.get(0));
+    }
+
+    /*
+        Employees shard shardUrl would not own as shard index of count; all of them for an index outside
+        0..count-1, i.e. a shard that is being removed. Nothing is deleted by this call.
+    */
+    public List<Employee> getMisplacedEmployees(String shardUrl, int index, int count) {
+        String path = "/shard/misplaced?index=%d&count=%d".formatted(index, count);
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(shardAdminUri(this.selectUrl(shardUrl), path))
+                .GET()
+                .build();
+
+        List<Employee> employees = this.invokeApi(request, DownstreamEmployeeDto.class).getEmployees();
+        return employees == null ? List.of() : employees;
+    }
+
+    /*
+        Adds employees to a shard with their ids unchanged; ids the shard already holds are skipped.
+    */
+    public int importEmployees(String shardUrl, List<Employee> employees) {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(shardAdminUri(this.selectUrl(shardUrl), "/shard/import"))
+                .header(CONTENT_TYPE, APPLICATION_JSON)
+                .POST(HttpRequest.BodyPublishers.ofString(this.serialize(employees)))
+                .build();
+
+        return this.invokeApi(request, DownstreamCountDto.class).getCount();
+    }
+
+    /*
+        Makes the shard shard index of count, after which it drops every employee it no longer owns.
+    */
+    public int assignShard(String shardUrl, int index, int count) {
         HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(API_URL))
+                .uri(shardAdminUri(this.selectUrl(shardUrl), "/shard/topology"))
                 .header(CONTENT_TYPE, APPLICATION_JSON)
-                .method(DELETE, HttpRequest.BodyPublishers.ofString(jsonBody))
+                .PUT(HttpRequest.BodyPublishers.ofString(this.serialize(new ShardAssignmentDto(index, count))))
                 .build();
 
-        return this.invokeApi(request, DownstreamEmployeeDeleteDto.class);
+        return this.invokeApi(request, DownstreamCountDto.class).getCount();
+    }
+
+    /*
+        A timed tryLock, unlike tryLock(), honours the fair ordering: once a rebalance is waiting for the writes
+        in flight, new ones are refused rather than let ahead of it.
+    */
+    private <T> T fenced(Supplier<T> write) {
+        boolean admitted;
+        try {
+            admitted = this.writeFence.readLock().tryLock(0, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+        if (!admitted)
+            throw new ApiException(
+                    SHARD_REBALANCE_IN_PROGRESS,
+                    SHARD_REBALANCE_IN_PROGRESS_MESSAGE,
+                    HttpStatus.SERVICE_UNAVAILABLE.value());
+        try {
+            return write.get();
+        } finally {
+            this.writeFence.readLock().unlock();
+        }
+    }
+
+    /*
+        Calls one endpoint of every shard in parallel and returns the results in shard order. A single shard is
+        called inline.
+    */
+    private <T> List<T> scatter(List<EndpointPool> pools, Function<String, T> call) {
+        if (pools.size() == 1) return List.of(call.apply(pools.get(0).select().url()));
+
+        List<CompletableFuture<T>> futures = pools.stream()
+                .map(pool -> CompletableFuture.supplyAsync(() -> call.apply(pool.select().url()), this.shardExecutor))
+                .toList();
+        try {
+            return futures.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof ApiException apiException) throw apiException;
+            throw e;
+        }
+    }
+
+    // Shard administration lives at the root of the mock server, outside the rate limited employee api.
+    private static URI shardAdminUri(String shardUrl, String path) {
+        return URI.create(shardUrl).resolve(path);
+    }
+
+    private String serialize(Object input) {
+        try {
+            return this.objectMapper.writeValueAsString(input);
+        } catch (JsonProcessingException e) {
+            throw new ApiException(
+                    HttpStatus.INTERNAL_SERVER_ERROR.getReasonPhrase(),
+                    API_INPUT_SERIALIZATION_FAILURE,
+                    HttpStatus.INTERNAL_SERVER_ERROR.value());
+        }
     }
 
     private <T> T invokeApi(HttpRequest request, Class<T> responseClass) {
-        HttpResponse<String> response = null;
+        return this.readResponse(this.send(request), responseClass);
+    }
+
+    /*
+        GET with conditional revalidation. When the last response for the URL carried an ETag it is sent as
+        If-None-Match, and a 304 returns the previously parsed body without transferring or parsing it again.
+    */
+    private <T> ConditionalResponse<T> invokeConditionalGet(String url, Class<T> responseClass) {
+        ConditionalResponse<?> cached = this.conditionalResponses.get(url);
+
+        HttpRequest.Builder requestBuilder = HttpRequest.newBuilder().uri(URI.create(url)).GET();
+        if (cached != null) requestBuilder.header(IF_NONE_MATCH, cached.eTag());
+
+        HttpResponse<byte[]> response = this.send(requestBuilder.build());
+
+        if (cached != null && response.statusCode() == HttpStatus.NOT_MODIFIED.value()) {
+            log.info("Downstream data unchanged for ETag " + cached.eTag());
+            return new ConditionalResponse<>(cached.eTag(), responseClass.cast(cached.body()));
+        }
+
+        ConditionalResponse<T> fetched = new ConditionalResponse<>(
+                response.headers().firstValue(ETAG).orElse(null), this.readResponse(response, responseClass));
+        if (fetched.eTag() != null) this.conditionalResponses.put(url, fetched);
+        else this.conditionalResponses.remove(url);
+        return fetched;
+    }
+
+    /*
+        The mock server's ETag is the quoted epoch and data version, e.g. "k3x9f2-42". Older mock servers send
+        the version alone, e.g. "42", which leaves the epoch unknown.
+    */
+    // The inverse of snapshotOf(): a bare version when the epoch is unknown.
+    public static String versionTag(String epoch, long version) {
+        return epoch == null ? String.valueOf(version) : epoch + "-" + version;
+    }
+
+    // The epoch of a version tag (an event id, say); null for a bare version or none at all.
+    public static String epochOf(String versionTag) {
+        int separator = versionTag == null ? -1 : versionTag.lastIndexOf('-');
+        return separator < 0 ? null : versionTag.substring(0, separator);
+    }
+
+    static EmployeeSnapshot snapshotOf(String eTag, List<Employee> employees) {
+        if (eTag == null) return new EmployeeSnapshot(EmployeeSnapshot.UNKNOWN_VERSION, employees);
+        String tag = eTag.replace("\"", "");
         try {
-            response = this.httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-        } catch (IOException | InterruptedException e) {
+            return new EmployeeSnapshot(
+                    epochOf(tag), Long.parseLong(tag.substring(tag.lastIndexOf('-') + 1)), employees);
+        } catch (NumberFormatException e) {
+            return new EmployeeSnapshot(EmployeeSnapshot.UNKNOWN_VERSION, employees);
+        }
+    }
+
+    /*
+        Bodies are read as bytes, so they can be parsed in whichever format the mock server chose. Requests
+        that do not set Accept ask for Smile with JSON as the fallback.
+    */
+    private HttpResponse<byte[]> send(HttpRequest request) {
+        if (this.smile && request.headers().firstValue(ACCEPT).isEmpty())
+            request = HttpRequest.newBuilder(request, (name, value) -> true)
+                    .header(ACCEPT, SMILE_OR_JSON)
+                    .build();
+        return this.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    /*
+        Sends with the request timeout and accounts the outcome to the endpoint the request went to (its
+        latency on an answer, an ejection on a 429 or on no answer at all) and to the concurrency limit.
+
+        The dispatcher slot is held until the response headers arrive; a streamed body is read without it.
+        Every call is recorded as a flight recorder event with the admission wait and the exchange timed apart.
+    */
+    private <B> HttpResponse<B> send(HttpRequest request, HttpResponse.BodyHandler<B> bodyHandler) {
+        if (request.timeout().isEmpty() && this.requestTimeout != null)
+            request = HttpRequest.newBuilder(request, (name, value) -> true)
+                    .timeout(this.requestTimeout)
+                    .build();
+        EndpointPool.Endpoint endpoint = this.endpoints.get(origin(request.uri()));
+        DownstreamDispatcher.RequestClass requestClass = DownstreamDispatcher.RequestClass.of(request);
+
+        DownstreamExchangeEvent event = new DownstreamExchangeEvent();
+        event.begin();
+        long admissionStarted = System.nanoTime();
+        if (this.dispatcher != null) this.dispatcher.acquire(requestClass);
+        HttpResponse<B> response = null;
+        long started = System.nanoTime();
+        if (endpoint != null) endpoint.started();
+        try {
+            response = this.httpClient.send(request, bodyHandler);
+        } catch (IOException e) {
+            if (endpoint != null) endpoint.failed(this.ejection);
+            if (this.concurrencyLimit != null) this.concurrencyLimit.onOverload();
+            throw new ApiException(
+                    HttpStatus.INTERNAL_SERVER_ERROR.getReasonPhrase(),
+                    DOWNSTREAM_API_FAILURE,
+                    HttpStatus.INTERNAL_SERVER_ERROR.value());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
             throw new ApiException(
                     HttpStatus.INTERNAL_SERVER_ERROR.getReasonPhrase(),
                     DOWNSTREAM_API_FAILURE,
                     HttpStatus.INTERNAL_SERVER_ERROR.value());
+        } finally {
+            if (endpoint != null) endpoint.finished();
+            if (this.dispatcher != null) this.dispatcher.release();
+            event.record(
+                    request.method(),
+                    request.uri().toString(),
+                    requestClass.name(),
+                    response == null ? 0 : response.statusCode(),
+                    started - admissionStarted,
+                    System.nanoTime() - started);
+        }
+
+        long elapsed = System.nanoTime() - started;
+        boolean throttled = response.statusCode() == HttpStatus.TOO_MANY_REQUESTS.value();
+        if (endpoint != null) {
+            if (throttled) endpoint.throttled(this.ejection);
+            else endpoint.succeeded(elapsed);
+        }
+        if (this.concurrencyLimit != null) {
+            if (throttled) this.concurrencyLimit.onOverload();
+            else this.concurrencyLimit.onSample(elapsed);
         }
 
         log.info("Status Code: " + response.statusCode());
+        return response;
+    }
+
+    // Endpoints are shared by origin, so their statistics and ejections carry over to a new set of shards.
+    private EndpointPool pool(String shardUrl) {
+        return new EndpointPool(
+                shardUrl,
+                EndpointPool.replicaUrls(shardUrl).stream()
+                        .map(url -> this.endpoints.computeIfAbsent(
+                                origin(URI.create(url)), origin -> new EndpointPool.Endpoint(url)))
+                        .toList());
+    }
+
+    private static String origin(URI uri) {
+        return uri.getScheme() + "://" + uri.getAuthority();
+    }
 
+    private <T> T readResponse(HttpResponse<byte[]> response, Class<T> responseClass) {
         if (HttpStatus.valueOf(response.statusCode()).isError()) {
-            log.info("Response Body: " + response.body());
+            log.info("Response Body: " + bodyOf(response));
             throw new ApiException(
                     HttpStatus.INTERNAL_SERVER_ERROR.getReasonPhrase(),
                     DOWNSTREAM_API_FAILURE,
                     HttpStatus.INTERNAL_SERVER_ERROR.value());
         }
 
+        return this.parse(response, responseClass);
+    }
+
+    /*
+        Parsed as Smile or JSON by the response's Content-Type. The parse is a flight recorder event.
+    */
+    private <T> T parse(HttpResponse<byte[]> response, Class<T> responseClass) {
+        JsonParseEvent event = new JsonParseEvent();
+        event.begin();
+        boolean smile = isSmile(response);
+        T parsed;
         try {
-            return this.objectMapper.readValue(response.body(), responseClass);
-        } catch (JsonProcessingException e) {
+            parsed = (smile ? this.smileMapper : this.objectMapper).readValue(response.body(), responseClass);
+        } catch (IOException e) {
             throw new ApiException(
                     HttpStatus.INTERNAL_SERVER_ERROR.getReasonPhrase(),
                     DOWNSTREAM_API_RESPONSE_PROCESSING_FAILURE,
                     HttpStatus.INTERNAL_SERVER_ERROR.value());
         }
+        if (event.shouldCommit())
+            event.record(
+                    responseClass,
+                    smile ? JsonParseEvent.SMILE : JsonParseEvent.JSON,
+                    response.body().length,
+                    recordCount(parsed));
+        return parsed;
+    }
+
+    private static boolean isSmile(HttpResponse<?> response) {
+        return response.headers()
+                .firstValue(CONTENT_TYPE)
+                .map(contentType -> contentType.startsWith(APPLICATION_SMILE))
+                .orElse(false);
+    }
+
+    // Smile bodies are binary and logged by size only.
+    private static String bodyOf(HttpResponse<byte[]> response) {
+        if (isSmile(response)) return "<%d bytes of Smile>".formatted(response.body().length);
+        return new String(response.body(), StandardCharsets.UTF_8);
+    }
+
+    private static int recordCount(Object parsed) {
+        if (parsed instanceof DownstreamEmployeeDto dto && dto.getEmployees() != null)
+            return dto.getEmployees().size();
+        if (parsed instanceof DownstreamEmployeeChangesDto dto
+                && dto.getChanges() != null
+                && dto.getChanges().getChanges() != null) return dto.getChanges().getChanges().size();
+        return 1;
+    }
+
+    /*
+        Advances the parser of a {"data": [...], "status": ...} envelope to the start of the data array.
+    */
+    private static void positionAtEmployeeData(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT)
+            throw new JsonParseException(parser, "Expected a JSON object in downstream response");
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("data".equals(field) && value == JsonToken.START_ARRAY) return;
+            parser.skipChildren();
+        }
+
+        throw new JsonParseException(parser, "Missing employee data in downstream response");
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            log.debug("Failed to close downstream response", e);
+        }
+    }
+
+    private record ConditionalResponse<T>(String eTag, T body) {}
+
+    private record Shards(List<String> urls, List<EndpointPool> pools, ShardRing ring) {
+
+        String urlOf(String key) {
+            return this.pools.get(this.ring.shardOf(key)).select().url();
+        }
+
+        String urlOfId(String id) {
+            return this.pools.get(this.ring.shardOfId(id)).select().url();
+        }
+    }
+
+    /*
+        Reads one employee object per advance. Stops at the end of the NDJSON body or the data array.
+    */
+    private static class EmployeeSpliterator extends Spliterators.AbstractSpliterator<Employee> {
+
+        private final JsonParser parser;
+        private final ObjectReader employeeReader;
+
+        // Read so far, for the parse event committed when the stream is closed.
+        private int records;
+
+        EmployeeSpliterator(JsonParser parser, ObjectReader employeeReader) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.parser = parser;
+            this.employeeReader = employeeReader;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Employee> action) {
+            try {
+                if (this.parser.nextToken() != JsonToken.START_OBJECT) return false;
+                Employee employee = this.employeeReader.readValue(this.parser);
+                this.records++;
+                action.accept(employee);
+                return true;
+            } catch (IOException e) {
+                throw new ApiException(
+                        HttpStatus.INTERNAL_SERVER_ERROR.getReasonPhrase(),
+                        DOWNSTREAM_API_RESPONSE_PROCESSING_FAILURE,
+                        HttpStatus.INTERNAL_SERVER_ERROR.value());
+            }
+        }
     }
 }
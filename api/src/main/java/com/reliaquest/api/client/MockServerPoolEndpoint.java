@@ -0,0 +1,25 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.model.EndpointStats;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code GET /actuator/mockserver}: selection counts, latency EWMA, requests in flight and ejections of every
+ * mock server endpoint in use.
+ */
+@Component
+@Endpoint(id = "mockserver")
+public class MockServerPoolEndpoint {
+
+    @Autowired
+    MockServerClient mockServerClient;
+
+    @ReadOperation
+    public List<EndpointStats> endpoints() {
+        return this.mockServerClient.getEndpointStats();
+    }
+}
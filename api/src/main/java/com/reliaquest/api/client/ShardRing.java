@@ -0,0 +1,81 @@
+package com.reliaquest.api.client;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * Consistent-hash ring over {@code count} mock server shards with {@link #VIRTUAL_NODES} points per shard, so a
+ * change in shard count only moves the ids next to the added or removed points.
+ *
+ * <p>Must stay in step with the mock server's {@code ShardRing}: points are the hashes of
+ * {@code "shard-<index>#<virtual node>"}, keys the hashes of the lower case UUID string, and the hash is 64-bit
+ * FNV-1a finished with the MurmurHash3 mixer. Both sides then agree on the owner of every id.
+ */
+public final class ShardRing {
+
+    public static final int VIRTUAL_NODES = 128;
+
+    private final int count;
+    private final long[] points;
+    private final int[] shards;
+
+    public ShardRing(int count) {
+        if (count < 1) throw new IllegalArgumentException("Shard count must be positive: " + count);
+        this.count = count;
+
+        long[][] entries = new long[count * VIRTUAL_NODES][];
+        for (int shard = 0; shard < count; shard++)
+            for (int node = 0; node < VIRTUAL_NODES; node++)
+                entries[shard * VIRTUAL_NODES + node] = new long[] {hash("shard-" + shard + "#" + node), shard};
+        Arrays.sort(entries, Comparator.comparingLong(entry -> entry[0]));
+
+        this.points = new long[entries.length];
+        this.shards = new int[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            this.points[i] = entries[i][0];
+            this.shards[i] = (int) entries[i][1];
+        }
+    }
+
+    public int count() {
+        return this.count;
+    }
+
+    /*
+        The owner is the first point at or after the key's hash, wrapping around past the last point.
+    */
+    public int shardOf(String key) {
+        if (this.count == 1) return 0;
+        int index = Arrays.binarySearch(this.points, hash(key));
+        int point = index >= 0 ? index : -index - 1;
+        return this.shards[point == this.points.length ? 0 : point];
+    }
+
+    /*
+        Ids are keyed by their canonical (lower case) form, as the mock server keys its UUIDs, so the id of a
+        request in any case finds the shard holding it. Anything not a UUID is hashed as it is.
+    */
+    public int shardOfId(String id) {
+        try {
+            return this.shardOf(UUID.fromString(id).toString());
+        } catch (IllegalArgumentException e) {
+            return this.shardOf(id);
+        }
+    }
+
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,37 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.model.CreateEmployeeDto;
+import com.reliaquest.api.model.CreateOperation;
+import com.reliaquest.api.service.IAsyncCreateService;
+import jakarta.validation.Valid;
+import java.net.URI;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/async")
+public class AsyncEmployeeController {
+
+    @Autowired
+    IAsyncCreateService asyncCreateService;
+
+    // Validated here, since the mock server only sees the input after the client has been answered.
+    @PostMapping()
+    public ResponseEntity<CreateOperation> createEmployeeAsync(@Valid @RequestBody CreateEmployeeDto input) {
+        CreateOperation operation = this.asyncCreateService.submit(input);
+        return ResponseEntity.accepted()
+                .location(URI.create("/async/operations/" + operation.id()))
+                .body(operation);
+    }
+
+    @GetMapping("/operations/{id}")
+    public ResponseEntity<CreateOperation> getCreateOperation(@PathVariable String id) {
+        return ResponseEntity.ok(this.asyncCreateService.getOperation(id));
+    }
+}
@@ -0,0 +1,30 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.model.SalaryStatistics;
+import com.reliaquest.api.service.IEmployeeAnalyticsService;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/analytics")
+public class EmployeeAnalyticsController {
+
+    @Autowired
+    IEmployeeAnalyticsService employeeAnalyticsService;
+
+    @GetMapping("/salary/by-title")
+    public ResponseEntity<List<SalaryStatistics>> getSalaryStatisticsByTitle() {
+        return ResponseEntity.ok(this.employeeAnalyticsService.getSalaryStatisticsByTitle());
+    }
+
+    @GetMapping("/salary/by-age-band")
+    public ResponseEntity<List<SalaryStatistics>> getSalaryStatisticsByAgeBand(
+            @RequestParam(defaultValue = "10") int width) {
+        return ResponseEntity.ok(this.employeeAnalyticsService.getSalaryStatisticsByAgeBand(width));
+    }
+}
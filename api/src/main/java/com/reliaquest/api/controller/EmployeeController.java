@@ -1,8 +1,10 @@
 package com.reliaquest.api.controller;
 
+import com.reliaquest.api.limit.CallsDownstream;
 import com.reliaquest.api.model.CreateEmployeeDto;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.service.IEmployeeService;
+import jakarta.servlet.http.HttpServletRequest;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -12,9 +14,15 @@ import org.springframework.web.bind.annotation.RestController;
 @RestController
 public class EmployeeController implements IEmployeeController<Employee, CreateEmployeeDto> {
 
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     @Autowired
     IEmployeeService employeeService;
 
+    // Request-scoped proxy, so createEmployee can read the Idempotency-Key header without changing its signature.
+    @Autowired
+    HttpServletRequest request;
+
     @Override
     public ResponseEntity<List<Employee>> getAllEmployees() {
         return ResponseEntity.ok(this.employeeService.getAllEmployees());
@@ -26,6 +34,7 @@ public class EmployeeController implements IEmployeeController<Employee, CreateE
     }
 
     @Override
+    @CallsDownstream
     public ResponseEntity<Employee> getEmployeeById(String id) {
         return ResponseEntity.ok(this.employeeService.getEmployeeById(id));
     }
@@ -44,11 +53,13 @@ public class EmployeeController implements IEmployeeController<Employee, CreateE
     }
 
     @Override
+    @CallsDownstream
     public ResponseEntity<Employee> createEmployee(CreateEmployeeDto input) {
-        return ResponseEntity.ok(this.employeeService.createEmployee(input));
+        return ResponseEntity.ok(this.employeeService.createEmployee(input, this.request.getHeader(IDEMPOTENCY_KEY)));
     }
 
     @Override
+    @CallsDownstream
     public ResponseEntity<String> deleteEmployeeById(String id) {
         return ResponseEntity.ok(this.employeeService.deleteEmployeeById(id));
     }
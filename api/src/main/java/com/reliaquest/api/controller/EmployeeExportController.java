@@ -0,0 +1,48 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.ExportFormat;
+import com.reliaquest.api.service.IEmployeeExportService;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@Slf4j
+@RestController
+@RequestMapping("/export")
+public class EmployeeExportController {
+
+    @Autowired
+    IEmployeeExportService employeeExportService;
+
+    /*
+     * The downstream stream is opened on the request thread so connection failures still surface as regular
+     * error responses; only the record by record copy runs once the response has been committed.
+     */
+    @GetMapping()
+    public ResponseEntity<StreamingResponseBody> exportEmployees(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        Stream<Employee> employees = this.employeeExportService.openEmployeeStream();
+
+        StreamingResponseBody body = outputStream -> {
+            long exported = this.employeeExportService.writeEmployees(employees, exportFormat, outputStream);
+            log.info("Exported %d employees as %s".formatted(exported, exportFormat));
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+                .header(
+                        HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=employees." + exportFormat.getFileExtension())
+                .body(body);
+    }
+}
@@ -0,0 +1,37 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.model.Percentiles;
+import com.reliaquest.api.service.IEmployeeAnalyticsService;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/*
+ * Percentiles are estimated from sketches kept up to date as employees are created and deleted, so answers take
+ * constant time and memory; each carries the sketch's relative error bound.
+ */
+@RestController
+@RequestMapping("/analytics")
+public class EmployeePercentileController {
+
+    @Autowired
+    IEmployeeAnalyticsService employeeAnalyticsService;
+
+    @GetMapping("/salary/percentiles")
+    public ResponseEntity<Percentiles> getSalaryPercentiles(
+            @RequestParam(defaultValue = "0.5,0.9,0.99") List<Double> q,
+            @RequestParam(required = false) String title) {
+        return ResponseEntity.ok(this.employeeAnalyticsService.getSalaryPercentiles(q, title));
+    }
+
+    @GetMapping("/age/percentiles")
+    public ResponseEntity<Percentiles> getAgePercentiles(
+            @RequestParam(defaultValue = "0.5,0.9,0.99") List<Double> q,
+            @RequestParam(required = false) String title) {
+        return ResponseEntity.ok(this.employeeAnalyticsService.getAgePercentiles(q, title));
+    }
+}
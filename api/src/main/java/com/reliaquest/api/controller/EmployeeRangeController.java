@@ -0,0 +1,36 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.model.EmployeePage;
+import com.reliaquest.api.service.IEmployeeRangeService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/range")
+public class EmployeeRangeController {
+
+    @Autowired
+    IEmployeeRangeService employeeRangeService;
+
+    @GetMapping("/salary")
+    public ResponseEntity<EmployeePage> getEmployeesBySalaryRange(
+            @RequestParam(required = false) Integer min,
+            @RequestParam(required = false) Integer max,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size) {
+        return ResponseEntity.ok(this.employeeRangeService.getEmployeesBySalaryRange(min, max, page, size));
+    }
+
+    @GetMapping("/age")
+    public ResponseEntity<EmployeePage> getEmployeesByAgeRange(
+            @RequestParam(required = false) Integer min,
+            @RequestParam(required = false) Integer max,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size) {
+        return ResponseEntity.ok(this.employeeRangeService.getEmployeesByAgeRange(min, max, page, size));
+    }
+}
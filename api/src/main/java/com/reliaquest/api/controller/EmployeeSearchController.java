@@ -0,0 +1,40 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.model.FuzzyMatch;
+import com.reliaquest.api.model.NameOrder;
+import com.reliaquest.api.model.NameSuggestion;
+import com.reliaquest.api.service.IEmployeeSearchService;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/*
+ * Name searches answered from indexes over the locally held employee data, never with a downstream call.
+ */
+@RestController
+@RequestMapping("/names")
+public class EmployeeSearchController {
+
+    @Autowired
+    IEmployeeSearchService employeeSearchService;
+
+    @GetMapping("/fuzzy")
+    public ResponseEntity<List<FuzzyMatch>> fuzzySearch(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "2") int distance,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(this.employeeSearchService.fuzzySearch(q, distance, limit));
+    }
+
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<NameSuggestion>> autocomplete(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "name") String sort,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(this.employeeSearchService.autocomplete(q, NameOrder.from(sort), limit));
+    }
+}
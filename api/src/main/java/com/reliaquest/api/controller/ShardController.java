@@ -0,0 +1,31 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.model.ShardRebalance;
+import com.reliaquest.api.service.IShardService;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/shards")
+public class ShardController {
+
+    @Autowired
+    IShardService shardService;
+
+    @GetMapping()
+    public ResponseEntity<List<String>> getShards() {
+        return ResponseEntity.ok(this.shardService.getShardUrls());
+    }
+
+    // Body: the complete new list of shard URLs, e.g. the current ones plus one more to scale out.
+    @PutMapping()
+    public ResponseEntity<ShardRebalance> rebalance(@RequestBody List<String> shardUrls) {
+        return ResponseEntity.ok(this.shardService.rebalance(shardUrls));
+    }
+}
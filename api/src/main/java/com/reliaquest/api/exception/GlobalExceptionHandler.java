@@ -1,9 +1,12 @@
 package com.reliaquest.api.exception;
 
 import com.reliaquest.api.exception.model.GenericException;
+import java.util.stream.Collectors;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
@@ -35,6 +38,18 @@ public class GlobalExceptionHandler {
                 .body(new GenericException(HttpStatus.BAD_REQUEST.getReasonPhrase(), ex.getMessage()));
     }
 
+    /**
+     * Handles failed {@code @Valid} request bodies, answering 400 with every violated constraint's message.
+     */
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<GenericException> handleInvalidArguments(MethodArgumentNotValidException ex) {
+        String messages = ex.getBindingResult().getFieldErrors().stream()
+                .map(FieldError::getDefaultMessage)
+                .collect(Collectors.joining(" "));
+        return ResponseEntity.badRequest()
+                .body(new GenericException(HttpStatus.BAD_REQUEST.getReasonPhrase(), messages));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<GenericException> handleGenericException(Exception ex) {
         return ResponseEntity.internalServerError()
@@ -0,0 +1,137 @@
+package com.reliaquest.api.idempotency;
+
+import com.reliaquest.api.exception.ApiException;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+/**
+ * Results of requests sent with an {@code Idempotency-Key}, so a retried request is answered without repeating
+ * its side effect.
+ *
+ * <p>The first request for a key runs the operation. Concurrent requests with the same key wait for that run and
+ * get its outcome. Later ones get the stored result until it expires after {@code idempotency.ttl}. At most
+ * {@code idempotency.max-entries} completed keys are kept; beyond that the oldest are evicted first. Runs still in
+ * flight are never evicted, so a retry always waits for them instead of starting a second run.
+ *
+ * <p>A key is bound to the request it was first used with: reusing it for a different request is rejected with
+ * 422. Failed runs are not stored, so the client can retry them with the same key.
+ */
+@Slf4j
+@Component
+public class IdempotentRequests {
+
+    public static final String IDEMPOTENCY_KEY_REUSED = "idempotency_key_reused";
+    public static final String IDEMPOTENCY_KEY_REUSED_MESSAGE =
+            "The Idempotency-Key was already used with a different request";
+
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final LongSupplier nanoTime;
+
+    // Oldest first; guarded by this.
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+    @Autowired
+    public IdempotentRequests(
+            @Value("${idempotency.ttl:1h}") Duration ttl, @Value("${idempotency.max-entries:10000}") int maxEntries) {
+        this(ttl, maxEntries, System::nanoTime);
+    }
+
+    IdempotentRequests(Duration ttl, int maxEntries, LongSupplier nanoTime) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Runs the operation once per key, or returns the outcome of the run already made (or in flight) for it.
+     *
+     * @param request what identifies the request, compared with equals to detect a reused key
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Object request, Supplier<T> operation) {
+        CompletableFuture<Object> result;
+        boolean owner = false;
+        synchronized (this) {
+            this.evictExpired();
+            Entry entry = this.entries.get(key);
+            if (entry != null && !Objects.equals(entry.request(), request))
+                throw new ApiException(
+                        IDEMPOTENCY_KEY_REUSED,
+                        IDEMPOTENCY_KEY_REUSED_MESSAGE,
+                        HttpStatus.UNPROCESSABLE_ENTITY.value());
+
+            if (entry == null) {
+                entry = new Entry(request, new CompletableFuture<>(), this.nanoTime.getAsLong());
+                this.entries.put(key, entry);
+                this.evictOverflow();
+                owner = true;
+            }
+            result = entry.result();
+        }
+
+        if (owner) {
+            try {
+                T value = operation.get();
+                result.complete(value);
+                return value;
+            } catch (Throwable e) {
+                // Errors too: a run that never completes its result would leave every retry waiting on it forever.
+                this.forget(key, result);
+                result.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        log.info("Answering repeated request with Idempotency-Key [%s] from its first run".formatted(key));
+        try {
+            return (T) result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof Error cause) throw cause;
+            throw e;
+        }
+    }
+
+    synchronized int size() {
+        return this.entries.size();
+    }
+
+    private synchronized void forget(String key, CompletableFuture<Object> result) {
+        Entry entry = this.entries.get(key);
+        if (entry != null && entry.result() == result) this.entries.remove(key);
+    }
+
+    // Entries are in creation order, so expired ones are all at the head, along with runs still in flight.
+    private void evictExpired() {
+        long now = this.nanoTime.getAsLong();
+        Iterator<Map.Entry<String, Entry>> iterator = this.entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next().getValue();
+            if (now - entry.createdAt() < this.ttlNanos) return;
+            if (entry.result().isDone()) iterator.remove();
+        }
+    }
+
+    // More than max-entries may stay for a while when that many runs are in flight at once.
+    private void evictOverflow() {
+        Iterator<Map.Entry<String, Entry>> iterator = this.entries.entrySet().iterator();
+        while (this.entries.size() > this.maxEntries && iterator.hasNext()) {
+            if (iterator.next().getValue().result().isDone()) iterator.remove();
+        }
+    }
+
+    private record Entry(Object request, CompletableFuture<Object> result, long createdAt) {}
+}
@@ -0,0 +1,58 @@
+package com.reliaquest.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * One request to the mock server, from waiting for a dispatcher slot until the response (or its headers, for a
+ * streamed body) arrived.
+ */
+@Name("com.reliaquest.api.DownstreamExchange")
+@Label("Downstream Exchange")
+@Category({"ReliaQuest", "API"})
+@Description("A request to the mock server, split into admission and exchange")
+@StackTrace(false)
+public class DownstreamExchangeEvent extends jdk.jfr.Event {
+
+    @Label("Method")
+    String method;
+
+    @Label("URI")
+    String uri;
+
+    @Label("Request Class")
+    String requestClass;
+
+    @Label("Status")
+    @Description("HTTP status of the answer, 0 when there was none")
+    int status;
+
+    @Label("Admission")
+    @Description("Time spent waiting for a dispatcher slot")
+    @Timespan(Timespan.NANOSECONDS)
+    long admission;
+
+    @Label("Exchange")
+    @Description("Time from sending the request until the response was received")
+    @Timespan(Timespan.NANOSECONDS)
+    long exchange;
+
+    /**
+     * Commits the event if it is enabled and over its threshold; status 0 means no answer.
+     */
+    public void record(
+            String method, String uri, String requestClass, int status, long admissionNanos, long exchangeNanos) {
+        if (!this.shouldCommit()) return;
+        this.method = method;
+        this.uri = uri;
+        this.requestClass = requestClass;
+        this.status = status;
+        this.admission = admissionNanos;
+        this.exchange = exchangeNanos;
+        this.commit();
+    }
+}
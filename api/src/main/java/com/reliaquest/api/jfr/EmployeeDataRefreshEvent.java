@@ -0,0 +1,59 @@
+package com.reliaquest.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A refresh of the locally held employee data, including the downstream requests it made.
+ */
+@Name("com.reliaquest.api.EmployeeDataRefresh")
+@Label("Employee Data Refresh")
+@Category({"ReliaQuest", "API"})
+@Description("A reload or change feed catch-up of the locally held employee data")
+@StackTrace(false)
+public class EmployeeDataRefreshEvent extends jdk.jfr.Event {
+
+    public static final String RELOAD = "reload";
+    public static final String CHANGES = "changes";
+
+    @Label("Mode")
+    @Description("reload for the full list, changes for the change feed")
+    String mode;
+
+    @Label("From Version")
+    long fromVersion;
+
+    @Label("To Version")
+    long toVersion;
+
+    @Label("Changes Applied")
+    int changesApplied;
+
+    @Label("Employees")
+    int employees;
+
+    @Label("Error")
+    @Description("Error code when the refresh failed")
+    String error;
+
+    public void setMode(String mode) {
+        this.mode = mode;
+    }
+
+    public void setFromVersion(long fromVersion) {
+        this.fromVersion = fromVersion;
+    }
+
+    public void refreshed(long toVersion, int changesApplied, int employees) {
+        this.toVersion = toVersion;
+        this.changesApplied = changesApplied;
+        this.employees = employees;
+    }
+
+    public void failed(RuntimeException e) {
+        this.error = EmployeeOperationEvent.errorOf(e);
+    }
+}
@@ -0,0 +1,37 @@
+package com.reliaquest.api.jfr;
+
+import com.reliaquest.api.exception.ApiException;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One call of an employee service operation, from validation to the returned value or error. Recorded by the
+ * {@link EmployeeOperationInterceptor}.
+ */
+@Name("com.reliaquest.api.EmployeeOperation")
+@Label("Employee Operation")
+@Category({"ReliaQuest", "API"})
+@Description("A call of an employee service operation")
+@StackTrace(false)
+public class EmployeeOperationEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Results")
+    @Description("Elements of a returned collection, otherwise 1 for a value and 0 for none")
+    int results;
+
+    @Label("Error")
+    @Description("Error code of a failed call")
+    String error;
+
+    static String errorOf(RuntimeException e) {
+        return e instanceof ApiException apiException
+                ? apiException.getErrorResponse().errorCode()
+                : e.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,36 @@
+package com.reliaquest.api.jfr;
+
+import java.util.Collection;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * Runs each call of a {@link RecordedOperations} bean inside an {@link EmployeeOperationEvent}. Only the disabled
+ * check is paid when the event is off.
+ *
+ * <p>A bean's calls to its own methods do not pass through its proxy, so an operation built on another one, like the
+ * idempotent create, is recorded once rather than as two nested events.
+ */
+public class EmployeeOperationInterceptor implements MethodInterceptor {
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        EmployeeOperationEvent event = new EmployeeOperationEvent();
+        if (!event.isEnabled()) return invocation.proceed();
+
+        event.begin();
+        try {
+            Object result = invocation.proceed();
+            event.results = result instanceof Collection<?> collection ? collection.size() : result == null ? 0 : 1;
+            return result;
+        } catch (RuntimeException e) {
+            event.error = EmployeeOperationEvent.errorOf(e);
+            throw e;
+        } finally {
+            if (event.shouldCommit()) {
+                event.operation = invocation.getMethod().getName();
+                event.commit();
+            }
+        }
+    }
+}
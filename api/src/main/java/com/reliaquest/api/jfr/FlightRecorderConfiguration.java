@@ -0,0 +1,33 @@
+package com.reliaquest.api.jfr;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationClassFilter;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+
+@Configuration
+public class FlightRecorderConfiguration {
+
+    /*
+     * An infrastructure advisor, so it is applied by the auto-proxy creator Spring Boot registers without AspectJ.
+     * Static, so the advisor exists before the beans it proxies are created.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor employeeOperationAdvisor() {
+        StaticMethodMatcherPointcutAdvisor advisor =
+                new StaticMethodMatcherPointcutAdvisor(new EmployeeOperationInterceptor()) {
+                    @Override
+                    public boolean matches(Method method, Class<?> targetClass) {
+                        return Modifier.isPublic(method.getModifiers()) && method.getDeclaringClass() != Object.class;
+                    }
+                };
+        advisor.setClassFilter(new AnnotationClassFilter(RecordedOperations.class, true));
+        return advisor;
+    }
+}
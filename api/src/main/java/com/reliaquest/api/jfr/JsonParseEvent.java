@@ -0,0 +1,47 @@
+package com.reliaquest.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Parsing of one downstream response body, or of a whole streamed body for as long as it was read.
+ */
+@Name("com.reliaquest.api.JsonParse")
+@Label("JSON Parse")
+@Category({"ReliaQuest", "API"})
+@Description("A downstream response body parsed into objects")
+@StackTrace(false)
+public class JsonParseEvent extends jdk.jfr.Event {
+
+    public static final String JSON = "json";
+    public static final String NDJSON = "ndjson";
+    public static final String SMILE = "smile";
+
+    @Label("Type")
+    String type;
+
+    @Label("Format")
+    @Description("Wire format of the body: json, ndjson or smile")
+    String format;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    @Label("Records")
+    @Description("Employees or changes in the body, 1 for anything else")
+    int records;
+
+    public void record(Class<?> type, String format, long bytes, int records) {
+        if (!this.shouldCommit()) return;
+        this.type = type.getSimpleName();
+        this.format = format;
+        this.bytes = bytes;
+        this.records = records;
+        this.commit();
+    }
+}
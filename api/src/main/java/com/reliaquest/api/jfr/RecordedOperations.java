@@ -0,0 +1,16 @@
+package com.reliaquest.api.jfr;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a bean whose public methods are each recorded as an {@link EmployeeOperationEvent} named after the method,
+ * by the {@link EmployeeOperationInterceptor} around the bean rather than by the methods themselves.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface RecordedOperations {}
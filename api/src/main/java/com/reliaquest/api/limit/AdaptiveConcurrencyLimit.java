@@ -0,0 +1,151 @@
+package com.reliaquest.api.limit;
+
+import com.reliaquest.api.model.ConcurrencyLimitStats;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Limit on the api requests served at once, adapted to how the mock server copes, so a traffic spike is turned
+ * away at the door instead of becoming a flood of downstream calls that all fail together.
+ *
+ * <p>Every downstream answer moves the limit towards {@code limit * gradient + sqrt(limit)}, where the gradient is
+ * the long-term latency average over the recent one (between 0.5 and 1, with a tolerance of 1.5). While the mock
+ * server answers about as fast as usual the limit grows by roughly its square root; once its latency rises past
+ * the tolerance the limit shrinks in proportion. A 429 or a request without an answer cuts the limit by 10%, at most
+ * once per recent round trip so that a burst of them counts as one signal.
+ *
+ * <p>The limit only grows while at least half of it is in use, so a quiet api does not build up a limit that was
+ * never tried.
+ */
+@Slf4j
+@Component
+public class AdaptiveConcurrencyLimit {
+
+    // Latency may reach this multiple of its long-term average before the limit shrinks.
+    static final double TOLERANCE = 1.5;
+    static final double MIN_GRADIENT = 0.5;
+    static final double SHORT_WEIGHT = 0.1;
+    static final double LONG_WEIGHT = 0.01;
+    // Share of a new limit in the next one, so a single sample only nudges it.
+    static final double SMOOTHING = 0.2;
+    static final double BACKOFF = 0.9;
+    static final long MIN_BACKOFF_INTERVAL_NANOS = Duration.ofMillis(10).toNanos();
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final LongSupplier nanoTime;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    // Guarded by this.
+    private double limit;
+    private double shortRttNanos;
+    private double longRttNanos;
+    private boolean backedOff;
+    private long lastBackoff;
+
+    // Whole requests admitted, read on every request without locking.
+    private volatile int admitted;
+
+    @Autowired
+    public AdaptiveConcurrencyLimit(
+            @Value("${concurrency-limit.initial:20}") int initialLimit,
+            @Value("${concurrency-limit.min:4}") int minLimit,
+            @Value("${concurrency-limit.max:200}") int maxLimit) {
+        this(initialLimit, minLimit, maxLimit, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, LongSupplier nanoTime) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.nanoTime = nanoTime;
+        this.update(initialLimit);
+    }
+
+    /**
+     * Admits a request if fewer than the limit are in flight; every admitted request must be released.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = this.inFlight.get();
+            if (current >= this.admitted) {
+                this.rejected.increment();
+                return false;
+            }
+            if (this.inFlight.compareAndSet(current, current + 1)) {
+                this.accepted.increment();
+                return true;
+            }
+        }
+    }
+
+    public void release() {
+        this.inFlight.decrementAndGet();
+    }
+
+    /**
+     * A downstream answer (other than 429) that took the given time.
+     */
+    public synchronized void onSample(long rttNanos) {
+        if (this.shortRttNanos == 0) {
+            this.shortRttNanos = rttNanos;
+            this.longRttNanos = rttNanos;
+        } else {
+            this.shortRttNanos += SHORT_WEIGHT * (rttNanos - this.shortRttNanos);
+            this.longRttNanos += LONG_WEIGHT * (rttNanos - this.longRttNanos);
+        }
+        // After a long slow period the long-term average lags far behind; let it catch up with a recovery.
+        if (this.longRttNanos > 2 * this.shortRttNanos) this.longRttNanos *= 0.95;
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, TOLERANCE * this.longRttNanos / this.shortRttNanos));
+        double target = this.limit * gradient + Math.sqrt(this.limit);
+        if (target > this.limit && this.inFlight.get() * 2 < this.limit) return;
+
+        this.update(this.limit * (1 - SMOOTHING) + target * SMOOTHING);
+    }
+
+    /**
+     * A downstream 429, or a request that got no answer at all.
+     */
+    public synchronized void onOverload() {
+        long now = this.nanoTime.getAsLong();
+        long interval = Math.max(MIN_BACKOFF_INTERVAL_NANOS, (long) this.shortRttNanos);
+        if (this.backedOff && now - this.lastBackoff < interval) return;
+
+        this.backedOff = true;
+        this.lastBackoff = now;
+        this.update(this.limit * BACKOFF);
+        log.debug("Downstream overloaded, concurrency limit lowered to %d".formatted(this.admitted));
+    }
+
+    public int limit() {
+        return this.admitted;
+    }
+
+    public int inFlight() {
+        return this.inFlight.get();
+    }
+
+    public synchronized ConcurrencyLimitStats stats() {
+        return new ConcurrencyLimitStats(
+                this.admitted,
+                this.inFlight.get(),
+                this.accepted.sum(),
+                this.rejected.sum(),
+                this.shortRttNanos / 1_000_000,
+                this.longRttNanos / 1_000_000);
+    }
+
+    private void update(double newLimit) {
+        this.limit = Math.max(this.minLimit, Math.min(this.maxLimit, newLimit));
+        this.admitted = (int) this.limit;
+    }
+}
@@ -0,0 +1,17 @@
+package com.reliaquest.api.limit;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a handler that calls the mock server on every request, and is therefore admitted through the
+ * {@link AdaptiveConcurrencyLimit}. Handlers answered from the locally held data are not marked: the limit follows
+ * the mock server's latency and 429s, which say nothing about how many of those the api can serve.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface CallsDownstream {}
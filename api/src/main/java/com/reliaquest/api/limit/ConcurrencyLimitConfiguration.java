@@ -0,0 +1,35 @@
+package com.reliaquest.api.limit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class ConcurrencyLimitConfiguration implements WebMvcConfigurer {
+
+    @Autowired
+    AdaptiveConcurrencyLimit concurrencyLimit;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    /*
+     * Can be switched off to compare against an unprotected api, e.g. in scripts/concurrency-limit-load-test.sh.
+     */
+    @Value("${concurrency-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${concurrency-limit.retry-after:1s}")
+    private Duration retryAfter;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (this.enabled)
+            registry.addInterceptor(
+                    new ConcurrencyLimitInterceptor(this.concurrencyLimit, this.objectMapper, this.retryAfter));
+    }
+}
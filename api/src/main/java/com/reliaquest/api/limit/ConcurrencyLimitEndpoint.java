@@ -0,0 +1,23 @@
+package com.reliaquest.api.limit;
+
+import com.reliaquest.api.model.ConcurrencyLimitStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code GET /actuator/concurrencylimit}: the current adaptive concurrency limit and what it is based on.
+ */
+@Component
+@Endpoint(id = "concurrencylimit")
+public class ConcurrencyLimitEndpoint {
+
+    @Autowired
+    AdaptiveConcurrencyLimit concurrencyLimit;
+
+    @ReadOperation
+    public ConcurrencyLimitStats stats() {
+        return this.concurrencyLimit.stats();
+    }
+}
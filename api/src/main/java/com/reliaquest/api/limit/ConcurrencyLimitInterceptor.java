@@ -0,0 +1,71 @@
+package com.reliaquest.api.limit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.exception.ApiException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Admits requests to {@link CallsDownstream} handlers up to the adaptive concurrency limit and answers the rest at
+ * once with 503 and a {@code Retry-After}, rather than letting them queue for the mock server. Other requests pass
+ * through untouched.
+ */
+@Slf4j
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+    public static final String CONCURRENCY_LIMIT_EXCEEDED = "concurrency_limit_exceeded";
+    public static final String CONCURRENCY_LIMIT_EXCEEDED_MESSAGE =
+            "Too many requests in progress, retry after the indicated delay";
+
+    private static final String ACQUIRED = ConcurrencyLimitInterceptor.class.getName() + ".acquired";
+
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+    private final ObjectMapper objectMapper;
+    private final String retryAfterSeconds;
+
+    public ConcurrencyLimitInterceptor(
+            AdaptiveConcurrencyLimit concurrencyLimit, ObjectMapper objectMapper, Duration retryAfter) {
+        this.concurrencyLimit = concurrencyLimit;
+        this.objectMapper = objectMapper;
+        this.retryAfterSeconds = String.valueOf(Math.max(1, (retryAfter.toMillis() + 999) / 1000));
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        if (!(handler instanceof HandlerMethod method) || !method.hasMethodAnnotation(CallsDownstream.class))
+            return true;
+
+        if (this.concurrencyLimit.tryAcquire()) {
+            request.setAttribute(ACQUIRED, Boolean.TRUE);
+            return true;
+        }
+
+        log.debug("Rejected %s %s over the concurrency limit of %d"
+                .formatted(request.getMethod(), request.getRequestURI(), this.concurrencyLimit.limit()));
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, this.retryAfterSeconds);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        this.objectMapper.writeValue(
+                response.getOutputStream(),
+                new ApiException.ErrorResponse(CONCURRENCY_LIMIT_EXCEEDED, CONCURRENCY_LIMIT_EXCEEDED_MESSAGE));
+        return false;
+    }
+
+    @Override
+    public void afterCompletion(
+            HttpServletRequest request, HttpServletResponse response, Object handler, Exception exception) {
+        if (request.getAttribute(ACQUIRED) == null) return;
+
+        request.removeAttribute(ACQUIRED);
+        this.concurrencyLimit.release();
+    }
+}
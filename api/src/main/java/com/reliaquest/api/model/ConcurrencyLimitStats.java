@@ -0,0 +1,15 @@
+package com.reliaquest.api.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * State of the adaptive concurrency limit: requests admitted at once, in flight, accepted and rejected so far, and
+ * the recent and long-term downstream latency averages that drive the limit.
+ */
+public record ConcurrencyLimitStats(
+        int limit,
+        @JsonProperty("in_flight") int inFlight,
+        long accepted,
+        long rejected,
+        @JsonProperty("recent_latency_millis") double recentLatencyMillis,
+        @JsonProperty("long_term_latency_millis") double longTermLatencyMillis) {}
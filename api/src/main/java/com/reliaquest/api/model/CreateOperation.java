@@ -0,0 +1,25 @@
+package com.reliaquest.api.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * An asynchronous employee create: pending until the mock server has created the employee (or it has been given
+ * up on), with the attempts made so far.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CreateOperation(String id, Status status, int attempts, Employee employee, String error) {
+
+    public enum Status {
+        PENDING,
+        COMPLETED,
+        FAILED
+    }
+
+    public static CreateOperation pending(String id, int attempts) {
+        return new CreateOperation(id, Status.PENDING, attempts, null, null);
+    }
+
+    public boolean isFinished() {
+        return this.status != Status.PENDING;
+    }
+}
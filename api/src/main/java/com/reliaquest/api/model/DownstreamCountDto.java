@@ -0,0 +1,18 @@
+package com.reliaquest.api.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DownstreamCountDto {
+
+    @JsonProperty("data")
+    private Integer count;
+
+    @JsonProperty("status")
+    private String status;
+}
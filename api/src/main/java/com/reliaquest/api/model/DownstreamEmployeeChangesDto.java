@@ -0,0 +1,16 @@
+package com.reliaquest.api.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class DownstreamEmployeeChangesDto {
+
+    @JsonProperty("data")
+    private EmployeeChanges changes;
+
+    @JsonProperty("status")
+    private String status;
+}
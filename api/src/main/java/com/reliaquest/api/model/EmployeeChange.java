@@ -0,0 +1,32 @@
+package com.reliaquest.api.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A create or delete reported by the mock server's change feed. The sequence is the data version the change
+ * produced on the mock server.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class EmployeeChange {
+
+    @JsonProperty("sequence")
+    private long sequence;
+
+    @JsonProperty("type")
+    private Type type;
+
+    @JsonProperty("employee")
+    private Employee employee;
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+}
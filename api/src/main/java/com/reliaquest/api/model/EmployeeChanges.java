@@ -0,0 +1,25 @@
+package com.reliaquest.api.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class EmployeeChanges {
+
+    @JsonProperty("version")
+    private long version;
+
+    // Set when the requested version has fallen off the mock server's change log.
+    @JsonProperty("resync_required")
+    private boolean resyncRequired;
+
+    @JsonProperty("changes")
+    private List<EmployeeChange> changes;
+}
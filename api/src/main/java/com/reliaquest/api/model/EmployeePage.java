@@ -0,0 +1,8 @@
+package com.reliaquest.api.model;
+
+import java.util.List;
+
+/**
+ * One page of a query result; {@code total} counts every match across all pages.
+ */
+public record EmployeePage(List<Employee> employees, int page, int size, long total) {}
@@ -0,0 +1,20 @@
+package com.reliaquest.api.model;
+
+import java.util.List;
+
+/**
+ * The full employee list together with the mock server data version it was read at.
+ *
+ * @param epoch the mock server process the version was issued by, from the downstream ETag, or null when the
+ *     ETag carried none; versions of different epochs name unrelated datasets even when their numbers match
+ * @param version the version from the downstream ETag, or {@link #UNKNOWN_VERSION} when none was sent
+ * @param employees the employees, unmodifiable
+ */
+public record EmployeeSnapshot(String epoch, long version, List<Employee> employees) {
+
+    public static final long UNKNOWN_VERSION = -1;
+
+    public EmployeeSnapshot(long version, List<Employee> employees) {
+        this(null, version, employees);
+    }
+}
@@ -0,0 +1,19 @@
+package com.reliaquest.api.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Selection and latency counters of one mock server endpoint; {@code ewma_millis} is the moving average of
+ * response times (to the response headers for streamed responses).
+ */
+public record EndpointStats(
+        String shard,
+        String url,
+        boolean ejected,
+        @JsonProperty("in_flight") int inFlight,
+        @JsonProperty("ewma_millis") double ewmaMillis,
+        long selected,
+        long succeeded,
+        long failed,
+        long throttled,
+        long ejections) {}
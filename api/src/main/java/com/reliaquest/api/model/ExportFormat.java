@@ -0,0 +1,35 @@
+package com.reliaquest.api.model;
+
+import com.reliaquest.api.exception.ApiException;
+import java.util.Arrays;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Output formats supported by the streaming employee export.
+ */
+@Getter
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    public static final String INVALID_EXPORT_FORMAT = "invalid_export_format";
+
+    private final String mediaType;
+    private final String fileExtension;
+
+    ExportFormat(String mediaType, String fileExtension) {
+        this.mediaType = mediaType;
+        this.fileExtension = fileExtension;
+    }
+
+    public static ExportFormat from(String format) {
+        return Arrays.stream(values())
+                .filter(exportFormat -> exportFormat.name().equalsIgnoreCase(format))
+                .findFirst()
+                .orElseThrow(() -> new ApiException(
+                        INVALID_EXPORT_FORMAT,
+                        "Unsupported export format: [%s]".formatted(format),
+                        HttpStatus.BAD_REQUEST.value()));
+    }
+}
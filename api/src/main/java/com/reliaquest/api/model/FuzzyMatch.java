@@ -0,0 +1,6 @@
+package com.reliaquest.api.model;
+
+/**
+ * An employee found by fuzzy name search and the number of edits between the query and the employee's name.
+ */
+public record FuzzyMatch(Employee employee, int distance) {}
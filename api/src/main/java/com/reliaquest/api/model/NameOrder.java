@@ -0,0 +1,27 @@
+package com.reliaquest.api.model;
+
+import com.reliaquest.api.exception.ApiException;
+import java.util.Arrays;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Rankings of name autocomplete suggestions.
+ */
+public enum NameOrder {
+    // Highest salary first, then by name.
+    SALARY,
+    // Case-insensitive by name, then by highest salary.
+    NAME;
+
+    public static final String INVALID_NAME_ORDER = "invalid_name_order";
+
+    public static NameOrder from(String order) {
+        return Arrays.stream(values())
+                .filter(nameOrder -> nameOrder.name().equalsIgnoreCase(order))
+                .findFirst()
+                .orElseThrow(() -> new ApiException(
+                        INVALID_NAME_ORDER,
+                        "Unsupported name order: [%s]".formatted(order),
+                        HttpStatus.BAD_REQUEST.value()));
+    }
+}
@@ -0,0 +1,6 @@
+package com.reliaquest.api.model;
+
+/**
+ * A name autocomplete suggestion: the employee's id and full name.
+ */
+public record NameSuggestion(String id, String name) {}
@@ -0,0 +1,17 @@
+package com.reliaquest.api.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.Map;
+
+/**
+ * Estimated quantiles of a metric, keyed by the requested quantile. Each estimate is within
+ * {@code relative_error} of the true value at that rank.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record Percentiles(
+        String metric,
+        String title,
+        long count,
+        @JsonProperty("relative_error") double relativeError,
+        Map<Double, Double> quantiles) {}
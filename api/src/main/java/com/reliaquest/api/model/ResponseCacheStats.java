@@ -0,0 +1,19 @@
+package com.reliaquest.api.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * State of the rendered response cache: the data generation its entries belong to, how many it holds and their body
+ * bytes, how often requests were answered from it and the response bytes it spared the api from rendering.
+ */
+public record ResponseCacheStats(
+        long generation,
+        int entries,
+        long bytes,
+        long hits,
+        long misses,
+        @JsonProperty("hit_ratio") double hitRatio,
+        @JsonProperty("bytes_saved") long bytesSaved,
+        long evictions,
+        long oversized,
+        long invalidations) {}
@@ -0,0 +1,7 @@
+package com.reliaquest.api.model;
+
+/**
+ * Salary statistics of one group of employees (a title, an age band). {@code stddev} is the population
+ * standard deviation.
+ */
+public record SalaryStatistics(String group, long count, int min, int max, double mean, double stddev) {}
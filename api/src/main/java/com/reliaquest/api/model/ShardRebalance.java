@@ -0,0 +1,9 @@
+package com.reliaquest.api.model;
+
+import java.util.List;
+
+/**
+ * Outcome of a rebalance: the shards now in use, how many employees were copied to a new owner and how many
+ * copies the previous owners then dropped.
+ */
+public record ShardRebalance(List<String> shards, int moved, int released) {}
@@ -0,0 +1,268 @@
+package com.reliaquest.api.search;
+
+import com.reliaquest.api.store.EmployeeColumns;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Typo-tolerant name lookup over the employee columns, built as a SymSpell-style deletion index.
+ *
+ * <p>The distinct name tokens ({@link NameTerms}) are the terms. Every term is also entered under each string
+ * obtained by deleting up to {@link #MAX_DISTANCE} characters from its first {@link #PREFIX_LENGTH} characters. Two
+ * strings within that edit distance always share such a deletion, so a query token only generates its own
+ * deletions and looks them up: no scan over the terms or the employees. The few candidates found are verified with
+ * a bounded optimal string alignment distance (Levenshtein plus adjacent transpositions).
+ *
+ * <p>A query matches an employee when every query token is within the allowed distance of one of the name's
+ * tokens; the match distance is the sum over the query tokens. Employees are driven from the query token with
+ * the fewest postings and verified against the other tokens, and the closest matches are kept in a bounded heap.
+ *
+ * <p>Employees appended to the columns after the build are indexed by {@link #add} and removed ones dropped by
+ * {@link #remove}, at the cost of their own name tokens. A term whose employees are all gone keeps its deletions
+ * until the next build but is no longer matched. Slots are only meaningful for the columns it was built from, and
+ * it is not thread safe: {@link NameIndexes} updates it under the data store's write lock.
+ */
+public final class FuzzyNameIndex {
+
+    public static final int MAX_DISTANCE = 2;
+
+    // Deletions are generated from this many leading characters only, which bounds the index size per term.
+    static final int PREFIX_LENGTH = 7;
+
+    private static final int[] NO_IDS = new int[0];
+
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final Map<String, int[]> deletions = new HashMap<>();
+    private String[] terms;
+    private int termCount;
+    // Ascending slots per term, of which the first postingCounts[id] are in use.
+    private int[][] postings;
+    private int[] postingCounts;
+
+    private FuzzyNameIndex(int capacity) {
+        this.terms = new String[Math.max(16, capacity)];
+        this.postings = new int[this.terms.length][];
+        this.postingCounts = new int[this.terms.length];
+    }
+
+    public static FuzzyNameIndex build(EmployeeColumns columns) {
+        NameTerms nameTerms = NameTerms.of(columns);
+        FuzzyNameIndex index = new FuzzyNameIndex(nameTerms.terms.length);
+        for (int id = 0; id < nameTerms.terms.length; id++) index.addTerm(nameTerms.terms[id], nameTerms.postings[id]);
+        return index;
+    }
+
+    public int termCount() {
+        return this.termCount;
+    }
+
+    /**
+     * Indexes the employee at the slot, which must be above every slot indexed so far, as new slots are.
+     */
+    public void add(EmployeeColumns columns, int slot) {
+        for (String token : distinctTokens(columns.name(slot))) {
+            Integer id = this.termIds.get(token);
+            if (id == null) {
+                this.addTerm(token, new int[] {slot});
+                continue;
+            }
+            int count = this.postingCounts[id];
+            if (count == this.postings[id].length)
+                this.postings[id] = Arrays.copyOf(this.postings[id], Math.max(4, count * 2));
+            this.postings[id][count] = slot;
+            this.postingCounts[id] = count + 1;
+        }
+    }
+
+    /**
+     * Drops the employee at the slot; called while the columns still hold its name.
+     */
+    public void remove(EmployeeColumns columns, int slot) {
+        for (String token : distinctTokens(columns.name(slot))) {
+            Integer id = this.termIds.get(token);
+            if (id == null) continue;
+            int count = this.postingCounts[id];
+            int index = Arrays.binarySearch(this.postings[id], 0, count, slot);
+            if (index < 0) continue;
+            System.arraycopy(this.postings[id], index + 1, this.postings[id], index, count - index - 1);
+            this.postingCounts[id] = count - 1;
+        }
+    }
+
+    /**
+     * The closest employees to the query, closest first and then by name; at most {@code limit}.
+     *
+     * @param maxDistance edits allowed per query token, lowered for short tokens (none up to 2 characters, one
+     *                    up to 4) where more would match almost anything
+     */
+    public List<Match> search(EmployeeColumns columns, String query, int maxDistance, int limit) {
+        List<String> queryTokens = NameTerms.tokens(query);
+        if (queryTokens.isEmpty() || limit < 1) return List.of();
+
+        int[] allowed = new int[queryTokens.size()];
+        int driver = -1;
+        Map<Integer, Integer> driverTerms = null;
+        long driverPostings = Long.MAX_VALUE;
+        for (int i = 0; i < queryTokens.size(); i++) {
+            allowed[i] = allowedDistance(queryTokens.get(i), maxDistance);
+            Map<Integer, Integer> candidates = this.termsNear(queryTokens.get(i), allowed[i]);
+            if (candidates.isEmpty()) return List.of();
+
+            long total = candidates.keySet().stream()
+                    .mapToLong(id -> this.postingCounts[id])
+                    .sum();
+            if (total < driverPostings) {
+                driver = i;
+                driverTerms = candidates;
+                driverPostings = total;
+            }
+        }
+
+        Comparator<Match> closestFirst = Comparator.comparingInt(Match::distance).thenComparing(Match::name);
+        PriorityQueue<Match> closest = new PriorityQueue<>(limit + 1, closestFirst.reversed());
+        Set<Integer> seen = new HashSet<>();
+        for (int id : driverTerms.keySet()) {
+            for (int i = 0; i < this.postingCounts[id]; i++) {
+                int slot = this.postings[id][i];
+                if (!seen.add(slot)) continue;
+                String name = columns.name(slot);
+                int distance = distance(queryTokens, allowed, driver, driverTerms.get(id), NameTerms.tokens(name));
+                if (distance < 0) continue;
+
+                closest.add(new Match(slot, distance, name));
+                if (closest.size() > limit) closest.poll();
+            }
+        }
+
+        List<Match> matches = new ArrayList<>(closest);
+        matches.sort(closestFirst);
+        return matches;
+    }
+
+    /*
+     * Sum over the query tokens of the distance to their closest name token, or -1 if one of them has none
+     * within its allowed distance. The driver token's distance to the term the slot was found under is known.
+     */
+    private static int distance(
+            List<String> queryTokens, int[] allowed, int driver, int driverDistance, List<String> nameTokens) {
+        int total = 0;
+        for (int i = 0; i < queryTokens.size(); i++) {
+            int best = allowed[i] + 1;
+            if (i == driver) best = driverDistance;
+            for (String nameToken : nameTokens) {
+                if (best == 0) break;
+                best = Math.min(best, distance(queryTokens.get(i), nameToken, Math.min(best - 1, allowed[i])));
+            }
+            if (best > allowed[i]) return -1;
+            total += best;
+        }
+        return total;
+    }
+
+    // Term ids within the distance of the token, with their distance.
+    private Map<Integer, Integer> termsNear(String token, int maxDistance) {
+        Map<Integer, Integer> near = new HashMap<>();
+        Set<Integer> checked = new HashSet<>();
+        for (String deletion : deletions(prefix(token), maxDistance)) {
+            for (int id : this.deletions.getOrDefault(deletion, NO_IDS)) {
+                if (!checked.add(id) || this.postingCounts[id] == 0) continue;
+                int distance = distance(token, this.terms[id], maxDistance);
+                if (distance <= maxDistance) near.put(id, distance);
+            }
+        }
+        return near;
+    }
+
+    private void addTerm(String term, int[] slots) {
+        if (this.termCount == this.terms.length) {
+            int capacity = this.termCount * 2;
+            this.terms = Arrays.copyOf(this.terms, capacity);
+            this.postings = Arrays.copyOf(this.postings, capacity);
+            this.postingCounts = Arrays.copyOf(this.postingCounts, capacity);
+        }
+        int id = this.termCount++;
+        this.terms[id] = term;
+        this.postings[id] = slots;
+        this.postingCounts[id] = slots.length;
+        this.termIds.put(term, id);
+        for (String deletion : deletions(prefix(term), MAX_DISTANCE)) {
+            int[] ids = this.deletions.getOrDefault(deletion, NO_IDS);
+            int[] grown = Arrays.copyOf(ids, ids.length + 1);
+            grown[ids.length] = id;
+            this.deletions.put(deletion, grown);
+        }
+    }
+
+    private static List<String> distinctTokens(String name) {
+        return NameTerms.tokens(name).stream().distinct().toList();
+    }
+
+    static int allowedDistance(String token, int maxDistance) {
+        if (token.length() <= 2) return 0;
+        if (token.length() <= 4) return Math.min(1, maxDistance);
+        return Math.min(MAX_DISTANCE, maxDistance);
+    }
+
+    private static String prefix(String term) {
+        return term.length() <= PREFIX_LENGTH ? term : term.substring(0, PREFIX_LENGTH);
+    }
+
+    // The string itself and everything reachable by deleting up to the given number of characters.
+    static Set<String> deletions(String key, int distance) {
+        Set<String> deletions = new HashSet<>();
+        deletions.add(key);
+        List<String> frontier = List.of(key);
+        for (int round = 0; round < distance; round++) {
+            List<String> next = new ArrayList<>();
+            for (String string : frontier) {
+                for (int i = 0; i < string.length(); i++) {
+                    String deletion = string.substring(0, i) + string.substring(i + 1);
+                    if (deletions.add(deletion)) next.add(deletion);
+                }
+            }
+            frontier = next;
+        }
+        return deletions;
+    }
+
+    /**
+     * Optimal string alignment distance, or {@code maxDistance + 1} as soon as it is known to exceed the bound.
+     */
+    static int distance(String a, String b, int maxDistance) {
+        if (Math.abs(a.length() - b.length()) > maxDistance) return maxDistance + 1;
+        if (a.equals(b)) return 0;
+        if (maxDistance == 0) return 1;
+
+        int[] previousPrevious = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) previous[j] = j;
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1))
+                    value = Math.min(value, previousPrevious[j - 2] + 1);
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > maxDistance) return maxDistance + 1;
+            int[] recycled = previousPrevious;
+            previousPrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(previous[b.length()], maxDistance + 1);
+    }
+
+    public record Match(int slot, int distance, String name) {}
+}
@@ -0,0 +1,131 @@
+package com.reliaquest.api.search;
+
+import com.reliaquest.api.store.EmployeeColumns;
+import com.reliaquest.api.store.EmployeeDataListener;
+import com.reliaquest.api.store.EmployeeDataStore;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Name search structures over the employee columns. Reads go through {@link EmployeeDataStore#query}, whose read
+ * lock keeps the columns from changing during a search.
+ *
+ * <p>Both structures are built on a reset and then updated in place by each added or removed employee, under the
+ * store's write lock, so a query never waits for a build. The prefix trie only sets its changes aside, and once
+ * they exceed {@link #MIN_PREFIX_REBUILD_CHANGES} or 1/256 of the employees it is rebuilt in the background from a
+ * copy of the columns. The old trie keeps serving meanwhile; the first change after the build swaps in the new one,
+ * with the changes made since the copy set aside on it.
+ */
+@Slf4j
+@Component
+public class NameIndexes implements EmployeeDataListener {
+
+    static final int MIN_PREFIX_REBUILD_CHANGES = 1024;
+
+    private final ExecutorService prefixBuilder;
+
+    private FuzzyNameIndex fuzzy = FuzzyNameIndex.build(new EmployeeColumns());
+    private NamePrefixTrie prefix = NamePrefixTrie.build(new EmployeeColumns());
+
+    // The trie being rebuilt, the slot count of the copy it is built from, and the copied slots removed since.
+    private CompletableFuture<NamePrefixTrie> rebuild;
+    private int rebuildSlotCount;
+    private final List<Integer> removedDuringRebuild = new ArrayList<>();
+
+    public NameIndexes() {
+        this(Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "name-prefix-builder");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    NameIndexes(ExecutorService prefixBuilder) {
+        this.prefixBuilder = prefixBuilder;
+    }
+
+    @PreDestroy
+    void stopBuilder() {
+        this.prefixBuilder.shutdownNow();
+    }
+
+    public FuzzyNameIndex fuzzy() {
+        return this.fuzzy;
+    }
+
+    public NamePrefixTrie prefix() {
+        return this.prefix;
+    }
+
+    @Override
+    public void onReset(EmployeeColumns columns) {
+        long started = System.nanoTime();
+        this.fuzzy = FuzzyNameIndex.build(columns);
+        log.info("Built fuzzy name index of %d terms over %d employees in %d ms"
+                .formatted(this.fuzzy.termCount(), columns.size(), (System.nanoTime() - started) / 1_000_000));
+        // Slots may have been renumbered, so a rebuild in progress is of no use.
+        if (this.rebuild != null) this.rebuild.cancel(false);
+        this.rebuild = null;
+        this.removedDuringRebuild.clear();
+        this.prefix = buildPrefix(columns);
+    }
+
+    @Override
+    public void onAdded(EmployeeColumns columns, int slot) {
+        this.fuzzy.add(columns, slot);
+        if (!this.installRebuild(columns)) this.prefix.add(columns, slot);
+        if (this.rebuild == null
+                && this.prefix.pendingChanges() > Math.max(MIN_PREFIX_REBUILD_CHANGES, columns.size() / 256)) {
+            EmployeeColumns copy = columns.copy();
+            this.rebuildSlotCount = copy.slotCount();
+            this.rebuild = CompletableFuture.supplyAsync(() -> buildPrefix(copy), this.prefixBuilder);
+        }
+    }
+
+    @Override
+    public void onRemoved(EmployeeColumns columns, int slot) {
+        this.fuzzy.remove(columns, slot);
+        this.installRebuild(columns);
+        this.prefix.remove(columns, slot);
+        if (this.rebuild != null && slot < this.rebuildSlotCount) this.removedDuringRebuild.add(slot);
+    }
+
+    /*
+     * Swaps in a finished rebuild, after setting aside on it the changes made since the copy: slots appended since
+     * are still live or were removed again, and copied slots removed since were recorded. Returns whether it did.
+     */
+    private boolean installRebuild(EmployeeColumns columns) {
+        if (this.rebuild == null || !this.rebuild.isDone()) return false;
+        CompletableFuture<NamePrefixTrie> finished = this.rebuild;
+        this.rebuild = null;
+        try {
+            NamePrefixTrie rebuilt = finished.join();
+            for (int slot = this.rebuildSlotCount; slot < columns.slotCount(); slot++) {
+                if (columns.isLive(slot)) rebuilt.add(columns, slot);
+            }
+            for (int slot : this.removedDuringRebuild) rebuilt.remove(columns, slot);
+            this.prefix = rebuilt;
+            return true;
+        } catch (CompletionException e) {
+            log.warn("Keeping the name prefix trie, its rebuild failed: %s".formatted(e.getCause()));
+            return false;
+        } finally {
+            this.removedDuringRebuild.clear();
+        }
+    }
+
+    private static NamePrefixTrie buildPrefix(EmployeeColumns columns) {
+        long started = System.nanoTime();
+        NamePrefixTrie prefix = NamePrefixTrie.build(columns);
+        log.info("Built name prefix trie of %d nodes over %d employees in %d ms"
+                .formatted(prefix.nodeCount(), columns.size(), (System.nanoTime() - started) / 1_000_000));
+        return prefix;
+    }
+}
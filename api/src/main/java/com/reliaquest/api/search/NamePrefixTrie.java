@@ -0,0 +1,414 @@
+package com.reliaquest.api.search;
+
+import com.reliaquest.api.model.NameOrder;
+import com.reliaquest.api.store.EmployeeColumns;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Prefix autocomplete over the employee columns: a trie of the distinct name tokens ({@link NameTerms}), so that
+ * {@code and} suggests both Anderson and Andrea Smith.
+ *
+ * <p>The trie is flattened into parallel arrays with no object per node. The children of a node are stored
+ * contiguously in label order and found by binary search, and since the terms are sorted, the terms below a node
+ * are a contiguous range of term ids.
+ *
+ * <p>Every node also keeps the first {@link #TOP_K} employees below it in each {@link NameOrder}, so a one-token
+ * prefix costs a walk down the prefix and a copy, however many employees match. With several tokens, each must be
+ * the prefix of a token of the employee's name: the employees below the most selective token's node are verified
+ * against the others and the first ones kept in a bounded heap.
+ *
+ * <p>Employees changed after the build are not merged into the arrays. Removed ones are skipped, and added ones
+ * are kept in a small map from name token to slots that every query also looks up, so a change costs its own name
+ * tokens and {@link NameIndexes} rebuilds only once many have piled up. Slots are only meaningful for the columns
+ * it was built from, and it is not thread safe: {@link NameIndexes} updates it under the data store's write lock.
+ */
+public final class NamePrefixTrie {
+
+    public static final int TOP_K = 20;
+
+    private static final int[] NO_SLOTS = new int[0];
+
+    private final String[] terms;
+    private final int[][] postings;
+    // Postings of the terms before each term id, so the postings below a node are a difference.
+    private final long[] postingsBefore;
+    // The postings inverted: the term ids of a slot are slotTerms[slotTermStart[slot]] up to the next slot's start.
+    private final int[] slotTermStart;
+    private final int[] slotTerms;
+
+    // Per node; node 0 is the root.
+    private final char[] labels;
+    private final int[] firstChild;
+    private final int[] childCount;
+    private final int[] termFrom;
+    private final int[] termTo;
+    private final int[] topOffset;
+    private final int[] topCount;
+
+    // Per order: the rank of every slot, the slots by rank, and the top slots of every node from its topOffset.
+    private final int[][] ranks;
+    private final int[][] ranked;
+    private final int[][] tops;
+
+    // Slots at or above this were added after the build.
+    private final int builtSlotCount;
+    // Name tokens of the employees added since the build, each with their slots in ascending order.
+    private final TreeMap<String, int[]> addedTerms = new TreeMap<>();
+    private int addedCount;
+    // Built slots removed since the build.
+    private final BitSet removed = new BitSet();
+    private int removedCount;
+
+    private NamePrefixTrie(
+            NameTerms nameTerms, int slotCount, Nodes nodes, int[][] ranks, int[][] ranked, int[][] tops) {
+        this.terms = nameTerms.terms;
+        this.postings = nameTerms.postings;
+        this.postingsBefore = new long[this.terms.length + 1];
+        this.slotTermStart = new int[slotCount + 1];
+        for (int id = 0; id < this.terms.length; id++) {
+            this.postingsBefore[id + 1] = this.postingsBefore[id] + this.postings[id].length;
+            for (int slot : this.postings[id]) this.slotTermStart[slot + 1]++;
+        }
+        for (int slot = 0; slot < slotCount; slot++) this.slotTermStart[slot + 1] += this.slotTermStart[slot];
+        this.slotTerms = new int[this.slotTermStart[slotCount]];
+        int[] filled = Arrays.copyOf(this.slotTermStart, slotCount);
+        for (int id = 0; id < this.terms.length; id++) {
+            for (int slot : this.postings[id]) this.slotTerms[filled[slot]++] = id;
+        }
+        this.labels = Arrays.copyOf(nodes.labels, nodes.size);
+        this.firstChild = Arrays.copyOf(nodes.firstChild, nodes.size);
+        this.childCount = Arrays.copyOf(nodes.childCount, nodes.size);
+        this.termFrom = Arrays.copyOf(nodes.termFrom, nodes.size);
+        this.termTo = Arrays.copyOf(nodes.termTo, nodes.size);
+        this.topOffset = Arrays.copyOf(nodes.topOffset, nodes.size);
+        this.topCount = Arrays.copyOf(nodes.topCount, nodes.size);
+        this.ranks = ranks;
+        this.ranked = ranked;
+        this.tops = tops;
+        this.builtSlotCount = slotCount;
+    }
+
+    public static NamePrefixTrie build(EmployeeColumns columns) {
+        NameTerms nameTerms = NameTerms.of(columns);
+        String[] terms = nameTerms.terms;
+
+        // Breadth first, so that the children of a node are allocated together and after their parent.
+        Nodes nodes = new Nodes();
+        nodes.add('\0', 0, 0, terms.length);
+        for (int node = 0; node < nodes.size; node++) {
+            int depth = nodes.depth[node];
+            int from = nodes.termFrom[node];
+            int to = nodes.termTo[node];
+            // A term ending at this node sorts before the longer ones below it.
+            if (from < to && terms[from].length() == depth) from++;
+
+            nodes.firstChild[node] = nodes.size;
+            while (from < to) {
+                char label = terms[from].charAt(depth);
+                int end = from + 1;
+                while (end < to && terms[end].charAt(depth) == label) end++;
+                nodes.add(label, depth + 1, from, end);
+                from = end;
+            }
+            nodes.childCount[node] = nodes.size - nodes.firstChild[node];
+        }
+
+        NameOrder[] orders = NameOrder.values();
+        int[][] ranks = new int[orders.length][];
+        int[][] ranked = rankedSlots(columns);
+        for (NameOrder order : orders) {
+            ranks[order.ordinal()] = new int[columns.slotCount()];
+            for (int rank = 0; rank < ranked[order.ordinal()].length; rank++)
+                ranks[order.ordinal()][ranked[order.ordinal()][rank]] = rank;
+        }
+
+        // Children come after their parent, so going backwards every node's children are done before it.
+        int[][] tops = new int[orders.length][16];
+        int used = 0;
+        for (int node = nodes.size - 1; node >= 0; node--) {
+            int from = nodes.termFrom[node];
+            int[] own = from < nodes.termTo[node] && terms[from].length() == nodes.depth[node]
+                    ? nameTerms.postings[from]
+                    : NO_SLOTS;
+            int childEnd = nodes.firstChild[node] + nodes.childCount[node];
+            int candidateCount = own.length;
+            for (int child = nodes.firstChild[node]; child < childEnd; child++) candidateCount += nodes.topCount[child];
+
+            int count = 0;
+            for (NameOrder order : orders) {
+                int[] rankOf = ranks[order.ordinal()];
+                int[] candidates = new int[candidateCount];
+                int next = 0;
+                for (int slot : own) candidates[next++] = rankOf[slot];
+                for (int child = nodes.firstChild[node]; child < childEnd; child++) {
+                    for (int i = 0; i < nodes.topCount[child]; i++)
+                        candidates[next++] = rankOf[tops[order.ordinal()][nodes.topOffset[child] + i]];
+                }
+                Arrays.sort(candidates);
+
+                // A slot can be below two children (Ann Annabel), but has one rank, so duplicates are adjacent.
+                if (tops[order.ordinal()].length < used + TOP_K)
+                    tops[order.ordinal()] = Arrays.copyOf(tops[order.ordinal()], 2 * (used + TOP_K));
+                count = 0;
+                for (int i = 0; i < candidates.length && count < TOP_K; i++) {
+                    if (i > 0 && candidates[i] == candidates[i - 1]) continue;
+                    tops[order.ordinal()][used + count++] = ranked[order.ordinal()][candidates[i]];
+                }
+            }
+            nodes.topOffset[node] = used;
+            nodes.topCount[node] = count;
+            used += count;
+        }
+        for (NameOrder order : orders) tops[order.ordinal()] = Arrays.copyOf(tops[order.ordinal()], used);
+
+        return new NamePrefixTrie(nameTerms, columns.slotCount(), nodes, ranks, ranked, tops);
+    }
+
+    public int nodeCount() {
+        return this.labels.length;
+    }
+
+    /**
+     * Employees added or removed since the build.
+     */
+    public int pendingChanges() {
+        return this.addedCount + this.removedCount;
+    }
+
+    /**
+     * Suggests the employee at the slot, which must be above every slot suggested so far, as new slots are.
+     */
+    public void add(EmployeeColumns columns, int slot) {
+        for (String token : distinctTokens(columns.name(slot))) {
+            int[] slots = this.addedTerms.getOrDefault(token, NO_SLOTS);
+            int[] grown = Arrays.copyOf(slots, slots.length + 1);
+            grown[slots.length] = slot;
+            this.addedTerms.put(token, grown);
+        }
+        this.addedCount++;
+    }
+
+    /**
+     * Stops suggesting the employee at the slot; called while the columns still hold its name.
+     */
+    public void remove(EmployeeColumns columns, int slot) {
+        if (slot < this.builtSlotCount) {
+            if (this.removed.get(slot)) return;
+            this.removed.set(slot);
+            this.removedCount++;
+            return;
+        }
+        for (String token : distinctTokens(columns.name(slot))) {
+            int[] slots = this.addedTerms.get(token);
+            int index = slots == null ? -1 : Arrays.binarySearch(slots, slot);
+            if (index < 0) return;
+            if (slots.length == 1) {
+                this.addedTerms.remove(token);
+                continue;
+            }
+            int[] shrunk = Arrays.copyOf(slots, slots.length - 1);
+            System.arraycopy(slots, index + 1, shrunk, index, slots.length - index - 1);
+            this.addedTerms.put(token, shrunk);
+        }
+        this.addedCount--;
+    }
+
+    /**
+     * Slots of the first employees in the given order whose name has a token starting with each query token; at
+     * most {@code limit}.
+     */
+    public int[] complete(EmployeeColumns columns, String query, NameOrder order, int limit) {
+        List<String> queryTokens = NameTerms.tokens(query);
+        if (queryTokens.isEmpty() || limit < 1) return NO_SLOTS;
+
+        int[] built = this.completeBuilt(queryTokens, order, limit);
+        if (this.addedCount == 0) return built;
+
+        // The added employees under the first token that match the others, merged in by a bounded heap.
+        Comparator<Candidate> inOrder = order == NameOrder.NAME ? Candidate.BY_NAME : Candidate.BY_SALARY;
+        PriorityQueue<Candidate> first = new PriorityQueue<>(limit + 1, inOrder.reversed());
+        for (int slot : built) first.add(new Candidate(slot, columns.name(slot), columns.salary(slot)));
+        String token = queryTokens.get(0);
+        Set<Integer> seen = new HashSet<>();
+        for (int[] slots : this.addedTerms.subMap(token, token + Character.MAX_VALUE).values()) {
+            for (int slot : slots) {
+                if (!seen.add(slot)) continue;
+                String name = columns.name(slot);
+                if (queryTokens.size() > 1 && !prefixesAll(queryTokens, NameTerms.tokens(name))) continue;
+                first.add(new Candidate(slot, name, columns.salary(slot)));
+                if (first.size() > limit) first.poll();
+            }
+        }
+
+        int[] slots = new int[first.size()];
+        for (int i = slots.length - 1; i >= 0; i--) slots[i] = first.poll().slot();
+        return slots;
+    }
+
+    private int[] completeBuilt(List<String> queryTokens, NameOrder order, int limit) {
+        int[] nodes = new int[queryTokens.size()];
+        int driver = 0;
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = this.find(queryTokens.get(i));
+            if (nodes[i] < 0) return NO_SLOTS;
+            if (this.postingsBelow(nodes[i]) < this.postingsBelow(nodes[driver])) driver = i;
+        }
+
+        int[] top = this.tops[order.ordinal()];
+        if (nodes.length == 1 && limit <= TOP_K) {
+            int offset = this.topOffset[nodes[0]];
+            int[] slots = new int[Math.min(limit, this.topCount[nodes[0]])];
+            int count = 0;
+            for (int i = offset; i < offset + this.topCount[nodes[0]] && count < slots.length; i++) {
+                if (!this.removed.get(top[i])) slots[count++] = top[i];
+            }
+            // Unless the node's list holds every employee below it, removals can leave it short of the limit.
+            if (count == slots.length || this.topCount[nodes[0]] < TOP_K) return Arrays.copyOf(slots, count);
+        }
+
+        int[] rankOf = this.ranks[order.ordinal()];
+        PriorityQueue<Integer> first = new PriorityQueue<>(limit + 1, Comparator.reverseOrder());
+        int from = this.termFrom[nodes[driver]];
+        for (int id = from; id < this.termTo[nodes[driver]]; id++) {
+            for (int slot : this.postings[id]) {
+                if (this.removed.get(slot) || this.firstTermFrom(slot, from) != id || !this.matchesAll(nodes, slot))
+                    continue;
+                first.add(rankOf[slot]);
+                if (first.size() > limit) first.poll();
+            }
+        }
+
+        int[] slots = new int[first.size()];
+        for (int i = slots.length - 1; i >= 0; i--) slots[i] = this.ranked[order.ordinal()][first.poll()];
+        return slots;
+    }
+
+    private static boolean prefixesAll(List<String> queryTokens, List<String> nameTokens) {
+        for (String queryToken : queryTokens) {
+            if (nameTokens.stream().noneMatch(token -> token.startsWith(queryToken))) return false;
+        }
+        return true;
+    }
+
+    private static List<String> distinctTokens(String name) {
+        return NameTerms.tokens(name).stream().distinct().toList();
+    }
+
+    // A suggestion merged with the employees added since the build, compared in the orders of rankedSlots.
+    private record Candidate(int slot, String name, int salary) {
+
+        static final Comparator<Candidate> BY_NAME = Comparator.comparing(
+                        Candidate::name, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+                .thenComparing(Comparator.comparingInt(Candidate::salary).reversed())
+                .thenComparingInt(Candidate::slot);
+
+        static final Comparator<Candidate> BY_SALARY =
+                Comparator.comparingInt(Candidate::salary).reversed().thenComparing(BY_NAME);
+    }
+
+    // The node reached by the token's characters from the root, or -1.
+    private int find(String token) {
+        int node = 0;
+        for (int i = 0; i < token.length() && node >= 0; i++) {
+            int from = this.firstChild[node];
+            int index = Arrays.binarySearch(this.labels, from, from + this.childCount[node], token.charAt(i));
+            node = index < 0 ? -1 : index;
+        }
+        return node;
+    }
+
+    private long postingsBelow(int node) {
+        return this.postingsBefore[this.termTo[node]] - this.postingsBefore[this.termFrom[node]];
+    }
+
+    // A slot is under one term per name token, so it is only taken under the first of them in the driver's range.
+    private int firstTermFrom(int slot, int from) {
+        int first = Integer.MAX_VALUE;
+        for (int i = this.slotTermStart[slot]; i < this.slotTermStart[slot + 1]; i++)
+            if (this.slotTerms[i] >= from) first = Math.min(first, this.slotTerms[i]);
+        return first;
+    }
+
+    // Whether every node has one of the slot's terms below it, i.e. every query token prefixes a name token.
+    private boolean matchesAll(int[] nodes, int slot) {
+        for (int node : nodes) {
+            boolean found = false;
+            for (int i = this.slotTermStart[slot]; i < this.slotTermStart[slot + 1] && !found; i++)
+                found = this.slotTerms[i] >= this.termFrom[node] && this.slotTerms[i] < this.termTo[node];
+            if (!found) return false;
+        }
+        return true;
+    }
+
+    /*
+     * Live slots in name order (case-insensitive, then highest salary) and in salary order (highest first, then
+     * by name). Names are decoded once up front rather than on every comparison.
+     */
+    private static int[][] rankedSlots(EmployeeColumns columns) {
+        String[] names = new String[columns.slotCount()];
+        Integer[] byName = new Integer[columns.size()];
+        int count = 0;
+        for (int slot = 0; slot < columns.slotCount(); slot++) {
+            if (!columns.isLive(slot)) continue;
+            names[slot] = columns.name(slot);
+            byName[count++] = slot;
+        }
+        Arrays.sort(
+                byName,
+                Comparator.comparing((Integer slot) -> names[slot], Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+                        .thenComparing(slot -> columns.salary(slot), Comparator.reverseOrder())
+                        .thenComparing(Comparator.naturalOrder()));
+
+        // Salary descending, then name rank, packed into longs so the second sort is a primitive one.
+        long[] bySalary = new long[count];
+        for (int rank = 0; rank < count; rank++)
+            bySalary[rank] = (long) ~columns.salary(byName[rank]) << 32 | rank;
+        Arrays.sort(bySalary);
+
+        int[][] ranked = new int[NameOrder.values().length][count];
+        for (int rank = 0; rank < count; rank++) {
+            ranked[NameOrder.NAME.ordinal()][rank] = byName[rank];
+            ranked[NameOrder.SALARY.ordinal()][rank] = byName[(int) bySalary[rank]];
+        }
+        return ranked;
+    }
+
+    // Growable node columns used while building.
+    private static final class Nodes {
+        int size;
+        char[] labels = new char[64];
+        int[] depth = new int[64];
+        int[] firstChild = new int[64];
+        int[] childCount = new int[64];
+        int[] termFrom = new int[64];
+        int[] termTo = new int[64];
+        int[] topOffset = new int[64];
+        int[] topCount = new int[64];
+
+        void add(char label, int nodeDepth, int from, int to) {
+            if (this.size == this.labels.length) {
+                int capacity = 2 * this.size;
+                this.labels = Arrays.copyOf(this.labels, capacity);
+                this.depth = Arrays.copyOf(this.depth, capacity);
+                this.firstChild = Arrays.copyOf(this.firstChild, capacity);
+                this.childCount = Arrays.copyOf(this.childCount, capacity);
+                this.termFrom = Arrays.copyOf(this.termFrom, capacity);
+                this.termTo = Arrays.copyOf(this.termTo, capacity);
+                this.topOffset = Arrays.copyOf(this.topOffset, capacity);
+                this.topCount = Arrays.copyOf(this.topCount, capacity);
+            }
+            this.labels[this.size] = label;
+            this.depth[this.size] = nodeDepth;
+            this.termFrom[this.size] = from;
+            this.termTo[this.size] = to;
+            this.size++;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.reliaquest.api.search;
+
+import com.reliaquest.api.store.EmployeeColumns;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The distinct name tokens of the live employees in ascending order, each with the ascending slots of the
+ * employees whose name contains it. Shared input of the name search structures.
+ *
+ * <p>Names are split into lower-cased letter tokens: "Mary-Jane O'Neil" is {@code mary jane o neil}.
+ */
+final class NameTerms {
+
+    final String[] terms;
+    final int[][] postings;
+
+    private NameTerms(String[] terms, int[][] postings) {
+        this.terms = terms;
+        this.postings = postings;
+    }
+
+    static NameTerms of(EmployeeColumns columns) {
+        Map<String, Integer> termIds = new HashMap<>();
+        List<String> terms = new ArrayList<>();
+        List<int[]> postings = new ArrayList<>();
+        int[] postingCounts = new int[16];
+        for (int slot = 0; slot < columns.slotCount(); slot++) {
+            if (!columns.isLive(slot)) continue;
+            List<String> tokens = tokens(columns.name(slot));
+            for (int i = 0; i < tokens.size(); i++) {
+                // Names have a handful of tokens, so a repeated one is found faster by a scan than by hashing.
+                if (tokens.subList(0, i).contains(tokens.get(i))) continue;
+                int id = termIds.computeIfAbsent(tokens.get(i), term -> {
+                    terms.add(term);
+                    postings.add(new int[4]);
+                    return terms.size() - 1;
+                });
+                if (id == postingCounts.length) postingCounts = Arrays.copyOf(postingCounts, id * 2);
+                int count = postingCounts[id];
+                if (count == postings.get(id).length) postings.set(id, Arrays.copyOf(postings.get(id), count * 2));
+                postings.get(id)[count] = slot;
+                postingCounts[id] = count + 1;
+            }
+        }
+
+        Integer[] order = new Integer[terms.size()];
+        for (int id = 0; id < order.length; id++) order[id] = id;
+        Arrays.sort(order, (a, b) -> terms.get(a).compareTo(terms.get(b)));
+
+        String[] sortedTerms = new String[order.length];
+        int[][] sortedPostings = new int[order.length][];
+        for (int i = 0; i < order.length; i++) {
+            sortedTerms[i] = terms.get(order[i]);
+            sortedPostings[i] = Arrays.copyOf(postings.get(order[i]), postingCounts[order[i]]);
+        }
+        return new NameTerms(sortedTerms, sortedPostings);
+    }
+
+    static List<String> tokens(String name) {
+        List<String> tokens = new ArrayList<>();
+        if (name == null) return tokens;
+        int start = -1;
+        for (int i = 0; i <= name.length(); i++) {
+            boolean letter = i < name.length() && Character.isLetter(name.charAt(i));
+            if (letter && start < 0) start = i;
+            if (!letter && start >= 0) {
+                tokens.add(name.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+}
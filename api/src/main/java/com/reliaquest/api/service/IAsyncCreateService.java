@@ -0,0 +1,10 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.CreateEmployeeDto;
+import com.reliaquest.api.model.CreateOperation;
+
+public interface IAsyncCreateService {
+    public CreateOperation submit(CreateEmployeeDto input);
+
+    public CreateOperation getOperation(String id);
+}
@@ -0,0 +1,15 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.Percentiles;
+import com.reliaquest.api.model.SalaryStatistics;
+import java.util.List;
+
+public interface IEmployeeAnalyticsService {
+    public List<SalaryStatistics> getSalaryStatisticsByTitle();
+
+    public List<SalaryStatistics> getSalaryStatisticsByAgeBand(int bandWidth);
+
+    public Percentiles getSalaryPercentiles(List<Double> quantiles, String title);
+
+    public Percentiles getAgePercentiles(List<Double> quantiles, String title);
+}
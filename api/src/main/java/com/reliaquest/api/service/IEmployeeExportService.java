@@ -0,0 +1,14 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.ExportFormat;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.stream.Stream;
+
+public interface IEmployeeExportService {
+    public Stream<Employee> openEmployeeStream();
+
+    public long writeEmployees(Stream<Employee> employees, ExportFormat format, OutputStream outputStream)
+            throws IOException;
+}
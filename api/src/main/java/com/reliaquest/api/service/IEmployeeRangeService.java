@@ -0,0 +1,9 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.EmployeePage;
+
+public interface IEmployeeRangeService {
+    public EmployeePage getEmployeesBySalaryRange(Integer min, Integer max, int page, int size);
+
+    public EmployeePage getEmployeesByAgeRange(Integer min, Integer max, int page, int size);
+}
@@ -0,0 +1,12 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.FuzzyMatch;
+import com.reliaquest.api.model.NameOrder;
+import com.reliaquest.api.model.NameSuggestion;
+import java.util.List;
+
+public interface IEmployeeSearchService {
+    public List<FuzzyMatch> fuzzySearch(String query, int maxDistance, int limit);
+
+    public List<NameSuggestion> autocomplete(String prefix, NameOrder order, int limit);
+}
@@ -17,5 +17,7 @@ public interface IEmployeeService {
 
     public Employee createEmployee(CreateEmployeeDto input);
 
+    public Employee createEmployee(CreateEmployeeDto input, String idempotencyKey);
+
     public String deleteEmployeeById(String id);
 }
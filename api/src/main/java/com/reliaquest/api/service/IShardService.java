@@ -0,0 +1,10 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.ShardRebalance;
+import java.util.List;
+
+public interface IShardService {
+    public List<String> getShardUrls();
+
+    public ShardRebalance rebalance(List<String> shardUrls);
+}
@@ -0,0 +1,262 @@
+package com.reliaquest.api.service.impl;
+
+import com.reliaquest.api.exception.ApiException;
+import com.reliaquest.api.model.CreateEmployeeDto;
+import com.reliaquest.api.model.CreateOperation;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.IAsyncCreateService;
+import com.reliaquest.api.service.IEmployeeService;
+import com.reliaquest.api.writebehind.CreateJournal;
+import com.reliaquest.api.writebehind.JournalEntry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+/**
+ * Write-behind employee creates: a create is recorded in the {@link CreateJournal} and acknowledged at once, and a
+ * single drainer thread sends the recorded creates to the mock server at {@code write-behind.rate} per second.
+ *
+ * <p>The drainer takes up to {@code write-behind.batch-size} creates at a time and journals their outcomes with one
+ * forced write per batch. A create failing for a reason that may pass (a 5xx, which includes the mock server's
+ * 429s) is retried with exponential backoff; the drainer pauses meanwhile, since the whole downstream is the
+ * problem. After {@code write-behind.max-attempts}, or on an error a retry cannot fix, the create is failed.
+ *
+ * <p>Delivery is at least once: creates sent after the last journaled batch are sent again after a crash.
+ */
+@Slf4j
+@Service
+public class AsyncCreateService implements IAsyncCreateService {
+
+    public static final String CREATE_QUEUE_FULL = "create_queue_full";
+    public static final String CREATE_QUEUE_FULL_MESSAGE = "Too many creates are waiting for the mock server";
+    public static final String CREATE_JOURNAL_FAILURE = "create_journal_failure";
+    public static final String CREATE_JOURNAL_FAILURE_MESSAGE = "The create could not be recorded";
+    public static final String OPERATION_NOT_FOUND = "operation_not_found";
+
+    // Once the queue is empty, a journal beyond this size is rewritten with just the retained operations.
+    static final long COMPACTION_BYTES = 1 << 20;
+
+    @Autowired
+    IEmployeeService employeeService;
+
+    @Autowired
+    CreateJournal createJournal;
+
+    @Value("${write-behind.capacity:10000}")
+    private int capacity = 10_000;
+
+    @Value("${write-behind.batch-size:16}")
+    private int batchSize = 16;
+
+    @Value("${write-behind.rate:5}")
+    private double rate = 5;
+
+    @Value("${write-behind.max-attempts:20}")
+    private int maxAttempts = 20;
+
+    @Value("${write-behind.initial-backoff:1s}")
+    private Duration initialBackoff = Duration.ofSeconds(1);
+
+    @Value("${write-behind.max-backoff:30s}")
+    private Duration maxBackoff = Duration.ofSeconds(30);
+
+    // Finished operations kept for status polling, oldest evicted first.
+    @Value("${write-behind.retained:10000}")
+    private int retained = 10_000;
+
+    // Every known operation, oldest first, and the inputs of those still pending; guarded by this.
+    private final LinkedHashMap<String, CreateOperation> operations = new LinkedHashMap<>();
+    private final LinkedHashMap<String, CreateEmployeeDto> pending = new LinkedHashMap<>();
+    private int finished;
+
+    private Thread drainer;
+
+    @PostConstruct
+    public void start() {
+        synchronized (this) {
+            try {
+                this.replay();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to replay the create journal", e);
+            }
+        }
+
+        this.drainer = new Thread(this::drain, "write-behind-drainer");
+        this.drainer.setDaemon(true);
+        this.drainer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (this.drainer == null) return;
+        this.drainer.interrupt();
+        this.drainer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    // Guarded by this. Rebuilds the operations from the journal and compacts it.
+    private void replay() throws IOException {
+        for (JournalEntry entry : this.createJournal.replay()) {
+            if (entry.type() == JournalEntry.Type.ACCEPTED) this.pending.put(entry.id(), entry.input());
+            else this.pending.remove(entry.id());
+            this.record(entry.operation());
+        }
+        this.createJournal.rewrite(this.journalEntries());
+        if (!this.pending.isEmpty()) log.info("Resuming %d creates from the journal".formatted(this.pending.size()));
+    }
+
+    public CreateOperation submit(CreateEmployeeDto input) {
+        String id = UUID.randomUUID().toString();
+        synchronized (this) {
+            if (this.pending.size() >= this.capacity)
+                throw new ApiException(
+                        CREATE_QUEUE_FULL, CREATE_QUEUE_FULL_MESSAGE, HttpStatus.SERVICE_UNAVAILABLE.value());
+
+            try {
+                this.createJournal.append(List.of(JournalEntry.accepted(id, input)));
+            } catch (IOException e) {
+                log.error("Failed to journal create %s".formatted(id), e);
+                throw new ApiException(
+                        CREATE_JOURNAL_FAILURE,
+                        CREATE_JOURNAL_FAILURE_MESSAGE,
+                        HttpStatus.INTERNAL_SERVER_ERROR.value());
+            }
+
+            CreateOperation operation = CreateOperation.pending(id, 0);
+            this.pending.put(id, input);
+            this.record(operation);
+            this.notifyAll();
+            return operation;
+        }
+    }
+
+    public synchronized CreateOperation getOperation(String id) {
+        CreateOperation operation = this.operations.get(id);
+        if (operation == null)
+            throw new ApiException(
+                    OPERATION_NOT_FOUND,
+                    "No create operation found for Id: [%s]".formatted(id),
+                    HttpStatus.NOT_FOUND.value());
+        return operation;
+    }
+
+    private void drain() {
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / this.rate);
+        long nextSend = System.nanoTime();
+        while (!Thread.currentThread().isInterrupted()) {
+            List<Map.Entry<String, CreateEmployeeDto>> batch = new ArrayList<>();
+            List<JournalEntry> outcomes = new ArrayList<>();
+            try {
+                synchronized (this) {
+                    while (this.pending.isEmpty()) this.wait();
+                    Iterator<Map.Entry<String, CreateEmployeeDto>> iterator =
+                            this.pending.entrySet().iterator();
+                    while (batch.size() < this.batchSize && iterator.hasNext()) {
+                        Map.Entry<String, CreateEmployeeDto> next = iterator.next();
+                        batch.add(Map.entry(next.getKey(), next.getValue()));
+                    }
+                }
+
+                for (Map.Entry<String, CreateEmployeeDto> create : batch) {
+                    TimeUnit.NANOSECONDS.sleep(nextSend - System.nanoTime());
+                    nextSend = Math.max(nextSend, System.nanoTime()) + intervalNanos;
+                    outcomes.add(JournalEntry.outcome(this.create(create.getKey(), create.getValue())));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                this.journal(outcomes);
+            }
+        }
+    }
+
+    /*
+        Sends one create, retrying as configured. Its operation is updated after every attempt, so status polls
+        see progress before the batch is journaled.
+    */
+    private CreateOperation create(String id, CreateEmployeeDto input) throws InterruptedException {
+        Duration backoff = this.initialBackoff;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Employee employee = this.employeeService.createEmployee(input);
+                return this.finish(
+                        id, new CreateOperation(id, CreateOperation.Status.COMPLETED, attempt, employee, null));
+            } catch (RuntimeException e) {
+                boolean retryable = !(e instanceof ApiException apiException)
+                        || HttpStatus.valueOf(apiException.getHttpStatusCode()).is5xxServerError();
+                if (!retryable || attempt >= this.maxAttempts)
+                    return this.finish(
+                            id, new CreateOperation(id, CreateOperation.Status.FAILED, attempt, null, e.getMessage()));
+
+                log.info("Create %s failed on attempt %d, retrying in %s: %s"
+                        .formatted(id, attempt, backoff, e.getMessage()));
+                synchronized (this) {
+                    this.operations.put(id, CreateOperation.pending(id, attempt));
+                }
+                TimeUnit.NANOSECONDS.sleep(backoff.toNanos());
+                backoff = backoff.multipliedBy(2).compareTo(this.maxBackoff) > 0
+                        ? this.maxBackoff
+                        : backoff.multipliedBy(2);
+            }
+        }
+    }
+
+    private synchronized CreateOperation finish(String id, CreateOperation operation) {
+        this.pending.remove(id);
+        this.record(operation);
+        return operation;
+    }
+
+    /*
+        A failed journal write is logged and not retried: the creates are done and stay visible in memory, and
+        at worst they are replayed (and so duplicated) after a restart.
+    */
+    private void journal(List<JournalEntry> outcomes) {
+        try {
+            this.createJournal.append(outcomes);
+            synchronized (this) {
+                if (this.pending.isEmpty() && this.createJournal.size() > COMPACTION_BYTES)
+                    this.createJournal.rewrite(this.journalEntries());
+            }
+        } catch (IOException e) {
+            log.error("Failed to journal %d create outcomes".formatted(outcomes.size()), e);
+        }
+    }
+
+    // Guarded by this. Replaces the operation and evicts the oldest finished ones beyond the retained number.
+    private void record(CreateOperation operation) {
+        CreateOperation previous = this.operations.put(operation.id(), operation);
+        if (previous != null && previous.isFinished()) this.finished--;
+        if (operation.isFinished()) this.finished++;
+
+        Iterator<CreateOperation> iterator = this.operations.values().iterator();
+        while (this.finished > this.retained && iterator.hasNext()) {
+            if (!iterator.next().isFinished()) continue;
+            iterator.remove();
+            this.finished--;
+        }
+    }
+
+    // Guarded by this. The operations as journal entries: inputs for pending ones, outcomes for finished ones.
+    private List<JournalEntry> journalEntries() {
+        List<JournalEntry> entries = new ArrayList<>(this.operations.size());
+        for (CreateOperation operation : this.operations.values()) {
+            if (operation.isFinished()) entries.add(JournalEntry.outcome(operation));
+            else entries.add(JournalEntry.accepted(operation.id(), this.pending.get(operation.id())));
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,141 @@
+package com.reliaquest.api.service.impl;
+
+import com.reliaquest.api.analytics.EmployeeSketches;
+import com.reliaquest.api.analytics.QuantileSketch;
+import com.reliaquest.api.analytics.SalaryAccumulator;
+import com.reliaquest.api.analytics.SalaryAggregation;
+import com.reliaquest.api.exception.ApiException;
+import com.reliaquest.api.model.Percentiles;
+import com.reliaquest.api.model.SalaryStatistics;
+import com.reliaquest.api.service.IEmployeeAnalyticsService;
+import com.reliaquest.api.store.EmployeeColumns;
+import com.reliaquest.api.store.EmployeeDataStore;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+@Service
+@Slf4j
+public class EmployeeAnalyticsService implements IEmployeeAnalyticsService {
+
+    public static final String INVALID_AGE_BAND_WIDTH = "invalid_age_band_width";
+    public static final String AGE_BAND_WIDTH_MUST_BE_POSITIVE = "The age band width must be a positive number";
+    public static final String INVALID_QUANTILE = "invalid_quantile";
+    public static final String QUANTILES_MUST_BE_BETWEEN_0_AND_1 = "Quantiles must be between 0 and 1";
+    public static final String TITLE_NOT_FOUND = "title_not_found";
+
+    @Autowired
+    EmployeeDataStore employeeDataStore;
+
+    @Autowired
+    EmployeeSketches employeeSketches;
+
+    // Employee count from which aggregations run on the fork-join pool; see SalaryAnalyticsBenchmark.
+    @Value("${analytics.parallel-threshold:50000}")
+    int parallelThreshold;
+
+    @Value("${analytics.leaf-size:8192}")
+    int leafSize;
+
+    public List<SalaryStatistics> getSalaryStatisticsByTitle() {
+        SalaryAggregation aggregation = new SalaryAggregation(this.parallelThreshold, this.leafSize);
+        return this.employeeDataStore.query(columns -> {
+            log.info("Aggregating salaries of %d employees by title".formatted(columns.size()));
+            SalaryAccumulator[] byTitle = aggregation.aggregate(columns, columns.titleCount(), columns::titleCode);
+
+            List<SalaryStatistics> statistics = new ArrayList<>();
+            for (int titleCode = 0; titleCode < byTitle.length; titleCode++) {
+                if (byTitle[titleCode].getCount() > 0)
+                    statistics.add(byTitle[titleCode].toStatistics(columns.titleOf(titleCode)));
+            }
+            statistics.sort(Comparator.comparing(SalaryStatistics::group));
+            return statistics;
+        });
+    }
+
+    /*
+     * Bands are labelled by their inclusive age range, e.g. "30-39" for a width of 10, in ascending order.
+     */
+    public List<SalaryStatistics> getSalaryStatisticsByAgeBand(int bandWidth) {
+        if (bandWidth < 1)
+            throw new ApiException(
+                    INVALID_AGE_BAND_WIDTH, AGE_BAND_WIDTH_MUST_BE_POSITIVE, HttpStatus.BAD_REQUEST.value());
+
+        SalaryAggregation aggregation = new SalaryAggregation(this.parallelThreshold, this.leafSize);
+        return this.employeeDataStore.query(columns -> {
+            log.info("Aggregating salaries of %d employees by age band".formatted(columns.size()));
+            int bands = maxAge(columns) / bandWidth + 1;
+            SalaryAccumulator[] byBand = aggregation.aggregate(columns, bands, slot -> {
+                int age = columns.age(slot);
+                return age < 0 ? -1 : age / bandWidth;
+            });
+
+            List<SalaryStatistics> statistics = new ArrayList<>();
+            for (int band = 0; band < bands; band++) {
+                if (byBand[band].getCount() > 0)
+                    statistics.add(byBand[band].toStatistics(
+                            "%d-%d".formatted(band * bandWidth, (band + 1) * bandWidth - 1)));
+            }
+            return statistics;
+        });
+    }
+
+    public Percentiles getSalaryPercentiles(List<Double> quantiles, String title) {
+        return this.percentiles("salary", quantiles, title, EmployeeSketches::salary, EmployeeSketches::salary);
+    }
+
+    public Percentiles getAgePercentiles(List<Double> quantiles, String title) {
+        return this.percentiles("age", quantiles, title, EmployeeSketches::age, EmployeeSketches::age);
+    }
+
+    /*
+     * Answered from the incrementally maintained sketches: no employee is scanned or sorted, whatever the
+     * dataset size. Reads happen inside query so they cannot overlap a sketch update.
+     */
+    private Percentiles percentiles(
+            String metric,
+            List<Double> quantiles,
+            String title,
+            Function<EmployeeSketches, QuantileSketch> overall,
+            BiFunction<EmployeeSketches, Integer, QuantileSketch> byTitle) {
+        if (quantiles.isEmpty() || quantiles.stream().anyMatch(q -> q == null || q < 0 || q > 1))
+            throw new ApiException(INVALID_QUANTILE, QUANTILES_MUST_BE_BETWEEN_0_AND_1, HttpStatus.BAD_REQUEST.value());
+
+        return this.employeeDataStore.query(columns -> {
+            QuantileSketch sketch;
+            if (title == null) {
+                sketch = overall.apply(this.employeeSketches);
+            } else {
+                int titleCode = columns.titleCodeOf(title);
+                if (titleCode == EmployeeColumns.NO_SLOT)
+                    throw new ApiException(
+                            TITLE_NOT_FOUND,
+                            "No employee has the title: [%s]".formatted(title),
+                            HttpStatus.NOT_FOUND.value());
+                sketch = byTitle.apply(this.employeeSketches, titleCode);
+            }
+
+            Map<Double, Double> values = new LinkedHashMap<>();
+            if (sketch.getCount() > 0) quantiles.forEach(q -> values.put(q, sketch.quantile(q)));
+            return new Percentiles(metric, title, sketch.getCount(), sketch.getRelativeAccuracy(), values);
+        });
+    }
+
+    // Missing ages are stored as a negative sentinel and never raise the maximum.
+    private static int maxAge(EmployeeColumns columns) {
+        int max = 0;
+        for (int slot = 0; slot < columns.slotCount(); slot++) {
+            if (columns.isLive(slot) && columns.age(slot) > max) max = columns.age(slot);
+        }
+        return max;
+    }
+}
@@ -0,0 +1,111 @@
+package com.reliaquest.api.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.reliaquest.api.client.MockServerClient;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.ExportFormat;
+import com.reliaquest.api.service.IEmployeeExportService;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/*
+ * Exports employees record by record. Each employee is read from the downstream stream only after the
+ * previous one has been handed to the output stream, so a slow client blocks the servlet write, which in
+ * turn stops the downstream read. Memory stays bounded by the writer buffers whatever the export size.
+ */
+@Service
+@Slf4j
+public class EmployeeExportService implements IEmployeeExportService {
+
+    public static final int FLUSH_INTERVAL = 1_000;
+    public static final int WRITE_BUFFER_SIZE = 8_192;
+    public static final String CSV_HEADER =
+            "id,employee_name,employee_salary,employee_age,employee_title,employee_email";
+
+    @Autowired
+    MockServerClient mockServerClient;
+
+    private final ObjectWriter employeeWriter = new ObjectMapper()
+            .writerFor(Employee.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+    public Stream<Employee> openEmployeeStream() {
+        return this.mockServerClient.streamAllEmployees();
+    }
+
+    public long writeEmployees(Stream<Employee> employees, ExportFormat format, OutputStream outputStream)
+            throws IOException {
+        try (employees) {
+            Iterator<Employee> iterator = employees.iterator();
+            return switch (format) {
+                case NDJSON -> writeNdjson(iterator, outputStream);
+                case CSV -> writeCsv(iterator, outputStream);
+            };
+        }
+    }
+
+    private long writeNdjson(Iterator<Employee> employees, OutputStream outputStream) throws IOException {
+        long written = 0;
+        try (JsonGenerator generator = this.employeeWriter.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            while (employees.hasNext()) {
+                this.employeeWriter.writeValue(generator, employees.next());
+                generator.writeRaw('\n');
+                if (++written % FLUSH_INTERVAL == 0) generator.flush();
+            }
+        }
+        return written;
+    }
+
+    private long writeCsv(Iterator<Employee> employees, OutputStream outputStream) throws IOException {
+        long written = 0;
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        while (employees.hasNext()) {
+            Employee employee = employees.next();
+            writer.write(csvField(employee.getId()));
+            writer.write(',');
+            writer.write(csvField(employee.getEmployeeName()));
+            writer.write(',');
+            writer.write(csvField(employee.getEmployeeSalary()));
+            writer.write(',');
+            writer.write(csvField(employee.getEmployeeAge()));
+            writer.write(',');
+            writer.write(csvField(employee.getEmployeeTitle()));
+            writer.write(',');
+            writer.write(csvField(employee.getEmployeeEmail()));
+            writer.write('\n');
+            if (++written % FLUSH_INTERVAL == 0) writer.flush();
+        }
+        writer.flush();
+        return written;
+    }
+
+    /*
+     * RFC 4180 quoting: fields containing a separator, quote or line break are quoted with inner quotes doubled.
+     */
+    static String csvField(Object value) {
+        if (value == null) return "";
+        String text = value.toString();
+        boolean quote = text.indexOf(',') >= 0
+                || text.indexOf('"') >= 0
+                || text.indexOf('\n') >= 0
+                || text.indexOf('\r') >= 0;
+        return quote ? '"' + text.replace("\"", "\"\"") + '"' : text;
+    }
+}
@@ -0,0 +1,67 @@
+package com.reliaquest.api.service.impl;
+
+import com.reliaquest.api.exception.ApiException;
+import com.reliaquest.api.model.EmployeePage;
+import com.reliaquest.api.service.IEmployeeRangeService;
+import com.reliaquest.api.store.EmployeeDataStore;
+import com.reliaquest.api.store.EmployeeRangeIndexes;
+import com.reliaquest.api.store.RangeIndex;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+@Service
+@Slf4j
+public class EmployeeRangeService implements IEmployeeRangeService {
+
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final String INVALID_RANGE = "invalid_range";
+    public static final String RANGE_MIN_ABOVE_MAX = "The range minimum cannot be greater than its maximum";
+    public static final String INVALID_PAGE = "invalid_page";
+    public static final String INVALID_PAGE_MESSAGE =
+            "The page cannot be negative and the page size must be between 1 and " + MAX_PAGE_SIZE;
+
+    @Autowired
+    EmployeeDataStore employeeDataStore;
+
+    @Autowired
+    EmployeeRangeIndexes employeeRangeIndexes;
+
+    public EmployeePage getEmployeesBySalaryRange(Integer min, Integer max, int page, int size) {
+        return this.range("salary", EmployeeRangeIndexes::salary, min, max, page, size);
+    }
+
+    public EmployeePage getEmployeesByAgeRange(Integer min, Integer max, int page, int size) {
+        return this.range("age", EmployeeRangeIndexes::age, min, max, page, size);
+    }
+
+    /*
+     * Both bounds are inclusive and optional. Matches are ordered by value, ties in insertion order; only the
+     * requested page is materialized.
+     */
+    private EmployeePage range(
+            String field,
+            Function<EmployeeRangeIndexes, RangeIndex> indexOf,
+            Integer min,
+            Integer max,
+            int page,
+            int size) {
+        int low = min == null ? Integer.MIN_VALUE : min;
+        int high = max == null ? Integer.MAX_VALUE : max;
+        if (low > high) throw new ApiException(INVALID_RANGE, RANGE_MIN_ABOVE_MAX, HttpStatus.BAD_REQUEST.value());
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE)
+            throw new ApiException(INVALID_PAGE, INVALID_PAGE_MESSAGE, HttpStatus.BAD_REQUEST.value());
+
+        long offset = (long) page * size;
+        return this.employeeDataStore.query(columns -> {
+            RangeIndex index = indexOf.apply(this.employeeRangeIndexes);
+            int total = index.count(low, high);
+            int[] slots = offset >= total ? new int[0] : index.slots(low, high, (int) offset, size);
+            log.info("Found %d employees with %s in [%d, %d], returning page %d"
+                    .formatted(total, field, low, high, page));
+            return new EmployeePage(columns.employees(slots), page, size, total);
+        });
+    }
+}
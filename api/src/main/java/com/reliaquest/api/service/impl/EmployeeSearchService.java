@@ -0,0 +1,79 @@
+package com.reliaquest.api.service.impl;
+
+import com.reliaquest.api.exception.ApiException;
+import com.reliaquest.api.model.FuzzyMatch;
+import com.reliaquest.api.model.NameOrder;
+import com.reliaquest.api.model.NameSuggestion;
+import com.reliaquest.api.search.FuzzyNameIndex;
+import com.reliaquest.api.search.NamePrefixTrie;
+import com.reliaquest.api.search.NameIndexes;
+import com.reliaquest.api.service.IEmployeeSearchService;
+import com.reliaquest.api.store.EmployeeDataStore;
+import io.micrometer.common.util.StringUtils;
+import java.util.Arrays;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+@Service
+@Slf4j
+public class EmployeeSearchService implements IEmployeeSearchService {
+
+    public static final int MAX_QUERY_LENGTH = 100;
+    public static final int MAX_LIMIT = 100;
+    public static final String INVALID_SEARCH = "invalid_search";
+    public static final String INVALID_QUERY_MESSAGE =
+            "The search query cannot be blank or longer than " + MAX_QUERY_LENGTH + " characters";
+    public static final String INVALID_DISTANCE_MESSAGE =
+            "The edit distance must be between 0 and " + FuzzyNameIndex.MAX_DISTANCE;
+    public static final String INVALID_LIMIT_MESSAGE = "The limit must be between 1 and " + MAX_LIMIT;
+    public static final String INVALID_SUGGESTION_LIMIT_MESSAGE =
+            "The limit must be between 1 and " + NamePrefixTrie.TOP_K;
+
+    @Autowired
+    EmployeeDataStore employeeDataStore;
+
+    @Autowired
+    NameIndexes nameIndexes;
+
+    /*
+     * Matches every query token against the name tokens within the edit distance; see FuzzyNameIndex.
+     */
+    public List<FuzzyMatch> fuzzySearch(String query, int maxDistance, int limit) {
+        if (StringUtils.isBlank(query) || query.length() > MAX_QUERY_LENGTH)
+            throw new ApiException(INVALID_SEARCH, INVALID_QUERY_MESSAGE, HttpStatus.BAD_REQUEST.value());
+        if (maxDistance < 0 || maxDistance > FuzzyNameIndex.MAX_DISTANCE)
+            throw new ApiException(INVALID_SEARCH, INVALID_DISTANCE_MESSAGE, HttpStatus.BAD_REQUEST.value());
+        if (limit < 1 || limit > MAX_LIMIT)
+            throw new ApiException(INVALID_SEARCH, INVALID_LIMIT_MESSAGE, HttpStatus.BAD_REQUEST.value());
+
+        return this.employeeDataStore.query(columns -> {
+            FuzzyNameIndex index = this.nameIndexes.fuzzy();
+            List<FuzzyMatch> matches = index.search(columns, query, maxDistance, limit).stream()
+                    .map(match -> new FuzzyMatch(columns.employee(match.slot()), match.distance()))
+                    .toList();
+            log.info("Found %d fuzzy matches for [%s]".formatted(matches.size(), query));
+            return matches;
+        });
+    }
+
+    /*
+     * Called on every keystroke, so it is answered from the prefix trie without a downstream call; see
+     * NamePrefixTrie.
+     */
+    public List<NameSuggestion> autocomplete(String prefix, NameOrder order, int limit) {
+        if (StringUtils.isBlank(prefix) || prefix.length() > MAX_QUERY_LENGTH)
+            throw new ApiException(INVALID_SEARCH, INVALID_QUERY_MESSAGE, HttpStatus.BAD_REQUEST.value());
+        if (limit < 1 || limit > NamePrefixTrie.TOP_K)
+            throw new ApiException(INVALID_SEARCH, INVALID_SUGGESTION_LIMIT_MESSAGE, HttpStatus.BAD_REQUEST.value());
+
+        return this.employeeDataStore.query(columns -> {
+            NamePrefixTrie trie = this.nameIndexes.prefix();
+            return Arrays.stream(trie.complete(columns, prefix, order, limit))
+                    .mapToObj(slot -> new NameSuggestion(columns.id(slot), columns.name(slot)))
+                    .toList();
+        });
+    }
+}
@@ -2,16 +2,17 @@ package com.reliaquest.api.service.impl;
 
 import com.reliaquest.api.client.MockServerClient;
 import com.reliaquest.api.exception.ApiException;
+import com.reliaquest.api.idempotency.IdempotentRequests;
+import com.reliaquest.api.jfr.RecordedOperations;
 import com.reliaquest.api.model.CreateEmployeeDto;
 import com.reliaquest.api.model.DeleteEmployeeDto;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.service.IEmployeeService;
+import com.reliaquest.api.store.EmployeeDataStore;
 import io.micrometer.common.util.StringUtils;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
 import lombok.Synchronized;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,6 +21,7 @@ import org.springframework.stereotype.Service;
 
 @Service
 @Slf4j
+@RecordedOperations
 public class EmployeeService implements IEmployeeService {
 
     public static final int MAX_SIZE = 10;
@@ -35,14 +37,25 @@ public class EmployeeService implements IEmployeeService {
     public static final String EMPLOYEE_CREATE_OPERATION_FAILED = "Employee create operation failed";
     public static final String AMBIGUOUS_DELETION_MULTIPLE_EMPLOYEES_FOUND_WITH_THE_SAME_NAME =
             "Ambiguous deletion: multiple employees found with the same name";
+    public static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+    public static final String INVALID_IDEMPOTENCY_KEY = "invalid_idempotency_key";
+    public static final String INVALID_IDEMPOTENCY_KEY_MESSAGE =
+            "The Idempotency-Key cannot be blank or longer than " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters";
 
     @Autowired
     MockServerClient mockServerClient;
 
+    // Reads are served from the locally held employee data, kept current from the mock server's change feed.
+    @Autowired
+    EmployeeDataStore employeeDataStore;
+
+    @Autowired
+    IdempotentRequests idempotentRequests;
+
     public List<Employee> getAllEmployees() {
         // Improvement: Paginated response to limit data transferred over network
         // provided - mock server supports pagination
-        List<Employee> employees = this.mockServerClient.getAllEmployees();
+        List<Employee> employees = this.employeeDataStore.getEmployees();
         if (employees.isEmpty()) return List.of();
         log.info("Found %d employees in the record".formatted(employees.size()));
         return employees;
@@ -56,19 +69,13 @@ public class EmployeeService implements IEmployeeService {
                     INVALID_SEARCH_STRING, INVALID_SEARCH_STRING_ERROR_MESSAGE, HttpStatus.BAD_REQUEST.value());
         }
 
-        List<Employee> employees = this.mockServerClient.getAllEmployees();
-        log.info("Found %d employees in the record".formatted(employees.size()));
-
-        /* The filter() operation returns a new stream containing only the elements that match the given predicate.
-         * The predicate here is a lambda expression that checks if the employee's name contains the search string,
-         * after converting both to lowercase for a case-insensitive match.
-         *
-         * The collect() operation is a terminal operation that gathers the elements of the stream
-         * into a new collection, in this case, a List.
+        /* The name column is scanned in place for a case-insensitive match, and only the matching employees
+         * are materialized into Employee objects for the response.
          */
-        return employees.stream()
-                .filter(employee -> employee.getEmployeeName().toLowerCase().contains(searchString.toLowerCase()))
-                .collect(Collectors.toList());
+        return this.employeeDataStore.query(columns -> {
+            log.info("Found %d employees in the record".formatted(columns.size()));
+            return columns.employees(columns.slotsWithNameContaining(searchString));
+        });
     }
 
     public Employee getEmployeeById(String id) {
@@ -99,27 +106,19 @@ public class EmployeeService implements IEmployeeService {
 
     public Integer getHighestSalaryOfEmployees() {
 
-        List<Employee> employees = this.mockServerClient.getAllEmployees();
-
-        log.info("Found %d employees in the record, proceeding with calculation".formatted(employees.size()));
-
-        Optional<Employee> highestPaidEmployee =
-                employees.stream().max(Comparator.comparingInt(Employee::getEmployeeSalary));
-
-        Employee toRet = highestPaidEmployee.orElse(null);
-
-        if (toRet != null) return toRet.getEmployeeSalary();
-        else return -1;
+        // Returns -1 when there are no employees.
+        return this.employeeDataStore.query(columns -> {
+            log.info("Found %d employees in the record, proceeding with calculation".formatted(columns.size()));
+            return columns.maxSalary();
+        });
     }
 
     public List<String> getTopTenHighestEarningEmployeeNames() {
-        List<Employee> employees = this.mockServerClient.getAllEmployees();
-        log.info("Found %d employees in the record, proceeding with calculation".formatted(employees.size()));
-        return employees.stream()
-                .sorted(Comparator.comparingLong(Employee::getEmployeeSalary).reversed())
-                .limit(MAX_SIZE)
-                .map(Employee::getEmployeeName)
-                .toList();
+        // A bounded heap over the salary column instead of sorting every employee.
+        return this.employeeDataStore.query(columns -> {
+            log.info("Found %d employees in the record, proceeding with calculation".formatted(columns.size()));
+            return columns.names(columns.topSalarySlots(MAX_SIZE));
+        });
     }
 
     public Employee createEmployee(CreateEmployeeDto input) {
@@ -131,9 +130,24 @@ public class EmployeeService implements IEmployeeService {
                     EMPLOYEE_CREATE_OPERATION_FAILED,
                     HttpStatus.INTERNAL_SERVER_ERROR.value());
 
+        this.employeeDataStore.employeeCreated(newEmployee);
         return newEmployee;
     }
 
+    /*
+     * Retries carrying the same Idempotency-Key get the employee created by the first attempt instead of creating
+     * a duplicate downstream. Without a key every call creates.
+     */
+    public Employee createEmployee(CreateEmployeeDto input, String idempotencyKey) {
+        if (idempotencyKey == null) return this.createEmployee(input);
+
+        if (StringUtils.isBlank(idempotencyKey) || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH)
+            throw new ApiException(
+                    INVALID_IDEMPOTENCY_KEY, INVALID_IDEMPOTENCY_KEY_MESSAGE, HttpStatus.BAD_REQUEST.value());
+
+        return this.idempotentRequests.execute(idempotencyKey, input, () -> this.createEmployee(input));
+    }
+
     /*
      * Deletes a unique employee by their ID.
      *
@@ -184,6 +198,7 @@ public class EmployeeService implements IEmployeeService {
                 .formatted(id, employeeName));
 
         this.mockServerClient.deleteEmployee(new DeleteEmployeeDto(employeeName));
+        this.employeeDataStore.employeeDeleted(id);
         return employeeName;
     }
 }
@@ -0,0 +1,116 @@
+package com.reliaquest.api.service.impl;
+
+import com.reliaquest.api.client.EmployeeChangeSubscriber;
+import com.reliaquest.api.client.MockServerClient;
+import com.reliaquest.api.client.ShardRing;
+import com.reliaquest.api.exception.ApiException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.ShardRebalance;
+import com.reliaquest.api.service.IShardService;
+import com.reliaquest.api.store.EmployeeDataStore;
+import java.net.URI;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.Synchronized;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+@Service
+@Slf4j
+public class ShardService implements IShardService {
+
+    public static final String INVALID_SHARD_URLS = "invalid_shard_urls";
+    public static final String INVALID_SHARD_URLS_MESSAGE =
+            "Provide at least one distinct absolute http(s) URL of a mock server employee api";
+
+    @Autowired
+    MockServerClient mockServerClient;
+
+    @Autowired
+    EmployeeDataStore employeeDataStore;
+
+    @Autowired
+    EmployeeChangeSubscriber employeeChangeSubscriber;
+
+    public List<String> getShardUrls() {
+        return this.mockServerClient.getShardUrls();
+    }
+
+    /*
+     * Moves to a new shard list, where position i is shard i. Shards keep their data while it is copied and
+     * only drop it afterwards, so an employee is on at least one shard throughout:
+     *
+     * 1. Every current shard lists what it would not own at its new position (everything, if it is being
+     *    removed), and each of those employees is imported by its new owner.
+     * 2. Every shard in the new list is assigned its position and drops the employees copied away.
+     * 3. Requests are routed by the new ring and the local copy is reloaded. Once sharded, the single server's
+     *    change stream is dropped and reads fall back to conditional reloads.
+     *
+     * Creates and deletes are fenced off with 503 from the first listing until requests are routed by the new
+     * ring, so none of them lands between a listing and the copy it describes.
+     *
+     * Imports skip ids already present, so a rebalance that failed half way can be repeated with the same list.
+     */
+    @Synchronized
+    public ShardRebalance rebalance(List<String> shardUrls) {
+        this.validate(shardUrls);
+
+        List<String> current = this.mockServerClient.getShardUrls();
+        ShardRebalance rebalance = this.mockServerClient.withWritesFenced(() -> this.move(current, shardUrls));
+
+        if (this.mockServerClient.isSharded()) {
+            this.employeeChangeSubscriber.stop();
+            this.employeeDataStore.setPushConnected(false);
+        }
+        this.employeeDataStore.resync();
+
+        log.info("Rebalanced from %d to %d shards: %d employees moved, %d released"
+                .formatted(current.size(), shardUrls.size(), rebalance.moved(), rebalance.released()));
+        return rebalance;
+    }
+
+    /*
+     * Steps 1 and 2, and the routing switch of step 3.
+     */
+    private ShardRebalance move(List<String> current, List<String> shardUrls) {
+        int count = shardUrls.size();
+        ShardRing ring = new ShardRing(count);
+
+        int moved = 0;
+        for (String shardUrl : current) {
+            List<Employee> misplaced =
+                    this.mockServerClient.getMisplacedEmployees(shardUrl, shardUrls.indexOf(shardUrl), count);
+            Map<Integer, List<Employee>> byOwner =
+                    misplaced.stream().collect(Collectors.groupingBy(employee -> ring.shardOfId(employee.getId())));
+            for (Map.Entry<Integer, List<Employee>> owner : byOwner.entrySet())
+                moved += this.mockServerClient.importEmployees(shardUrls.get(owner.getKey()), owner.getValue());
+        }
+
+        int released = 0;
+        for (int index = 0; index < count; index++)
+            released += this.mockServerClient.assignShard(shardUrls.get(index), index, count);
+
+        this.mockServerClient.configureShards(shardUrls);
+        return new ShardRebalance(List.copyOf(shardUrls), moved, released);
+    }
+
+    private void validate(List<String> shardUrls) {
+        if (shardUrls == null || shardUrls.isEmpty() || new HashSet<>(shardUrls).size() != shardUrls.size())
+            throw new ApiException(INVALID_SHARD_URLS, INVALID_SHARD_URLS_MESSAGE, HttpStatus.BAD_REQUEST.value());
+
+        for (String shardUrl : shardUrls) {
+            try {
+                URI uri = URI.create(shardUrl);
+                if (!"http".equals(uri.getScheme()) && !"https".equals(uri.getScheme()))
+                    throw new IllegalArgumentException(shardUrl);
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new ApiException(
+                        INVALID_SHARD_URLS, INVALID_SHARD_URLS_MESSAGE, HttpStatus.BAD_REQUEST.value());
+            }
+        }
+    }
+}
@@ -0,0 +1,484 @@
+package com.reliaquest.api.store;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Column-oriented employee storage built from primitive arrays instead of a list of {@link Employee} objects.
+ *
+ * <ul>
+ *   <li>ids are UUIDs held as two {@code long} halves and looked up through an open addressing table,</li>
+ *   <li>salary and age are {@code int} columns,</li>
+ *   <li>titles are dictionary encoded, since a handful of titles repeat across all employees,</li>
+ *   <li>names and emails are packed into one shared {@code char} heap addressed by offset and length.</li>
+ * </ul>
+ *
+ * <p>Each employee occupies a slot. Slots are appended in insertion order and never reused, so a slot stays a
+ * stable handle for derived indexes until {@link #compact()} moves live slots down over removed ones. Operators
+ * are plain loops over the columns; {@link Employee} objects are only built when a response needs them.
+ *
+ * <p>Not thread safe: {@link EmployeeDataStore} guards every access.
+ */
+public final class EmployeeColumns {
+
+    public static final int NO_SLOT = -1;
+
+    // Marks a null Integer in the salary and age columns, and a null String length.
+    public static final int NULL_INT = Integer.MIN_VALUE;
+    static final int NULL_LENGTH = -1;
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int MIN_COMPACTION_SLOTS = 64;
+
+    private long[] idHigh = new long[INITIAL_CAPACITY];
+    private long[] idLow = new long[INITIAL_CAPACITY];
+    private int[] salaries = new int[INITIAL_CAPACITY];
+    private int[] ages = new int[INITIAL_CAPACITY];
+    private int[] titleCodes = new int[INITIAL_CAPACITY];
+    private int[] nameOffsets = new int[INITIAL_CAPACITY];
+    private int[] nameLengths = new int[INITIAL_CAPACITY];
+    private int[] emailOffsets = new int[INITIAL_CAPACITY];
+    private int[] emailLengths = new int[INITIAL_CAPACITY];
+    private boolean[] live = new boolean[INITIAL_CAPACITY];
+    private int slotCount;
+    private int size;
+
+    private char[] strings = new char[INITIAL_CAPACITY * 32];
+    private int stringsLength;
+    private int deadChars;
+
+    private final List<String> titles = new ArrayList<>();
+    private final Map<String, Integer> titleCodesByTitle = new HashMap<>();
+
+    // Slot + 1 per bucket, 0 marks an empty bucket. Kept at most half full.
+    private int[] idTable = new int[INITIAL_CAPACITY * 2];
+
+    public static EmployeeColumns of(Collection<Employee> employees) {
+        EmployeeColumns columns = new EmployeeColumns();
+        employees.forEach(columns::add);
+        return columns;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Upper bound (exclusive) of slots in use; operators iterate {@code [0, slotCount)} skipping dead slots.
+     */
+    public int slotCount() {
+        return this.slotCount;
+    }
+
+    public boolean isLive(int slot) {
+        return this.live[slot];
+    }
+
+    /**
+     * Appends an employee and returns its slot.
+     *
+     * @throws IllegalArgumentException if the id is not a UUID or is already present
+     */
+    public int add(Employee employee) {
+        UUID id = UUID.fromString(employee.getId());
+        long high = id.getMostSignificantBits();
+        long low = id.getLeastSignificantBits();
+
+        if ((this.size + 1) * 2 > this.idTable.length) this.rebuildIdTable(this.idTable.length * 2);
+        int bucket = this.findBucket(high, low);
+        if (this.idTable[bucket] != 0) throw new IllegalArgumentException("Duplicate employee id " + id);
+
+        this.ensureSlotCapacity();
+        int slot = this.slotCount++;
+        this.idHigh[slot] = high;
+        this.idLow[slot] = low;
+        this.salaries[slot] = employee.getEmployeeSalary() == null ? NULL_INT : employee.getEmployeeSalary();
+        this.ages[slot] = employee.getEmployeeAge() == null ? NULL_INT : employee.getEmployeeAge();
+        this.titleCodes[slot] = this.titleCode(employee.getEmployeeTitle());
+        this.nameLengths[slot] = this.lengthOf(employee.getEmployeeName());
+        this.nameOffsets[slot] = this.appendString(employee.getEmployeeName());
+        this.emailLengths[slot] = this.lengthOf(employee.getEmployeeEmail());
+        this.emailOffsets[slot] = this.appendString(employee.getEmployeeEmail());
+        this.live[slot] = true;
+        this.idTable[bucket] = slot + 1;
+        this.size++;
+        return slot;
+    }
+
+    public void remove(int slot) {
+        if (!this.live[slot]) return;
+        this.removeFromIdTable(this.findBucket(this.idHigh[slot], this.idLow[slot]));
+        this.live[slot] = false;
+        this.deadChars += Math.max(0, this.nameLengths[slot]) + Math.max(0, this.emailLengths[slot]);
+        this.size--;
+    }
+
+    /**
+     * @return the slot of the employee with this id, or {@link #NO_SLOT}
+     */
+    public int slotOf(String id) {
+        UUID uuid;
+        try {
+            uuid = UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            return NO_SLOT;
+        }
+        int entry = this.idTable[this.findBucket(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits())];
+        return entry - 1;
+    }
+
+    /**
+     * An independent copy with the same slots, to build a derived structure from outside the data store's lock.
+     */
+    public EmployeeColumns copy() {
+        EmployeeColumns copy = new EmployeeColumns();
+        copy.idHigh = this.idHigh.clone();
+        copy.idLow = this.idLow.clone();
+        copy.salaries = this.salaries.clone();
+        copy.ages = this.ages.clone();
+        copy.titleCodes = this.titleCodes.clone();
+        copy.nameOffsets = this.nameOffsets.clone();
+        copy.nameLengths = this.nameLengths.clone();
+        copy.emailOffsets = this.emailOffsets.clone();
+        copy.emailLengths = this.emailLengths.clone();
+        copy.live = this.live.clone();
+        copy.slotCount = this.slotCount;
+        copy.size = this.size;
+        copy.strings = this.strings.clone();
+        copy.stringsLength = this.stringsLength;
+        copy.deadChars = this.deadChars;
+        copy.titles.addAll(this.titles);
+        copy.titleCodesByTitle.putAll(this.titleCodesByTitle);
+        copy.idTable = this.idTable.clone();
+        return copy;
+    }
+
+    /**
+     * True once removed slots or their strings make up more than half of the storage.
+     */
+    public boolean needsCompaction() {
+        int deadSlots = this.slotCount - this.size;
+        return deadSlots > MIN_COMPACTION_SLOTS
+                && (deadSlots * 2 > this.slotCount || this.deadChars * 2 > this.stringsLength);
+    }
+
+    /**
+     * Moves live slots down over removed ones, preserving order, and rewrites the string heap. Slot numbers
+     * change, so derived indexes must be rebuilt afterwards.
+     */
+    public void compact() {
+        char[] compactedStrings = new char[Math.max(INITIAL_CAPACITY * 32, this.stringsLength - this.deadChars)];
+        int compactedLength = 0;
+        int target = 0;
+        for (int slot = 0; slot < this.slotCount; slot++) {
+            if (!this.live[slot]) continue;
+            this.idHigh[target] = this.idHigh[slot];
+            this.idLow[target] = this.idLow[slot];
+            this.salaries[target] = this.salaries[slot];
+            this.ages[target] = this.ages[slot];
+            this.titleCodes[target] = this.titleCodes[slot];
+            this.nameLengths[target] = this.nameLengths[slot];
+            this.nameOffsets[target] = compactedLength;
+            compactedLength = this.copyString(
+                    this.nameOffsets[slot], this.nameLengths[slot], compactedStrings, compactedLength);
+            this.emailLengths[target] = this.emailLengths[slot];
+            this.emailOffsets[target] = compactedLength;
+            compactedLength = this.copyString(
+                    this.emailOffsets[slot], this.emailLengths[slot], compactedStrings, compactedLength);
+            this.live[target] = true;
+            target++;
+        }
+        Arrays.fill(this.live, target, this.slotCount, false);
+        this.slotCount = target;
+        this.strings = compactedStrings;
+        this.stringsLength = compactedLength;
+        this.deadChars = 0;
+        this.rebuildIdTable(this.idTable.length);
+    }
+
+    public String id(int slot) {
+        return new UUID(this.idHigh[slot], this.idLow[slot]).toString();
+    }
+
+    public int salary(int slot) {
+        return this.salaries[slot];
+    }
+
+    public int age(int slot) {
+        return this.ages[slot];
+    }
+
+    public int titleCode(int slot) {
+        return this.titleCodes[slot];
+    }
+
+    public String title(int slot) {
+        return this.titleCodes[slot] == NULL_INT ? null : this.titles.get(this.titleCodes[slot]);
+    }
+
+    /**
+     * Number of distinct titles ever added; title codes are {@code [0, titleCount)}.
+     */
+    public int titleCount() {
+        return this.titles.size();
+    }
+
+    public String titleOf(int titleCode) {
+        return this.titles.get(titleCode);
+    }
+
+    /**
+     * @return the title's code, or {@link #NO_SLOT} if no employee ever had the title
+     */
+    public int titleCodeOf(String title) {
+        return this.titleCodesByTitle.getOrDefault(title, NO_SLOT);
+    }
+
+    public String name(int slot) {
+        return this.stringAt(this.nameOffsets[slot], this.nameLengths[slot]);
+    }
+
+    public String email(int slot) {
+        return this.stringAt(this.emailOffsets[slot], this.emailLengths[slot]);
+    }
+
+    public Employee employee(int slot) {
+        return new Employee(
+                this.id(slot),
+                this.name(slot),
+                this.salaries[slot] == NULL_INT ? null : this.salaries[slot],
+                this.ages[slot] == NULL_INT ? null : this.ages[slot],
+                this.title(slot),
+                this.email(slot));
+    }
+
+    /**
+     * All live employees in slot (insertion) order.
+     */
+    public List<Employee> employees() {
+        List<Employee> employees = new ArrayList<>(this.size);
+        for (int slot = 0; slot < this.slotCount; slot++) {
+            if (this.live[slot]) employees.add(this.employee(slot));
+        }
+        return employees;
+    }
+
+    public List<Employee> employees(int[] slots) {
+        List<Employee> employees = new ArrayList<>(slots.length);
+        for (int slot : slots) employees.add(this.employee(slot));
+        return employees;
+    }
+
+    public List<String> names(int[] slots) {
+        List<String> names = new ArrayList<>(slots.length);
+        for (int slot : slots) names.add(this.name(slot));
+        return names;
+    }
+
+    /**
+     * @return the highest salary, or -1 when there are no salaries
+     */
+    public int maxSalary() {
+        int max = NULL_INT;
+        for (int slot = 0; slot < this.slotCount; slot++) {
+            if (this.live[slot] && this.salaries[slot] > max) max = this.salaries[slot];
+        }
+        return max == NULL_INT ? -1 : max;
+    }
+
+    /**
+     * Slots of the {@code limit} highest salaries, highest first; ties keep insertion order. A bounded min-heap
+     * of slots keeps this O(n log limit) with no allocation beyond the result.
+     */
+    public int[] topSalarySlots(int limit) {
+        int[] heap = new int[Math.max(0, Math.min(limit, this.size))];
+        int count = 0;
+        for (int slot = 0; slot < this.slotCount && heap.length > 0; slot++) {
+            if (!this.live[slot]) continue;
+            if (count < heap.length) {
+                heap[count] = slot;
+                this.siftUp(heap, count++);
+            } else if (this.ranksAbove(slot, heap[0])) {
+                heap[0] = slot;
+                this.siftDown(heap, 0, count);
+            }
+        }
+        // Heap sort: repeatedly moving the lowest ranked root to the end leaves the highest first.
+        for (int end = count - 1; end > 0; end--) {
+            int lowest = heap[0];
+            heap[0] = heap[end];
+            heap[end] = lowest;
+            this.siftDown(heap, 0, end);
+        }
+        return heap;
+    }
+
+    /**
+     * Slots whose name contains the fragment, ignoring case, in insertion order.
+     */
+    public int[] slotsWithNameContaining(String fragment) {
+        char[] needle = fragment.toLowerCase().toCharArray();
+        int[] matches = new int[16];
+        int count = 0;
+        for (int slot = 0; slot < this.slotCount; slot++) {
+            if (!this.live[slot] || this.nameLengths[slot] < needle.length) continue;
+            if (this.containsIgnoreCase(this.nameOffsets[slot], this.nameLengths[slot], needle)) {
+                if (count == matches.length) matches = Arrays.copyOf(matches, count * 2);
+                matches[count++] = slot;
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    /**
+     * Bytes held by the columns and the string heap, excluding the small title dictionary.
+     */
+    public long estimatedBytes() {
+        int capacity = this.idHigh.length;
+        return 16L * capacity // id halves
+                + 28L * capacity // salary, age, title code, name and email offsets and lengths
+                + capacity // live flags
+                + 2L * this.strings.length
+                + 4L * this.idTable.length;
+    }
+
+    private boolean containsIgnoreCase(int offset, int length, char[] needle) {
+        int last = offset + length - needle.length;
+        for (int start = offset; start <= last; start++) {
+            int matched = 0;
+            while (matched < needle.length && Character.toLowerCase(this.strings[start + matched]) == needle[matched])
+                matched++;
+            if (matched == needle.length) return true;
+        }
+        return false;
+    }
+
+    // Higher salary ranks above; equal salaries rank by insertion order.
+    private boolean ranksAbove(int slot, int other) {
+        return this.salaries[slot] > this.salaries[other]
+                || (this.salaries[slot] == this.salaries[other] && slot < other);
+    }
+
+    private void siftUp(int[] heap, int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!this.ranksAbove(heap[parent], heap[index])) return;
+            int swap = heap[parent];
+            heap[parent] = heap[index];
+            heap[index] = swap;
+            index = parent;
+        }
+    }
+
+    private void siftDown(int[] heap, int index, int count) {
+        while (true) {
+            int lowest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < count && this.ranksAbove(heap[lowest], heap[left])) lowest = left;
+            if (right < count && this.ranksAbove(heap[lowest], heap[right])) lowest = right;
+            if (lowest == index) return;
+            int swap = heap[lowest];
+            heap[lowest] = heap[index];
+            heap[index] = swap;
+            index = lowest;
+        }
+    }
+
+    private int titleCode(String title) {
+        if (title == null) return NULL_INT;
+        return this.titleCodesByTitle.computeIfAbsent(title, newTitle -> {
+            this.titles.add(newTitle);
+            return this.titles.size() - 1;
+        });
+    }
+
+    private int lengthOf(String value) {
+        return value == null ? NULL_LENGTH : value.length();
+    }
+
+    private int appendString(String value) {
+        int offset = this.stringsLength;
+        if (value == null) return offset;
+        int required = this.stringsLength + value.length();
+        if (required > this.strings.length)
+            this.strings = Arrays.copyOf(this.strings, Math.max(this.strings.length * 2, required));
+        value.getChars(0, value.length(), this.strings, this.stringsLength);
+        this.stringsLength += value.length();
+        return offset;
+    }
+
+    private String stringAt(int offset, int length) {
+        return length == NULL_LENGTH ? null : new String(this.strings, offset, length);
+    }
+
+    private int copyString(int offset, int length, char[] target, int targetLength) {
+        if (length <= 0) return targetLength;
+        System.arraycopy(this.strings, offset, target, targetLength, length);
+        return targetLength + length;
+    }
+
+    private void ensureSlotCapacity() {
+        if (this.slotCount < this.idHigh.length) return;
+        int capacity = this.idHigh.length * 2;
+        this.idHigh = Arrays.copyOf(this.idHigh, capacity);
+        this.idLow = Arrays.copyOf(this.idLow, capacity);
+        this.salaries = Arrays.copyOf(this.salaries, capacity);
+        this.ages = Arrays.copyOf(this.ages, capacity);
+        this.titleCodes = Arrays.copyOf(this.titleCodes, capacity);
+        this.nameOffsets = Arrays.copyOf(this.nameOffsets, capacity);
+        this.nameLengths = Arrays.copyOf(this.nameLengths, capacity);
+        this.emailOffsets = Arrays.copyOf(this.emailOffsets, capacity);
+        this.emailLengths = Arrays.copyOf(this.emailLengths, capacity);
+        this.live = Arrays.copyOf(this.live, capacity);
+    }
+
+    private static int hash(long high, long low) {
+        long hash = (high * 0x9E3779B97F4A7C15L) ^ low;
+        hash ^= hash >>> 32;
+        return (int) (hash ^ (hash >>> 16));
+    }
+
+    // Bucket holding the id, or the empty bucket where it would be inserted.
+    private int findBucket(long high, long low) {
+        int mask = this.idTable.length - 1;
+        int bucket = hash(high, low) & mask;
+        while (this.idTable[bucket] != 0) {
+            int slot = this.idTable[bucket] - 1;
+            if (this.idHigh[slot] == high && this.idLow[slot] == low) return bucket;
+            bucket = (bucket + 1) & mask;
+        }
+        return bucket;
+    }
+
+    // Backward shift deletion keeps linear probing chains intact without tombstones.
+    private void removeFromIdTable(int bucket) {
+        int mask = this.idTable.length - 1;
+        int hole = bucket;
+        int next = (hole + 1) & mask;
+        while (this.idTable[next] != 0) {
+            int slot = this.idTable[next] - 1;
+            int home = hash(this.idHigh[slot], this.idLow[slot]) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                this.idTable[hole] = this.idTable[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        this.idTable[hole] = 0;
+    }
+
+    private void rebuildIdTable(int capacity) {
+        this.idTable = new int[capacity];
+        for (int slot = 0; slot < this.slotCount; slot++) {
+            if (!this.live[slot]) continue;
+            this.idTable[this.findBucket(this.idHigh[slot], this.idLow[slot])] = slot + 1;
+        }
+    }
+}
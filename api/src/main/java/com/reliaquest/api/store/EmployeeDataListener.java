@@ -0,0 +1,22 @@
+package com.reliaquest.api.store;
+
+/**
+ * A structure derived from the employee data (an index, a sketch, ...) that is kept up to date incrementally.
+ * Callbacks are invoked one at a time while {@link EmployeeDataStore} holds its write lock; implementations
+ * guard their own reads. Employees are identified by their slot in {@link EmployeeColumns}, and the columns are
+ * only valid during the call.
+ */
+public interface EmployeeDataListener {
+
+    /**
+     * Replaces all derived state, called after a full reload or after the columns were compacted.
+     */
+    void onReset(EmployeeColumns columns);
+
+    void onAdded(EmployeeColumns columns, int slot);
+
+    /**
+     * Called before the slot is cleared, so its values can still be read.
+     */
+    void onRemoved(EmployeeColumns columns, int slot);
+}
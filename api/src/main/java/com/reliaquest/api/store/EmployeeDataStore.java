@@ -0,0 +1,388 @@
+package com.reliaquest.api.store;
+
+import com.reliaquest.api.client.MockServerClient;
+import com.reliaquest.api.exception.ApiException;
+import com.reliaquest.api.jfr.EmployeeDataRefreshEvent;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChange;
+import com.reliaquest.api.model.EmployeeChanges;
+import com.reliaquest.api.model.EmployeeSnapshot;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory copy of the mock server's employee data, held column-wise in {@link EmployeeColumns} in downstream
+ * order.
+ *
+ * <p>Reads are served locally and refreshed at most once per {@code employee-data.max-staleness}. A refresh
+ * asks the mock server for the changes since the held version and patches the data (and every
+ * {@link EmployeeDataListener}) one change at a time, so its cost follows churn rather than dataset size.
+ * The full list is only reloaded on first use, when the change log no longer covers the held version, or
+ * when the mock server does not report versions at all. Sharded mock servers have no single change log, so
+ * their data is reloaded instead, shard by shard with conditional requests.
+ *
+ * <p>Aggregations and searches run inside {@link #query} as loops over the primitive columns; {@link Employee}
+ * objects are only materialized for the employees a response actually returns.
+ *
+ * <p>While a push subscription is connected, changes arrive through {@link #applyPushedChange} and reads do not
+ * poll at all; polling resumes as soon as the subscription drops.
+ */
+@Slf4j
+@Component
+// Created at startup even in the fast-start profile, together with its listeners, so reads never wait for them.
+@Lazy(false)
+public class EmployeeDataStore {
+
+    static final int RECENTLY_DELETED_CAPACITY = 10_000;
+
+    private final MockServerClient mockServerClient;
+    private final List<EmployeeDataListener> listeners;
+    private final long maxStalenessNanos;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    // Guarded by lock.
+    private EmployeeColumns columns = new EmployeeColumns();
+    // Ids whose deletion has been applied lately, oldest first. Ids are never reused, so one seen here is gone.
+    private final Set<String> recentlyDeleted = Collections.newSetFromMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return this.size() > RECENTLY_DELETED_CAPACITY;
+        }
+    });
+
+    private volatile long version = EmployeeSnapshot.UNKNOWN_VERSION;
+    // The mock server process the version belongs to; null when it did not say.
+    private volatile String epoch;
+    private volatile boolean loaded;
+    private volatile long refreshedAt;
+    private volatile boolean pushConnected;
+    private volatile boolean refreshSuspended;
+
+    public EmployeeDataStore(
+            MockServerClient mockServerClient,
+            ObjectProvider<EmployeeDataListener> listeners,
+            @Value("${employee-data.max-staleness:5s}") Duration maxStaleness) {
+        this.mockServerClient = mockServerClient;
+        this.listeners = listeners.orderedStream().toList();
+        this.maxStalenessNanos = maxStaleness.toNanos();
+    }
+
+    public long getVersion() {
+        return this.version;
+    }
+
+    public String getEpoch() {
+        return this.epoch;
+    }
+
+    /**
+     * All employees in downstream order, refreshed first if the held copy is stale.
+     */
+    public List<Employee> getEmployees() {
+        this.refreshIfStale();
+        this.lock.readLock().lock();
+        try {
+            return this.columns.employees();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Runs a query against the columns under the read lock, refreshing first if the held copy is stale. The
+     * columns must not escape the query; anything returned has to be materialized inside it.
+     */
+    public <R> R query(Function<EmployeeColumns, R> query) {
+        this.refreshIfStale();
+        this.lock.readLock().lock();
+        try {
+            return query.apply(this.columns);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Write-through for a create made by this api, so it is readable before the next refresh. The matching
+     * change arriving later from the feed is applied idempotently. Skipped when the feed or a push got there first:
+     * the employee is already held, or its deletion has already been applied and it must not come back.
+     */
+    public void employeeCreated(Employee employee) {
+        if (!this.loaded) return;
+        this.lock.writeLock().lock();
+        try {
+            if (this.columns.slotOf(employee.getId()) != EmployeeColumns.NO_SLOT
+                    || this.recentlyDeleted.contains(employee.getId())) return;
+            this.put(employee);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Write-through for a delete made by this api.
+     */
+    public void employeeDeleted(String id) {
+        if (!this.loaded) return;
+        this.lock.writeLock().lock();
+        try {
+            this.delete(id);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public void setPushConnected(boolean pushConnected) {
+        if (this.pushConnected == pushConnected) return;
+        this.pushConnected = pushConnected;
+        log.info("Employee change push %s".formatted(pushConnected ? "connected" : "disconnected"));
+    }
+
+    /**
+     * While suspended, loaded data is served as it is, however stale; for startup warmup, which should not call
+     * downstream. The first load still happens.
+     */
+    public void setRefreshSuspended(boolean refreshSuspended) {
+        this.refreshSuspended = refreshSuspended;
+    }
+
+    /**
+     * Applies a change pushed by the mock server. Changes already covered by the held version are ignored, and
+     * a gap in sequences (a missed event) is filled from the change feed before returning. A change pushed
+     * before the first load waits for it and is then placed against the loaded version, and one from another
+     * mock server process (epoch) is treated as a gap. Ignored once sharded.
+     */
+    public void applyPushedChange(String epoch, EmployeeChange change) {
+        // A stream from before the mock server was sharded carries one shard's sequences only.
+        if (this.mockServerClient.isSharded()) return;
+        this.ensureLoaded();
+
+        if (epoch != null && !epoch.equals(this.epoch)) {
+            log.info("Employee change from mock server epoch %s while holding %s, catching up"
+                    .formatted(epoch, this.epoch));
+            this.refreshNow();
+            if (!epoch.equals(this.epoch)) return;
+        }
+
+        this.lock.writeLock().lock();
+        try {
+            if (change.getSequence() <= this.version) return;
+            if (change.getSequence() == this.version + 1) {
+                this.apply(change);
+                this.version = change.getSequence();
+                this.refreshedAt = System.nanoTime();
+                return;
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+
+        log.info("Missed employee changes between version %d and %d, catching up"
+                .formatted(this.version, change.getSequence()));
+        this.refreshNow();
+    }
+
+    /**
+     * Reloads the full list, for when the mock server reports that the held version can no longer be resumed.
+     */
+    public void resync() {
+        this.refreshLock.lock();
+        try {
+            this.recordRefresh(this::reload);
+        } finally {
+            this.refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Loads the data unless it has been already, so a push subscription can resume from a known version instead
+     * of starting from whichever change happens next.
+     */
+    public void ensureLoaded() {
+        if (this.loaded) return;
+        this.refreshLock.lock();
+        try {
+            if (!this.loaded) this.refresh();
+        } finally {
+            this.refreshLock.unlock();
+        }
+    }
+
+    private void refreshNow() {
+        this.refreshLock.lock();
+        try {
+            this.refresh();
+        } finally {
+            this.refreshLock.unlock();
+        }
+    }
+
+    /*
+     * The first load blocks every reader until it completes. Later refreshes are single-flight: whoever finds
+     * the data stale refreshes it while concurrent readers keep using the current copy, and a failed refresh
+     * leaves the last good data in place.
+     */
+    private void refreshIfStale() {
+        if (this.loaded && (this.pushConnected || this.refreshSuspended)) return;
+        if (this.loaded && System.nanoTime() - this.refreshedAt < this.maxStalenessNanos) return;
+
+        if (!this.loaded) {
+            this.ensureLoaded();
+            return;
+        }
+
+        if (!this.refreshLock.tryLock()) return;
+        try {
+            this.refresh();
+        } catch (ApiException e) {
+            log.warn("Employee data refresh failed, serving version %d: %s".formatted(this.version, e.getMessage()));
+        } finally {
+            this.refreshLock.unlock();
+        }
+    }
+
+    private void refresh() {
+        this.recordRefresh(this::catchUp);
+    }
+
+    // Every refresh is a flight recorder event, so its downstream calls and allocations can be attributed to it.
+    private void recordRefresh(Consumer<EmployeeDataRefreshEvent> refresh) {
+        EmployeeDataRefreshEvent event = new EmployeeDataRefreshEvent();
+        event.begin();
+        event.setFromVersion(this.version);
+        try {
+            refresh.accept(event);
+        } catch (RuntimeException e) {
+            event.failed(e);
+            throw e;
+        } finally {
+            event.commit();
+        }
+    }
+
+    private void catchUp(EmployeeDataRefreshEvent event) {
+        if (!this.loaded
+                || this.version == EmployeeSnapshot.UNKNOWN_VERSION
+                || this.mockServerClient.isSharded()) {
+            this.reload(event);
+            return;
+        }
+
+        EmployeeChanges changes = this.mockServerClient.getEmployeeChanges(this.epoch, this.version);
+        if (changes.isResyncRequired()) {
+            log.info("Change log no longer covers version %d, reloading employee data".formatted(this.version));
+            this.reload(event);
+            return;
+        }
+
+        this.applyChanges(changes, event);
+    }
+
+    private void reload(EmployeeDataRefreshEvent event) {
+        event.setMode(EmployeeDataRefreshEvent.RELOAD);
+        EmployeeSnapshot snapshot = this.mockServerClient.getEmployeeSnapshot();
+
+        this.lock.writeLock().lock();
+        try {
+            // A restarted mock server counts versions from 0 again, so the same number can be different data.
+            if (!this.loaded
+                    || snapshot.version() == EmployeeSnapshot.UNKNOWN_VERSION
+                    || snapshot.version() != this.version
+                    || !Objects.equals(snapshot.epoch(), this.epoch)) {
+                this.columns = new EmployeeColumns();
+                snapshot.employees().forEach(this::add);
+                this.listeners.forEach(listener -> listener.onReset(this.columns));
+                log.info("Loaded %d employees (%d KiB) at version %d"
+                        .formatted(this.columns.size(), this.columns.estimatedBytes() / 1024, snapshot.version()));
+            }
+            this.version = snapshot.version();
+            this.epoch = snapshot.epoch();
+            this.loaded = true;
+            this.refreshedAt = System.nanoTime();
+            event.refreshed(this.version, 0, this.columns.size());
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    private void applyChanges(EmployeeChanges changes, EmployeeDataRefreshEvent event) {
+        event.setMode(EmployeeDataRefreshEvent.CHANGES);
+        this.lock.writeLock().lock();
+        try {
+            int applied = 0;
+            for (EmployeeChange change : changes.getChanges()) {
+                if (change.getSequence() <= this.version) continue;
+                this.apply(change);
+                this.version = change.getSequence();
+                applied++;
+            }
+            this.version = Math.max(this.version, changes.getVersion());
+            this.refreshedAt = System.nanoTime();
+            event.refreshed(this.version, applied, this.columns.size());
+            if (applied > 0)
+                log.info("Applied %d employee changes up to version %d".formatted(applied, this.version));
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(EmployeeChange change) {
+        switch (change.getType()) {
+            case CREATED -> this.put(change.getEmployee());
+            case DELETED -> this.delete(change.getEmployee().getId());
+        }
+    }
+
+    private void delete(String id) {
+        this.recentlyDeleted.add(id);
+        this.remove(id);
+    }
+
+    // Idempotent: re-adding an employee replaces it, so write-through and feed changes can overlap.
+    private void put(Employee employee) {
+        this.remove(employee.getId());
+        int slot = this.add(employee);
+        if (slot != EmployeeColumns.NO_SLOT) this.listeners.forEach(listener -> listener.onAdded(this.columns, slot));
+    }
+
+    private int add(Employee employee) {
+        try {
+            return this.columns.add(employee);
+        } catch (IllegalArgumentException e) {
+            log.warn("Skipping employee with unusable id [%s]: %s".formatted(employee.getId(), e.getMessage()));
+            return EmployeeColumns.NO_SLOT;
+        }
+    }
+
+    /*
+     * Listeners see the removed slot before it is cleared. Once removals make up most of the columns they are
+     * compacted, which renumbers slots, so listeners rebuild from scratch.
+     */
+    private void remove(String id) {
+        int slot = this.columns.slotOf(id);
+        if (slot == EmployeeColumns.NO_SLOT) return;
+        this.listeners.forEach(listener -> listener.onRemoved(this.columns, slot));
+        this.columns.remove(slot);
+
+        if (this.columns.needsCompaction()) {
+            this.columns.compact();
+            this.listeners.forEach(listener -> listener.onReset(this.columns));
+        }
+    }
+}
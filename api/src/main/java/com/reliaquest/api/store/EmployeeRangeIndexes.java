@@ -0,0 +1,51 @@
+package com.reliaquest.api.store;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Salary and age {@link RangeIndex}es over the employee columns, maintained through creates, deletes and
+ * reloads. Reads go through {@link EmployeeDataStore#query}, whose read lock excludes updates.
+ */
+@Component
+public class EmployeeRangeIndexes implements EmployeeDataListener {
+
+    private final RangeIndex salary = new RangeIndex();
+    private final RangeIndex age = new RangeIndex();
+
+    public RangeIndex salary() {
+        return this.salary;
+    }
+
+    public RangeIndex age() {
+        return this.age;
+    }
+
+    @Override
+    public void onReset(EmployeeColumns columns) {
+        long[] salaryKeys = new long[columns.size()];
+        long[] ageKeys = new long[columns.size()];
+        int salaries = 0;
+        int ages = 0;
+        for (int slot = 0; slot < columns.slotCount(); slot++) {
+            if (!columns.isLive(slot)) continue;
+            if (columns.salary(slot) != EmployeeColumns.NULL_INT)
+                salaryKeys[salaries++] = RangeIndex.key(columns.salary(slot), slot);
+            if (columns.age(slot) != EmployeeColumns.NULL_INT)
+                ageKeys[ages++] = RangeIndex.key(columns.age(slot), slot);
+        }
+        this.salary.reset(salaryKeys, salaries);
+        this.age.reset(ageKeys, ages);
+    }
+
+    @Override
+    public void onAdded(EmployeeColumns columns, int slot) {
+        if (columns.salary(slot) != EmployeeColumns.NULL_INT) this.salary.add(columns.salary(slot), slot);
+        if (columns.age(slot) != EmployeeColumns.NULL_INT) this.age.add(columns.age(slot), slot);
+    }
+
+    @Override
+    public void onRemoved(EmployeeColumns columns, int slot) {
+        if (columns.salary(slot) != EmployeeColumns.NULL_INT) this.salary.remove(columns.salary(slot), slot);
+        if (columns.age(slot) != EmployeeColumns.NULL_INT) this.age.remove(columns.age(slot), slot);
+    }
+}
@@ -0,0 +1,203 @@
+package com.reliaquest.api.warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.RenderedResponseCache;
+import com.reliaquest.api.client.MockServerClient;
+import com.reliaquest.api.exception.ApiException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeePage;
+import com.reliaquest.api.model.Percentiles;
+import com.reliaquest.api.model.SalaryStatistics;
+import com.reliaquest.api.store.EmployeeDataStore;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs once at startup so the first real requests do not pay for cold caches, connections and code.
+ *
+ * <p>Spring Boot runs application runners after the web server is listening but before it publishes
+ * {@code ApplicationReadyEvent}, which is what switches the readiness state (and
+ * {@code /actuator/health/readiness}) to accepting traffic. A load balancer gating on readiness therefore only
+ * sends traffic once this has completed, while liveness is reported throughout.
+ *
+ * <ol>
+ *   <li>Builds the downstream client's Jackson (de)serializers and the web layer's serializers for every
+ *       response type.
+ *   <li>Loads the employee data, which also opens the pooled connection to the mock server. The mock server
+ *       rate limits, so this is the only downstream call made and it is retried a few times before giving up.
+ *   <li>Calls the read endpoints over loopback HTTP, exercising the servlet stack, message conversion and the
+ *       service and column operators until the JIT has compiled them. Refreshes of the employee data are
+ *       suspended and the rendered response cache bypassed meanwhile, so these read the data loaded above and
+ *       run every endpoint. The full list is only requested once, as each request would serialize every employee.
+ * </ol>
+ *
+ * <p>Warmup never fails startup: anything that goes wrong is logged and the application becomes ready anyway.
+ */
+@Slf4j
+@Component
+public class ApiWarmup implements ApplicationRunner {
+
+    /*
+     * Read-only endpoints served from the locally held data; GET /{id} is left out as it calls downstream, and GET /
+     * as it renders every employee: it is requested once, and its serializer warmed on a sample of the list instead.
+     */
+    static final List<String> WARMUP_PATHS = List.of(
+            "/search/an",
+            "/highestSalary",
+            "/topTenHighestEarningEmployeeNames",
+            "/analytics/salary/by-title",
+            "/analytics/salary/by-age-band",
+            "/analytics/salary/percentiles",
+            "/range/salary?size=10");
+
+    static final String LIST_PATH = "/";
+    static final int LIST_SAMPLE_SIZE = 100;
+
+    @Autowired
+    MockServerClient mockServerClient;
+
+    @Autowired
+    EmployeeDataStore employeeDataStore;
+
+    @Autowired
+    RenderedResponseCache renderedResponseCache;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    ApplicationContext applicationContext;
+
+    @Value("${warmup.enabled:true}")
+    boolean enabled;
+
+    @Value("${warmup.iterations:200}")
+    int iterations;
+
+    @Value("${warmup.prime-attempts:3}")
+    int primeAttempts;
+
+    @Value("${warmup.prime-retry-delay:2s}")
+    Duration primeRetryDelay;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!this.enabled) {
+            log.info("Warmup disabled");
+            return;
+        }
+
+        long started = System.nanoTime();
+        this.mockServerClient.warmUpSerialization();
+        this.warmUpResponseSerialization();
+        boolean primed = this.primeEmployeeData();
+        if (primed) this.exerciseEndpoints();
+        log.info("Warmup completed in %d ms".formatted(Duration.ofNanos(System.nanoTime() - started).toMillis()));
+    }
+
+    private void warmUpResponseSerialization() {
+        Employee employee = new Employee(
+                UUID.randomUUID().toString(), "Warm Up", 1, 30, "Warm Up", "warm.up@company.com");
+        try {
+            this.objectMapper.writeValueAsBytes(List.of(employee));
+            this.objectMapper.writeValueAsBytes(List.of(new SalaryStatistics("Warm Up", 1, 1, 1, 1, 0)));
+            this.objectMapper.writeValueAsBytes(new Percentiles("salary", null, 1, 0.01, Map.of(0.5, 1.0)));
+            this.objectMapper.writeValueAsBytes(new EmployeePage(List.of(employee), 0, 1, 1));
+            this.objectMapper.writeValueAsBytes(new ApiException.ErrorResponse("warm_up", "Warm up"));
+        } catch (JsonProcessingException e) {
+            log.warn("Response serialization warmup failed: %s".formatted(e.getMessage()));
+        }
+    }
+
+    private boolean primeEmployeeData() {
+        for (int attempt = 1; attempt <= this.primeAttempts; attempt++) {
+            try {
+                int loaded = this.employeeDataStore.getEmployees().size();
+                log.info("Warmup loaded %d employees".formatted(loaded));
+                return true;
+            } catch (ApiException e) {
+                log.warn("Warmup could not load employee data (attempt %d of %d): %s"
+                        .formatted(attempt, this.primeAttempts, e.getMessage()));
+                if (!this.sleep(this.primeRetryDelay)) return false;
+            }
+        }
+        return false;
+    }
+
+    private void exerciseEndpoints() {
+        if (!(this.applicationContext instanceof WebServerApplicationContext webContext)) return;
+
+        // The push subscription only connects once the application is ready, so until then the held data would
+        // be refreshed from downstream every max-staleness; the warmup reads the data it just loaded instead. The
+        // rendered response cache would answer all but the first call to the cached endpoints, so it is bypassed.
+        this.employeeDataStore.setRefreshSuspended(true);
+        this.renderedResponseCache.setBypassed(true);
+        try {
+            this.exerciseEndpoints(webContext);
+        } finally {
+            this.renderedResponseCache.setBypassed(false);
+            this.employeeDataStore.setRefreshSuspended(false);
+        }
+    }
+
+    private void exerciseEndpoints(WebServerApplicationContext webContext) {
+        String baseUrl = "http://localhost:%d".formatted(webContext.getWebServer().getPort());
+        HttpClient loopback = HttpClient.newHttpClient();
+        List<Employee> employees = this.employeeDataStore.getEmployees();
+        List<Employee> sample = employees.subList(0, Math.min(LIST_SAMPLE_SIZE, employees.size()));
+        int failures = 0;
+        try {
+            if (!this.send(loopback, baseUrl + LIST_PATH)) failures++;
+            for (int i = 0; i < this.iterations; i++) {
+                this.objectMapper.writeValueAsBytes(sample);
+                for (String path : WARMUP_PATHS) {
+                    if (!this.send(loopback, baseUrl + path)) failures++;
+                }
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("List serialization warmup failed: %s".formatted(e.getMessage()));
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        log.info("Warmup sent %d loopback requests, %d failed"
+                .formatted(1 + this.iterations * WARMUP_PATHS.size(), failures));
+    }
+
+    // False when the request failed or was answered with a server error.
+    private boolean send(HttpClient loopback, String url) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder().uri(URI.create(url)).GET().build();
+        try {
+            return loopback.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 500;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private boolean sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.reliaquest.api.writebehind;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Append-only file of asynchronous creates, one JSON {@link JournalEntry} per line, so accepted creates survive a
+ * restart until the mock server has them.
+ *
+ * <p>Every append is forced to disk before it returns. A crash can leave a torn last line, which replay skips:
+ * its append never returned, so nobody was told it had been accepted.
+ */
+@Slf4j
+@Component
+public class CreateJournal implements Closeable {
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+
+    // Guarded by this.
+    private FileChannel channel;
+
+    @Autowired
+    public CreateJournal(@Value("${write-behind.journal:data/create-journal.ndjson}") Path path, ObjectMapper objectMapper)
+            throws IOException {
+        this.path = path.toAbsolutePath();
+        this.objectMapper = objectMapper;
+        Files.createDirectories(this.path.getParent());
+        this.channel = open(this.path);
+    }
+
+    public synchronized List<JournalEntry> replay() throws IOException {
+        List<JournalEntry> entries = new ArrayList<>();
+        for (String line : Files.readAllLines(this.path, StandardCharsets.UTF_8)) {
+            if (line.isBlank()) continue;
+            try {
+                entries.add(this.objectMapper.readValue(line, JournalEntry.class));
+            } catch (JsonProcessingException e) {
+                log.warn("Skipping unreadable create journal line: %s".formatted(e.getOriginalMessage()));
+            }
+        }
+        return entries;
+    }
+
+    public synchronized void append(List<JournalEntry> entries) throws IOException {
+        if (entries.isEmpty()) return;
+        ByteBuffer lines = ByteBuffer.wrap(this.serialize(entries));
+        while (lines.hasRemaining()) this.channel.write(lines);
+        this.channel.force(false);
+    }
+
+    /*
+        Replaces the journal with the given entries. They are written to a new file that is moved over the old
+        one, so a crash leaves either journal complete. The old channel is swapped out only once the move has
+        succeeded; if it fails, the old journal stays in place and open for appends.
+    */
+    public synchronized void rewrite(List<JournalEntry> entries) throws IOException {
+        Path compacted = this.path.resolveSibling(this.path.getFileName() + ".compacting");
+        try (FileChannel out = FileChannel.open(
+                compacted,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer lines = ByteBuffer.wrap(this.serialize(entries));
+            while (lines.hasRemaining()) out.write(lines);
+            out.force(false);
+        }
+        try {
+            Files.move(compacted, this.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.deleteIfExists(compacted);
+            throw e;
+        }
+        FileChannel previous = this.channel;
+        this.channel = open(this.path);
+        previous.close();
+    }
+
+    public synchronized long size() throws IOException {
+        return this.channel.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        this.channel.close();
+    }
+
+    private byte[] serialize(List<JournalEntry> entries) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        for (JournalEntry entry : entries) {
+            bytes.write(this.objectMapper.writeValueAsBytes(entry));
+            bytes.write('\n');
+        }
+        return bytes.toByteArray();
+    }
+
+    private static FileChannel open(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+}
@@ -0,0 +1,41 @@
+package com.reliaquest.api.writebehind;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.reliaquest.api.model.CreateEmployeeDto;
+import com.reliaquest.api.model.CreateOperation;
+import com.reliaquest.api.model.Employee;
+
+/**
+ * One line of the {@link CreateJournal}: a create that was accepted (with its input) or its outcome.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record JournalEntry(
+        Type type, String id, CreateEmployeeDto input, Employee employee, String error, int attempts) {
+
+    public enum Type {
+        ACCEPTED,
+        COMPLETED,
+        FAILED
+    }
+
+    public static JournalEntry accepted(String id, CreateEmployeeDto input) {
+        return new JournalEntry(Type.ACCEPTED, id, input, null, null, 0);
+    }
+
+    public static JournalEntry outcome(CreateOperation operation) {
+        return operation.status() == CreateOperation.Status.COMPLETED
+                ? new JournalEntry(
+                        Type.COMPLETED, operation.id(), null, operation.employee(), null, operation.attempts())
+                : new JournalEntry(Type.FAILED, operation.id(), null, null, operation.error(), operation.attempts());
+    }
+
+    public CreateOperation operation() {
+        return switch (this.type) {
+            case ACCEPTED -> CreateOperation.pending(this.id, this.attempts);
+            case COMPLETED -> new CreateOperation(
+                    this.id, CreateOperation.Status.COMPLETED, this.attempts, this.employee, null);
+            case FAILED -> new CreateOperation(
+                    this.id, CreateOperation.Status.FAILED, this.attempts, null, this.error);
+        };
+    }
+}
@@ -0,0 +1,58 @@
+package com.reliaquest.api.analytics;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class QuantileSketchTest {
+
+    @Test
+    void testQuantilesStayWithinRelativeError() {
+        Random random = new Random(11);
+        int[] salaries = new int[10000];
+        QuantileSketch sketch = new QuantileSketch(0.01);
+        for (int i = 0; i < salaries.length; i++) {
+            salaries[i] = 30000 + random.nextInt(470000);
+            sketch.add(salaries[i]);
+        }
+        Arrays.sort(salaries);
+
+        for (double q : new double[] {0, 0.25, 0.5, 0.9, 0.99, 1}) {
+            int exact = salaries[(int) (q * (salaries.length - 1))];
+            Assertions.assertEquals(
+                    exact, sketch.quantile(q), exact * 0.01, "Quantile %s should be within 1%%.".formatted(q));
+        }
+    }
+
+    @Test
+    void testRemoveUndoesAdd() {
+        QuantileSketch sketch = new QuantileSketch(0.01);
+        for (int salary : new int[] {70000, 80000, 95000}) sketch.add(salary);
+        double median = sketch.quantile(0.5);
+
+        sketch.add(400000);
+        sketch.add(450000);
+        sketch.remove(400000);
+        sketch.remove(450000);
+
+        Assertions.assertEquals(3, sketch.getCount(), "Removed values should no longer be counted.");
+        Assertions.assertEquals(median, sketch.quantile(0.5), "Removing values should restore the estimate.");
+    }
+
+    @Test
+    void testMergeEqualsSketchOfUnion() {
+        QuantileSketch left = new QuantileSketch(0.01);
+        QuantileSketch right = new QuantileSketch(0.01);
+        QuantileSketch union = new QuantileSketch(0.01);
+        for (int i = 1; i <= 1000; i++) {
+            (i % 2 == 0 ? left : right).add(i * 100);
+            union.add(i * 100);
+        }
+
+        left.merge(right);
+
+        Assertions.assertEquals(union.getCount(), left.getCount(), "Merging should add counts.");
+        Assertions.assertEquals(union.quantile(0.9), left.quantile(0.9), "Merged buckets should match the union.");
+    }
+}
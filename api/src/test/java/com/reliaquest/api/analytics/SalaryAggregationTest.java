@@ -0,0 +1,62 @@
+package com.reliaquest.api.analytics;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.SalaryStatistics;
+import com.reliaquest.api.store.EmployeeColumns;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class SalaryAggregationTest {
+
+    @Test
+    void testAccumulatorMatchesDirectComputation() {
+        SalaryAccumulator accumulator = new SalaryAccumulator();
+        for (int salary : new int[] {70000, 80000, 95000, 105000, 120000}) accumulator.add(salary);
+
+        SalaryStatistics statistics = accumulator.toStatistics("all");
+
+        Assertions.assertEquals(5, statistics.count(), "Every salary should be counted.");
+        Assertions.assertEquals(70000, statistics.min(), "The lowest salary should be the minimum.");
+        Assertions.assertEquals(120000, statistics.max(), "The highest salary should be the maximum.");
+        Assertions.assertEquals(94000, statistics.mean(), 1e-9, "The mean should be exact.");
+        Assertions.assertEquals(Math.sqrt(274000000), statistics.stddev(), 1e-6, "Population stddev expected.");
+    }
+
+    @Test
+    void testParallelAggregationMatchesSequential() {
+        // Arrange: enough employees, and a small enough leaf, for many partitions to be merged.
+        Random random = new Random(7);
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            employees.add(new Employee(
+                    UUID.randomUUID().toString(),
+                    "Employee " + i,
+                    30000 + random.nextInt(470000),
+                    16 + random.nextInt(55),
+                    "Title " + random.nextInt(7),
+                    "e" + i + "@test.com"));
+        }
+        EmployeeColumns columns = EmployeeColumns.of(employees);
+
+        // Act
+        SalaryAccumulator[] sequential = new SalaryAggregation(Integer.MAX_VALUE, 16)
+                .aggregate(columns, columns.titleCount(), columns::titleCode);
+        SalaryAccumulator[] parallel =
+                new SalaryAggregation(0, 16).aggregate(columns, columns.titleCount(), columns::titleCode);
+
+        // Assert
+        for (int group = 0; group < columns.titleCount(); group++) {
+            SalaryStatistics expected = sequential[group].toStatistics("group");
+            SalaryStatistics actual = parallel[group].toStatistics("group");
+            Assertions.assertEquals(expected.count(), actual.count(), "Counts should not depend on partitioning.");
+            Assertions.assertEquals(expected.min(), actual.min(), "Minimums should not depend on partitioning.");
+            Assertions.assertEquals(expected.max(), actual.max(), "Maximums should not depend on partitioning.");
+            Assertions.assertEquals(expected.mean(), actual.mean(), 1e-6, "Merged means should agree.");
+            Assertions.assertEquals(expected.stddev(), actual.stddev(), 1e-6, "Merged deviations should agree.");
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.ResponseCacheStats;
+import com.reliaquest.api.store.EmployeeColumns;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class RenderedResponseCacheTest {
+
+    private final RenderedResponseCache cache = new RenderedResponseCache(new SimpleMeterRegistry(), 8, 8);
+
+    private RenderedResponseCache.Rendered rendered(String body) {
+        return new RenderedResponseCache.Rendered(
+                this.cache.generation(), "application/json", body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testHitsAreServedUntilTheDataChanges() {
+        RenderedResponseCache.Rendered highest = rendered("120000");
+        this.cache.put(RenderedResponseCache.Route.HIGHEST_SALARY, null, highest);
+
+        Assertions.assertSame(
+                highest,
+                this.cache.get(RenderedResponseCache.Route.HIGHEST_SALARY, null, this.cache.generation()),
+                "The rendered response should be served for its generation.");
+
+        this.cache.onAdded(new EmployeeColumns(), 0);
+
+        Assertions.assertNull(
+                this.cache.get(RenderedResponseCache.Route.HIGHEST_SALARY, null, this.cache.generation()),
+                "A change to the data should drop the response.");
+        Assertions.assertEquals(0, this.cache.size(), "Nothing should be left after a change.");
+    }
+
+    @Test
+    void testResponsesRenderedBeforeAChangeAreNotStored() {
+        RenderedResponseCache.Rendered stale = rendered("[\"Liam Anderson\"]");
+        this.cache.onRemoved(new EmployeeColumns(), 0);
+
+        this.cache.put(RenderedResponseCache.Route.TOP_TEN_NAMES, null, stale);
+
+        Assertions.assertEquals(0, this.cache.size(), "A response from an older generation should be ignored.");
+    }
+
+    @Test
+    void testSearchesAreKeyedByLowerCasedQueryAndBounded() {
+        long generation = this.cache.generation();
+        this.cache.put(RenderedResponseCache.Route.SEARCH, RenderedResponseCache.searchKey("Liam"), rendered("[1]"));
+        this.cache.put(RenderedResponseCache.Route.SEARCH, RenderedResponseCache.searchKey("chen"), rendered("[2]"));
+        this.cache.get(RenderedResponseCache.Route.SEARCH, RenderedResponseCache.searchKey("LIAM"), generation);
+        this.cache.put(RenderedResponseCache.Route.SEARCH, RenderedResponseCache.searchKey("ava"), rendered("[3]"));
+
+        Assertions.assertNotNull(
+                this.cache.get(RenderedResponseCache.Route.SEARCH, "liam", generation),
+                "The recently used search should be kept.");
+        Assertions.assertNull(
+                this.cache.get(RenderedResponseCache.Route.SEARCH, "chen", generation),
+                "The least recently used search should be evicted.");
+        Assertions.assertEquals(1, this.cache.stats().evictions(), "One search should have been evicted.");
+    }
+
+    @Test
+    void testSearchesAreEvictedByBodyBytes() {
+        long generation = this.cache.generation();
+        this.cache.put(RenderedResponseCache.Route.SEARCH, "liam", rendered("[1,2]"));
+        this.cache.put(RenderedResponseCache.Route.SEARCH, "chen", rendered("[3]"));
+
+        Assertions.assertEquals(8, this.cache.bytes(), "Bodies up to the byte budget should all be kept.");
+
+        this.cache.put(RenderedResponseCache.Route.SEARCH, "ava", rendered("[4]"));
+
+        Assertions.assertNull(
+                this.cache.get(RenderedResponseCache.Route.SEARCH, "liam", generation),
+                "The oldest search should be evicted once the bodies exceed the byte budget.");
+        Assertions.assertNotNull(
+                this.cache.get(RenderedResponseCache.Route.SEARCH, "chen", generation),
+                "The searches within the budget should be kept.");
+        Assertions.assertEquals(6, this.cache.bytes(), "Only the two kept bodies should be counted.");
+
+        this.cache.put(RenderedResponseCache.Route.SEARCH, "ava", rendered("[4,5]"));
+
+        Assertions.assertEquals(8, this.cache.bytes(), "A replaced body should no longer be counted.");
+        Assertions.assertEquals(
+                1, this.cache.stats().evictions(), "Replacing a body within the budget should not evict.");
+    }
+
+    @Test
+    void testBodiesAboveTheEntryLimitAreNotStored() {
+        this.cache.put(RenderedResponseCache.Route.SEARCH, "a", rendered("[1,2,3,4]"));
+        this.cache.put(RenderedResponseCache.Route.SEARCH, "chen", rendered("[3]"));
+
+        ResponseCacheStats stats = this.cache.stats();
+
+        Assertions.assertEquals(1, stats.entries(), "Only the small body should be stored.");
+        Assertions.assertEquals(3, stats.bytes(), "Only the small body should be counted.");
+        Assertions.assertEquals(1, stats.oversized(), "The large body should be counted as oversized.");
+        Assertions.assertEquals(0, stats.evictions(), "Skipping a body should not evict anything.");
+    }
+
+    @Test
+    void testChangesReleaseTheHeldBytes() {
+        this.cache.put(RenderedResponseCache.Route.HIGHEST_SALARY, null, rendered("120000"));
+        this.cache.put(RenderedResponseCache.Route.SEARCH, "chen", rendered("[3]"));
+
+        this.cache.onReset(new EmployeeColumns());
+
+        Assertions.assertEquals(0, this.cache.bytes(), "No bytes should be held after the data changes.");
+    }
+
+    @Test
+    void testStatsReportHitRatioAndBytesSaved() {
+        long generation = this.cache.generation();
+        this.cache.get(RenderedResponseCache.Route.HIGHEST_SALARY, null, generation);
+        this.cache.put(RenderedResponseCache.Route.HIGHEST_SALARY, null, rendered("120000"));
+        this.cache.get(RenderedResponseCache.Route.HIGHEST_SALARY, null, generation);
+        this.cache.get(RenderedResponseCache.Route.HIGHEST_SALARY, null, generation);
+        this.cache.get(RenderedResponseCache.Route.HIGHEST_SALARY, null, generation);
+
+        ResponseCacheStats stats = this.cache.stats();
+
+        Assertions.assertEquals(3, stats.hits(), "Three requests should have been hits.");
+        Assertions.assertEquals(1, stats.misses(), "The first request should have been a miss.");
+        Assertions.assertEquals(0.75, stats.hitRatio(), 1e-9, "Three of four requests were hits.");
+        Assertions.assertEquals(18, stats.bytesSaved(), "Each hit saves the six body bytes.");
+    }
+}
@@ -0,0 +1,109 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.store.EmployeeColumns;
+import com.reliaquest.api.store.EmployeeDataStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+@ExtendWith(MockitoExtension.class)
+public class RenderedResponseFilterTest {
+
+    @Mock
+    private EmployeeDataStore employeeDataStore;
+
+    private final RenderedResponseCache cache = new RenderedResponseCache(new SimpleMeterRegistry(), 1 << 20, 1 << 16);
+    private final AtomicInteger rendered = new AtomicInteger();
+    private RenderedResponseFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new RenderedResponseFilter(employeeDataStore, cache);
+    }
+
+    private void stubGeneration() {
+        Mockito.when(employeeDataStore.query(Mockito.any())).thenAnswer(invocation -> {
+            Function<EmployeeColumns, ?> query = invocation.getArgument(0);
+            return query.apply(new EmployeeColumns());
+        });
+    }
+
+    private MockHttpServletResponse get(String path, int status) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", path), response, (request, chainResponse) -> {
+            rendered.incrementAndGet();
+            HttpServletResponse httpResponse = (HttpServletResponse) chainResponse;
+            httpResponse.setStatus(status);
+            httpResponse.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            httpResponse.getOutputStream().write("[\"Liam Anderson\"]".getBytes(StandardCharsets.UTF_8));
+        });
+        return response;
+    }
+
+    @Test
+    void testSecondRequestIsAnsweredFromTheCache() throws Exception {
+        stubGeneration();
+        MockHttpServletResponse first = get("/search/Liam", HttpStatus.OK.value());
+        MockHttpServletResponse second = get("/search/liam", HttpStatus.OK.value());
+
+        Assertions.assertEquals(1, rendered.get(), "Only the first request should reach the endpoint.");
+        Assertions.assertEquals(
+                first.getContentAsString(), second.getContentAsString(), "Both should get the same body.");
+        Assertions.assertEquals(
+                MediaType.APPLICATION_JSON_VALUE, second.getContentType(), "The content type should be kept.");
+    }
+
+    @Test
+    void testChangesAndErrorsAreNotServedFromTheCache() throws Exception {
+        stubGeneration();
+        get("/highestSalary", HttpStatus.OK.value());
+        cache.onReset(new EmployeeColumns());
+        get("/highestSalary", HttpStatus.OK.value());
+        get("/search/%20", HttpStatus.BAD_REQUEST.value());
+        get("/search/%20", HttpStatus.BAD_REQUEST.value());
+
+        Assertions.assertEquals(4, rendered.get(), "A change or an error response should not be reused.");
+    }
+
+    @Test
+    void testBypassedCacheLetsEveryRequestThrough() throws Exception {
+        cache.setBypassed(true);
+        get("/highestSalary", HttpStatus.OK.value());
+        get("/highestSalary", HttpStatus.OK.value());
+
+        Assertions.assertEquals(2, rendered.get(), "A bypassed cache should not answer a request.");
+        Assertions.assertEquals(0, cache.size(), "A bypassed cache should not store a response.");
+        Mockito.verifyNoInteractions(employeeDataStore);
+
+        cache.setBypassed(false);
+        stubGeneration();
+        get("/highestSalary", HttpStatus.OK.value());
+        get("/highestSalary", HttpStatus.OK.value());
+
+        Assertions.assertEquals(3, rendered.get(), "The cache should answer again once no longer bypassed.");
+    }
+
+    @Test
+    void testOtherRoutesPassThrough() {
+        Assertions.assertNull(RenderedResponseFilter.routeOf("/"), "The full list is not cached.");
+        Assertions.assertNull(RenderedResponseFilter.routeOf("/search/"), "An empty search is not cached.");
+        Assertions.assertNull(RenderedResponseFilter.routeOf("/search/a/b"), "Nested paths are not searches.");
+        Assertions.assertEquals(
+                RenderedResponseCache.Route.TOP_TEN_NAMES,
+                RenderedResponseFilter.routeOf("/topTenHighestEarningEmployeeNames"),
+                "The top ten names are cached.");
+    }
+}
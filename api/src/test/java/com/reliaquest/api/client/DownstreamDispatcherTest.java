@@ -0,0 +1,110 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.client.DownstreamDispatcher.RequestClass;
+import com.reliaquest.api.exception.ApiException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+public class DownstreamDispatcherTest {
+
+    private static final String URL = "http://localhost:8112/api/v1/employee";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private DownstreamDispatcher dispatcher(Duration interactiveDeadline) {
+        return new DownstreamDispatcher(
+                this.registry, 1, interactiveDeadline, Duration.ofSeconds(10), Duration.ofSeconds(10));
+    }
+
+    @Test
+    void testRequestsAreClassifiedByMethodAndPath() {
+        HttpRequest byId = HttpRequest.newBuilder(URI.create(URL + "/4a3a170b-22cd-4ac2-aad1-9bb5b34a1507"))
+                .build();
+        HttpRequest list = HttpRequest.newBuilder(URI.create(URL)).build();
+        HttpRequest changes = HttpRequest.newBuilder(URI.create(URL + "/changes?since=3")).build();
+        HttpRequest create = HttpRequest.newBuilder(URI.create(URL))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+
+        Assertions.assertEquals(RequestClass.INTERACTIVE, RequestClass.of(byId), "By-id reads are interactive.");
+        Assertions.assertEquals(RequestClass.BULK, RequestClass.of(list), "The full list is bulk.");
+        Assertions.assertEquals(RequestClass.BULK, RequestClass.of(changes), "The change feed is bulk.");
+        Assertions.assertEquals(RequestClass.WRITE, RequestClass.of(create), "A create is a write.");
+    }
+
+    @Test
+    void testQueuedRequestsAreServedByWeight() throws InterruptedException {
+        DownstreamDispatcher dispatcher = dispatcher(Duration.ofSeconds(10));
+        dispatcher.acquire(RequestClass.BULK);
+
+        List<RequestClass> served = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            for (RequestClass requestClass : List.of(RequestClass.BULK, RequestClass.INTERACTIVE)) {
+                Thread thread = new Thread(() -> {
+                    dispatcher.acquire(requestClass);
+                    served.add(requestClass);
+                    dispatcher.release();
+                });
+                thread.start();
+                threads.add(thread);
+            }
+        }
+        while (dispatcher.queued() < 16) Thread.sleep(1);
+
+        dispatcher.release();
+        for (Thread thread : threads) thread.join(5_000);
+
+        Assertions.assertEquals(16, served.size(), "Every queued request should be served.");
+        Assertions.assertEquals(
+                List.of(
+                        RequestClass.INTERACTIVE,
+                        RequestClass.INTERACTIVE,
+                        RequestClass.INTERACTIVE,
+                        RequestClass.INTERACTIVE,
+                        RequestClass.BULK),
+                served.subList(0, 5),
+                "Interactive requests should go first, with bulk getting its share of the slots.");
+        Assertions.assertEquals(
+                1,
+                Collections.frequency(served.subList(0, 9), RequestClass.BULK),
+                "Bulk should get one of every nine slots while both classes wait.");
+        Assertions.assertEquals(
+                17,
+                this.registry.get("mockserver.dispatch.wait").timers().stream()
+                        .mapToLong(timer -> timer.count())
+                        .sum(),
+                "Every acquire should record its wait.");
+    }
+
+    @Test
+    void testRequestsQueuedPastTheirDeadlineAreDropped() {
+        DownstreamDispatcher dispatcher = dispatcher(Duration.ofMillis(20));
+        dispatcher.acquire(RequestClass.BULK);
+
+        ApiException thrown = Assertions.assertThrows(
+                ApiException.class,
+                () -> dispatcher.acquire(RequestClass.INTERACTIVE),
+                "A request that cannot get a slot before its deadline should be dropped.");
+
+        Assertions.assertEquals(
+                HttpStatus.SERVICE_UNAVAILABLE.value(), thrown.getHttpStatusCode(), "HTTP status code should be 503.");
+        Assertions.assertEquals(0, dispatcher.queued(), "The dropped request should leave the queue.");
+        Assertions.assertEquals(
+                1.0,
+                this.registry
+                        .get("mockserver.dispatch.expired")
+                        .tag("class", "interactive")
+                        .counter()
+                        .count(),
+                "The drop should be counted for its class.");
+    }
+}
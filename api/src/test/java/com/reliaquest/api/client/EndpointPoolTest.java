@@ -0,0 +1,54 @@
+package com.reliaquest.api.client;
+
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class EndpointPoolTest {
+
+    private final EndpointPool.Endpoint fast = new EndpointPool.Endpoint("http://localhost:8112/api/v1/employee");
+    private final EndpointPool.Endpoint slow = new EndpointPool.Endpoint("http://localhost:8113/api/v1/employee");
+    private final EndpointPool pool = new EndpointPool("shard", List.of(this.fast, this.slow));
+
+    @Test
+    void testTwoChoicesPreferTheLessLoadedEndpoint() {
+        this.fast.succeeded(2_000_000);
+        this.slow.succeeded(50_000_000);
+
+        for (int i = 0; i < 100; i++)
+            Assertions.assertSame(this.fast, this.pool.select(), "The faster endpoint should win every comparison.");
+
+        for (int i = 0; i < 40; i++) this.fast.started();
+        Assertions.assertSame(this.slow, this.pool.select(), "A backlog of in-flight requests outweighs latency.");
+    }
+
+    @Test
+    void testEjectedEndpointsOnlyReturnAfterProbe() {
+        this.fast.throttled(Duration.ofMinutes(1));
+
+        for (int i = 0; i < 20; i++)
+            Assertions.assertSame(this.slow, this.pool.select(), "A throttled endpoint takes no traffic.");
+        Assertions.assertFalse(this.fast.isProbeDue(), "The ejection has not run out yet.");
+
+        this.slow.failed(Duration.ZERO);
+        Assertions.assertSame(
+                this.fast, this.pool.select(), "With every endpoint ejected, the one ejected longest ago is used.");
+        Assertions.assertTrue(this.slow.isProbeDue(), "An expired ejection waits for a health probe.");
+
+        this.slow.readmit();
+        Assertions.assertSame(this.slow, this.pool.select(), "A probed endpoint takes traffic again.");
+    }
+
+    @Test
+    void testStatsCountSelectionsAndEjections() {
+        this.pool.select();
+        this.fast.failed(Duration.ofSeconds(5));
+        this.fast.failed(Duration.ofSeconds(5));
+
+        long selected = this.pool.stats().stream().mapToLong(stats -> stats.selected()).sum();
+        Assertions.assertEquals(1, selected, "One selection should be recorded.");
+        Assertions.assertEquals(1, this.pool.stats().get(0).ejections(), "Repeated failures extend one ejection.");
+        Assertions.assertEquals(2, this.pool.stats().get(0).failed(), "Both failures should be counted.");
+    }
+}
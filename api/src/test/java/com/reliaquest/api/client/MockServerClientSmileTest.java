@@ -0,0 +1,157 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.reliaquest.api.model.Employee;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The client against a stub mock server that answers Smile when Accept asks for it, or JSON only.
+ */
+public class MockServerClientSmileTest {
+
+    private static final String PATH = "/api/v1/employee";
+    private static final UUID LIAM = UUID.fromString("5255f1a5-f9f7-4be5-829a-134bde088d17");
+    private static final UUID OLIVIA = UUID.fromString("0b6a8a6f-3c1d-4f0e-9a7b-2e4f5d6c7b8a");
+
+    private final MockServerClient mockServerClient = new MockServerClient();
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+
+    // Smile as the mock server writes it: shared string values, and UUIDs as strings rather than raw bytes.
+    private final ObjectMapper smileMapper =
+            new ObjectMapper(SmileFactory.builder()
+                            .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                            .build())
+                    .registerModule(new SimpleModule().addSerializer(UUID.class, ToStringSerializer.instance));
+
+    private HttpServer server;
+    private volatile ObjectMapper answerSmileWith;
+    private volatile String accept;
+    private volatile String contentType;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        this.answerSmileWith = this.smileMapper;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.server.createContext(PATH, this::answer);
+        this.server.start();
+        this.mockServerClient.configureShards(
+                List.of("http://localhost:%d%s".formatted(this.server.getAddress().getPort(), PATH)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.server.stop(0);
+    }
+
+    private static Map<String, Object> employee(UUID id, String name, int salary) {
+        Map<String, Object> employee = new LinkedHashMap<>();
+        employee.put("id", id);
+        employee.put("employee_name", name);
+        employee.put("employee_salary", salary);
+        employee.put("employee_age", 30);
+        employee.put("employee_title", "Software Engineer");
+        employee.put("employee_email", name.toLowerCase().replace(' ', '.') + "@company.com");
+        return employee;
+    }
+
+    // The list at the root path, an employee at /{id}; Smile only when Accept lists it and the stub can write it.
+    private void answer(HttpExchange exchange) throws IOException {
+        this.accept = exchange.getRequestHeaders().getFirst(MockServerClient.ACCEPT);
+        String path = exchange.getRequestURI().getPath();
+        Object data = path.equals(PATH)
+                ? List.of(employee(LIAM, "Liam Anderson", 120_000), employee(OLIVIA, "Olivia Chen", 95_000))
+                : employee(UUID.fromString(path.substring(PATH.length() + 1)), "Liam Anderson", 120_000);
+        Map<String, Object> response = Map.of("data", data, "status", "Successfully processed request.");
+
+        boolean smile = this.answerSmileWith != null
+                && this.accept != null
+                && this.accept.contains(MockServerClient.APPLICATION_SMILE);
+        byte[] body = (smile ? this.answerSmileWith : this.jsonMapper).writeValueAsBytes(response);
+        this.contentType = smile ? MockServerClient.APPLICATION_SMILE : MockServerClient.APPLICATION_JSON;
+        exchange.getResponseHeaders().set(MockServerClient.CONTENT_TYPE, this.contentType);
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    @Test
+    void testSmileIsAskedForAndParsed() {
+        List<Employee> employees = this.mockServerClient.getAllEmployees();
+
+        Assertions.assertEquals(MockServerClient.SMILE_OR_JSON, this.accept, "Smile should be asked for first.");
+        Assertions.assertEquals(MockServerClient.APPLICATION_SMILE, this.contentType, "The stub should answer Smile.");
+        Assertions.assertEquals(
+                List.of("Liam Anderson", "Olivia Chen"),
+                employees.stream().map(Employee::getEmployeeName).toList(),
+                "Both employees should be parsed from Smile.");
+        Assertions.assertEquals(
+                List.of("Software Engineer", "Software Engineer"),
+                employees.stream().map(Employee::getEmployeeTitle).toList(),
+                "A shared string value should be resolved for every employee.");
+        Assertions.assertEquals(120_000, employees.get(0).getEmployeeSalary());
+    }
+
+    @Test
+    void testJsonIsParsedFromAServerWithoutSmile() {
+        this.answerSmileWith = null;
+
+        Employee employee = this.mockServerClient.getEmployeeById(LIAM.toString());
+
+        Assertions.assertEquals(MockServerClient.SMILE_OR_JSON, this.accept, "Smile should still be asked for.");
+        Assertions.assertEquals(MockServerClient.APPLICATION_JSON, this.contentType, "The stub should answer JSON.");
+        Assertions.assertEquals("Liam Anderson", employee.getEmployeeName(), "The JSON answer should be parsed.");
+    }
+
+    @Test
+    void testDisabledSmileAsksForJsonOnly() {
+        this.mockServerClient.smile = false;
+
+        List<Employee> employees = this.mockServerClient.getAllEmployees();
+
+        Assertions.assertNull(this.accept, "Smile should not be asked for when it is disabled.");
+        Assertions.assertEquals(MockServerClient.APPLICATION_JSON, this.contentType, "The stub should answer JSON.");
+        Assertions.assertEquals(2, employees.size(), "The JSON list should be parsed.");
+    }
+
+    @Test
+    void testIdsSurviveSmileAsStrings() {
+        Employee employee = this.mockServerClient.getEmployeeById(OLIVIA.toString());
+
+        Assertions.assertEquals(MockServerClient.APPLICATION_SMILE, this.contentType, "The stub should answer Smile.");
+        Assertions.assertEquals(OLIVIA.toString(), employee.getId(), "The id should read back as the same string.");
+        Assertions.assertEquals(
+                List.of(LIAM.toString(), OLIVIA.toString()),
+                this.mockServerClient.getAllEmployees().stream()
+                        .map(Employee::getId)
+                        .toList(),
+                "Listed ids should read back as the same strings.");
+    }
+
+    @Test
+    void testIdsWrittenAsRawBytesWouldNotSurvive() {
+        // Spring's default Smile converter, which the mock server replaces, writes UUIDs as 16 raw bytes.
+        this.answerSmileWith = new ObjectMapper(new SmileFactory());
+
+        Employee employee = this.mockServerClient.getEmployeeById(OLIVIA.toString());
+
+        Assertions.assertNotEquals(
+                OLIVIA.toString(), employee.getId(), "Raw UUID bytes read back as base64, not as the id.");
+    }
+}
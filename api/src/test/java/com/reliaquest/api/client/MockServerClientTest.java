@@ -0,0 +1,57 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.exception.ApiException;
+import com.reliaquest.api.model.CreateEmployeeDto;
+import com.reliaquest.api.model.DeleteEmployeeDto;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+public class MockServerClientTest {
+
+    // Nothing listens here: a write that got past the fence would fail differently.
+    private static final String SHARD = "http://localhost:1/api/v1/employee";
+
+    private final MockServerClient mockServerClient = new MockServerClient();
+    private final ExecutorService writer = Executors.newSingleThreadExecutor();
+
+    @BeforeEach
+    void setUp() {
+        mockServerClient.configureShards(List.of(SHARD));
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.shutdownNow();
+    }
+
+    @Test
+    void testWritesAreRefusedWhileShardsAreRebalanced() {
+        List<ApiException> refused = mockServerClient.withWritesFenced(() -> List.of(
+                refusal(() -> mockServerClient.createEmployee(new CreateEmployeeDto("Liam", 1, 30, "Engineer"))),
+                refusal(() -> mockServerClient.deleteEmployee(new DeleteEmployeeDto("Liam")))));
+
+        for (ApiException exception : refused) {
+            Assertions.assertEquals(
+                    HttpStatus.SERVICE_UNAVAILABLE.value(),
+                    exception.getHttpStatusCode(),
+                    "A write during a rebalance should be refused with 503.");
+            Assertions.assertEquals(
+                    MockServerClient.SHARD_REBALANCE_IN_PROGRESS, exception.getErrorResponse().errorCode());
+        }
+    }
+
+    // Writes are sent from another thread: the rebalancing thread itself holds the fence.
+    private ApiException refusal(Runnable write) {
+        ExecutionException failure = Assertions.assertThrows(
+                ExecutionException.class, () -> writer.submit(write).get(5, TimeUnit.SECONDS));
+        return Assertions.assertInstanceOf(ApiException.class, failure.getCause());
+    }
+}
@@ -0,0 +1,83 @@
+package com.reliaquest.api.client;
+
+import java.util.Locale;
+import java.util.UUID;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ShardRingTest {
+
+    private static final int KEYS = 40_000;
+
+    // Pinned owners on a ring of four, the same vectors as the mock server's ShardRingTest.
+    private static final String[] IDS = {
+        "00000000-0000-0000-0000-000000000000",
+        "d005f39a-beb8-4390-afec-fd54e91d94ee",
+        "5255f1a5-f9f7-4be5-829a-134bde088d17",
+        "6e1c8d3a-2f4b-4c8e-9a1d-7b3e5f2a9c04",
+        "f0e1d2c3-b4a5-4968-8776-655443322110",
+        "123e4567-e89b-42d3-a456-426614174000"
+    };
+    private static final int[] OWNERS = {1, 2, 2, 1, 2, 3};
+
+    @Test
+    void testKeysSpreadEvenlyOverShards() {
+        ShardRing ring = new ShardRing(4);
+        int[] owned = new int[4];
+        for (int i = 0; i < KEYS; i++) owned[ring.shardOf(new UUID(i, i * 31L).toString())]++;
+
+        for (int shard = 0; shard < owned.length; shard++)
+            Assertions.assertTrue(
+                    owned[shard] > KEYS * 0.15 && owned[shard] < KEYS * 0.35,
+                    "Shard %d should own about a quarter of the keys, owns %d.".formatted(shard, owned[shard]));
+    }
+
+    @Test
+    void testAddingAShardOnlyMovesKeysToIt() {
+        ShardRing four = new ShardRing(4);
+        ShardRing five = new ShardRing(5);
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String key = new UUID(i, i * 31L).toString();
+            if (four.shardOf(key) == five.shardOf(key)) continue;
+            moved++;
+            Assertions.assertEquals(4, five.shardOf(key), "A key only ever moves to the added shard.");
+        }
+
+        Assertions.assertTrue(moved < KEYS * 0.3, "About a fifth of the keys should move, moved " + moved + ".");
+    }
+
+    @Test
+    void testSingleShardOwnsEverything() {
+        ShardRing ring = new ShardRing(1);
+
+        Assertions.assertEquals(0, ring.shardOf(UUID.randomUUID().toString()), "One shard owns every key.");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ShardRing(0), "Zero shards is invalid.");
+    }
+
+    /*
+     * Fails on both sides, rather than letting them route ids to different shards, if either ring's hash or
+     * points change.
+     */
+    @Test
+    void testKnownHashesAndOwnersMatchTheMockServer() {
+        Assertions.assertEquals(-3413787052447643614L, ShardRing.hash("shard-0#0"), "Hash of the first point.");
+        Assertions.assertEquals(2174674170522848004L, ShardRing.hash(IDS[0]), "Hash of the nil UUID.");
+
+        ShardRing ring = new ShardRing(4);
+        for (int i = 0; i < IDS.length; i++)
+            Assertions.assertEquals(OWNERS[i], ring.shardOf(IDS[i]), "Owner of " + IDS[i]);
+    }
+
+    @Test
+    void testIdsAreRoutedByTheirCanonicalForm() {
+        ShardRing ring = new ShardRing(4);
+
+        for (int i = 0; i < IDS.length; i++)
+            Assertions.assertEquals(
+                    OWNERS[i],
+                    ring.shardOfId(IDS[i].toUpperCase(Locale.ROOT)),
+                    "An upper case id is owned by the shard holding its lower case form.");
+        Assertions.assertEquals(ring.shardOf("not-a-uuid"), ring.shardOfId("not-a-uuid"), "Other keys hash as is.");
+    }
+}
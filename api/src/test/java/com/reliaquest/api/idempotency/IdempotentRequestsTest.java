@@ -0,0 +1,139 @@
+package com.reliaquest.api.idempotency;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class IdempotentRequestsTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final IdempotentRequests requests = new IdempotentRequests(Duration.ofMinutes(1), 3, now::get);
+    private final AtomicInteger runs = new AtomicInteger();
+
+    private Integer run(String key) {
+        return this.requests.execute(key, "request", this.runs::incrementAndGet);
+    }
+
+    @Test
+    void testRepeatedKeyReturnsStoredResult() {
+        Assertions.assertEquals(1, run("a"), "The first request should run.");
+        Assertions.assertEquals(1, run("a"), "A repeat should get the stored result.");
+        Assertions.assertEquals(2, run("b"), "Another key should run on its own.");
+        Assertions.assertEquals(2, this.runs.get(), "Each key should run once.");
+    }
+
+    @Test
+    void testExpiredKeyRunsAgain() {
+        run("a");
+        this.now.addAndGet(Duration.ofSeconds(59).toNanos());
+        Assertions.assertEquals(1, run("a"), "The result should be kept until the ttl is over.");
+
+        this.now.addAndGet(Duration.ofSeconds(1).toNanos());
+        Assertions.assertEquals(2, run("a"), "An expired key should run again.");
+        Assertions.assertEquals(1, this.requests.size(), "Only the new run should be stored.");
+    }
+
+    @Test
+    void testOldestKeysAreEvictedBeyondMaxEntries() {
+        run("a");
+        run("b");
+        run("c");
+        run("d");
+
+        Assertions.assertEquals(3, this.requests.size(), "At most max-entries keys should be kept.");
+        Assertions.assertEquals(4, run("d"), "The newest key should still be stored.");
+        Assertions.assertEquals(5, run("a"), "The oldest key should have been evicted.");
+    }
+
+    @Test
+    void testInFlightRunIsNotEvictedBeyondMaxEntries() {
+        Integer slow = this.requests.execute("slow", "request", () -> {
+            // While this run is in flight, it is the oldest of more than max-entries keys.
+            run("a");
+            run("b");
+            run("c");
+            run("d");
+            return 0;
+        });
+
+        Assertions.assertEquals(0, slow);
+        Assertions.assertEquals(0, run("slow"), "The in-flight run should have been kept, not run again.");
+        Assertions.assertEquals(4, this.runs.get(), "Completed keys should have been evicted instead.");
+    }
+
+    @Test
+    void testInFlightRunIsNotExpired() {
+        this.requests.execute("slow", "request", () -> {
+            this.now.addAndGet(Duration.ofMinutes(2).toNanos());
+            run("a");
+            Assertions.assertEquals(2, this.requests.size(), "A run past the ttl should be kept while in flight.");
+            return 0;
+        });
+
+        this.now.addAndGet(Duration.ofMinutes(1).toNanos());
+        run("b");
+        Assertions.assertEquals(1, this.requests.size(), "Once completed, it should expire like any other.");
+    }
+
+    @Test
+    void testFailedRunIsNotStored() {
+        IllegalStateException failure = new IllegalStateException("downstream failed");
+        Assertions.assertThrows(
+                IllegalStateException.class,
+                () -> this.requests.execute("a", "request", () -> {
+                    throw failure;
+                }),
+                "The failure should reach the caller.");
+
+        Assertions.assertEquals(0, this.requests.size(), "A failed run should not be stored.");
+        Assertions.assertEquals(1, run("a"), "The key should be usable again after a failure.");
+    }
+
+    @Test
+    void testRunFailingWithAnErrorIsNotStored() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch fail = new CountDownLatch(1);
+        AtomicReference<Throwable> waited = new AtomicReference<>();
+        Thread first = new Thread(() -> Assertions.assertThrows(
+                StackOverflowError.class, () -> this.requests.execute("a", "request", () -> {
+                    started.countDown();
+                    await(fail);
+                    throw new StackOverflowError();
+                })));
+        first.start();
+        Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+        Thread retry = new Thread(() -> {
+            try {
+                run("a");
+            } catch (Throwable e) {
+                waited.set(e);
+            }
+        });
+        retry.start();
+        // Parked on the first run's result.
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (retry.getState() != Thread.State.WAITING && System.nanoTime() < deadline) Thread.sleep(1);
+
+        fail.countDown();
+        first.join(5_000);
+        retry.join(5_000);
+
+        Assertions.assertFalse(retry.isAlive(), "A retry waiting on the failed run should not wait forever.");
+        Assertions.assertInstanceOf(StackOverflowError.class, waited.get(), "The retry should get the same error.");
+        Assertions.assertEquals(0, this.requests.size(), "A run failed by an error should not be stored.");
+        Assertions.assertEquals(1, run("a"), "The key should be usable again after an error.");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.reliaquest.api.jfr;
+
+import com.sun.management.ThreadMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+
+/**
+ * Fails a test when a call allocates more bytes on average than its declared budget.
+ *
+ * <p>Allocation is read from the calling thread's allocation counter, which is exact rather than sampled. The call
+ * is warmed up first and the average is taken over many calls, so one-off allocations (a grown buffer, a lazily
+ * built table) round away. The lowest of a few rounds is kept, so a round in which the call was being recompiled
+ * does not count. Whether escape analysis removes a short-lived object still depends on the JIT, so budgets should
+ * leave room for such objects rather than count on them being removed.
+ */
+public final class AllocationBudget {
+
+    static final int WARMUP_CALLS = 20_000;
+    static final int MEASURED_CALLS = 10_000;
+    static final int ROUNDS = 3;
+
+    // Every result is published here, so the JIT cannot drop a call whose result is unused.
+    private static volatile Object sink;
+
+    private AllocationBudget() {}
+
+    public static long bytesPerCall(Supplier<?> call) {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(
+                threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled(),
+                "This JVM does not count allocations per thread.");
+
+        for (int i = 0; i < WARMUP_CALLS; i++) sink = call.get();
+        long lowest = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long before = threads.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < MEASURED_CALLS; i++) sink = call.get();
+            lowest = Math.min(lowest, (threads.getCurrentThreadAllocatedBytes() - before) / MEASURED_CALLS);
+        }
+        return lowest;
+    }
+
+    public static void assertWithin(String operation, long budgetBytes, Supplier<?> call) {
+        long allocated = bytesPerCall(call);
+        Assertions.assertTrue(
+                allocated <= budgetBytes,
+                "%s allocated %d bytes per call, over its budget of %d bytes."
+                        .formatted(operation, allocated, budgetBytes));
+    }
+}
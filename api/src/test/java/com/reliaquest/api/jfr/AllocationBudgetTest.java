@@ -0,0 +1,124 @@
+package com.reliaquest.api.jfr;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.NameOrder;
+import com.reliaquest.api.search.NamePrefixTrie;
+import com.reliaquest.api.store.EmployeeColumns;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Allocation budgets of the read paths served from the held employee data. A budget is what the path needs for
+ * its response plus a few hundred bytes of slack, so it holds whether or not the JIT removes short-lived objects by
+ * escape analysis (checked with C1 only, without escape analysis and interpreted). A path that starts boxing,
+ * copying or materializing employees it does not return allocates kilobytes per call and goes over it.
+ */
+public class AllocationBudgetTest {
+
+    private static final String[] FIRST_NAMES = {"Liam", "Olivia", "Noah", "Emma", "Ethan", "Ava", "Mason", "Isabella"};
+    private static final String[] LAST_NAMES = {"Anderson", "Chen", "Miller", "Garcia", "White", "Nguyen", "Smith"};
+
+    private final EmployeeColumns columns = columns(10_000);
+
+    private static EmployeeColumns columns(int count) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++)
+            employees.add(new Employee(
+                    new UUID(random.nextLong(), random.nextLong()).toString(),
+                    FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                            + LAST_NAMES[random.nextInt(LAST_NAMES.length)] + " " + i,
+                    random.nextInt(30_000, 500_000),
+                    random.nextInt(16, 71),
+                    "Software Engineer",
+                    "employee" + i + "@company.com"));
+        return EmployeeColumns.of(employees);
+    }
+
+    @Test
+    void testHighestSalaryOnlyScansTheColumn() {
+        // Nothing per employee: boxing or streaming the 10,000 salaries would take over 100 KB.
+        AllocationBudget.assertWithin("maxSalary", 256, () -> this.columns.maxSalary() > 0);
+    }
+
+    @Test
+    void testTopTenNamesOnlyAllocateTheResponse() {
+        // The slot heap, the list and the ten name strings decoded from the columns, about 730 bytes.
+        AllocationBudget.assertWithin(
+                "topTenNames", 2048, () -> this.columns.names(this.columns.topSalarySlots(10)));
+    }
+
+    @Test
+    void testNameSearchDoesNotMaterializeEmployees() {
+        // About 1,250 matches collected as slots take about 21 KB; as Employee objects they would take over 300 KB.
+        AllocationBudget.assertWithin(
+                "slotsWithNameContaining", 32 * 1024, () -> this.columns.slotsWithNameContaining("isabella"));
+    }
+
+    @Test
+    void testAutocompleteOnlyAllocatesTheSlots() {
+        NamePrefixTrie trie = NamePrefixTrie.build(this.columns);
+
+        // The ten slots and the walk down the trie, about 220 bytes.
+        AllocationBudget.assertWithin(
+                "autocomplete", 1024, () -> trie.complete(this.columns, "and", NameOrder.NAME, 10));
+    }
+
+    @Test
+    void testOperationsAreNotSlowedDownWhileNotRecorded() throws NoSuchMethodException {
+        EmployeeOperationInterceptor interceptor = new EmployeeOperationInterceptor();
+        MethodInvocation invocation = new ConstantInvocation(Object.class.getMethod("hashCode"));
+
+        // At most the unused event object, which escape analysis may or may not remove.
+        AllocationBudget.assertWithin("EmployeeOperationInterceptor", 256, () -> {
+            try {
+                return interceptor.invoke(invocation);
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    @Test
+    void testBudgetCatchesAllocation() {
+        Assertions.assertThrows(
+                AssertionError.class,
+                () -> AllocationBudget.assertWithin("copy", 1024, () -> new int[this.columns.size()]),
+                "A call allocating 40 KB should be over a 1 KB budget.");
+    }
+
+    private record ConstantInvocation(Method method) implements MethodInvocation {
+
+        @Override
+        public Method getMethod() {
+            return this.method;
+        }
+
+        @Override
+        public Object[] getArguments() {
+            return new Object[0];
+        }
+
+        @Override
+        public Object proceed() {
+            return Boolean.TRUE;
+        }
+
+        @Override
+        public Object getThis() {
+            return null;
+        }
+
+        @Override
+        public AccessibleObject getStaticPart() {
+            return this.method;
+        }
+    }
+}
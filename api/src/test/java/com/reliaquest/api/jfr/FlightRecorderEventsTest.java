@@ -0,0 +1,135 @@
+package com.reliaquest.api.jfr;
+
+import com.reliaquest.api.client.MockServerClient;
+import com.reliaquest.api.exception.ApiException;
+import com.reliaquest.api.model.DownstreamEmployeeDto;
+import com.reliaquest.api.service.impl.EmployeeService;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.http.HttpStatus;
+
+public class FlightRecorderEventsTest {
+
+    @TempDir
+    private Path directory;
+
+    private List<RecordedEvent> record(String eventName, Runnable work) throws Exception {
+        Path file = this.directory.resolve("events.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(eventName).withoutThreshold();
+            recording.start();
+            work.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.delete(file);
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(eventName))
+                .toList();
+    }
+
+    @RecordedOperations
+    public static class Operations {
+
+        public List<String> topTenNames() {
+            return List.of("Liam", "Olivia");
+        }
+
+        public String employeeById(String id) {
+            throw new ApiException("invalid_employee_id", "Invalid", HttpStatus.BAD_REQUEST.value());
+        }
+
+        public String createIdempotently() {
+            return this.create();
+        }
+
+        public String create() {
+            return "Liam Anderson";
+        }
+    }
+
+    private static Operations recorded(Operations target) {
+        ProxyFactory factory = new ProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAdvisor(FlightRecorderConfiguration.employeeOperationAdvisor());
+        return (Operations) factory.getProxy();
+    }
+
+    @Test
+    void testOperationEventsRecordResultsAndErrors() throws Exception {
+        Operations operations = recorded(new Operations());
+
+        List<RecordedEvent> events = record("com.reliaquest.api.EmployeeOperation", () -> {
+            operations.topTenNames();
+            Assertions.assertThrows(
+                    ApiException.class, () -> operations.employeeById("1"), "The error should be rethrown.");
+        });
+
+        Assertions.assertEquals(2, events.size(), "Both calls should have been recorded.");
+        Assertions.assertEquals(
+                "topTenNames", events.get(0).getString("operation"), "The operation should be named after the method.");
+        Assertions.assertEquals(2, events.get(0).getInt("results"), "The returned names should be counted.");
+        Assertions.assertNull(events.get(0).getString("error"), "A successful call has no error.");
+        Assertions.assertEquals(
+                "invalid_employee_id", events.get(1).getString("error"), "The error code should be recorded.");
+    }
+
+    @Test
+    void testOperationsBuiltOnAnotherAreRecordedOnce() throws Exception {
+        Operations operations = recorded(new Operations());
+
+        List<RecordedEvent> events = record("com.reliaquest.api.EmployeeOperation", operations::createIdempotently);
+
+        Assertions.assertEquals(1, events.size(), "The inner call should not be recorded as a nested event.");
+        Assertions.assertEquals(
+                "createIdempotently", events.get(0).getString("operation"), "The outer operation should be named.");
+    }
+
+    @Test
+    void testOnlyMarkedBeansAreRecorded() {
+        Advisor advisor = FlightRecorderConfiguration.employeeOperationAdvisor();
+
+        Assertions.assertTrue(
+                AopUtils.canApply(advisor, EmployeeService.class), "The employee service should be recorded.");
+        Assertions.assertFalse(
+                AopUtils.canApply(advisor, MockServerClient.class), "Unmarked beans should not be proxied.");
+    }
+
+    @Test
+    void testDownstreamEventsCarryTheirMeasurements() throws Exception {
+        List<RecordedEvent> exchanges = record("com.reliaquest.api.DownstreamExchange", () -> {
+            DownstreamExchangeEvent event = new DownstreamExchangeEvent();
+            event.begin();
+            event.record("GET", "http://localhost:8112/api/v1/employee", "BULK", 200, 1_000, 2_000_000);
+        });
+        List<RecordedEvent> parses = record("com.reliaquest.api.JsonParse", () -> {
+            JsonParseEvent event = new JsonParseEvent();
+            event.begin();
+            event.record(DownstreamEmployeeDto.class, JsonParseEvent.SMILE, 4096, 25);
+        });
+
+        Assertions.assertEquals(1, exchanges.size(), "The exchange should have been recorded.");
+        Assertions.assertEquals(200, exchanges.get(0).getInt("status"), "The status should be recorded.");
+        Assertions.assertEquals(
+                1_000, exchanges.get(0).getDuration("admission").toNanos(), "The admission wait should be kept.");
+        Assertions.assertEquals(
+                2_000_000, exchanges.get(0).getDuration("exchange").toNanos(), "The exchange time should be kept.");
+        Assertions.assertEquals(1, parses.size(), "The parse should have been recorded.");
+        Assertions.assertEquals(
+                "DownstreamEmployeeDto", parses.get(0).getString("type"), "The parsed type should be named.");
+        Assertions.assertEquals("smile", parses.get(0).getString("format"), "The wire format should be recorded.");
+        Assertions.assertEquals(4096, parses.get(0).getLong("bytes"), "The body size should be recorded.");
+        Assertions.assertEquals(25, parses.get(0).getInt("records"), "The records should be counted.");
+    }
+}
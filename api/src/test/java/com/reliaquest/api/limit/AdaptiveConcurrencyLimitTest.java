@@ -0,0 +1,84 @@
+package com.reliaquest.api.limit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class AdaptiveConcurrencyLimitTest {
+
+    private static final long MILLIS = Duration.ofMillis(1).toNanos();
+
+    private final AtomicLong now = new AtomicLong();
+
+    private AdaptiveConcurrencyLimit limit(int initial, int min, int max) {
+        return new AdaptiveConcurrencyLimit(initial, min, max, this.now::get);
+    }
+
+    private static void acquire(AdaptiveConcurrencyLimit limit, int requests) {
+        for (int i = 0; i < requests; i++) Assertions.assertTrue(limit.tryAcquire(), "Request should be admitted.");
+    }
+
+    @Test
+    void testRequestsBeyondTheLimitAreRejected() {
+        AdaptiveConcurrencyLimit limit = limit(4, 1, 10);
+        acquire(limit, 4);
+
+        Assertions.assertFalse(limit.tryAcquire(), "A request over the limit should be rejected.");
+        limit.release();
+        Assertions.assertTrue(limit.tryAcquire(), "A released slot should admit the next request.");
+        Assertions.assertEquals(1, limit.stats().rejected(), "The rejection should be counted.");
+    }
+
+    @Test
+    void testLimitGrowsWhileBusyAndLatencyIsSteady() {
+        AdaptiveConcurrencyLimit limit = limit(10, 1, 100);
+        acquire(limit, 10);
+
+        for (int i = 0; i < 20; i++) limit.onSample(10 * MILLIS);
+
+        Assertions.assertTrue(limit.limit() > 10, "The limit should grow, was " + limit.limit());
+    }
+
+    @Test
+    void testLimitDoesNotGrowWhileMostlyUnused() {
+        AdaptiveConcurrencyLimit limit = limit(10, 1, 100);
+        acquire(limit, 2);
+
+        for (int i = 0; i < 20; i++) limit.onSample(10 * MILLIS);
+
+        Assertions.assertEquals(10, limit.limit(), "An unused limit should stay where it is.");
+    }
+
+    @Test
+    void testLimitShrinksWhenLatencyRises() {
+        AdaptiveConcurrencyLimit limit = limit(20, 1, 40);
+        acquire(limit, 20);
+        for (int i = 0; i < 50; i++) limit.onSample(10 * MILLIS);
+        int before = limit.limit();
+
+        for (int i = 0; i < 30; i++) limit.onSample(100 * MILLIS);
+
+        Assertions.assertTrue(limit.limit() < before, "The limit should shrink, was " + limit.limit());
+    }
+
+    @Test
+    void testOverloadBacksOffOncePerRoundTrip() {
+        AdaptiveConcurrencyLimit limit = limit(20, 4, 100);
+
+        limit.onOverload();
+        Assertions.assertEquals(18, limit.limit(), "A 429 should cut the limit by 10%.");
+        limit.onOverload();
+        Assertions.assertEquals(18, limit.limit(), "A burst of 429s should count once.");
+
+        this.now.addAndGet(20 * MILLIS);
+        limit.onOverload();
+        Assertions.assertEquals(16, limit.limit(), "A later 429 should cut the limit again.");
+
+        for (int i = 0; i < 50; i++) {
+            this.now.addAndGet(20 * MILLIS);
+            limit.onOverload();
+        }
+        Assertions.assertEquals(4, limit.limit(), "The limit should not fall below its minimum.");
+    }
+}
@@ -0,0 +1,56 @@
+package com.reliaquest.api.limit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.controller.EmployeeController;
+import java.time.Duration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+public class ConcurrencyLimitInterceptorTest {
+
+    private final AdaptiveConcurrencyLimit concurrencyLimit = new AdaptiveConcurrencyLimit(1, 1, 1, () -> 0L);
+    private final ConcurrencyLimitInterceptor interceptor =
+            new ConcurrencyLimitInterceptor(this.concurrencyLimit, new ObjectMapper(), Duration.ofSeconds(1));
+
+    private static HandlerMethod handler(String name, Class<?>... parameterTypes) throws NoSuchMethodException {
+        return new HandlerMethod(new EmployeeController(), EmployeeController.class.getMethod(name, parameterTypes));
+    }
+
+    @Test
+    void testDownstreamHandlersAreRejectedOverTheLimit() throws Exception {
+        HandlerMethod byId = handler("getEmployeeById", String.class);
+        MockHttpServletRequest admitted = new MockHttpServletRequest();
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+
+        Assertions.assertTrue(this.interceptor.preHandle(admitted, new MockHttpServletResponse(), byId));
+        Assertions.assertFalse(
+                this.interceptor.preHandle(new MockHttpServletRequest(), rejected, byId),
+                "A second downstream request should be over the limit of one.");
+        Assertions.assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), rejected.getStatus());
+        Assertions.assertEquals("1", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+
+        this.interceptor.afterCompletion(admitted, new MockHttpServletResponse(), byId, null);
+        Assertions.assertEquals(0, this.concurrencyLimit.inFlight(), "A completed request should release its slot.");
+    }
+
+    @Test
+    void testLocalReadsAreNotLimited() throws Exception {
+        Assertions.assertTrue(this.concurrencyLimit.tryAcquire(), "Fill the limit.");
+
+        for (HandlerMethod local : new HandlerMethod[] {
+            handler("getAllEmployees"),
+            handler("getEmployeesByNameSearch", String.class),
+            handler("getHighestSalaryOfEmployees"),
+            handler("getTopTenHighestEarningEmployeeNames")
+        })
+            Assertions.assertTrue(
+                    this.interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), local),
+                    local.getMethod().getName() + " is served locally and should not be limited.");
+        Assertions.assertEquals(1, this.concurrencyLimit.inFlight(), "Local reads should not take a slot.");
+    }
+}
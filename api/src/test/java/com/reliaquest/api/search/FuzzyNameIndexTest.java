@@ -0,0 +1,112 @@
+package com.reliaquest.api.search;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.store.EmployeeColumns;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class FuzzyNameIndexTest {
+
+    private final EmployeeColumns columns = EmployeeColumns.of(List.of(
+            employee("Liam Anderson"),
+            employee("Olivia Chen"),
+            employee("Ethan Miller"),
+            employee("Isabella Garcia"),
+            employee("Noah White"),
+            employee("Ethan Millar")));
+
+    private static Employee employee(String name) {
+        return new Employee(UUID.randomUUID().toString(), name, 90000, 30, "Analyst", "employee@test.com");
+    }
+
+    private List<String> names(String query, int maxDistance, int limit) {
+        return FuzzyNameIndex.build(this.columns).search(this.columns, query, maxDistance, limit).stream()
+                .map(FuzzyNameIndex.Match::name)
+                .toList();
+    }
+
+    @Test
+    void testMisspelledNamesAreRankedByDistance() {
+        List<FuzzyNameIndex.Match> matches =
+                FuzzyNameIndex.build(this.columns).search(this.columns, "Etan Miler", 2, 10);
+
+        Assertions.assertEquals(2, matches.size(), "Both Ethans should be within reach.");
+        Assertions.assertEquals("Ethan Miller", matches.get(0).name(), "The closer name should come first.");
+        Assertions.assertEquals(2, matches.get(0).distance(), "One edit per token.");
+        Assertions.assertEquals("Ethan Millar", matches.get(1).name(), "The farther name should come second.");
+        Assertions.assertEquals(3, matches.get(1).distance(), "One plus two edits.");
+    }
+
+    @Test
+    void testTranspositionsCountAsOneEdit() {
+        Assertions.assertEquals(
+                List.of("Isabella Garcia"), names("isabella garica", 1, 10), "A swapped pair is a single edit.");
+        Assertions.assertEquals(
+                List.of("Liam Anderson"), names("andersno", 1, 10), "Edits past the indexed prefix are found too.");
+    }
+
+    @Test
+    void testDistanceZeroOnlyMatchesWholeTokens() {
+        Assertions.assertEquals(List.of(), names("etan", 0, 10), "No edits should be allowed.");
+        Assertions.assertEquals(
+                List.of("Ethan Millar", "Ethan Miller"), names("ETHAN", 0, 10), "Equal distances sort by name.");
+        Assertions.assertEquals(List.of("Ethan Millar"), names("ethan", 0, 1), "The limit should be applied.");
+    }
+
+    @Test
+    void testShortTokensAreNotFuzzed() {
+        Assertions.assertEquals(List.of(), names("no", 2, 10), "Two letters should only match exactly.");
+        Assertions.assertEquals(List.of("Olivia Chen"), names("chan", 2, 10), "Four letters allow one edit.");
+    }
+
+    @Test
+    void testRemovedEmployeesAreNotIndexed() {
+        this.columns.remove(4);
+
+        Assertions.assertEquals(List.of(), names("noah white", 2, 10), "A removed employee should not be found.");
+    }
+
+    @Test
+    void testBoundedDistance() {
+        Assertions.assertEquals(3, FuzzyNameIndex.distance("kitten", "sitting", 3), "kitten -> sitting is 3 edits.");
+        Assertions.assertEquals(
+                3, FuzzyNameIndex.distance("kitten", "sitting", 2), "Beyond the bound it reports bound + 1.");
+        Assertions.assertEquals(1, FuzzyNameIndex.distance("ab", "ba", 2), "A transposition is one edit.");
+    }
+
+    @Test
+    void testAddedAndRemovedEmployeesAreFollowed() {
+        FuzzyNameIndex index = FuzzyNameIndex.build(this.columns);
+        int added = this.columns.add(employee("Ethan Muller"));
+        index.add(this.columns, added);
+        index.remove(this.columns, 2);
+        this.columns.remove(2);
+
+        Assertions.assertEquals(
+                List.of("Ethan Millar", "Ethan Muller"),
+                index.search(this.columns, "ethan miller", 1, 10).stream()
+                        .map(FuzzyNameIndex.Match::name)
+                        .toList(),
+                "The added employee should be found and the removed one not.");
+        Assertions.assertEquals(
+                List.of(), index.search(this.columns, "ethan miller", 0, 10), "No exact match should be left.");
+    }
+
+    @Test
+    void testIndexIsUpdatedInPlace() {
+        NameIndexes nameIndexes = new NameIndexes();
+        nameIndexes.onReset(this.columns);
+        FuzzyNameIndex first = nameIndexes.fuzzy();
+
+        int added = this.columns.add(employee("Sophia Turner"));
+        nameIndexes.onAdded(this.columns, added);
+
+        Assertions.assertSame(first, nameIndexes.fuzzy(), "A change should not rebuild the index.");
+        Assertions.assertEquals(
+                1, first.search(this.columns, "sofia turner", 2, 10).size(), "The added employee should be found.");
+        nameIndexes.onReset(this.columns);
+        Assertions.assertNotSame(first, nameIndexes.fuzzy(), "A reset should rebuild the index.");
+    }
+}
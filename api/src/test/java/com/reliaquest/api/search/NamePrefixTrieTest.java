@@ -0,0 +1,173 @@
+package com.reliaquest.api.search;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.NameOrder;
+import com.reliaquest.api.store.EmployeeColumns;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class NamePrefixTrieTest {
+
+    private final EmployeeColumns columns = EmployeeColumns.of(List.of(
+            employee("Liam Anderson", 95000),
+            employee("Andrea Smith", 120000),
+            employee("Ann Annabel", 70000),
+            employee("Ethan Miller", 80000),
+            employee("Olivia Andrews", 110000),
+            employee("Noah Smithers", 60000)));
+
+    private static Employee employee(String name, int salary) {
+        return new Employee(UUID.randomUUID().toString(), name, salary, 30, "Analyst", "employee@test.com");
+    }
+
+    private List<String> names(NamePrefixTrie trie, String query, NameOrder order, int limit) {
+        return Arrays.stream(trie.complete(this.columns, query, order, limit))
+                .mapToObj(this.columns::name)
+                .toList();
+    }
+
+    private List<String> names(String query, NameOrder order, int limit) {
+        return this.names(NamePrefixTrie.build(this.columns), query, order, limit);
+    }
+
+    @Test
+    void testPrefixMatchesFirstAndLastNames() {
+        Assertions.assertEquals(
+                List.of("Andrea Smith", "Olivia Andrews", "Liam Anderson", "Ann Annabel"),
+                names("an", NameOrder.SALARY, 10),
+                "Every name with a token starting with the prefix should be suggested, highest salary first.");
+        Assertions.assertEquals(
+                List.of("Andrea Smith", "Ann Annabel", "Liam Anderson", "Olivia Andrews"),
+                names("AN", NameOrder.NAME, 10),
+                "Alphabetical order should be by full name, and the prefix case-insensitive.");
+    }
+
+    @Test
+    void testEmployeesUnderSeveralTokensAreSuggestedOnce() {
+        Assertions.assertEquals(
+                List.of("Ann Annabel"), names("ann", NameOrder.NAME, 10), "Ann Annabel matches twice but is one name.");
+    }
+
+    @Test
+    void testLimitAndMisses() {
+        Assertions.assertEquals(
+                List.of("Andrea Smith", "Olivia Andrews"),
+                names("and", NameOrder.SALARY, 2),
+                "Only the first suggestions should be returned.");
+        Assertions.assertEquals(List.of(), names("anx", NameOrder.NAME, 10), "An unknown prefix suggests nothing.");
+        Assertions.assertEquals(List.of(), names("  ", NameOrder.NAME, 10), "A prefix without letters is empty.");
+    }
+
+    @Test
+    void testEveryTokenMustPrefixTheName() {
+        Assertions.assertEquals(
+                List.of("Noah Smithers"),
+                names("smi no", NameOrder.SALARY, 10),
+                "Both tokens should be matched, in any order.");
+        Assertions.assertEquals(
+                names("smith", NameOrder.NAME, NamePrefixTrie.TOP_K + 5),
+                names("smith", NameOrder.NAME, 10),
+                "Limits past the precomputed suggestions should give the same answer.");
+    }
+
+    @Test
+    void testRemovedEmployeesAreNotSuggested() {
+        this.columns.remove(1);
+
+        Assertions.assertEquals(
+                List.of("Olivia Andrews", "Liam Anderson", "Ann Annabel"),
+                names("an", NameOrder.SALARY, 10),
+                "A rebuilt trie should not suggest removed employees.");
+    }
+
+    @Test
+    void testAddedAndRemovedEmployeesAreFollowed() {
+        NamePrefixTrie trie = NamePrefixTrie.build(this.columns);
+        int added = this.columns.add(employee("Andy Zhang", 150000));
+        trie.add(this.columns, added);
+        trie.remove(this.columns, 1);
+        this.columns.remove(1);
+
+        Assertions.assertEquals(
+                List.of("Andy Zhang", "Olivia Andrews", "Liam Anderson"),
+                names(trie, "and", NameOrder.SALARY, 10),
+                "The added employee should be merged in order and the removed one skipped.");
+        Assertions.assertEquals(
+                List.of("Andy Zhang", "Ann Annabel"),
+                names(trie, "an", NameOrder.NAME, 2),
+                "The limit should apply across built and added employees.");
+        Assertions.assertEquals(2, trie.pendingChanges(), "One add and one removal should be pending.");
+
+        trie.remove(this.columns, added);
+        this.columns.remove(added);
+        Assertions.assertEquals(
+                names("an", NameOrder.SALARY, 10),
+                names(trie, "an", NameOrder.SALARY, 10),
+                "The updated trie should suggest what a rebuilt one does.");
+    }
+
+    @Test
+    void testRemovalsBeyondTheKeptSuggestionsFallBackToTheNames() {
+        List<Employee> smiths = new ArrayList<>();
+        for (int i = 0; i < NamePrefixTrie.TOP_K + 2; i++) smiths.add(employee("Smith " + (char) ('a' + i), i));
+        EmployeeColumns smithColumns = EmployeeColumns.of(smiths);
+        NamePrefixTrie trie = NamePrefixTrie.build(smithColumns);
+        for (int slot = 0; slot < 5; slot++) {
+            trie.remove(smithColumns, slot);
+            smithColumns.remove(slot);
+        }
+
+        int[] slots = trie.complete(smithColumns, "smith", NameOrder.NAME, NamePrefixTrie.TOP_K);
+        Assertions.assertEquals(
+                NamePrefixTrie.TOP_K - 3, slots.length, "Every remaining employee should still be suggested.");
+        Assertions.assertEquals(5, slots[0], "The first remaining employee should come first.");
+    }
+
+    @Test
+    void testTrieIsRebuiltInTheBackgroundAfterManyChanges() throws Exception {
+        ExecutorService builder = Executors.newSingleThreadExecutor();
+        CountDownLatch started = new CountDownLatch(1);
+        builder.execute(() -> {
+            try {
+                started.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        NameIndexes nameIndexes = new NameIndexes(builder);
+        nameIndexes.onReset(this.columns);
+        NamePrefixTrie first = nameIndexes.prefix();
+
+        for (int i = 0; i <= NameIndexes.MIN_PREFIX_REBUILD_CHANGES; i++)
+            nameIndexes.onAdded(this.columns, this.columns.add(employee("Zoe Quinn", i)));
+        nameIndexes.onAdded(this.columns, this.columns.add(employee("Zack Young", 50000)));
+        nameIndexes.onRemoved(this.columns, 0);
+        this.columns.remove(0);
+
+        Assertions.assertSame(first, nameIndexes.prefix(), "The old trie should serve until the rebuild is done.");
+        Assertions.assertEquals(
+                List.of("Zack Young"), names(first, "za", NameOrder.NAME, 10), "Changes should be set aside on it.");
+
+        started.countDown();
+        builder.submit(() -> {}).get();
+        nameIndexes.onAdded(this.columns, this.columns.add(employee("Zara Young", 40000)));
+
+        NamePrefixTrie rebuilt = nameIndexes.prefix();
+        Assertions.assertNotSame(first, rebuilt, "The next change should swap in the rebuilt trie.");
+        Assertions.assertEquals(
+                3, rebuilt.pendingChanges(), "The changes made since the copy should be set aside on the new trie.");
+        for (String query : List.of("za", "zoe", "an", "liam"))
+            Assertions.assertEquals(
+                    names(query, NameOrder.SALARY, 10),
+                    names(rebuilt, query, NameOrder.SALARY, 10),
+                    "The swapped in trie should suggest what a fresh one does.");
+        builder.shutdown();
+    }
+}
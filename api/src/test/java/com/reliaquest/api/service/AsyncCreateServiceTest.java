@@ -0,0 +1,124 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.exception.ApiException;
+import com.reliaquest.api.model.CreateEmployeeDto;
+import com.reliaquest.api.model.CreateOperation;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.impl.AsyncCreateService;
+import com.reliaquest.api.writebehind.CreateJournal;
+import com.reliaquest.api.writebehind.JournalEntry;
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+@ExtendWith(MockitoExtension.class)
+public class AsyncCreateServiceTest {
+
+    private static final CreateEmployeeDto INPUT = new CreateEmployeeDto("Jane Doe", 75000, 30, "Analyst");
+
+    @Mock
+    private IEmployeeService employeeService;
+
+    @Mock
+    private CreateJournal createJournal;
+
+    @InjectMocks
+    private IAsyncCreateService asyncCreateService = new AsyncCreateService();
+
+    private final Employee employee =
+            new Employee(UUID.randomUUID().toString(), "Jane Doe", 75000, 30, "Analyst", "jane.doe@test.com");
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        ((AsyncCreateService) asyncCreateService).stop();
+    }
+
+    private void start(List<JournalEntry> journal) throws IOException {
+        Mockito.when(createJournal.replay()).thenReturn(journal);
+        ((AsyncCreateService) asyncCreateService).start();
+    }
+
+    private CreateOperation awaitFinished(String id) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            CreateOperation operation = asyncCreateService.getOperation(id);
+            if (operation.isFinished()) return operation;
+            Thread.sleep(10);
+        }
+        return Assertions.fail("The create should have finished.");
+    }
+
+    @Test
+    void testSubmittedCreateIsJournaledAndDrained() throws Exception {
+        start(List.of());
+        Mockito.when(employeeService.createEmployee(INPUT)).thenReturn(employee);
+
+        CreateOperation accepted = asyncCreateService.submit(INPUT);
+
+        Assertions.assertEquals(
+                CreateOperation.Status.PENDING, accepted.status(), "The create should be accepted as pending.");
+        Mockito.verify(createJournal).append(List.of(JournalEntry.accepted(accepted.id(), INPUT)));
+        CreateOperation finished = awaitFinished(accepted.id());
+        Assertions.assertEquals(CreateOperation.Status.COMPLETED, finished.status(), "The create should complete.");
+        Assertions.assertEquals(employee, finished.employee(), "The created employee should be reported.");
+    }
+
+    @Test
+    void testDownstreamFailuresAreRetried() throws Exception {
+        start(List.of());
+        Mockito.when(employeeService.createEmployee(INPUT))
+                .thenThrow(new ApiException(
+                        HttpStatus.INTERNAL_SERVER_ERROR.getReasonPhrase(),
+                        "Downstream API failure",
+                        HttpStatus.INTERNAL_SERVER_ERROR.value()))
+                .thenReturn(employee);
+
+        CreateOperation finished = awaitFinished(asyncCreateService.submit(INPUT).id());
+
+        Assertions.assertEquals(CreateOperation.Status.COMPLETED, finished.status(), "The retry should succeed.");
+        Assertions.assertEquals(2, finished.attempts(), "The create should have taken two attempts.");
+    }
+
+    @Test
+    void testClientErrorsAreNotRetried() throws Exception {
+        start(List.of());
+        Mockito.when(employeeService.createEmployee(INPUT))
+                .thenThrow(new ApiException("invalid_input", "Invalid input", HttpStatus.BAD_REQUEST.value()));
+
+        CreateOperation finished = awaitFinished(asyncCreateService.submit(INPUT).id());
+
+        Assertions.assertEquals(CreateOperation.Status.FAILED, finished.status(), "The create should fail.");
+        Assertions.assertEquals(1, finished.attempts(), "A client error should not be retried.");
+        Assertions.assertEquals("Invalid input", finished.error(), "The failure should be reported.");
+    }
+
+    @Test
+    void testPendingCreatesAreResumedFromTheJournal() throws Exception {
+        Mockito.when(employeeService.createEmployee(INPUT)).thenReturn(employee);
+        start(List.of(JournalEntry.accepted("op-1", INPUT), JournalEntry.accepted("op-2", INPUT)));
+
+        Assertions.assertEquals(CreateOperation.Status.COMPLETED, awaitFinished("op-1").status(), "op-1 resumed.");
+        Assertions.assertEquals(CreateOperation.Status.COMPLETED, awaitFinished("op-2").status(), "op-2 resumed.");
+        Mockito.verify(createJournal).rewrite(Mockito.anyList());
+        Mockito.verify(employeeService, Mockito.times(2)).createEmployee(INPUT);
+    }
+
+    @Test
+    void testUnknownOperationIsNotFound() {
+        ApiException thrown = Assertions.assertThrows(
+                ApiException.class,
+                () -> asyncCreateService.getOperation("unknown"),
+                "An unknown operation should not be found.");
+
+        Assertions.assertEquals(
+                HttpStatus.NOT_FOUND.value(), thrown.getHttpStatusCode(), "HTTP status code should be 404.");
+    }
+}
@@ -0,0 +1,137 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.analytics.EmployeeSketches;
+import com.reliaquest.api.exception.ApiException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.Percentiles;
+import com.reliaquest.api.model.SalaryStatistics;
+import com.reliaquest.api.service.impl.EmployeeAnalyticsService;
+import com.reliaquest.api.store.EmployeeColumns;
+import com.reliaquest.api.store.EmployeeDataStore;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeAnalyticsServiceTest {
+
+    @Mock
+    private EmployeeDataStore employeeDataStore;
+
+    @Spy
+    private EmployeeSketches employeeSketches = new EmployeeSketches();
+
+    @InjectMocks
+    private IEmployeeAnalyticsService employeeAnalyticsService = new EmployeeAnalyticsService();
+
+    private EmployeeColumns columns;
+
+    @BeforeEach
+    void setUp() {
+        columns = EmployeeColumns.of(List.of(
+                new Employee(
+                        UUID.randomUUID().toString(),
+                        "Liam Anderson",
+                        95000,
+                        28,
+                        "Software Engineer",
+                        "liam.a@test.com"),
+                new Employee(
+                        UUID.randomUUID().toString(),
+                        "Ethan Miller",
+                        80000,
+                        25,
+                        "Software Engineer",
+                        "ethan.m@test.com"),
+                new Employee(
+                        UUID.randomUUID().toString(),
+                        "Olivia Chen",
+                        120000,
+                        35,
+                        "Marketing Manager",
+                        "olivia.c@test.com")));
+    }
+
+    private void givenStoredColumns() {
+        Mockito.when(employeeDataStore.query(Mockito.any())).thenAnswer(invocation -> {
+            Function<EmployeeColumns, ?> query = invocation.getArgument(0);
+            return query.apply(columns);
+        });
+    }
+
+    @Test
+    void testSalaryStatisticsByTitle() {
+        givenStoredColumns();
+
+        List<SalaryStatistics> statistics = employeeAnalyticsService.getSalaryStatisticsByTitle();
+
+        Assertions.assertEquals(
+                List.of("Marketing Manager", "Software Engineer"),
+                statistics.stream().map(SalaryStatistics::group).toList(),
+                "There should be one group per title, sorted by title.");
+        SalaryStatistics engineers = statistics.get(1);
+        Assertions.assertEquals(2, engineers.count(), "Both engineers should be counted.");
+        Assertions.assertEquals(87500, engineers.mean(), 1e-9, "The mean should cover both engineers.");
+        Assertions.assertEquals(7500, engineers.stddev(), 1e-9, "The population deviation should be returned.");
+    }
+
+    @Test
+    void testSalaryStatisticsByAgeBand() {
+        givenStoredColumns();
+
+        List<SalaryStatistics> statistics = employeeAnalyticsService.getSalaryStatisticsByAgeBand(10);
+
+        Assertions.assertEquals(
+                List.of("20-29", "30-39"),
+                statistics.stream().map(SalaryStatistics::group).toList(),
+                "Only bands with employees should be returned, in ascending order.");
+        Assertions.assertEquals(2, statistics.get(0).count(), "Ages 25 and 28 share the 20-29 band.");
+        Assertions.assertEquals(120000, statistics.get(1).max(), "The 30-39 band holds the highest salary.");
+    }
+
+    @Test
+    void testSalaryStatisticsByAgeBandRejectsNonPositiveWidth() {
+        ApiException exception = Assertions.assertThrows(
+                ApiException.class, () -> employeeAnalyticsService.getSalaryStatisticsByAgeBand(0));
+
+        Assertions.assertEquals(
+                HttpStatus.BAD_REQUEST.value(), exception.getHttpStatusCode(), "A zero width is a bad request.");
+    }
+
+    @Test
+    void testSalaryPercentilesForTitle() {
+        givenStoredColumns();
+        employeeSketches.onReset(columns);
+
+        Percentiles percentiles = employeeAnalyticsService.getSalaryPercentiles(List.of(0.0, 1.0), "Software Engineer");
+
+        Assertions.assertEquals(2, percentiles.count(), "Only the engineers should be in the title's sketch.");
+        Assertions.assertEquals(80000, percentiles.quantiles().get(0.0), 800, "The minimum should be within 1%.");
+        Assertions.assertEquals(95000, percentiles.quantiles().get(1.0), 950, "The maximum should be within 1%.");
+    }
+
+    @Test
+    void testPercentilesRejectUnknownTitleAndInvalidQuantiles() {
+        givenStoredColumns();
+
+        ApiException unknownTitle = Assertions.assertThrows(
+                ApiException.class, () -> employeeAnalyticsService.getAgePercentiles(List.of(0.5), "Astronaut"));
+        ApiException invalidQuantile = Assertions.assertThrows(
+                ApiException.class, () -> employeeAnalyticsService.getAgePercentiles(List.of(1.5), null));
+
+        Assertions.assertEquals(
+                HttpStatus.NOT_FOUND.value(), unknownTitle.getHttpStatusCode(), "Unknown titles are not found.");
+        Assertions.assertEquals(
+                HttpStatus.BAD_REQUEST.value(), invalidQuantile.getHttpStatusCode(), "Quantiles above 1 are invalid.");
+    }
+}
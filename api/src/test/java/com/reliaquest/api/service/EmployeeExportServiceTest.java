@@ -0,0 +1,98 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.client.MockServerClient;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.ExportFormat;
+import com.reliaquest.api.service.impl.EmployeeExportService;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeExportServiceTest {
+
+    @Mock
+    private MockServerClient mockServerClient;
+
+    @InjectMocks
+    private IEmployeeExportService employeeExportService = new EmployeeExportService();
+
+    private List<Employee> mockEmployees;
+
+    @BeforeEach
+    void setUp() {
+        mockEmployees = List.of(
+                new Employee(
+                        "4a3a170b-22cd-4ac2-aad1-9bb5b34a1507",
+                        "Liam Anderson",
+                        95000,
+                        28,
+                        "Software Engineer",
+                        "liam.a@test.com"),
+                new Employee(
+                        "5255f1a5-f9f7-4be5-829a-134bde088d17",
+                        "Olivia \"Liv\" Chen",
+                        120000,
+                        35,
+                        "Manager, Marketing",
+                        "olivia.c@test.com"));
+    }
+
+    @Test
+    void testWriteEmployeesAsNdjson() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        long written =
+                employeeExportService.writeEmployees(mockEmployees.stream(), ExportFormat.NDJSON, outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        Assertions.assertEquals(2, written, "Both employees should be exported.");
+        Assertions.assertEquals(2, lines.length, "Each employee should be written on its own line.");
+        Assertions.assertTrue(
+                lines[0].startsWith("{\"id\":\"4a3a170b-22cd-4ac2-aad1-9bb5b34a1507\""),
+                "The first line should hold the first employee as a JSON object.");
+        Assertions.assertTrue(
+                lines[1].contains("\"employee_name\":\"Olivia \\\"Liv\\\" Chen\""),
+                "Names should be JSON escaped.");
+    }
+
+    @Test
+    void testWriteEmployeesAsCsvQuotesSpecialCharacters() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        employeeExportService.writeEmployees(mockEmployees.stream(), ExportFormat.CSV, outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        Assertions.assertEquals(3, lines.length, "The export should contain a header and two rows.");
+        Assertions.assertEquals(EmployeeExportService.CSV_HEADER, lines[0], "The header should come first.");
+        Assertions.assertEquals(
+                "4a3a170b-22cd-4ac2-aad1-9bb5b34a1507,Liam Anderson,95000,28,Software Engineer,liam.a@test.com",
+                lines[1],
+                "Plain fields should not be quoted.");
+        Assertions.assertEquals(
+                "5255f1a5-f9f7-4be5-829a-134bde088d17,\"Olivia \"\"Liv\"\" Chen\",120000,35,\"Manager, Marketing\","
+                        + "olivia.c@test.com",
+                lines[2],
+                "Fields with quotes or separators should be quoted.");
+    }
+
+    @Test
+    void testWriteEmployeesClosesDownstreamStream() throws IOException {
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<Employee> employees = mockEmployees.stream().onClose(() -> closed.set(true));
+
+        employeeExportService.writeEmployees(employees, ExportFormat.CSV, new ByteArrayOutputStream());
+
+        Assertions.assertTrue(closed.get(), "The downstream stream should be closed once the export completes.");
+    }
+}
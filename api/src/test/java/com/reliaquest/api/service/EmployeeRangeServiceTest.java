@@ -0,0 +1,108 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.exception.ApiException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeePage;
+import com.reliaquest.api.service.impl.EmployeeRangeService;
+import com.reliaquest.api.store.EmployeeColumns;
+import com.reliaquest.api.store.EmployeeDataStore;
+import com.reliaquest.api.store.EmployeeRangeIndexes;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeRangeServiceTest {
+
+    @Mock
+    private EmployeeDataStore employeeDataStore;
+
+    @Spy
+    private EmployeeRangeIndexes employeeRangeIndexes = new EmployeeRangeIndexes();
+
+    @InjectMocks
+    private IEmployeeRangeService employeeRangeService = new EmployeeRangeService();
+
+    private List<Employee> mockEmployees;
+
+    @BeforeEach
+    void setUp() {
+        mockEmployees = List.of(
+                new Employee(
+                        UUID.randomUUID().toString(),
+                        "Liam Anderson",
+                        95000,
+                        28,
+                        "Software Engineer",
+                        "liam.a@test.com"),
+                new Employee(
+                        UUID.randomUUID().toString(),
+                        "Olivia Chen",
+                        120000,
+                        35,
+                        "Marketing Manager",
+                        "olivia.c@test.com"),
+                new Employee(
+                        UUID.randomUUID().toString(),
+                        "Ethan Miller",
+                        80000,
+                        25,
+                        "Financial Analyst",
+                        "ethan.m@test.com"));
+    }
+
+    private void givenStoredEmployees() {
+        EmployeeColumns columns = EmployeeColumns.of(mockEmployees);
+        employeeRangeIndexes.onReset(columns);
+        Mockito.when(employeeDataStore.query(Mockito.any())).thenAnswer(invocation -> {
+            Function<EmployeeColumns, ?> query = invocation.getArgument(0);
+            return query.apply(columns);
+        });
+    }
+
+    @Test
+    void testSalaryRangeReturnsRequestedPage() {
+        givenStoredEmployees();
+
+        EmployeePage page = employeeRangeService.getEmployeesBySalaryRange(80000, 120000, 1, 2);
+
+        Assertions.assertEquals(3, page.total(), "All three salaries fall in the range.");
+        Assertions.assertEquals(
+                List.of(mockEmployees.get(1)), page.employees(), "The second page should hold the highest salary.");
+    }
+
+    @Test
+    void testAgeRangeWithOpenBound() {
+        givenStoredEmployees();
+
+        EmployeePage page = employeeRangeService.getEmployeesByAgeRange(null, 28, 0, 10);
+
+        Assertions.assertEquals(
+                List.of(mockEmployees.get(2), mockEmployees.get(0)),
+                page.employees(),
+                "Employees up to 28 should be returned youngest first.");
+    }
+
+    @Test
+    void testInvalidRangeAndPageAreRejected() {
+        ApiException invertedRange = Assertions.assertThrows(
+                ApiException.class, () -> employeeRangeService.getEmployeesBySalaryRange(10, 5, 0, 10));
+        ApiException oversizedPage = Assertions.assertThrows(
+                ApiException.class, () -> employeeRangeService.getEmployeesByAgeRange(null, null, 0, 5000));
+
+        Assertions.assertEquals(
+                HttpStatus.BAD_REQUEST.value(), invertedRange.getHttpStatusCode(), "min > max is a bad request.");
+        Assertions.assertEquals(
+                HttpStatus.BAD_REQUEST.value(), oversizedPage.getHttpStatusCode(), "Oversized pages are rejected.");
+    }
+}
@@ -0,0 +1,124 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.exception.ApiException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.FuzzyMatch;
+import com.reliaquest.api.model.NameOrder;
+import com.reliaquest.api.model.NameSuggestion;
+import com.reliaquest.api.search.NameIndexes;
+import com.reliaquest.api.service.impl.EmployeeSearchService;
+import com.reliaquest.api.store.EmployeeColumns;
+import com.reliaquest.api.store.EmployeeDataStore;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeSearchServiceTest {
+
+    @Mock
+    private EmployeeDataStore employeeDataStore;
+
+    @Spy
+    private NameIndexes nameIndexes = new NameIndexes();
+
+    @InjectMocks
+    private IEmployeeSearchService employeeSearchService = new EmployeeSearchService();
+
+    private List<Employee> mockEmployees;
+
+    @BeforeEach
+    void setUp() {
+        mockEmployees = List.of(
+                new Employee(
+                        UUID.randomUUID().toString(),
+                        "Liam Anderson",
+                        95000,
+                        28,
+                        "Software Engineer",
+                        "liam.a@test.com"),
+                new Employee(
+                        UUID.randomUUID().toString(),
+                        "Olivia Chen",
+                        120000,
+                        35,
+                        "Marketing Manager",
+                        "olivia.c@test.com"),
+                new Employee(
+                        UUID.randomUUID().toString(),
+                        "Ethan Miller",
+                        80000,
+                        25,
+                        "Financial Analyst",
+                        "ethan.m@test.com"));
+    }
+
+    private void givenStoredEmployees() {
+        EmployeeColumns columns = EmployeeColumns.of(mockEmployees);
+        nameIndexes.onReset(columns);
+        Mockito.when(employeeDataStore.query(Mockito.any())).thenAnswer(invocation -> {
+            Function<EmployeeColumns, ?> query = invocation.getArgument(0);
+            return query.apply(columns);
+        });
+    }
+
+    @Test
+    void testFuzzySearchToleratesTypos() {
+        givenStoredEmployees();
+
+        List<FuzzyMatch> matches = employeeSearchService.fuzzySearch("olvia chen", 2, 10);
+
+        Assertions.assertEquals(
+                List.of(new FuzzyMatch(mockEmployees.get(1), 1)),
+                matches,
+                "A dropped letter should still find the employee, one edit away.");
+    }
+
+    @Test
+    void testAutocompleteSuggestsByPrefix() {
+        givenStoredEmployees();
+
+        List<NameSuggestion> suggestions = employeeSearchService.autocomplete("e", NameOrder.SALARY, 5);
+
+        Assertions.assertEquals(
+                List.of(new NameSuggestion(mockEmployees.get(2).getId(), "Ethan Miller")),
+                suggestions,
+                "Only names with a token starting with the prefix should be suggested.");
+    }
+
+    @Test
+    void testInvalidSearchesAreRejected() {
+        ApiException blankQuery =
+                Assertions.assertThrows(ApiException.class, () -> employeeSearchService.fuzzySearch(" ", 1, 10));
+        ApiException excessiveDistance =
+                Assertions.assertThrows(ApiException.class, () -> employeeSearchService.fuzzySearch("liam", 3, 10));
+        ApiException oversizedLimit =
+                Assertions.assertThrows(ApiException.class, () -> employeeSearchService.fuzzySearch("liam", 1, 500));
+        ApiException oversizedSuggestions = Assertions.assertThrows(
+                ApiException.class, () -> employeeSearchService.autocomplete("li", NameOrder.NAME, 50));
+
+        Assertions.assertEquals(
+                HttpStatus.BAD_REQUEST.value(), blankQuery.getHttpStatusCode(), "Blank queries are rejected.");
+        Assertions.assertEquals(
+                HttpStatus.BAD_REQUEST.value(),
+                excessiveDistance.getHttpStatusCode(),
+                "Distances above the index maximum are rejected.");
+        Assertions.assertEquals(
+                HttpStatus.BAD_REQUEST.value(), oversizedLimit.getHttpStatusCode(), "Oversized limits are rejected.");
+        Assertions.assertEquals(
+                HttpStatus.BAD_REQUEST.value(),
+                oversizedSuggestions.getHttpStatusCode(),
+                "More suggestions than the trie keeps are rejected.");
+        Mockito.verifyNoInteractions(employeeDataStore);
+    }
+}
@@ -2,12 +2,21 @@ package com.reliaquest.api.service;
 
 import com.reliaquest.api.client.MockServerClient;
 import com.reliaquest.api.exception.ApiException;
+import com.reliaquest.api.idempotency.IdempotentRequests;
 import com.reliaquest.api.model.CreateEmployeeDto;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.service.impl.EmployeeService;
+import com.reliaquest.api.store.EmployeeColumns;
+import com.reliaquest.api.store.EmployeeDataStore;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,6 +24,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 
@@ -24,6 +34,12 @@ public class EmployeeServiceTest {
     @Mock
     private MockServerClient mockServerClient;
 
+    @Mock
+    private EmployeeDataStore employeeDataStore;
+
+    @Spy
+    private IdempotentRequests idempotentRequests = new IdempotentRequests(Duration.ofHours(1), 100);
+
     @InjectMocks
     private IEmployeeService employeeService = new EmployeeService();
 
@@ -66,9 +82,18 @@ public class EmployeeServiceTest {
                         UUID.randomUUID().toString(), "Noah White", 105000, 31, "UX/UI Designer", "noah.w@test.com"));
     }
 
+    // Column queries run against columns built from the given employees, as the store would hold them.
+    private void givenStoredEmployees(List<Employee> employees) {
+        EmployeeColumns columns = EmployeeColumns.of(employees);
+        Mockito.when(employeeDataStore.query(Mockito.any())).thenAnswer(invocation -> {
+            Function<EmployeeColumns, ?> query = invocation.getArgument(0);
+            return query.apply(columns);
+        });
+    }
+
     @Test
     void testGetAllEmployeesSuccess() {
-        Mockito.when(mockServerClient.getAllEmployees()).thenReturn(mockEmployees);
+        Mockito.when(employeeDataStore.getEmployees()).thenReturn(mockEmployees);
 
         List<Employee> result = employeeService.getAllEmployees();
 
@@ -84,7 +109,7 @@ public class EmployeeServiceTest {
     @Test
     void testGetEmployeesByNameSearchSuccess() {
         // Arrange: Mock the dependency to return our mock data.
-        Mockito.when(mockServerClient.getAllEmployees()).thenReturn(mockEmployees);
+        givenStoredEmployees(mockEmployees);
         String searchString = "miller";
 
         // Act: Call the method with a search string.
@@ -117,7 +142,7 @@ public class EmployeeServiceTest {
     @Test
     void testGetHighestSalaryOfEmployeesSuccess() {
         // Arrange: Mock the dependency to return our mock data.
-        Mockito.when(mockServerClient.getAllEmployees()).thenReturn(mockEmployees);
+        givenStoredEmployees(mockEmployees);
 
         // Act: Call the method under test.
         Integer highestSalary = employeeService.getHighestSalaryOfEmployees();
@@ -130,7 +155,7 @@ public class EmployeeServiceTest {
     @Test
     void testGetHighestSalaryOfEmployeesEmptyList() {
         // Arrange: Mock the dependency to return an empty list.
-        Mockito.when(mockServerClient.getAllEmployees()).thenReturn(Collections.emptyList());
+        givenStoredEmployees(Collections.emptyList());
 
         // Act: Call the method under test.
         Integer highestSalary = employeeService.getHighestSalaryOfEmployees();
@@ -142,7 +167,7 @@ public class EmployeeServiceTest {
     @Test
     void testGetTopTenHighestEarningEmployeeNamesSuccess() {
         // Arrange: Mock the dependency to return our mock data.
-        Mockito.when(mockServerClient.getAllEmployees()).thenReturn(mockEmployees);
+        givenStoredEmployees(mockEmployees);
 
         // Act: Call the method under test.
         List<String> topEmployeeNames = employeeService.getTopTenHighestEarningEmployeeNames();
@@ -170,7 +195,7 @@ public class EmployeeServiceTest {
     @Test
     void testGetTopTenHighestEarningEmployeeNamesEmptyList() {
         // Arrange: Mock the dependency to return an empty list.
-        Mockito.when(mockServerClient.getAllEmployees()).thenReturn(Collections.emptyList());
+        givenStoredEmployees(Collections.emptyList());
 
         // Act: Call the method under test.
         List<String> topEmployeeNames = employeeService.getTopTenHighestEarningEmployeeNames();
@@ -198,5 +223,83 @@ public class EmployeeServiceTest {
                 "The returned employee should match the mocked response.");
 
         Mockito.verify(mockServerClient, Mockito.times(1)).createEmployee(Mockito.any(CreateEmployeeDto.class));
+        Mockito.verify(employeeDataStore, Mockito.times(1)).employeeCreated(newEmployee);
+    }
+
+    @Test
+    void testCreateEmployeeWithRepeatedIdempotencyKeyCreatesOnce() {
+        Employee newEmployee =
+                new Employee(UUID.randomUUID().toString(), "Jane Doe", 75000, 30, "Analyst", "jane.doe@test.com");
+        Mockito.when(mockServerClient.createEmployee(Mockito.any(CreateEmployeeDto.class)))
+                .thenReturn(newEmployee);
+
+        Employee first = employeeService.createEmployee(new CreateEmployeeDto("Jane Doe", 75000, 30, "Analyst"), "k1");
+        Employee retried =
+                employeeService.createEmployee(new CreateEmployeeDto("Jane Doe", 75000, 30, "Analyst"), "k1");
+
+        Assertions.assertSame(first, retried, "A retry with the same key should get the first employee back.");
+        Mockito.verify(mockServerClient, Mockito.times(1)).createEmployee(Mockito.any(CreateEmployeeDto.class));
+        Mockito.verify(employeeDataStore, Mockito.times(1)).employeeCreated(newEmployee);
+    }
+
+    @Test
+    void testCreateEmployeeWithReusedIdempotencyKeyAndDifferentBody() {
+        Mockito.when(mockServerClient.createEmployee(Mockito.any(CreateEmployeeDto.class)))
+                .thenReturn(mockEmployees.get(0));
+        employeeService.createEmployee(new CreateEmployeeDto("Jane Doe", 75000, 30, "Analyst"), "k1");
+
+        ApiException thrown = Assertions.assertThrows(
+                ApiException.class,
+                () -> employeeService.createEmployee(new CreateEmployeeDto("John Doe", 75000, 30, "Analyst"), "k1"),
+                "Reusing a key for a different employee should be rejected.");
+
+        Assertions.assertEquals(
+                HttpStatus.UNPROCESSABLE_ENTITY.value(), thrown.getHttpStatusCode(), "HTTP status code should be 422.");
+        Mockito.verify(mockServerClient, Mockito.times(1)).createEmployee(Mockito.any(CreateEmployeeDto.class));
+    }
+
+    @Test
+    void testCreateEmployeeWithBlankIdempotencyKey() {
+        ApiException thrown = Assertions.assertThrows(
+                ApiException.class,
+                () -> employeeService.createEmployee(new CreateEmployeeDto("Jane Doe", 75000, 30, "Analyst"), " "),
+                "A blank key should be rejected.");
+
+        Assertions.assertEquals(
+                HttpStatus.BAD_REQUEST.value(), thrown.getHttpStatusCode(), "HTTP status code should be 400.");
+        Mockito.verifyNoInteractions(mockServerClient);
+    }
+
+    @Test
+    void testConcurrentCreatesWithSameIdempotencyKeyWaitForTheFirst() throws Exception {
+        CountDownLatch downstreamCalled = new CountDownLatch(1);
+        CountDownLatch downstreamRelease = new CountDownLatch(1);
+        Mockito.when(mockServerClient.createEmployee(Mockito.any(CreateEmployeeDto.class)))
+                .thenAnswer(invocation -> {
+                    downstreamCalled.countDown();
+                    downstreamRelease.await();
+                    return mockEmployees.get(0);
+                });
+        CreateEmployeeDto input = new CreateEmployeeDto("Jane Doe", 75000, 30, "Analyst");
+
+        CompletableFuture<Employee> first =
+                CompletableFuture.supplyAsync(() -> employeeService.createEmployee(input, "k1"));
+        Assertions.assertTrue(downstreamCalled.await(5, TimeUnit.SECONDS), "The first create should go downstream.");
+        AtomicReference<Employee> duplicate = new AtomicReference<>();
+        Thread duplicateThread = new Thread(() -> duplicate.set(employeeService.createEmployee(input, "k1")));
+        duplicateThread.start();
+        // Released only once the duplicate waits on the in-flight create, not possibly before it has arrived.
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (duplicateThread.getState() != Thread.State.WAITING && System.nanoTime() < deadline) Thread.sleep(1);
+        Assertions.assertEquals(
+                Thread.State.WAITING, duplicateThread.getState(), "The duplicate should wait for the first create.");
+        downstreamRelease.countDown();
+        duplicateThread.join(TimeUnit.SECONDS.toMillis(5));
+
+        Assertions.assertSame(
+                first.get(5, TimeUnit.SECONDS),
+                duplicate.get(),
+                "The concurrent duplicate should get the employee of the in-flight create.");
+        Mockito.verify(mockServerClient, Mockito.times(1)).createEmployee(Mockito.any(CreateEmployeeDto.class));
     }
 }
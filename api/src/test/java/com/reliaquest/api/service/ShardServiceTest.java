@@ -0,0 +1,107 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.client.EmployeeChangeSubscriber;
+import com.reliaquest.api.client.MockServerClient;
+import com.reliaquest.api.client.ShardRing;
+import com.reliaquest.api.exception.ApiException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.ShardRebalance;
+import com.reliaquest.api.service.impl.ShardService;
+import com.reliaquest.api.store.EmployeeDataStore;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+@ExtendWith(MockitoExtension.class)
+public class ShardServiceTest {
+
+    private static final String FIRST_SHARD = "http://localhost:8112/api/v1/employee";
+    private static final String SECOND_SHARD = "http://localhost:8113/api/v1/employee";
+
+    @Mock
+    private MockServerClient mockServerClient;
+
+    @Mock
+    private EmployeeDataStore employeeDataStore;
+
+    @Mock
+    private EmployeeChangeSubscriber employeeChangeSubscriber;
+
+    @InjectMocks
+    private IShardService shardService = new ShardService();
+
+    @Test
+    void testScaleOutCopiesBeforeAssigningAndRouting() {
+        List<Employee> moving = employeesOwnedBy(new ShardRing(2), 1, 2);
+        AtomicBoolean fenced = new AtomicBoolean();
+        Mockito.when(mockServerClient.withWritesFenced(Mockito.any())).thenAnswer(invocation -> {
+            fenced.set(true);
+            try {
+                return invocation.<Supplier<?>>getArgument(0).get();
+            } finally {
+                fenced.set(false);
+            }
+        });
+        Mockito.when(mockServerClient.getShardUrls()).thenReturn(List.of(FIRST_SHARD));
+        Mockito.when(mockServerClient.getMisplacedEmployees(FIRST_SHARD, 0, 2)).thenAnswer(invocation -> {
+            Assertions.assertTrue(fenced.get(), "Writes should be fenced off before the first listing.");
+            return moving;
+        });
+        Mockito.doAnswer(invocation -> {
+                    Assertions.assertTrue(fenced.get(), "Writes should stay fenced off until routing has switched.");
+                    return null;
+                })
+                .when(mockServerClient)
+                .configureShards(List.of(FIRST_SHARD, SECOND_SHARD));
+        Mockito.when(mockServerClient.importEmployees(SECOND_SHARD, moving)).thenReturn(2);
+        Mockito.when(mockServerClient.assignShard(FIRST_SHARD, 0, 2)).thenReturn(2);
+        Mockito.when(mockServerClient.assignShard(SECOND_SHARD, 1, 2)).thenReturn(0);
+        Mockito.when(mockServerClient.isSharded()).thenReturn(true);
+
+        ShardRebalance rebalance = shardService.rebalance(List.of(FIRST_SHARD, SECOND_SHARD));
+
+        Assertions.assertEquals(2, rebalance.moved(), "Both misplaced employees should be copied to shard 1.");
+        Assertions.assertEquals(2, rebalance.released(), "Shard 0 should drop the copied employees.");
+        InOrder inOrder = Mockito.inOrder(mockServerClient, employeeChangeSubscriber, employeeDataStore);
+        inOrder.verify(mockServerClient).importEmployees(SECOND_SHARD, moving);
+        inOrder.verify(mockServerClient).assignShard(FIRST_SHARD, 0, 2);
+        inOrder.verify(mockServerClient).configureShards(List.of(FIRST_SHARD, SECOND_SHARD));
+        inOrder.verify(employeeChangeSubscriber).stop();
+        inOrder.verify(employeeDataStore).resync();
+    }
+
+    @Test
+    void testInvalidShardListsAreRejected() {
+        ApiException duplicate = Assertions.assertThrows(
+                ApiException.class, () -> shardService.rebalance(List.of(FIRST_SHARD, FIRST_SHARD)));
+        ApiException relative =
+                Assertions.assertThrows(ApiException.class, () -> shardService.rebalance(List.of("localhost:8112")));
+
+        Assertions.assertEquals(
+                HttpStatus.BAD_REQUEST.value(), duplicate.getHttpStatusCode(), "Duplicate shards are rejected.");
+        Assertions.assertEquals(
+                HttpStatus.BAD_REQUEST.value(), relative.getHttpStatusCode(), "Shards need an http(s) URL.");
+        Mockito.verifyNoInteractions(mockServerClient);
+    }
+
+    private static List<Employee> employeesOwnedBy(ShardRing ring, int shard, int count) {
+        List<Employee> employees = new ArrayList<>();
+        while (employees.size() < count) {
+            String id = UUID.randomUUID().toString();
+            if (ring.shardOf(id) == shard)
+                employees.add(new Employee(id, "Employee " + employees.size(), 50000, 30, "Analyst", "e@test.com"));
+        }
+        return employees;
+    }
+}
@@ -0,0 +1,108 @@
+package com.reliaquest.api.store;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class EmployeeColumnsTest {
+
+    private Employee liam;
+    private Employee olivia;
+    private Employee ethan;
+
+    @BeforeEach
+    void setUp() {
+        liam = new Employee(
+                UUID.randomUUID().toString(), "Liam Anderson", 95000, 28, "Software Engineer", "liam.a@test.com");
+        olivia = new Employee(
+                UUID.randomUUID().toString(), "Olivia Chen", 120000, 35, "Marketing Manager", "olivia.c@test.com");
+        ethan = new Employee(
+                UUID.randomUUID().toString(), "Ethan Miller", 95000, 25, "Software Engineer", "ethan.m@test.com");
+    }
+
+    @Test
+    void testEmployeesRoundTripInInsertionOrder() {
+        EmployeeColumns columns = EmployeeColumns.of(List.of(liam, olivia, ethan));
+
+        Assertions.assertEquals(3, columns.size(), "All employees should be held.");
+        Assertions.assertEquals(
+                List.of(liam, olivia, ethan), columns.employees(), "Employees should materialize unchanged.");
+        Assertions.assertEquals(2, columns.titleCount(), "Repeated titles should share a dictionary entry.");
+    }
+
+    @Test
+    void testRemoveAndLookupById() {
+        EmployeeColumns columns = EmployeeColumns.of(List.of(liam, olivia, ethan));
+
+        columns.remove(columns.slotOf(olivia.getId()));
+
+        Assertions.assertEquals(EmployeeColumns.NO_SLOT, columns.slotOf(olivia.getId()), "Removed ids are gone.");
+        Assertions.assertEquals(2, columns.slotOf(ethan.getId()), "Other slots should not move on remove.");
+        Assertions.assertEquals(EmployeeColumns.NO_SLOT, columns.slotOf("not-a-uuid"), "Non UUID ids never match.");
+        Assertions.assertEquals(List.of(liam, ethan), columns.employees(), "Only live employees are returned.");
+    }
+
+    @Test
+    void testTopSalarySlotsOrdersHighestFirstAndKeepsTiesInOrder() {
+        EmployeeColumns columns = EmployeeColumns.of(List.of(liam, olivia, ethan));
+
+        List<String> names = columns.names(columns.topSalarySlots(10));
+
+        Assertions.assertEquals(
+                List.of("Olivia Chen", "Liam Anderson", "Ethan Miller"),
+                names,
+                "Names should be ordered by salary, ties in insertion order.");
+        Assertions.assertEquals(120000, columns.maxSalary(), "The highest salary should be found.");
+        Assertions.assertEquals(-1, new EmployeeColumns().maxSalary(), "No employees means no highest salary.");
+    }
+
+    @Test
+    void testNameSearchIgnoresCase() {
+        EmployeeColumns columns = EmployeeColumns.of(List.of(liam, olivia, ethan));
+
+        List<Employee> matches = columns.employees(columns.slotsWithNameContaining("MILL"));
+
+        Assertions.assertEquals(List.of(ethan), matches, "The search should match regardless of case.");
+    }
+
+    @Test
+    void testCompactionKeepsLiveEmployeesAndLookups() {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            employees.add(new Employee(
+                    UUID.randomUUID().toString(), "Employee " + i, 1000 + i, 30, "Analyst", "e" + i + "@test.com"));
+        }
+        EmployeeColumns columns = EmployeeColumns.of(employees);
+
+        // Remove every employee but the multiples of ten.
+        for (int i = 0; i < 200; i++) {
+            if (i % 10 != 0) columns.remove(columns.slotOf(employees.get(i).getId()));
+        }
+        Assertions.assertTrue(columns.needsCompaction(), "Mostly removed columns should ask for compaction.");
+        columns.compact();
+
+        List<Employee> survivors = employees.stream()
+                .filter(employee -> employees.indexOf(employee) % 10 == 0)
+                .toList();
+        Assertions.assertEquals(survivors, columns.employees(), "Compaction should keep live employees in order.");
+        Assertions.assertEquals(20, columns.slotCount(), "Compaction should drop removed slots.");
+        Assertions.assertEquals(
+                1, columns.slotOf(survivors.get(1).getId()), "Lookups should follow the renumbered slots.");
+    }
+
+    @Test
+    void testCopyIsIndependentOfLaterChanges() {
+        EmployeeColumns columns = EmployeeColumns.of(List.of(liam, olivia));
+        EmployeeColumns copy = columns.copy();
+        columns.add(ethan);
+        columns.remove(0);
+
+        Assertions.assertEquals(List.of(liam, olivia), copy.employees(), "The copy should keep the copied employees.");
+        Assertions.assertEquals(0, copy.slotOf(liam.getId()), "The copy should keep its id lookups.");
+        Assertions.assertEquals(2, copy.add(ethan), "The copy should take new employees at its own next slot.");
+    }
+}
@@ -0,0 +1,243 @@
+package com.reliaquest.api.store;
+
+import com.reliaquest.api.client.MockServerClient;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChange;
+import com.reliaquest.api.model.EmployeeChanges;
+import com.reliaquest.api.model.EmployeeSnapshot;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeDataStoreTest {
+
+    @Mock
+    private MockServerClient mockServerClient;
+
+    @Mock
+    private ObjectProvider<EmployeeDataListener> listenerProvider;
+
+    @Mock
+    private EmployeeDataListener listener;
+
+    private EmployeeDataStore employeeDataStore;
+
+    private Employee liam;
+    private Employee olivia;
+
+    @BeforeEach
+    void setUp() {
+        liam = new Employee(
+                UUID.randomUUID().toString(), "Liam Anderson", 95000, 28, "Software Engineer", "liam.a@test.com");
+        olivia = new Employee(
+                UUID.randomUUID().toString(), "Olivia Chen", 120000, 35, "Marketing Manager", "olivia.c@test.com");
+
+        Mockito.when(listenerProvider.orderedStream()).thenReturn(Stream.of(listener));
+        // A zero staleness window makes every read refresh.
+        employeeDataStore = new EmployeeDataStore(mockServerClient, listenerProvider, Duration.ZERO);
+    }
+
+    @Test
+    void testFirstReadLoadsFullList() {
+        Mockito.when(mockServerClient.getEmployeeSnapshot()).thenReturn(new EmployeeSnapshot(3, List.of(liam)));
+
+        List<Employee> employees = employeeDataStore.getEmployees();
+
+        Assertions.assertEquals(List.of(liam), employees, "The first read should return the downstream list.");
+        Assertions.assertEquals(3, employeeDataStore.getVersion(), "The version should come from the snapshot.");
+        Mockito.verify(listener).onReset(Mockito.any(EmployeeColumns.class));
+    }
+
+    @Test
+    void testRefreshAppliesChangesIncrementally() {
+        Mockito.when(mockServerClient.getEmployeeSnapshot()).thenReturn(new EmployeeSnapshot(3, List.of(liam)));
+        employeeDataStore.getEmployees();
+
+        Mockito.when(mockServerClient.getEmployeeChanges(null, 3))
+                .thenReturn(new EmployeeChanges(
+                        5,
+                        false,
+                        List.of(
+                                new EmployeeChange(4, EmployeeChange.Type.CREATED, olivia),
+                                new EmployeeChange(5, EmployeeChange.Type.DELETED, liam))));
+
+        List<Employee> employees = employeeDataStore.getEmployees();
+
+        Assertions.assertEquals(List.of(olivia), employees, "Both changes should have been applied.");
+        Assertions.assertEquals(5, employeeDataStore.getVersion(), "The version should follow the change feed.");
+        Mockito.verify(mockServerClient, Mockito.times(1)).getEmployeeSnapshot();
+        // Olivia is appended after Liam's slot, and Liam's slot is reported before it is cleared.
+        Mockito.verify(listener).onAdded(Mockito.any(EmployeeColumns.class), Mockito.eq(1));
+        Mockito.verify(listener).onRemoved(Mockito.any(EmployeeColumns.class), Mockito.eq(0));
+    }
+
+    @Test
+    void testResyncRequiredReloadsFullList() {
+        Mockito.when(mockServerClient.getEmployeeSnapshot())
+                .thenReturn(new EmployeeSnapshot(3, List.of(liam)))
+                .thenReturn(new EmployeeSnapshot(2000, List.of(olivia)));
+        employeeDataStore.getEmployees();
+
+        Mockito.when(mockServerClient.getEmployeeChanges(null, 3))
+                .thenReturn(new EmployeeChanges(2000, true, List.of()));
+
+        List<Employee> employees = employeeDataStore.getEmployees();
+
+        Assertions.assertEquals(List.of(olivia), employees, "A resync should replace the data with a fresh list.");
+        Assertions.assertEquals(2000, employeeDataStore.getVersion(), "The version should come from the reload.");
+        Mockito.verify(listener, Mockito.times(2)).onReset(Mockito.any(EmployeeColumns.class));
+    }
+
+    @Test
+    void testReloadReplacesDataOfTheSameVersionFromAnotherEpoch() {
+        Mockito.when(mockServerClient.getEmployeeSnapshot())
+                .thenReturn(new EmployeeSnapshot("before", 3, List.of(liam)))
+                .thenReturn(new EmployeeSnapshot("after", 3, List.of(olivia)));
+        employeeDataStore.getEmployees();
+
+        // A restarted mock server no longer covers the held version and has counted up to the same number again.
+        Mockito.when(mockServerClient.getEmployeeChanges("before", 3))
+                .thenReturn(new EmployeeChanges(3, true, List.of()));
+
+        List<Employee> employees = employeeDataStore.getEmployees();
+
+        Assertions.assertEquals(
+                List.of(olivia), employees, "The same version of a restarted mock server should be reloaded.");
+        Mockito.verify(listener, Mockito.times(2)).onReset(Mockito.any(EmployeeColumns.class));
+    }
+
+    @Test
+    void testWriteThroughIsIdempotentWithChangeFeed() {
+        Mockito.when(mockServerClient.getEmployeeSnapshot()).thenReturn(new EmployeeSnapshot(3, List.of(liam)));
+        employeeDataStore.getEmployees();
+
+        employeeDataStore.employeeCreated(olivia);
+        Mockito.when(mockServerClient.getEmployeeChanges(null, 3))
+                .thenReturn(new EmployeeChanges(
+                        4, false, List.of(new EmployeeChange(4, EmployeeChange.Type.CREATED, olivia))));
+
+        List<Employee> employees = employeeDataStore.getEmployees();
+
+        Assertions.assertEquals(
+                List.of(liam, olivia), employees, "A create seen twice should only be held once.");
+    }
+
+    @Test
+    void testLateWriteThroughDoesNotResurrectADeletedEmployee() {
+        Mockito.when(mockServerClient.getEmployeeSnapshot())
+                .thenReturn(new EmployeeSnapshot("epoch", 3, List.of(liam)));
+        employeeDataStore.ensureLoaded();
+        employeeDataStore.setPushConnected(true);
+
+        // Olivia is created and deleted, and both pushes arrive before the create's own write-through.
+        employeeDataStore.applyPushedChange("epoch", new EmployeeChange(4, EmployeeChange.Type.CREATED, olivia));
+        employeeDataStore.applyPushedChange("epoch", new EmployeeChange(5, EmployeeChange.Type.DELETED, olivia));
+        employeeDataStore.employeeCreated(olivia);
+
+        Assertions.assertEquals(
+                List.of(liam), employeeDataStore.getEmployees(), "A deleted employee should not come back.");
+    }
+
+    @Test
+    void testWriteThroughAfterTheFeedLeavesTheEmployeeAlone() {
+        Mockito.when(mockServerClient.getEmployeeSnapshot()).thenReturn(new EmployeeSnapshot(3, List.of(liam)));
+        employeeDataStore.getEmployees();
+        Mockito.when(mockServerClient.getEmployeeChanges(null, 3))
+                .thenReturn(new EmployeeChanges(
+                        4, false, List.of(new EmployeeChange(4, EmployeeChange.Type.CREATED, olivia))));
+        employeeDataStore.getEmployees();
+        // Reads no longer poll, so the next one shows what the write-through left.
+        employeeDataStore.setPushConnected(true);
+
+        employeeDataStore.employeeCreated(olivia);
+
+        Assertions.assertEquals(List.of(liam, olivia), employeeDataStore.getEmployees());
+        Mockito.verify(listener, Mockito.times(1)).onAdded(Mockito.any(EmployeeColumns.class), Mockito.anyInt());
+    }
+
+    @Test
+    void testPushedChangesApplyInSequenceOrder() {
+        Mockito.when(mockServerClient.getEmployeeSnapshot())
+                .thenReturn(new EmployeeSnapshot("epoch", 3, List.of(liam)));
+        employeeDataStore.ensureLoaded();
+        employeeDataStore.setPushConnected(true);
+
+        employeeDataStore.applyPushedChange("epoch", new EmployeeChange(4, EmployeeChange.Type.CREATED, olivia));
+        employeeDataStore.applyPushedChange("epoch", new EmployeeChange(4, EmployeeChange.Type.CREATED, olivia));
+        Assertions.assertEquals(
+                List.of(liam, olivia), employeeDataStore.getEmployees(), "A replayed change should apply once.");
+
+        // Change 5 was missed: 6 must not be applied before it.
+        Employee noah = new Employee(
+                UUID.randomUUID().toString(), "Noah Patel", 70000, 41, "Accountant", "noah.p@test.com");
+        Mockito.when(mockServerClient.getEmployeeChanges("epoch", 4))
+                .thenReturn(new EmployeeChanges(
+                        6,
+                        false,
+                        List.of(
+                                new EmployeeChange(5, EmployeeChange.Type.DELETED, liam),
+                                new EmployeeChange(6, EmployeeChange.Type.CREATED, noah))));
+        employeeDataStore.applyPushedChange("epoch", new EmployeeChange(6, EmployeeChange.Type.CREATED, noah));
+
+        Assertions.assertEquals(
+                List.of(olivia, noah), employeeDataStore.getEmployees(), "A gap should be filled in order.");
+        Assertions.assertEquals(6, employeeDataStore.getVersion());
+        Mockito.verify(mockServerClient, Mockito.times(1)).getEmployeeSnapshot();
+    }
+
+    @Test
+    void testChangePushedBeforeTheFirstLoadIsNotLost() {
+        // The change happened after the snapshot was taken, but arrives before anything has been loaded.
+        Mockito.when(mockServerClient.getEmployeeSnapshot())
+                .thenReturn(new EmployeeSnapshot("epoch", 3, List.of(liam)));
+
+        employeeDataStore.applyPushedChange("epoch", new EmployeeChange(4, EmployeeChange.Type.CREATED, olivia));
+        employeeDataStore.setPushConnected(true);
+
+        Assertions.assertEquals(
+                List.of(liam, olivia),
+                employeeDataStore.getEmployees(),
+                "A change pushed before the first load should be applied on top of it.");
+        Assertions.assertEquals(4, employeeDataStore.getVersion());
+    }
+
+    @Test
+    void testChangePushedFromAnotherEpochCatchesUp() {
+        Mockito.when(mockServerClient.getEmployeeSnapshot())
+                .thenReturn(new EmployeeSnapshot("before", 3, List.of(liam)))
+                .thenReturn(new EmployeeSnapshot("after", 4, List.of(olivia)));
+        employeeDataStore.ensureLoaded();
+        employeeDataStore.setPushConnected(true);
+        Mockito.when(mockServerClient.getEmployeeChanges("before", 3))
+                .thenReturn(new EmployeeChanges(4, true, List.of()));
+
+        // Sequence 4 of a restarted mock server is not the change after sequence 3 of the old one.
+        employeeDataStore.applyPushedChange("after", new EmployeeChange(4, EmployeeChange.Type.CREATED, olivia));
+
+        Assertions.assertEquals(
+                List.of(olivia), employeeDataStore.getEmployees(), "The restarted mock server should be reloaded.");
+        Assertions.assertEquals("after", employeeDataStore.getEpoch());
+    }
+
+    @Test
+    void testSuspendedRefreshServesTheLoadedData() {
+        Mockito.when(mockServerClient.getEmployeeSnapshot()).thenReturn(new EmployeeSnapshot(3, List.of(liam)));
+        employeeDataStore.setRefreshSuspended(true);
+
+        employeeDataStore.getEmployees();
+        List<Employee> employees = employeeDataStore.getEmployees();
+
+        Assertions.assertEquals(List.of(liam), employees, "The first load should still happen.");
+        Mockito.verify(mockServerClient, Mockito.never()).getEmployeeChanges(Mockito.any(), Mockito.anyLong());
+    }
+}
@@ -0,0 +1,34 @@
+package com.reliaquest.api.store;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class RangeIndexTest {
+
+    @Test
+    void testRangeQueriesAreInclusiveAndOrderedByValue() {
+        RangeIndex index = new RangeIndex();
+        index.reset(new long[] {RangeIndex.key(95000, 0), RangeIndex.key(120000, 1), RangeIndex.key(80000, 2)}, 3);
+
+        Assertions.assertEquals(2, index.count(80000, 95000), "Both bounds should be inclusive.");
+        Assertions.assertArrayEquals(
+                new int[] {2, 0}, index.slots(80000, 95000, 0, 10), "Slots should be ordered by value.");
+        Assertions.assertArrayEquals(
+                new int[] {1}, index.slots(100000, Integer.MAX_VALUE, 0, 10), "Open ranges should work.");
+        Assertions.assertEquals(0, index.count(95001, 95000), "An inverted range should be empty.");
+    }
+
+    @Test
+    void testAddAndRemoveKeepOrderAndPaginate() {
+        RangeIndex index = new RangeIndex();
+        for (int slot = 0; slot < 100; slot++) index.add(slot % 10, slot);
+
+        index.remove(5, 15);
+
+        Assertions.assertEquals(99, index.size(), "One entry should have been removed.");
+        Assertions.assertEquals(9, index.count(5, 5), "Only the removed slot should be missing for its value.");
+        Assertions.assertArrayEquals(
+                new int[] {25, 35}, index.slots(5, 5, 1, 2), "Equal values should page in slot order.");
+        Assertions.assertArrayEquals(new int[0], index.slots(5, 5, 9, 2), "Pages past the end should be empty.");
+    }
+}
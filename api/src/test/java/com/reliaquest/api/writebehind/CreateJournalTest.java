@@ -0,0 +1,99 @@
+package com.reliaquest.api.writebehind;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.CreateEmployeeDto;
+import com.reliaquest.api.model.CreateOperation;
+import com.reliaquest.api.model.Employee;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class CreateJournalTest {
+
+    private static final CreateEmployeeDto INPUT = new CreateEmployeeDto("Jane Doe", 75000, 30, "Analyst");
+    private static final Employee EMPLOYEE =
+            new Employee("4a3a170b-22cd-4ac2-aad1-9bb5b34a1507", "Jane Doe", 75000, 30, "Analyst", "jane@test.com");
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void testAppendedEntriesAreReplayed() throws IOException {
+        Path path = this.directory.resolve("journal.ndjson");
+        try (CreateJournal journal = new CreateJournal(path, new ObjectMapper())) {
+            journal.append(List.of(JournalEntry.accepted("op-1", INPUT)));
+            journal.append(List.of(JournalEntry.outcome(
+                    new CreateOperation("op-1", CreateOperation.Status.COMPLETED, 2, EMPLOYEE, null))));
+        }
+
+        try (CreateJournal journal = new CreateJournal(path, new ObjectMapper())) {
+            List<JournalEntry> entries = journal.replay();
+
+            Assertions.assertEquals(2, entries.size(), "Both entries should survive reopening the journal.");
+            Assertions.assertEquals(INPUT, entries.get(0).input(), "The accepted input should be replayed.");
+            Assertions.assertEquals(
+                    EMPLOYEE, entries.get(1).operation().employee(), "The created employee should be replayed.");
+            Assertions.assertEquals(2, entries.get(1).operation().attempts(), "The attempts should be replayed.");
+        }
+    }
+
+    @Test
+    void testTornLastLineIsSkipped() throws IOException {
+        Path path = this.directory.resolve("journal.ndjson");
+        try (CreateJournal journal = new CreateJournal(path, new ObjectMapper())) {
+            journal.append(List.of(JournalEntry.accepted("op-1", INPUT)));
+        }
+        Files.writeString(
+                path, "{\"type\":\"ACCEPTED\",\"id\":\"op-", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        try (CreateJournal journal = new CreateJournal(path, new ObjectMapper())) {
+            List<JournalEntry> entries = journal.replay();
+
+            Assertions.assertEquals(1, entries.size(), "Only the complete entry should be replayed.");
+            Assertions.assertEquals("op-1", entries.get(0).id(), "The complete entry should be kept.");
+        }
+    }
+
+    @Test
+    void testRewriteReplacesTheJournal() throws IOException {
+        Path path = this.directory.resolve("journal.ndjson");
+        try (CreateJournal journal = new CreateJournal(path, new ObjectMapper())) {
+            journal.append(List.of(JournalEntry.accepted("op-1", INPUT), JournalEntry.accepted("op-2", INPUT)));
+
+            journal.rewrite(List.of(JournalEntry.accepted("op-2", INPUT)));
+            journal.append(List.of(JournalEntry.accepted("op-3", INPUT)));
+
+            List<String> ids = journal.replay().stream().map(JournalEntry::id).toList();
+            Assertions.assertEquals(
+                    List.of("op-2", "op-3"), ids, "The rewritten journal should be appended to afterwards.");
+        }
+    }
+
+    @Test
+    void testFailedRewriteKeepsTheJournalOpen() throws IOException {
+        Path path = this.directory.resolve("journal.ndjson");
+        try (CreateJournal journal = new CreateJournal(path, new ObjectMapper())) {
+            journal.append(List.of(JournalEntry.accepted("op-1", INPUT)));
+            // A non-empty directory in the journal's place makes the move fail; the open channel keeps the old file.
+            Files.delete(path);
+            Files.createDirectories(path.resolve("blocked"));
+
+            Assertions.assertThrows(
+                    IOException.class,
+                    () -> journal.rewrite(List.of(JournalEntry.accepted("op-1", INPUT))),
+                    "The rewrite should fail when the journal cannot be replaced.");
+
+            journal.append(List.of(JournalEntry.accepted("op-2", INPUT)));
+            Assertions.assertTrue(journal.size() > 0, "The journal should still be open for appends.");
+            Assertions.assertFalse(
+                    Files.exists(path.resolveSibling("journal.ndjson.compacting")),
+                    "The compacted file should be removed after a failed move.");
+        }
+    }
+}
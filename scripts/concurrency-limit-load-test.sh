@@ -0,0 +1,49 @@
+#!/usr/bin/env bash
+#
+# Goodput of the api with and without its adaptive concurrency limit, under more load than the mock server allows.
+#
+# For each run, starts a fresh mock server with its rate limiting on (it answers 429 after a few requests, for 30 to
+# 90 seconds) and an api in front of it, with concurrency-limit.enabled true and then false, and runs the load
+# generator against the api. The generator prints 2xx, 503 and other answers per second and the goodput overall;
+# the limiter's state at the end of the run is printed from /actuator/concurrencylimit.
+#
+# Usage: scripts/concurrency-limit-load-test.sh [users] [seconds]
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+USERS=${1:-64}
+SECONDS_PER_RUN=${2:-60}
+SERVER_PORT=8112
+API_PORT=8111
+PIDS=()
+
+./gradlew -q :server:bootJar :api:bootJar
+
+stop_all() {
+    for pid in "${PIDS[@]}"; do kill "$pid" 2> /dev/null || true; done
+    for pid in "${PIDS[@]}"; do wait "$pid" 2> /dev/null || true; done
+    PIDS=()
+}
+trap stop_all EXIT
+
+wait_ready() {
+    until curl -sf "http://localhost:$1/actuator/health/readiness" > /dev/null; do sleep 0.1; done
+}
+
+for enabled in true false; do
+    java -jar server/build/libs/server-1.0.0.jar --server.port="$SERVER_PORT" \
+        --warmup.enabled=false --logging.level.com.reliaquest=WARN > /dev/null 2>&1 &
+    PIDS+=($!)
+    wait_ready "$SERVER_PORT"
+    java -jar api/build/libs/api-1.0.0.jar --server.port="$API_PORT" \
+        --concurrency-limit.enabled="$enabled" --warmup.enabled=false \
+        --logging.level.com.reliaquest=WARN > /dev/null 2>&1 &
+    PIDS+=($!)
+    wait_ready "$API_PORT"
+
+    echo "== concurrency limit enabled: $enabled, $USERS users, $SECONDS_PER_RUN s"
+    ./gradlew -q :api:loadGenerator -PloadArgs="http://localhost:$API_PORT $USERS $SECONDS_PER_RUN"
+    curl -s "http://localhost:$API_PORT/actuator/concurrencylimit"
+    echo
+    stop_all
+done
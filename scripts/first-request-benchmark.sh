@@ -0,0 +1,58 @@
+#!/usr/bin/env bash
+#
+# First-request latency of the api right after startup, with and without the startup warmup.
+#
+# Starts the mock server once (rate limiting off), then starts the api RUNS times per mode. Each run waits for
+# /actuator/health/readiness to report UP, records the time to ready, and times the first request to each
+# read endpoint followed by the steady-state average over 50 more.
+#
+# Usage: scripts/first-request-benchmark.sh [runs]
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+RUNS=${1:-5}
+API_JAR=api/build/libs/api-1.0.0.jar
+SERVER_JAR=server/build/libs/server-1.0.0.jar
+ENDPOINTS=(/ /highestSalary /search/an /analytics/salary/by-title)
+
+./gradlew -q :server:bootJar :api:bootJar
+
+wait_ready() {
+    until curl -sf "http://localhost:$1/actuator/health/readiness" > /dev/null; do sleep 0.05; done
+}
+
+millis() {
+    echo "$(date +%s%N) / 1000000" | bc
+}
+
+java -jar "$SERVER_JAR" --mock.rate-limit.enabled=false --logging.level.com.reliaquest=INFO > /dev/null 2>&1 &
+SERVER_PID=$!
+trap 'kill $SERVER_PID 2> /dev/null || true' EXIT
+wait_ready 8112
+
+printf '%-8s %-4s %10s' warmup run ready_ms
+for endpoint in "${ENDPOINTS[@]}"; do printf ' %28s' "$endpoint first/steady ms"; done
+echo
+
+for warmup in true false; do
+    for run in $(seq "$RUNS"); do
+        started=$(millis)
+        java -jar "$API_JAR" --warmup.enabled="$warmup" > /dev/null 2>&1 &
+        api_pid=$!
+        wait_ready 8111
+        printf '%-8s %-4s %10s' "$warmup" "$run" "$(( $(millis) - started ))"
+
+        for endpoint in "${ENDPOINTS[@]}"; do
+            first=$(curl -s -o /dev/null -w '%{time_total}' "http://localhost:8111$endpoint")
+            total=0
+            for _ in $(seq 50); do
+                total=$(echo "$total + $(curl -s -o /dev/null -w '%{time_total}' "http://localhost:8111$endpoint")" | bc)
+            done
+            printf ' %28s' "$(echo "scale=2; $first * 1000" | bc) / $(echo "scale=2; $total * 1000 / 50" | bc)"
+        done
+        echo
+
+        kill "$api_pid"
+        wait "$api_pid" 2> /dev/null || true
+    done
+done
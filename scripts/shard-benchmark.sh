@@ -0,0 +1,49 @@
+#!/usr/bin/env bash
+#
+# Client throughput against 1, 2, 4 and 8 local mock server shards holding the same total number of employees.
+#
+# For each shard count, starts that many servers on consecutive ports from 8200 (rate limiting and warmup off),
+# each generating its share of the employees from its own slice of the id space, then runs
+# ShardedClientBenchmark against them. JMH results go to api/build/results/jmh/shards-<count>.json.
+#
+# Usage: scripts/shard-benchmark.sh [total employees]
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+TOTAL=${1:-100000}
+SERVER_JAR=server/build/libs/server-1.0.0.jar
+BASE_PORT=8200
+PIDS=()
+
+./gradlew -q :server:bootJar
+
+stop_shards() {
+    for pid in "${PIDS[@]}"; do kill "$pid" 2> /dev/null || true; done
+    for pid in "${PIDS[@]}"; do wait "$pid" 2> /dev/null || true; done
+    PIDS=()
+}
+trap stop_shards EXIT
+
+for count in 1 2 4 8; do
+    urls=()
+    for index in $(seq 0 $((count - 1))); do
+        port=$((BASE_PORT + index))
+        java -jar "$SERVER_JAR" --server.port="$port" \
+            --mock.shard.index="$index" --mock.shard.count="$count" \
+            --mock.employees.max=$((TOTAL / count)) --mock.employees.storage=columnar \
+            --mock.rate-limit.enabled=false --warmup.enabled=false \
+            --logging.level.com.reliaquest=INFO > /dev/null 2>&1 &
+        PIDS+=($!)
+        urls+=("http://localhost:$port/api/v1/employee")
+    done
+    for index in $(seq 0 $((count - 1))); do
+        until curl -sf "http://localhost:$((BASE_PORT + index))/actuator/health/readiness" > /dev/null; do
+            sleep 0.1
+        done
+    done
+
+    echo "== $count shard(s), $TOTAL employees"
+    ./gradlew -q :api:jmh -PjmhIncludes=ShardedClientBenchmark -PjmhShardUrls="$(IFS=,; echo "${urls[*]}")"
+    cp api/build/results/jmh/results.json "api/build/results/jmh/shards-$count.json"
+    stop_shards
+done
@@ -0,0 +1,93 @@
+#!/usr/bin/env bash
+#
+# Startup time and time to first request of the server and the api, per start mode:
+#
+#   jit       java -jar of the regular bootJar (the default)
+#   aot-cds   the fast-start layout built with -Paot, started with its class data sharing archive, Spring AOT and
+#             the fast-start (lazy initialization) profile
+#   native    the GraalVM native image, only with --native and a GraalVM toolchain
+#
+# Each run reports the milliseconds from launch until /actuator/health/readiness is UP and until the first request
+# to the app's main endpoint has been answered. The startup warmup is switched off so that both numbers show the
+# start mode itself. The api runs are served by a server started once in jit mode, with rate limiting off.
+#
+# Usage: scripts/startup-benchmark.sh [runs] [--native]
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+RUNS=${1:-5}
+MODES=(jit aot-cds)
+if [[ " $* " == *" --native "* ]]; then MODES+=(native); fi
+
+SERVER_PORT=8112
+API_PORT=8111
+COMMON_ARGS=(--warmup.enabled=false --mock.rate-limit.enabled=false --logging.level.com.reliaquest=INFO)
+
+millis() {
+    echo "$(date +%s%N) / 1000000" | bc
+}
+
+wait_ready() {
+    until curl -sf "http://localhost:$1/actuator/health/readiness" > /dev/null; do sleep 0.01; done
+}
+
+wait_first_request() {
+    until curl -sf -o /dev/null "$1"; do sleep 0.01; done
+}
+
+# Builds the jit jars first: the -Paot build replaces bootJar with one that carries the AOT classes.
+./gradlew -q :server:bootJar :api:bootJar
+mkdir -p build/startup-benchmark
+cp server/build/libs/server-1.0.0.jar api/build/libs/api-1.0.0.jar build/startup-benchmark/
+./gradlew -q -Paot :server:cdsArchive :api:cdsArchive
+if [[ " ${MODES[*]} " == *" native "* ]]; then
+    ./gradlew -q -Paot -Pnative :server:nativeCompile :api:nativeCompile
+fi
+
+# Prints the command line that starts the app (server or api) in the given mode.
+command_for() {
+    local app=$1 mode=$2
+    case "$mode" in
+        jit) echo "java -jar build/startup-benchmark/$app-1.0.0.jar" ;;
+        aot-cds) echo "java -XX:SharedArchiveFile=$app/build/fast-start/$app.jsa -Dspring.aot.enabled=true" \
+            "-Dspring.profiles.active=fast-start -jar $app/build/fast-start/$app.jar" ;;
+        native) echo "$app/build/native/nativeCompile/$app --spring.profiles.active=fast-start" ;;
+    esac
+}
+
+# Runs one start and prints "ready_ms first_request_ms".
+measure() {
+    local app=$1 mode=$2 port=$3 path=$4
+    local started pid ready first
+    started=$(millis)
+    # shellcheck disable=SC2046
+    $(command_for "$app" "$mode") "${COMMON_ARGS[@]}" > /dev/null 2>&1 &
+    pid=$!
+    wait_ready "$port"
+    ready=$(( $(millis) - started ))
+    wait_first_request "http://localhost:$port$path"
+    first=$(( $(millis) - started ))
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    echo "$ready $first"
+}
+
+printf '%-7s %-8s %-4s %10s %16s\n' app mode run ready_ms first_request_ms
+for mode in "${MODES[@]}"; do
+    for run in $(seq "$RUNS"); do
+        read -r ready first < <(measure server "$mode" "$SERVER_PORT" /api/v1/employee)
+        printf '%-7s %-8s %-4s %10s %16s\n' server "$mode" "$run" "$ready" "$first"
+    done
+done
+
+$(command_for server jit) "${COMMON_ARGS[@]}" > /dev/null 2>&1 &
+SERVER_PID=$!
+trap 'kill $SERVER_PID 2> /dev/null || true' EXIT
+wait_ready "$SERVER_PORT"
+
+for mode in "${MODES[@]}"; do
+    for run in $(seq "$RUNS"); do
+        read -r ready first < <(measure api "$mode" "$API_PORT" /)
+        printf '%-7s %-8s %-4s %10s %16s\n' api "$mode" "$run" "$ready" "$first"
+    done
+done
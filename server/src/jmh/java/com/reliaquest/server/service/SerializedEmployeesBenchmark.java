@@ -0,0 +1,101 @@
+package com.reliaquest.server.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.shard.ShardTopology;
+import com.reliaquest.server.store.ListMockEmployeeStore;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import net.datafaker.Faker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Cost of producing the list response body per request: serializing the snapshot through Jackson every time (the
+ * previous controller) against the service's bytes cached per data version, plain and gzipped.
+ *
+ * <p>{@code writeEvery} mixes in one create and delete per that many reads (0 is read-only), so the cached variants
+ * also pay for the re-serialization after each change. Run with {@code -prof gc} to see the allocation side.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+public class SerializedEmployeesBenchmark {
+
+    private static final String[] TITLES = {"Software Engineer", "Marketing Manager", "Financial Analyst"};
+
+    @Param({"50", "10000"})
+    int size;
+
+    @Param({"0", "1000"})
+    int writeEvery;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong reads = new AtomicLong();
+    private MockEmployeeService mockEmployeeService;
+
+    @Setup
+    public void setUp() {
+        final var store = new ListMockEmployeeStore();
+        final var random = new SplittableRandom(42);
+        for (var i = 0; i < size; i++) {
+            store.add(new MockEmployee(
+                    new UUID(random.nextLong(), random.nextLong()),
+                    "Employee " + i,
+                    random.nextInt(30_000, 500_000),
+                    random.nextInt(16, 71),
+                    TITLES[random.nextInt(TITLES.length)],
+                    "employee" + i + "@company.com"));
+        }
+        mockEmployeeService =
+                new MockEmployeeService(new Faker(), event -> {}, store, new ShardTopology(0, 1), objectMapper);
+    }
+
+    @Benchmark
+    public byte[] serializeEveryRequest() throws JsonProcessingException {
+        maybeWrite();
+        return objectMapper.writeValueAsBytes(Response.handledWith(mockEmployeeService.getMockEmployees()));
+    }
+
+    @Benchmark
+    public byte[] cachedJson() {
+        maybeWrite();
+        return mockEmployeeService.getSerializedEmployees().json();
+    }
+
+    @Benchmark
+    public byte[] cachedGzip() {
+        maybeWrite();
+        return mockEmployeeService.getSerializedEmployees().gzip();
+    }
+
+    // One create followed by deleting it: the data version moves on while the size stays the same.
+    private void maybeWrite() {
+        if (writeEvery == 0 || reads.incrementAndGet() % writeEvery != 0) {
+            return;
+        }
+        final var input = new CreateMockEmployeeInput();
+        input.setName("Temporary " + reads.get());
+        input.setSalary(50_000);
+        input.setAge(30);
+        input.setTitle(TITLES[0]);
+        mockEmployeeService.create(input);
+        final var delete = new DeleteMockEmployeeInput();
+        delete.setName(input.getName());
+        mockEmployeeService.delete(delete);
+    }
+}
@@ -0,0 +1,186 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.sun.management.GarbageCollectionNotificationInfo;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+
+/**
+ * Loads a storage engine with N employees, reports retained heap (and direct memory), then runs a mixed write
+ * (create + delete) and full-snapshot read load for a fixed time while recording every GC pause.
+ *
+ * <p>Arguments: {@code list | columnar | columnar-off-heap}, record count (default 5,000,000), seconds of load
+ * (default 30). Run each engine in its own JVM, e.g. through the {@code storeHeapReport} Gradle task.
+ */
+public class MockEmployeeStoreHeapReport {
+
+    private static final String[] FIRST_NAMES = {"Liam", "Olivia", "Noah", "Emma", "Ethan", "Ava", "Mason", "Isabella"};
+    private static final String[] LAST_NAMES = {"Anderson", "Chen", "Miller", "Garcia", "White", "Nguyen", "Smith"};
+    private static final String[] TITLES = {
+        "Software Engineer", "Marketing Manager", "Financial Analyst", "UX/UI Designer", "Sales Associate",
+        "Human Resources Generalist", "Product Owner", "Customer Success Lead"
+    };
+
+    private static final List<Long> pauses = Collections.synchronizedList(new ArrayList<>());
+
+    public static void main(String[] args) throws InterruptedException {
+        final var storage = args.length > 0 ? args[0] : "list";
+        final var records = args.length > 1 ? Integer.parseInt(args[1]) : 5_000_000;
+        final var seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        final MockEmployeeStore store =
+                switch (storage) {
+                    case "list" -> new ListMockEmployeeStore();
+                    case "columnar" -> new ColumnarMockEmployeeStore(false);
+                    case "columnar-off-heap" -> new ColumnarMockEmployeeStore(true);
+                    default -> throw new IllegalArgumentException("Unknown storage " + storage);
+                };
+
+        // Ids are kept outside the store to pick deletions; allocated before the baseline so they cancel out.
+        final var idHigh = new long[records];
+        final var idLow = new long[records];
+        final var random = new SplittableRandom(42);
+        final var baselineHeap = usedHeapAfterGc();
+        final var baselineDirect = directMemory();
+
+        final var loadStarted = System.nanoTime();
+        for (var i = 0; i < records; i++) {
+            final var employee = employee(random, i);
+            idHigh[i] = employee.getId().getMostSignificantBits();
+            idLow[i] = employee.getId().getLeastSignificantBits();
+            store.add(employee);
+        }
+        final var loadMillis = (System.nanoTime() - loadStarted) / 1_000_000;
+        final var heap = usedHeapAfterGc() - baselineHeap;
+        final var direct = directMemory() - baselineDirect;
+        System.out.printf(
+                Locale.ROOT,
+                "%s: loaded %,d employees in %,d ms; heap %,d MiB (%.1f B/employee), direct %,d MiB%n",
+                storage,
+                records,
+                loadMillis,
+                heap >> 20,
+                (double) heap / records,
+                direct >> 20);
+
+        recordGcPauses();
+        final var running = new AtomicBoolean(true);
+        final var writes = new AtomicLong();
+        final var reads = new AtomicLong();
+        final var writer = new Thread(() -> {
+            final var writeRandom = new SplittableRandom(7);
+            var next = records;
+            while (running.get()) {
+                final var slot = writeRandom.nextInt(records);
+                store.remove(new UUID(idHigh[slot], idLow[slot]));
+                final var employee = employee(writeRandom, next++);
+                idHigh[slot] = employee.getId().getMostSignificantBits();
+                idLow[slot] = employee.getId().getLeastSignificantBits();
+                store.add(employee);
+                writes.incrementAndGet();
+            }
+        });
+        final var reader = new Thread(() -> {
+            while (running.get()) {
+                var salaries = 0L;
+                for (final var employee : store.snapshot()) {
+                    salaries += employee.getSalary();
+                }
+                if (salaries != 0) {
+                    reads.incrementAndGet();
+                }
+            }
+        });
+        writer.start();
+        reader.start();
+        Thread.sleep(seconds * 1_000L);
+        running.set(false);
+        writer.join();
+        reader.join();
+
+        final List<Long> sorted;
+        synchronized (pauses) {
+            sorted = new ArrayList<>(pauses);
+        }
+        Collections.sort(sorted);
+        final var total = sorted.stream().mapToLong(Long::longValue).sum();
+        System.out.printf(
+                Locale.ROOT,
+                "%s: %ds load, %,d writes, %,d full reads; %d GC pauses, total %,d ms, p50 %d ms, p99 %d ms, max %d"
+                        + " ms%n",
+                storage,
+                seconds,
+                writes.get(),
+                reads.get(),
+                sorted.size(),
+                total,
+                percentile(sorted, 0.50),
+                percentile(sorted, 0.99),
+                sorted.isEmpty() ? 0 : sorted.get(sorted.size() - 1));
+    }
+
+    private static MockEmployee employee(SplittableRandom random, int i) {
+        return new MockEmployee(
+                new UUID(random.nextLong(), random.nextLong()),
+                FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)]
+                        + " " + i,
+                random.nextInt(30_000, 500_000),
+                random.nextInt(16, 71),
+                TITLES[random.nextInt(TITLES.length)],
+                "employee" + i + "@company.com");
+    }
+
+    /*
+     * Stop-the-world collections only; concurrent cycles are reported by their own "Concurrent" collector beans.
+     */
+    private static void recordGcPauses() {
+        for (final var gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (gc.getName().contains("Concurrent")) {
+                continue;
+            }
+            ((NotificationEmitter) gc)
+                    .addNotificationListener(
+                            (notification, handback) -> {
+                                if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(
+                                        notification.getType())) {
+                                    return;
+                                }
+                                final var info = GarbageCollectionNotificationInfo.from(
+                                        (CompositeData) notification.getUserData());
+                                pauses.add(info.getGcInfo().getDuration());
+                            },
+                            null,
+                            null);
+        }
+    }
+
+    private static long usedHeapAfterGc() {
+        for (var i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static long directMemory() {
+        return ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                .filter(pool -> "direct".equals(pool.getName()))
+                .mapToLong(BufferPoolMXBean::getMemoryUsed)
+                .sum();
+    }
+
+    private static long percentile(List<Long> sorted, double quantile) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        return sorted.get(Math.min(sorted.size() - 1, (int) Math.ceil(quantile * sorted.size()) - 1));
+    }
+}
@@ -1,12 +1,20 @@
 package com.reliaquest.server.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.shard.ShardTopology;
+import com.reliaquest.server.store.ColumnarMockEmployeeStore;
+import com.reliaquest.server.store.ListMockEmployeeStore;
+import com.reliaquest.server.store.MockEmployeeStore;
+import com.reliaquest.server.web.FaultInjectionFilter;
+import com.reliaquest.server.web.FaultInjector;
+import com.reliaquest.server.web.FaultProfile;
 import com.reliaquest.server.web.RandomRequestLimitInterceptor;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Locale;
 import java.util.UUID;
-import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
@@ -14,13 +22,19 @@ import net.datafaker.transformations.Field;
 import net.datafaker.transformations.JavaObjectTransformer;
 import net.datafaker.transformations.Schema;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Slf4j
 @Configuration
+@EnableConfigurationProperties(FaultProfile.class)
 public class ServerConfiguration implements WebMvcConfigurer {
 
     public static final String EMAIL_TEMPLATE = "%s@company.com";
@@ -31,13 +45,30 @@ public class ServerConfiguration implements WebMvcConfigurer {
     }
 
     /*
-     * This list is modifiable by design for CRUD operations.
+     * This store is modifiable by design for CRUD operations. Either engine hands out consistent snapshots to
+     * readers (e.g. streamed responses) while writes proceed; the columnar one trades per-record objects for
+     * primitive columns and a byte arena, optionally off-heap, to hold large datasets in a small heap.
+     *
+     * When sharded, only ids owned by this shard are generated, so N shards together hold N times the maximum.
+     *
+     * Generated at startup even in the fast-start profile, so the first request does not wait for the data.
      */
     @Bean
-    public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
+    @Lazy(false)
+    public MockEmployeeStore mockEmployeeStore(
+            Faker faker,
+            ShardTopology shardTopology,
+            @Value("${mock.employees.max:20}") int maxEmployees,
+            @Value("${mock.employees.storage:list}") MockEmployeeStore.Type storage,
+            @Value("${mock.employees.off-heap:false}") boolean offHeap) {
+        final MockEmployeeStore store =
+                switch (storage) {
+                    case LIST -> new ListMockEmployeeStore();
+                    case COLUMNAR -> new ColumnarMockEmployeeStore(offHeap);
+                };
         final var transformer = new JavaObjectTransformer();
         final var schema = Schema.of(
-                Field.field("id", UUID::randomUUID),
+                Field.field("id", shardTopology::newOwnedId),
                 Field.field("name", () -> faker.name().fullName()),
                 Field.field("salary", () -> faker.number().numberBetween(30000, 500000)),
                 Field.field("age", () -> faker.number().numberBetween(16, 70)),
@@ -46,14 +77,66 @@ public class ServerConfiguration implements WebMvcConfigurer {
                         "email",
                         () -> EMAIL_TEMPLATE.formatted(
                                 faker.twitter().userName().toLowerCase())));
-        return IntStream.rangeClosed(1, maxEmployees)
+        IntStream.rangeClosed(1, maxEmployees)
                 .mapToObj(ignored -> (MockEmployee) transformer.apply(MockEmployee.class, schema))
                 .peek(mockEmployee -> log.debug("Created employee: {}", mockEmployee))
-                .collect(Collectors.toCollection(ArrayList::new));
+                .forEach(store::add);
+        if (store instanceof ColumnarMockEmployeeStore columnar) {
+            log.info(
+                    "Stored {} employees in columns: {} KiB of columns, {} KiB of {} string arena.",
+                    columnar.size(),
+                    columnar.columnBytes() / 1024,
+                    columnar.arenaBytes() / 1024,
+                    columnar.isOffHeap() ? "off-heap" : "heap");
+        }
+        return store;
     }
 
+    /*
+     * Smile for clients that ask for it with Accept. Besides field names, short string values are shared too, so
+     * a title repeated across the list is written once per 1024 values and referenced after that.
+     */
+    @Bean
+    public SmileFactory smileFactory() {
+        return SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+    }
+
+    /*
+     * Replaces Spring's default Smile converter, whose mapper writes UUIDs as 16 raw bytes: ids stay the same
+     * strings as in JSON, which is what clients parse them into.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(SmileFactory smileFactory) {
+        return new MappingJackson2SmileHttpMessageConverter(Jackson2ObjectMapperBuilder.smile()
+                .factory(smileFactory)
+                .serializerByType(UUID.class, ToStringSerializer.instance)
+                .build());
+    }
+
+    /*
+     * Can be switched off for benchmarks, which would otherwise measure the rate limiter's back-off.
+     */
+    @Value("${mock.rate-limit.enabled:true}")
+    private boolean rateLimitEnabled;
+
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RandomRequestLimitInterceptor());
+        // Rate limit the mock employee api only, never health probes.
+        if (rateLimitEnabled) {
+            registry.addInterceptor(new RandomRequestLimitInterceptor()).addPathPatterns("/api/**");
+        }
+    }
+
+    /*
+     * Runs ahead of the rate limiter, so injected delays and errors come on top of its random 429s.
+     */
+    @Bean
+    public FilterRegistrationBean<FaultInjectionFilter> faultInjectionFilter(
+            FaultInjector faultInjector, ObjectMapper objectMapper) {
+        final var registration = new FilterRegistrationBean<>(new FaultInjectionFilter(faultInjector, objectMapper));
+        registration.addUrlPatterns("/api/*");
+        return registration;
     }
 }
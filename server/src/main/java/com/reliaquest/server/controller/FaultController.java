@@ -0,0 +1,67 @@
+package com.reliaquest.server.controller;
+
+import com.reliaquest.server.model.FaultStats;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.web.FaultInjector;
+import com.reliaquest.server.web.FaultProfile;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.bind.BindException;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Runtime control of fault injection. It lives outside /api/** so it is never delayed or failed itself.
+ *
+ * <ul>
+ *   <li>{@code GET /faults} shows the profile in use and {@code GET /faults/stats} what it has injected so far.
+ *   <li>{@code PUT /faults} applies a profile written like the {@code mock.faults} block of application.yml, e.g.
+ *       {@code {"enabled": true, "seed": 7, "defaults": {"latency": {"distribution": "fixed", "fixed": "50ms"}}}}.
+ *   <li>{@code DELETE /faults} goes back to the configured profile.
+ * </ul>
+ *
+ * <p>Applying a profile restarts request numbering, so the same run against the same seed sees the same faults.
+ */
+@RestController
+@RequestMapping("/faults")
+@RequiredArgsConstructor
+public class FaultController {
+
+    private final FaultInjector faultInjector;
+
+    @GetMapping
+    public Response<FaultProfile> getProfile() {
+        return Response.handledWith(faultInjector.profile());
+    }
+
+    @GetMapping("/stats")
+    public Response<FaultStats> getStats() {
+        return Response.handledWith(faultInjector.stats());
+    }
+
+    @PutMapping
+    public ResponseEntity<Response<FaultProfile>> applyProfile(@RequestBody Map<String, Object> profile) {
+        final FaultProfile faultProfile;
+        try {
+            faultProfile = FaultProfile.bind(profile);
+        } catch (BindException e) {
+            return ResponseEntity.badRequest()
+                    .body(Response.error("Invalid fault profile: "
+                            + NestedExceptionUtils.getMostSpecificCause(e).getMessage()));
+        }
+        faultInjector.apply(faultProfile);
+        return ResponseEntity.ok(Response.handledWith(faultProfile));
+    }
+
+    @DeleteMapping
+    public Response<FaultProfile> resetProfile() {
+        faultInjector.apply(faultInjector.configured());
+        return Response.handledWith(faultInjector.profile());
+    }
+}
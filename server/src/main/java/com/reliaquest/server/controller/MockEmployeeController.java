@@ -1,34 +1,117 @@
 package com.reliaquest.server.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChanges;
 import com.reliaquest.server.model.Response;
 import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.web.MockEmployeeChangeBroadcaster;
 import jakarta.validation.Valid;
-import java.util.List;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Locale;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+@Slf4j
 @RestController
 @RequestMapping("/api/v1/employee")
 @RequiredArgsConstructor
 public class MockEmployeeController {
 
+    public static final String FORMAT_NDJSON = "format=ndjson";
+    public static final String GZIP = "gzip";
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    public static final MediaType APPLICATION_SMILE = MediaType.valueOf(APPLICATION_SMILE_VALUE);
+
+    /*
+     * Records written between explicit flushes of a streamed response.
+     */
+    private static final int NDJSON_FLUSH_INTERVAL = 1_000;
+
     private final MockEmployeeService mockEmployeeService;
+    private final MockEmployeeChangeBroadcaster changeBroadcaster;
+    private final ObjectMapper objectMapper;
 
+    /*
+     * Tagged with the epoch and data version as a strong ETag; a matching If-None-Match is answered with 304 and no
+     * body. The body is the service's pre-serialized bytes for that version, gzipped for clients that accept it (the
+     * container's own compression leaves responses that already have a Content-Encoding alone).
+     */
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
-        return Response.handledWith(mockEmployeeService.getMockEmployees());
+    public ResponseEntity<byte[]> getEmployees(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        final var serialized = mockEmployeeService.getSerializedEmployees();
+        final var response = ResponseEntity.ok()
+                .eTag(mockEmployeeService.versionTag(serialized.version()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip(acceptEncoding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, GZIP).body(serialized.gzip());
+        }
+        return response.body(serialized.json());
+    }
+
+    /*
+     * The same list as Smile, binary JSON, for clients that ask for it with Accept. Field names, and short values
+     * such as titles that repeat, are written once and referenced from then on, so the body is smaller than the
+     * JSON and parses without scanning text. The ETag is the same as for JSON, as both hold the same data.
+     */
+    @GetMapping(produces = APPLICATION_SMILE_VALUE)
+    public ResponseEntity<byte[]> getEmployeesAsSmile() {
+        final var serialized = mockEmployeeService.getSerializedEmployees();
+        return ResponseEntity.ok()
+                .eTag(mockEmployeeService.versionTag(serialized.version()))
+                .contentType(APPLICATION_SMILE)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                .body(serialized.smile());
+    }
+
+    /*
+     * Streams employees as newline delimited JSON, one record per line, instead of a single buffered envelope.
+     * Negotiated through "Accept: application/x-ndjson" or the "format=ndjson" query parameter.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamEmployees() {
+        return ndjson(mockEmployeeService.getMockEmployees().iterator());
+    }
+
+    @GetMapping(params = FORMAT_NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamEmployeesByFormat() {
+        return streamEmployees();
+    }
+
+    /*
+     * "since" is a version tag as handed out in ETags and event ids ("<epoch>-<version>").
+     */
+    @GetMapping("/changes")
+    public Response<MockEmployeeChanges> getChanges(@RequestParam("since") String since) {
+        return Response.handledWith(mockEmployeeService.changesSince(since));
+    }
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return changeBroadcaster.subscribe(lastEventId);
     }
 
     @GetMapping("/{id}")
@@ -48,4 +131,72 @@ public class MockEmployeeController {
     public Response<Boolean> deleteEmployee(@Valid @RequestBody DeleteMockEmployeeInput input) {
         return Response.handledWith(mockEmployeeService.delete(input));
     }
+
+    /*
+     * The snapshot iterator is taken on the request thread, so the stream reflects the data at request time even
+     * though it is written later on an async thread. Only one record is held in memory at a time.
+     */
+    private ResponseEntity<StreamingResponseBody> ndjson(Iterator<MockEmployee> snapshot) {
+        final var requestedAt = System.nanoTime();
+        final var writer =
+                objectMapper.writerFor(MockEmployee.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        final StreamingResponseBody body = outputStream -> {
+            var written = 0L;
+            try (var generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+                while (snapshot.hasNext()) {
+                    writer.writeValue(generator, snapshot.next());
+                    generator.writeRaw('\n');
+                    if (++written == 1) {
+                        generator.flush();
+                        log.debug("Streamed first employee after {} ms.", elapsedMillis(requestedAt));
+                    } else if (written % NDJSON_FLUSH_INTERVAL == 0) {
+                        generator.flush();
+                    }
+                }
+            }
+            log.debug("Streamed {} employees in {} ms.", written, elapsedMillis(requestedAt));
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /*
+     * Gzip listed without q=0, or, when gzip is not listed, a "*" without q=0 (any coding not listed otherwise).
+     * Identity alone, or no header at all, gets the plain body.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        var acceptsAny = false;
+        for (final var coding : acceptEncoding.split(",")) {
+            final var parts = coding.trim().split(";");
+            final var name = parts[0].trim();
+            if (name.equalsIgnoreCase(GZIP)) {
+                return !refused(parts);
+            }
+            if (name.equals("*")) {
+                acceptsAny = !refused(parts);
+            }
+        }
+        return acceptsAny;
+    }
+
+    /*
+     * Whether a coding's parameters weigh it q=0.
+     */
+    private static boolean refused(String[] parts) {
+        for (var i = 1; i < parts.length; i++) {
+            final var parameter = parts[i].replace(" ", "").toLowerCase(Locale.ROOT);
+            if (parameter.matches("q=0(\\.0*)?")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return Duration.ofNanos(System.nanoTime() - startNanos).toMillis();
+    }
 }
@@ -0,0 +1,64 @@
+package com.reliaquest.server.controller;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.model.ShardAssignment;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.shard.ShardTopology;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Rebalancing hooks, driven by the api when the shard count changes. They live outside /api/** so the random
+ * rate limit never interrupts a rebalance half way.
+ *
+ * <ol>
+ *   <li>{@code GET /shard/misplaced?index=&count=} lists what would move away under the new topology.
+ *   <li>{@code POST /shard/import} adds those employees, ids unchanged, on their new owners.
+ *   <li>{@code PUT /shard/topology} switches each remaining shard over and drops what it no longer owns.
+ * </ol>
+ */
+@RestController
+@RequestMapping("/shard")
+@RequiredArgsConstructor
+public class ShardController {
+
+    private final MockEmployeeService mockEmployeeService;
+    private final ShardTopology shardTopology;
+
+    @GetMapping("/topology")
+    public Response<ShardAssignment> getTopology() {
+        return Response.handledWith(new ShardAssignment(shardTopology.index(), shardTopology.count()));
+    }
+
+    @PutMapping("/topology")
+    public ResponseEntity<Response<Integer>> assignTopology(@RequestBody ShardAssignment assignment) {
+        if (assignment.count() < 1 || assignment.index() < 0 || assignment.index() >= assignment.count()) {
+            return ResponseEntity.badRequest().body(Response.error("Invalid shard assignment: " + assignment));
+        }
+        return ResponseEntity.ok(
+                Response.handledWith(mockEmployeeService.assignShard(assignment.index(), assignment.count())));
+    }
+
+    @GetMapping("/misplaced")
+    public ResponseEntity<Response<List<MockEmployee>>> getMisplaced(
+            @RequestParam("index") int index, @RequestParam("count") int count) {
+        if (count < 1) {
+            return ResponseEntity.badRequest().body(Response.error("Invalid shard count: " + count));
+        }
+        return ResponseEntity.ok(Response.handledWith(mockEmployeeService.findMisplaced(index, count)));
+    }
+
+    @PostMapping("/import")
+    public Response<Integer> importEmployees(@RequestBody List<MockEmployee> mockEmployees) {
+        return Response.handledWith(mockEmployeeService.importEmployees(mockEmployees));
+    }
+}
@@ -0,0 +1,14 @@
+package com.reliaquest.server.model;
+
+/**
+ * Requests seen and faults injected since the current fault profile was applied.
+ */
+public record FaultStats(
+        boolean enabled,
+        long seed,
+        long requests,
+        long delayed,
+        long delayMillis,
+        long errors,
+        long resets,
+        long drips) {}
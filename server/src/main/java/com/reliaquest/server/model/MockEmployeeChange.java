@@ -0,0 +1,13 @@
+package com.reliaquest.server.model;
+
+/**
+ * A single create or delete applied to the mock employee data. The sequence is the data version the change
+ * produced, so sequences are contiguous and strictly increasing.
+ */
+public record MockEmployeeChange(long sequence, Type type, MockEmployee employee) {
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+}
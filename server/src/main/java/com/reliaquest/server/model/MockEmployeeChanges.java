@@ -0,0 +1,16 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+
+/**
+ * Changes after a requested sequence, up to {@code version}. When the requested sequence has fallen off the
+ * bounded change log, {@code resyncRequired} is set and the caller must reload the full list.
+ */
+public record MockEmployeeChanges(
+        long version, @JsonProperty("resync_required") boolean resyncRequired, List<MockEmployeeChange> changes) {
+
+    public static MockEmployeeChanges resync(long version) {
+        return new MockEmployeeChanges(version, true, List.of());
+    }
+}
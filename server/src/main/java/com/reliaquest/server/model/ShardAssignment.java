@@ -0,0 +1,6 @@
+package com.reliaquest.server.model;
+
+/**
+ * Shard {@code index} of {@code count}.
+ */
+public record ShardAssignment(int index, int count) {}
@@ -1,18 +1,35 @@
 package com.reliaquest.server.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.reliaquest.server.config.ServerConfiguration;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import com.reliaquest.server.model.MockEmployeeChanges;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.shard.ShardRing;
+import com.reliaquest.server.shard.ShardTopology;
+import com.reliaquest.server.store.MockEmployeeStore;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
-import lombok.Getter;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 @Slf4j
@@ -21,38 +38,239 @@ import org.springframework.stereotype.Service;
 public class MockEmployeeService {
 
     private final Faker faker;
+    private final ApplicationEventPublisher eventPublisher;
 
-    @Getter
-    private final List<MockEmployee> mockEmployees;
+    private final MockEmployeeStore mockEmployeeStore;
+    private final ShardTopology shardTopology;
+    private final ObjectMapper objectMapper;
+    private final SmileFactory smileFactory;
+
+    /*
+     * Monotonically increasing data version, bumped after every create and delete.
+     */
+    private final AtomicLong version = new AtomicLong();
+
+    /*
+     * Random per process. Every start generates new data with versions counting from 0 again, so a version only
+     * names a dataset together with the epoch it was issued in.
+     */
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+
+    /*
+     * Bounded log of the most recent changes, oldest first. Also guards writes so that store mutation,
+     * version bump, log append and change publication happen as one step, in sequence order.
+     */
+    private final Deque<MockEmployeeChange> changeLog = new ArrayDeque<>();
+
+    /*
+     * The list response for the latest version anyone asked for; replaced by the first request after a change.
+     */
+    private final AtomicReference<SerializationOfVersion> serialized = new AtomicReference<>();
+
+    @Value("${mock.employees.change-log-capacity:1000}")
+    private int changeLogCapacity;
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    public String getEpoch() {
+        return epoch;
+    }
+
+    /*
+     * "<epoch>-<version>", the form versions are handed to clients in (ETags), so a version from an earlier
+     * process never matches one of this process.
+     */
+    public String versionTag(long version) {
+        return epoch + "-" + version;
+    }
+
+    /*
+     * Point-in-time view; MockEmployee objects are only built as it is iterated.
+     */
+    public Collection<MockEmployee> getMockEmployees() {
+        return mockEmployeeStore.snapshot();
+    }
+
+    /*
+     * The list response as bytes, serialized at most once per data version. Requests for a version that is being
+     * serialized wait for that one serialization instead of starting their own; only the request that installs a
+     * new version's entry serializes. Hits take no lock and allocate nothing.
+     */
+    public SerializedEmployees getSerializedEmployees() {
+        while (true) {
+            final var cached = serialized.get();
+            if (cached != null && cached.version() == version.get()) {
+                return cached.result().join();
+            }
+
+            // Version and snapshot taken together, so the bytes are exactly the data of the version they are keyed by.
+            final long snapshotVersion;
+            final Collection<MockEmployee> snapshot;
+            synchronized (changeLog) {
+                snapshotVersion = version.get();
+                snapshot = mockEmployeeStore.snapshot();
+            }
+            final var entry = new SerializationOfVersion(snapshotVersion, new CompletableFuture<>());
+            if (!serialized.compareAndSet(cached, entry)) {
+                continue;
+            }
+            try {
+                final var started = System.nanoTime();
+                final var json = objectMapper.writeValueAsBytes(Response.handledWith(snapshot));
+                entry.result().complete(new SerializedEmployees(snapshotVersion, json, smileFactory));
+                log.debug(
+                        "Serialized {} employees of version {} into {} bytes in {} us.",
+                        snapshot.size(),
+                        snapshotVersion,
+                        json.length,
+                        (System.nanoTime() - started) / 1_000);
+            } catch (JsonProcessingException | RuntimeException e) {
+                // Waiting requests fail with this request; the next one tries again.
+                serialized.compareAndSet(entry, null);
+                entry.result().completeExceptionally(e);
+            }
+            return entry.result().join();
+        }
+    }
 
     public Optional<MockEmployee> findById(@NonNull UUID uuid) {
-        return mockEmployees.stream()
-                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
-                        && mockEmployee.getId().equals(uuid))
-                .findFirst();
+        return mockEmployeeStore.findById(uuid);
     }
 
     public MockEmployee create(@NonNull CreateMockEmployeeInput input) {
         final var mockEmployee = MockEmployee.from(
+                shardTopology.newOwnedId(),
                 ServerConfiguration.EMAIL_TEMPLATE.formatted(
                         faker.twitter().userName().toLowerCase()),
                 input);
-        mockEmployees.add(mockEmployee);
+        synchronized (changeLog) {
+            mockEmployeeStore.add(mockEmployee);
+            record(MockEmployeeChange.Type.CREATED, mockEmployee);
+        }
         log.debug("Added employee: {}", mockEmployee);
         return mockEmployee;
     }
 
     public boolean delete(@NonNull DeleteMockEmployeeInput input) {
-        final var mockEmployee = mockEmployees.stream()
-                .filter(employee -> Objects.nonNull(employee.getName())
-                        && employee.getName().equalsIgnoreCase(input.getName()))
-                .findFirst();
+        final var mockEmployee = mockEmployeeStore.findFirstByName(input.getName());
         if (mockEmployee.isPresent()) {
-            mockEmployees.remove(mockEmployee.get());
+            synchronized (changeLog) {
+                if (!mockEmployeeStore.remove(mockEmployee.get().getId())) {
+                    return false;
+                }
+                record(MockEmployeeChange.Type.DELETED, mockEmployee.get());
+            }
             log.debug("Removed employee: {}", mockEmployee.get());
             return true;
         }
 
         return false;
     }
+
+    /*
+     * Employees this shard would not own as shard index of count. A shard that is being removed passes an index
+     * outside the new range and gets all of them. Nothing is removed here, so a rebalance copies before it deletes.
+     */
+    public List<MockEmployee> findMisplaced(int index, int count) {
+        final var ring = new ShardRing(count);
+        return mockEmployeeStore.snapshot().stream()
+                .filter(mockEmployee -> ring.shardOf(mockEmployee.getId()) != index)
+                .toList();
+    }
+
+    /*
+     * Adds employees handed over by another shard, keeping their ids. Ids already present are skipped, so an
+     * interrupted rebalance can simply be run again.
+     */
+    public int importEmployees(@NonNull List<MockEmployee> mockEmployees) {
+        var imported = 0;
+        synchronized (changeLog) {
+            for (final var mockEmployee : mockEmployees) {
+                if (mockEmployee.getId() == null
+                        || mockEmployeeStore.findById(mockEmployee.getId()).isPresent()) {
+                    continue;
+                }
+                mockEmployeeStore.add(mockEmployee);
+                record(MockEmployeeChange.Type.CREATED, mockEmployee);
+                imported++;
+            }
+        }
+        log.info("Imported {} of {} employees.", imported, mockEmployees.size());
+        return imported;
+    }
+
+    /*
+     * Switches to the new topology and drops the employees it no longer owns, recording them as deletions.
+     */
+    public int assignShard(int index, int count) {
+        var released = 0;
+        synchronized (changeLog) {
+            shardTopology.assign(index, count);
+            for (final var mockEmployee : mockEmployeeStore.snapshot()) {
+                if (!shardTopology.owns(mockEmployee.getId()) && mockEmployeeStore.remove(mockEmployee.getId())) {
+                    record(MockEmployeeChange.Type.DELETED, mockEmployee);
+                    released++;
+                }
+            }
+        }
+        log.info("Released {} employees now owned by other shards.", released);
+        return released;
+    }
+
+    /*
+     * Changes with a sequence greater than the version in the given tag. Tags of another epoch (from before a
+     * restart, or issued by another server) and bare versions without an epoch are told to resync, whatever
+     * their number, as are versions before the oldest logged change or beyond the current one.
+     */
+    public MockEmployeeChanges changesSince(String sinceTag) {
+        final var since = versionOf(sinceTag);
+        synchronized (changeLog) {
+            final var current = version.get();
+            final var oldest = changeLog.isEmpty() ? current + 1 : changeLog.getFirst().sequence();
+            if (since < 0 || since > current || since < oldest - 1) {
+                return MockEmployeeChanges.resync(current);
+            }
+            return new MockEmployeeChanges(
+                    current,
+                    false,
+                    changeLog.stream().filter(change -> change.sequence() > since).toList());
+        }
+    }
+
+    /*
+     * Hands the changes since the given sequence to the action while no new change can be recorded, so a
+     * subscriber can replay what it missed and register for new changes without gaps or duplicates.
+     */
+    public void replayChangesSince(String since, Consumer<MockEmployeeChanges> action) {
+        synchronized (changeLog) {
+            action.accept(changesSince(since));
+        }
+    }
+
+    /*
+     * The version of a tag issued by this process, or -1 for any other tag.
+     */
+    private long versionOf(String tag) {
+        if (tag == null || !tag.startsWith(epoch + "-")) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(tag.substring(epoch.length() + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void record(MockEmployeeChange.Type type, MockEmployee mockEmployee) {
+        final var change = new MockEmployeeChange(version.incrementAndGet(), type, mockEmployee);
+        changeLog.addLast(change);
+        while (changeLog.size() > changeLogCapacity) {
+            changeLog.removeFirst();
+        }
+        eventPublisher.publishEvent(change);
+    }
+
+    private record SerializationOfVersion(long version, CompletableFuture<SerializedEmployees> result) {}
 }
@@ -0,0 +1,94 @@
+package com.reliaquest.server.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The employee list response serialized once for a data version and shared by every request for that version.
+ * The gzip and Smile encodings are made from the JSON bytes on first use, since most clients never ask for them.
+ */
+public final class SerializedEmployees {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final long version;
+    private final byte[] json;
+    private final SmileFactory smileFactory;
+    private volatile byte[] gzip;
+    private volatile byte[] smile;
+
+    SerializedEmployees(long version, byte[] json, SmileFactory smileFactory) {
+        this.version = version;
+        this.json = json;
+        this.smileFactory = smileFactory;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    /*
+     * Shared, never copied: callers must not modify the returned bytes.
+     */
+    public byte[] json() {
+        return json;
+    }
+
+    public byte[] gzip() {
+        var result = gzip;
+        if (result == null) {
+            synchronized (this) {
+                result = gzip;
+                if (result == null) {
+                    result = compress(json);
+                    gzip = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /*
+     * Transcoded token by token from the JSON bytes, so both encodings hold exactly the same data (ids included,
+     * which stay strings).
+     */
+    public byte[] smile() {
+        var result = smile;
+        if (result == null) {
+            synchronized (this) {
+                result = smile;
+                if (result == null) {
+                    result = transcode(json, smileFactory);
+                    smile = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static byte[] transcode(byte[] json, SmileFactory smileFactory) {
+        final var encoded = new ByteArrayOutputStream(Math.max(64, json.length / 2));
+        try (var parser = JSON_FACTORY.createParser(json);
+                var generator = smileFactory.createGenerator(encoded)) {
+            parser.nextToken();
+            generator.copyCurrentStructure(parser);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return encoded.toByteArray();
+    }
+
+    private static byte[] compress(byte[] bytes) {
+        final var compressed = new ByteArrayOutputStream(Math.max(64, bytes.length / 4));
+        try (var gzipStream = new GZIPOutputStream(compressed)) {
+            gzipStream.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+}
@@ -0,0 +1,78 @@
+package com.reliaquest.server.shard;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Consistent-hash ring over {@code count} shards with {@link #VIRTUAL_NODES} points per shard, so that changing
+ * the shard count only moves the ids between neighbouring points instead of rehashing everything.
+ *
+ * <p>Points are the hashes of {@code "shard-<index>#<virtual node>"} and keys are the hashes of the lower case UUID
+ * string. The api client builds the very same ring, so both sides agree on which shard owns an id.
+ */
+public final class ShardRing {
+
+    public static final int VIRTUAL_NODES = 128;
+
+    private final int count;
+    private final long[] points;
+    private final int[] shards;
+
+    public ShardRing(int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Shard count must be positive: " + count);
+        }
+        this.count = count;
+        final var entries = new long[count * VIRTUAL_NODES][];
+        for (var shard = 0; shard < count; shard++) {
+            for (var node = 0; node < VIRTUAL_NODES; node++) {
+                entries[shard * VIRTUAL_NODES + node] = new long[] {hash("shard-" + shard + "#" + node), shard};
+            }
+        }
+        Arrays.sort(entries, (left, right) -> Long.compare(left[0], right[0]));
+        this.points = new long[entries.length];
+        this.shards = new int[entries.length];
+        for (var i = 0; i < entries.length; i++) {
+            points[i] = entries[i][0];
+            shards[i] = (int) entries[i][1];
+        }
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public int shardOf(UUID id) {
+        return shardOf(id.toString());
+    }
+
+    /*
+     * The owner is the first point at or after the key's hash, wrapping around past the last point.
+     */
+    public int shardOf(String key) {
+        if (count == 1) {
+            return 0;
+        }
+        final var index = Arrays.binarySearch(points, hash(key));
+        final var point = index >= 0 ? index : -index - 1;
+        return shards[point == points.length ? 0 : point];
+    }
+
+    /*
+     * 64-bit FNV-1a over the UTF-8 bytes, finished with the MurmurHash3 mixer so that similar keys spread evenly.
+     */
+    static long hash(String key) {
+        var hash = 0xcbf29ce484222325L;
+        for (final var b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
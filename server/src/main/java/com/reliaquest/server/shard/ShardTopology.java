@@ -0,0 +1,66 @@
+package com.reliaquest.server.shard;
+
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Which slice of the employee id space this server owns: shard {@code index} of {@code count}. With the default
+ * single shard it owns every id and behaves exactly like an unsharded server.
+ */
+@Slf4j
+@Component
+public class ShardTopology {
+
+    private volatile Assignment assignment;
+
+    public ShardTopology(@Value("${mock.shard.index:0}") int index, @Value("${mock.shard.count:1}") int count) {
+        this.assignment = assignment(index, count);
+        log.info("Serving shard {} of {}.", index, count);
+    }
+
+    public int index() {
+        return assignment.index();
+    }
+
+    public int count() {
+        return assignment.ring().count();
+    }
+
+    public boolean owns(UUID id) {
+        return assignment.owns(id);
+    }
+
+    /*
+     * Random ids are drawn until one lands on this shard; with n shards that takes n draws on average.
+     */
+    public UUID newOwnedId() {
+        final var current = assignment;
+        var id = UUID.randomUUID();
+        while (!current.owns(id)) {
+            id = UUID.randomUUID();
+        }
+        return id;
+    }
+
+    public void assign(int index, int count) {
+        this.assignment = assignment(index, count);
+        log.info("Reassigned to shard {} of {}.", index, count);
+    }
+
+    private static Assignment assignment(int index, int count) {
+        final var ring = new ShardRing(count);
+        if (index < 0 || index >= count) {
+            throw new IllegalArgumentException("Shard index %d is outside 0..%d".formatted(index, count - 1));
+        }
+        return new Assignment(index, ring);
+    }
+
+    private record Assignment(int index, ShardRing ring) {
+
+        boolean owns(UUID id) {
+            return ring.shardOf(id) == index;
+        }
+    }
+}
@@ -0,0 +1,413 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Employees held as primitive columns instead of one {@link MockEmployee} object (plus a {@link UUID}, two
+ * {@link Integer}s and three {@link String}s) per record.
+ *
+ * <ul>
+ *   <li>Rows live in fixed size chunks of {@code long}/{@code int} columns, so growth never copies existing rows.
+ *   <li>Ids are UUIDs split into two {@code long}s, found through an open addressing table of row numbers;
+ *       titles are dictionary encoded.
+ *   <li>Names and emails are UTF-8 bytes in a shared arena of 1 MiB {@link ByteBuffer} segments, addressed by a
+ *       {@code segment << 32 | offset} reference and a length. Segments are direct (off-heap) when configured, so
+ *       the bulk of the data is invisible to the garbage collector.
+ * </ul>
+ *
+ * <p>{@link MockEmployee} objects are only built while a snapshot is iterated, i.e. at the controller boundary.
+ *
+ * <p>Snapshots are versioned rather than copied: rows are append-only, a removal stamps the row with the version
+ * that deleted it, and a snapshot sees the rows that existed and were not yet deleted at its version. Every write
+ * publishes a new immutable {@link State} through a volatile field, which is all a reader needs. Deleted rows are
+ * reclaimed by compaction into fresh chunks once they outnumber the live ones; snapshots keep the old chunks.
+ *
+ * <p>The id table is only ever appended to between compactions: a removal leaves the row's entry in place, and
+ * lookups skip rows that are not live at their snapshot's version. So a reader probing a published table while the
+ * writer fills a free bucket can at worst miss a row its snapshot does not contain anyway. Growing or compacting
+ * builds a new table, which only states published afterwards see.
+ */
+public class ColumnarMockEmployeeStore implements MockEmployeeStore {
+
+    private static final int CHUNK_SHIFT = 12;
+    private static final int CHUNK_ROWS = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_ROWS - 1;
+    private static final int SEGMENT_BYTES = 1 << 20;
+    private static final int INITIAL_ID_TABLE = 1 << 4;
+
+    // Bytes per row across the chunk columns: five longs and five ints.
+    private static final int ROW_BYTES = 5 * Long.BYTES + 5 * Integer.BYTES;
+
+    private static final long LIVE = Long.MAX_VALUE;
+    private static final int NULL_INT = Integer.MIN_VALUE;
+    private static final int NULL_LENGTH = -1;
+
+    private final boolean offHeap;
+
+    /*
+     * Writer state, guarded by this. Arrays are grown by copying, so a published State keeps seeing the arrays it
+     * was created with; slots past its row count are never read through it.
+     */
+    private Chunk[] chunks = new Chunk[8];
+    private ByteBuffer[] segments = new ByteBuffer[8];
+    private int segmentCount;
+    private int segmentOffset;
+    private String[] titles = new String[16];
+    private final Map<String, Integer> titleCodes = new HashMap<>();
+    // Row + 1 per occupied bucket, 0 when free; kept at most half full, counting removed rows.
+    private int[] idTable = new int[INITIAL_ID_TABLE];
+    private int rows;
+    private int live;
+    private long version;
+
+    private volatile State state = publish();
+
+    public ColumnarMockEmployeeStore(boolean offHeap) {
+        this.offHeap = offHeap;
+    }
+
+    @Override
+    public Collection<MockEmployee> snapshot() {
+        return new Snapshot(state);
+    }
+
+    @Override
+    public int size() {
+        return state.live();
+    }
+
+    @Override
+    public Optional<MockEmployee> findById(UUID id) {
+        final var current = state;
+        final var row = current.rowOf(id);
+        return row < 0 ? Optional.empty() : Optional.of(current.employee(row));
+    }
+
+    /*
+     * A case-insensitive match has the same number of chars, and a char is 1 to 3 UTF-8 bytes, so only names
+     * within that byte length range are decoded and compared.
+     */
+    @Override
+    public Optional<MockEmployee> findFirstByName(String name) {
+        final var current = state;
+        final var minBytes = name.length();
+        final var maxBytes = 3 * name.length();
+        for (var row = 0; row < current.rows(); row++) {
+            final var chunk = current.chunks()[row >>> CHUNK_SHIFT];
+            final var index = row & CHUNK_MASK;
+            final var length = chunk.nameLength[index];
+            if (length < minBytes || length > maxBytes || !current.isLive(row)) {
+                continue;
+            }
+            if (name.equalsIgnoreCase(current.string(chunk.nameRef[index], length))) {
+                return Optional.of(current.employee(row));
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public synchronized void add(MockEmployee mockEmployee) {
+        append(mockEmployee);
+        state = publish();
+    }
+
+    @Override
+    public synchronized boolean remove(UUID id) {
+        final var row = state.rowOf(id);
+        if (row < 0) {
+            return false;
+        }
+        chunks[row >>> CHUNK_SHIFT].deletedAt[row & CHUNK_MASK] = ++version;
+        live--;
+        if (rows - live > Math.max(CHUNK_ROWS, live)) {
+            compact();
+        }
+        state = publish();
+        return true;
+    }
+
+    /**
+     * Bytes held in chunk columns and the id table; on the heap regardless of where the arena lives.
+     */
+    public long columnBytes() {
+        final var current = state;
+        return (long) current.chunkCount() * CHUNK_ROWS * ROW_BYTES + (long) current.idTable().length * Integer.BYTES;
+    }
+
+    /**
+     * Bytes reserved by arena segments; off the heap when the store was created with {@code offHeap}.
+     */
+    public long arenaBytes() {
+        final var current = state;
+        var bytes = 0L;
+        for (var i = 0; i < current.segmentCount(); i++) {
+            bytes += current.segments()[i].capacity();
+        }
+        return bytes;
+    }
+
+    public boolean isOffHeap() {
+        return offHeap;
+    }
+
+    private void append(MockEmployee mockEmployee) {
+        final var id = Objects.requireNonNull(mockEmployee.getId(), "id");
+        final var row = rows;
+        final var chunkIndex = row >>> CHUNK_SHIFT;
+        if (chunkIndex == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunks.length * 2);
+        }
+        if (chunks[chunkIndex] == null) {
+            chunks[chunkIndex] = new Chunk();
+        }
+        final var chunk = chunks[chunkIndex];
+        final var index = row & CHUNK_MASK;
+
+        chunk.idHigh[index] = id.getMostSignificantBits();
+        chunk.idLow[index] = id.getLeastSignificantBits();
+        chunk.salary[index] = mockEmployee.getSalary() == null ? NULL_INT : mockEmployee.getSalary();
+        chunk.age[index] = mockEmployee.getAge() == null ? NULL_INT : mockEmployee.getAge();
+        chunk.title[index] = titleCode(mockEmployee.getTitle());
+        final var name = utf8(mockEmployee.getName());
+        chunk.nameLength[index] = name == null ? NULL_LENGTH : name.length;
+        chunk.nameRef[index] = appendBytes(name);
+        final var email = utf8(mockEmployee.getEmail());
+        chunk.emailLength[index] = email == null ? NULL_LENGTH : email.length;
+        chunk.emailRef[index] = appendBytes(email);
+        chunk.deletedAt[index] = LIVE;
+        if ((row + 1) * 2 > idTable.length) {
+            growIdTable();
+        }
+        idTable[bucketFor(idTable, id.getMostSignificantBits(), id.getLeastSignificantBits())] = row + 1;
+        rows++;
+        live++;
+    }
+
+    /*
+     * A new array rather than a rehash in place: published states keep probing the table they were created with.
+     */
+    private void growIdTable() {
+        final var grown = new int[idTable.length * 2];
+        for (var row = 0; row < rows; row++) {
+            final var chunk = chunks[row >>> CHUNK_SHIFT];
+            final var index = row & CHUNK_MASK;
+            grown[bucketFor(grown, chunk.idHigh[index], chunk.idLow[index])] = row + 1;
+        }
+        idTable = grown;
+    }
+
+    // First free bucket of the id's probe sequence.
+    private static int bucketFor(int[] table, long high, long low) {
+        final var mask = table.length - 1;
+        var bucket = hash(high, low) & mask;
+        while (table[bucket] != 0) {
+            bucket = (bucket + 1) & mask;
+        }
+        return bucket;
+    }
+
+    private static int hash(long high, long low) {
+        var hash = (high * 0x9E3779B97F4A7C15L) ^ low;
+        hash ^= hash >>> 32;
+        return (int) (hash ^ (hash >>> 16));
+    }
+
+    /*
+     * Copies live rows into fresh chunks and segments. Published snapshots keep referencing the old ones until
+     * they are done, after which the garbage collector (or, for direct buffers, their cleaner) reclaims them.
+     */
+    private void compact() {
+        final var previous = state;
+        final var deleted = version;
+        chunks = new Chunk[Math.max(8, Integer.highestOneBit(Math.max(1, live >>> CHUNK_SHIFT)) * 2)];
+        segments = new ByteBuffer[8];
+        segmentCount = 0;
+        segmentOffset = 0;
+        idTable = new int[Math.max(INITIAL_ID_TABLE, Integer.highestOneBit(Math.max(1, live)) * 4)];
+        rows = 0;
+        live = 0;
+        for (var row = 0; row < previous.rows(); row++) {
+            final var chunk = previous.chunks()[row >>> CHUNK_SHIFT];
+            if (chunk.deletedAt[row & CHUNK_MASK] > deleted) {
+                append(previous.employee(row));
+            }
+        }
+    }
+
+    private int titleCode(String title) {
+        if (title == null) {
+            return NULL_INT;
+        }
+        return titleCodes.computeIfAbsent(title, newTitle -> {
+            final var code = titleCodes.size();
+            if (code == titles.length) {
+                titles = Arrays.copyOf(titles, titles.length * 2);
+            }
+            titles[code] = newTitle;
+            return code;
+        });
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private long appendBytes(byte[] bytes) {
+        if (bytes == null) {
+            return 0;
+        }
+        if (segmentCount == 0 || bytes.length > segments[segmentCount - 1].capacity() - segmentOffset) {
+            addSegment(Math.max(SEGMENT_BYTES, bytes.length));
+        }
+        final var reference = ((long) (segmentCount - 1) << 32) | segmentOffset;
+        segments[segmentCount - 1].put(segmentOffset, bytes);
+        segmentOffset += bytes.length;
+        return reference;
+    }
+
+    private void addSegment(int capacity) {
+        if (segmentCount == segments.length) {
+            segments = Arrays.copyOf(segments, segments.length * 2);
+        }
+        segments[segmentCount++] = offHeap ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+        segmentOffset = 0;
+    }
+
+    private State publish() {
+        final var chunkCount = (rows + CHUNK_MASK) >>> CHUNK_SHIFT;
+        return new State(chunks, chunkCount, segments, segmentCount, titles, idTable, rows, live, version);
+    }
+
+    private static final class Chunk {
+        final long[] idHigh = new long[CHUNK_ROWS];
+        final long[] idLow = new long[CHUNK_ROWS];
+        final long[] nameRef = new long[CHUNK_ROWS];
+        final long[] emailRef = new long[CHUNK_ROWS];
+        final long[] deletedAt = new long[CHUNK_ROWS];
+        final int[] salary = new int[CHUNK_ROWS];
+        final int[] age = new int[CHUNK_ROWS];
+        final int[] title = new int[CHUNK_ROWS];
+        final int[] nameLength = new int[CHUNK_ROWS];
+        final int[] emailLength = new int[CHUNK_ROWS];
+    }
+
+    /*
+     * Everything a reader needs, captured at one write. Rows below the row count are fully written before the
+     * state is published; deletion stamps above the version are treated as not yet deleted.
+     */
+    private record State(
+            Chunk[] chunks,
+            int chunkCount,
+            ByteBuffer[] segments,
+            int segmentCount,
+            String[] titles,
+            int[] idTable,
+            int rows,
+            int live,
+            long version) {
+
+        boolean isLive(int row) {
+            return chunks[row >>> CHUNK_SHIFT].deletedAt[row & CHUNK_MASK] > version;
+        }
+
+        /*
+         * Entries for rows past this state's row count were added after it was published and are skipped, as are
+         * removed rows; an id removed and added again has one entry per row.
+         */
+        int rowOf(UUID id) {
+            final var high = id.getMostSignificantBits();
+            final var low = id.getLeastSignificantBits();
+            final var mask = idTable.length - 1;
+            for (var bucket = hash(high, low) & mask; idTable[bucket] != 0; bucket = (bucket + 1) & mask) {
+                final var row = idTable[bucket] - 1;
+                if (row >= rows) {
+                    continue;
+                }
+                final var chunk = chunks[row >>> CHUNK_SHIFT];
+                final var index = row & CHUNK_MASK;
+                if (chunk.idHigh[index] == high && chunk.idLow[index] == low && isLive(row)) {
+                    return row;
+                }
+            }
+            return -1;
+        }
+
+        MockEmployee employee(int row) {
+            final var chunk = chunks[row >>> CHUNK_SHIFT];
+            final var index = row & CHUNK_MASK;
+            return new MockEmployee(
+                    new UUID(chunk.idHigh[index], chunk.idLow[index]),
+                    string(chunk.nameRef[index], chunk.nameLength[index]),
+                    chunk.salary[index] == NULL_INT ? null : chunk.salary[index],
+                    chunk.age[index] == NULL_INT ? null : chunk.age[index],
+                    chunk.title[index] == NULL_INT ? null : titles[chunk.title[index]],
+                    string(chunk.emailRef[index], chunk.emailLength[index]));
+        }
+
+        // Absolute reads never touch the buffer's position, so concurrent readers can share segments.
+        String string(long reference, int length) {
+            if (length == NULL_LENGTH) {
+                return null;
+            }
+            final var bytes = new byte[length];
+            segments[(int) (reference >>> 32)].get((int) reference, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static final class Snapshot extends AbstractCollection<MockEmployee> {
+
+        private final State state;
+
+        Snapshot(State state) {
+            this.state = state;
+        }
+
+        @Override
+        public int size() {
+            return state.live();
+        }
+
+        @Override
+        public Iterator<MockEmployee> iterator() {
+            return new Iterator<>() {
+                private int next = nextLive(0);
+
+                @Override
+                public boolean hasNext() {
+                    return next < state.rows();
+                }
+
+                @Override
+                public MockEmployee next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    final var employee = state.employee(next);
+                    next = nextLive(next + 1);
+                    return employee;
+                }
+            };
+        }
+
+        private int nextLive(int row) {
+            while (row < state.rows() && !state.isLive(row)) {
+                row++;
+            }
+            return row;
+        }
+    }
+}
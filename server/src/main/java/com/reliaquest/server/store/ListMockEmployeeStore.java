@@ -0,0 +1,65 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * {@link MockEmployee} objects in an insertion-ordered map by id, guarded by the store's lock. Readers (e.g. streamed
+ * responses) get an immutable list copied under the lock, so they iterate a consistent snapshot while writes proceed.
+ */
+public class ListMockEmployeeStore implements MockEmployeeStore {
+
+    private final Map<UUID, MockEmployee> mockEmployees = new LinkedHashMap<>();
+
+    // Copied on the first read after a write, then shared by every reader until the next write.
+    private List<MockEmployee> snapshot = List.of();
+    private boolean stale;
+
+    @Override
+    public synchronized Collection<MockEmployee> snapshot() {
+        if (stale) {
+            snapshot = List.copyOf(mockEmployees.values());
+            stale = false;
+        }
+        return snapshot;
+    }
+
+    @Override
+    public synchronized int size() {
+        return mockEmployees.size();
+    }
+
+    @Override
+    public synchronized Optional<MockEmployee> findById(UUID id) {
+        return Optional.ofNullable(mockEmployees.get(id));
+    }
+
+    @Override
+    public Optional<MockEmployee> findFirstByName(String name) {
+        return snapshot().stream()
+                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getName())
+                        && mockEmployee.getName().equalsIgnoreCase(name))
+                .findFirst();
+    }
+
+    @Override
+    public synchronized void add(MockEmployee mockEmployee) {
+        mockEmployees.put(mockEmployee.getId(), mockEmployee);
+        stale = true;
+    }
+
+    @Override
+    public synchronized boolean remove(UUID id) {
+        if (mockEmployees.remove(id) == null) {
+            return false;
+        }
+        stale = true;
+        return true;
+    }
+}
@@ -0,0 +1,39 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Storage engine behind {@code MockEmployeeService}. Reads may run concurrently with each other and with a write;
+ * writes are expected to be serialized by the caller.
+ */
+public interface MockEmployeeStore {
+
+    /**
+     * Point-in-time view of all employees in insertion order. Later writes do not show up in, or disturb, a
+     * snapshot that is already being iterated.
+     */
+    Collection<MockEmployee> snapshot();
+
+    int size();
+
+    Optional<MockEmployee> findById(UUID id);
+
+    /**
+     * First employee, in insertion order, whose name equals the given one ignoring case.
+     */
+    Optional<MockEmployee> findFirstByName(String name);
+
+    void add(MockEmployee mockEmployee);
+
+    boolean remove(UUID id);
+
+    enum Type {
+        /** {@link MockEmployee} objects in an insertion-ordered map, see {@link ListMockEmployeeStore}. */
+        LIST,
+        /** Primitive columns and a byte arena, see {@link ColumnarMockEmployeeStore}. */
+        COLUMNAR
+    }
+}
@@ -0,0 +1,79 @@
+package com.reliaquest.server.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.service.MockEmployeeService;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs before the application reports ready (runners complete before {@code ApplicationReadyEvent}), so the first
+ * requests after a restart find Jackson's serializers built and the read and serialization paths compiled. Works
+ * in-process on the read paths only; it neither changes data nor counts against the request rate limit.
+ *
+ * <p>The JIT needs calls rather than data, so the repeated passes serialize a sample of
+ * {@code warmup.sample-size} employees; at millions of records, the full list is serialized once, at the end.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ServerWarmup implements ApplicationRunner {
+
+    private final MockEmployeeService mockEmployeeService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${warmup.iterations:50}")
+    private int iterations;
+
+    @Value("${warmup.sample-size:1000}")
+    private int sampleSize;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            log.info("Warmup disabled.");
+            return;
+        }
+        final var started = System.nanoTime();
+        final var employeeWriter = objectMapper.writerFor(MockEmployee.class);
+        try {
+            for (var i = 0; i < iterations; i++) {
+                final var sample =
+                        mockEmployeeService.getMockEmployees().stream().limit(sampleSize).toList();
+                objectMapper.writeValueAsBytes(Response.handledWith(sample));
+                for (final var mockEmployee : sample) {
+                    employeeWriter.writeValue(OutputStream.nullOutputStream(), mockEmployee);
+                }
+                final var first = sample.stream().findFirst();
+                if (first.isPresent()) {
+                    objectMapper.writeValueAsBytes(Response.handledWith(
+                            mockEmployeeService.findById(first.get().getId()).orElseThrow()));
+                }
+                final var changes = mockEmployeeService.changesSince(
+                        mockEmployeeService.versionTag(mockEmployeeService.getVersion()));
+                objectMapper.writeValueAsBytes(Response.handledWith(changes));
+            }
+            objectMapper.writeValueAsBytes(Response.error("Warm up"));
+            // Leaves the list response of the current version serialized, in every encoding, for the first request.
+            final var serialized = mockEmployeeService.getSerializedEmployees();
+            serialized.gzip();
+            serialized.smile();
+        } catch (IOException e) {
+            log.warn("Warmup failed, continuing startup: {}", e.getMessage());
+        }
+        log.info(
+                "Warmup completed in {} ms.",
+                Duration.ofNanos(System.nanoTime() - started).toMillis());
+    }
+}
@@ -0,0 +1,97 @@
+package com.reliaquest.server.web;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Events waiting to be sent to one subscriber. Whoever records a change only queues its event, which never
+ * blocks, and one task at a time on the executor sends the queue in order. A subscriber that falls more than
+ * {@code capacity} events behind, or whose send fails, is dropped; it reconnects and resumes from its last event.
+ */
+final class ChangeSubscription<T> {
+
+    interface Sink<T> {
+
+        void send(T event) throws IOException;
+    }
+
+    private final Sink<T> sink;
+    private final int capacity;
+    private final BlockingQueue<T> queue;
+    private final Executor executor;
+    private final Consumer<Exception> onDrop;
+    private final AtomicBoolean sending = new AtomicBoolean();
+    private final AtomicBoolean dropped = new AtomicBoolean();
+
+    ChangeSubscription(Sink<T> sink, int capacity, Executor executor, Consumer<Exception> onDrop) {
+        this.sink = sink;
+        this.capacity = capacity;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.executor = executor;
+        this.onDrop = onDrop;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    boolean isDropped() {
+        return dropped.get();
+    }
+
+    /*
+     * False once the subscription has been dropped, including by this call when the queue is full.
+     */
+    boolean offer(T event) {
+        if (dropped.get()) {
+            return false;
+        }
+        if (!queue.offer(event)) {
+            drop(new IllegalStateException("Subscriber is more than " + capacity + " events behind"));
+            return false;
+        }
+        schedule();
+        return true;
+    }
+
+    private void schedule() {
+        if (!sending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            sending.set(false);
+            drop(e);
+        }
+    }
+
+    private void drain() {
+        try {
+            T event;
+            while (!dropped.get() && (event = queue.poll()) != null) {
+                sink.send(event);
+            }
+        } catch (IOException | RuntimeException e) {
+            drop(e);
+        } finally {
+            sending.set(false);
+        }
+        // An event queued after the last poll but before sending was cleared would otherwise wait for the next one.
+        if (!dropped.get() && !queue.isEmpty()) {
+            schedule();
+        }
+    }
+
+    private void drop(Exception cause) {
+        if (dropped.compareAndSet(false, true)) {
+            queue.clear();
+            onDrop.accept(cause);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.reliaquest.server.web;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.AntPathMatcher;
+
+/**
+ * Faults for requests matching {@code method} (any when empty) and the Ant-style {@code path} pattern.
+ *
+ * <ul>
+ *   <li>{@code latency}: the delay before the request is handled.
+ *   <li>{@code error-rate}: share of requests answered with {@code error-status} without being handled.
+ *   <li>{@code reset-rate}: share of requests that are handled, but whose connection is closed half way through
+ *       the response body.
+ *   <li>{@code drip-rate}: share of responses written {@code drip-chunk-bytes} at a time, one chunk every
+ *       {@code drip-interval}.
+ * </ul>
+ *
+ * <p>A request gets at most one of error, reset and drip, in that order of precedence. Streamed responses
+ * (NDJSON, Server-Sent Events) only get latency and errors.
+ */
+public record EndpointFaults(
+        String method,
+        @DefaultValue("/api/**") String path,
+        Latency latency,
+        @DefaultValue("0") double errorRate,
+        @DefaultValue("503") int errorStatus,
+        @DefaultValue("0") double resetRate,
+        @DefaultValue("0") double dripRate,
+        @DefaultValue("256") int dripChunkBytes,
+        @DefaultValue("100ms") Duration dripInterval) {
+
+    public static final EndpointFaults NONE =
+            new EndpointFaults(null, "/api/**", Latency.NONE, 0, 503, 0, 0, 256, Duration.ofMillis(100));
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    public EndpointFaults {
+        latency = latency == null ? Latency.NONE : latency;
+        FaultProfile.requireProbability("error-rate", errorRate);
+        FaultProfile.requireProbability("reset-rate", resetRate);
+        FaultProfile.requireProbability("drip-rate", dripRate);
+        if (errorStatus < 400 || errorStatus > 599) {
+            throw new IllegalArgumentException("Error status must be a 4xx or 5xx status: " + errorStatus);
+        }
+        if (dripChunkBytes < 1) {
+            throw new IllegalArgumentException("Drip chunks must hold at least one byte: " + dripChunkBytes);
+        }
+    }
+
+    boolean matches(String requestMethod, String requestPath) {
+        return (method == null || method.isEmpty() || method.equalsIgnoreCase(requestMethod))
+                && PATH_MATCHER.match(path, requestPath);
+    }
+}
@@ -0,0 +1,115 @@
+package com.reliaquest.server.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.Response;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Applies the {@link FaultInjector}'s faults to /api/** requests. After the drawn delay a request is either answered
+ * with the injected error, handled and cut off half way through its body, handled and dripped out slowly, or just
+ * handled.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class FaultInjectionFilter extends OncePerRequestFilter {
+
+    public static final String INJECTED_FAULT = "Injected fault";
+
+    private final FaultInjector faultInjector;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        final var faults = faultInjector.next(request.getMethod(), request.getRequestURI());
+        if (faults == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        sleep(faults.delayNanos());
+
+        if (faults.errorStatus() != 0) {
+            log.debug(
+                    "Answering {} {} with injected {}",
+                    request.getMethod(),
+                    request.getRequestURI(),
+                    faults.errorStatus());
+            response.setStatus(faults.errorStatus());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), Response.error(INJECTED_FAULT));
+            return;
+        }
+        if ((!faults.reset() && faults.drip() == null) || isStreamed(request)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        final var recorder = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, recorder);
+        final var body = recorder.getContentAsByteArray();
+        if (body.length == 0) {
+            recorder.copyBodyToResponse();
+            return;
+        }
+        response.setContentLength(body.length);
+        final var out = response.getOutputStream();
+
+        if (faults.reset()) {
+            // The container closes the connection after a "Connection: close" response, leaving the client short
+            // of the declared length, as when a connection is reset mid-transfer.
+            log.debug(
+                    "Cutting off {} {} after {} of {} bytes",
+                    request.getMethod(),
+                    request.getRequestURI(),
+                    body.length / 2,
+                    body.length);
+            response.setHeader(HttpHeaders.CONNECTION, "close");
+            out.write(body, 0, body.length / 2);
+            response.flushBuffer();
+            return;
+        }
+
+        final var chunk = faults.drip().dripChunkBytes();
+        final var intervalNanos = faults.drip().dripInterval().toNanos();
+        for (var offset = 0; offset < body.length; offset += chunk) {
+            if (offset > 0) {
+                sleep(intervalNanos);
+            }
+            out.write(body, offset, Math.min(chunk, body.length - offset));
+            response.flushBuffer();
+        }
+    }
+
+    /*
+     * Streamed responses are written asynchronously, after this filter has returned, so they cannot be buffered.
+     */
+    private static boolean isStreamed(HttpServletRequest request) {
+        final var accept = request.getHeader(HttpHeaders.ACCEPT);
+        return (accept != null
+                        && (accept.contains(MediaType.APPLICATION_NDJSON_VALUE)
+                                || accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE)))
+                || "ndjson".equals(request.getParameter("format"));
+    }
+
+    // An interrupted delay is cut short; the request still proceeds.
+    private static void sleep(long nanos) {
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
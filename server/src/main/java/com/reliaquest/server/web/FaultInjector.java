@@ -0,0 +1,128 @@
+package com.reliaquest.server.web;
+
+import com.reliaquest.server.model.FaultStats;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decides the faults of each /api/** request under the current {@link FaultProfile}, which starts out as the one
+ * configured under {@code mock.faults} and can be replaced at runtime.
+ */
+@Slf4j
+@Component
+public class FaultInjector {
+
+    private final FaultProfile configured;
+    private volatile Applied applied;
+
+    public FaultInjector(FaultProfile configured) {
+        this.configured = configured;
+        this.applied = new Applied(configured);
+        if (configured.enabled()) {
+            log.info("Injecting faults into /api/** with seed {}", configured.seed());
+        }
+    }
+
+    public FaultProfile profile() {
+        return applied.profile();
+    }
+
+    public FaultProfile configured() {
+        return configured;
+    }
+
+    /*
+     * Request numbering and statistics start over, so a run against a freshly applied profile is reproducible.
+     */
+    public void apply(FaultProfile profile) {
+        applied = new Applied(profile);
+        log.info("Applied fault profile (enabled: {}, seed: {})", profile.enabled(), profile.seed());
+    }
+
+    public FaultStats stats() {
+        final var current = applied;
+        return new FaultStats(
+                current.profile().enabled(),
+                current.profile().seed(),
+                current.sequence.get(),
+                current.delayed.sum(),
+                current.delayNanos.sum() / 1_000_000,
+                current.errors.sum(),
+                current.resets.sum(),
+                current.drips.sum());
+    }
+
+    /*
+     * The faults for the next request, or null while faults are disabled. Every draw is made whatever the
+     * profile, so the faults of request n never depend on those of earlier requests.
+     */
+    Faults next(String method, String path) {
+        final var current = applied;
+        if (!current.profile().enabled()) {
+            return null;
+        }
+        final var endpoint = current.profile().faultsFor(method, path);
+        final var random = new SplittableRandom(mix(current.profile().seed(), current.sequence.getAndIncrement()));
+        final var delayNanos = endpoint.latency().sampleNanos(random);
+        final var error = random.nextDouble() < endpoint.errorRate();
+        final var reset = random.nextDouble() < endpoint.resetRate();
+        final var drip = random.nextDouble() < endpoint.dripRate();
+
+        if (delayNanos > 0) {
+            current.delayed.increment();
+            current.delayNanos.add(delayNanos);
+        }
+        if (error) {
+            current.errors.increment();
+            return new Faults(delayNanos, endpoint.errorStatus(), false, null);
+        }
+        if (reset) {
+            current.resets.increment();
+            return new Faults(delayNanos, 0, true, null);
+        }
+        if (drip) {
+            current.drips.increment();
+            return new Faults(delayNanos, 0, false, endpoint);
+        }
+        return new Faults(delayNanos, 0, false, null);
+    }
+
+    /*
+     * Seeds that differ by one would give SplittableRandom overlapping sequences, so seed and request number are
+     * mixed (murmur3's finalizer) first.
+     */
+    private static long mix(long seed, long sequence) {
+        var z = seed + sequence * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return z ^ (z >>> 33);
+    }
+
+    /**
+     * @param errorStatus the status to answer with instead of handling the request, or 0
+     * @param drip the faults whose drip settings to write the body with, or null to write it at once
+     */
+    record Faults(long delayNanos, int errorStatus, boolean reset, EndpointFaults drip) {}
+
+    private static final class Applied {
+
+        private final FaultProfile profile;
+        private final AtomicLong sequence = new AtomicLong();
+        private final LongAdder delayed = new LongAdder();
+        private final LongAdder delayNanos = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder resets = new LongAdder();
+        private final LongAdder drips = new LongAdder();
+
+        Applied(FaultProfile profile) {
+            this.profile = profile;
+        }
+
+        FaultProfile profile() {
+            return profile;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.reliaquest.server.web;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+/**
+ * Faults injected into /api/** requests while {@code enabled}: those of the first of {@code endpoints} matching a
+ * request, or {@code defaults} when none does.
+ *
+ * <p>Requests are numbered from the moment the profile is applied, and every fault of request n is drawn from a
+ * random generator seeded with {@code seed} and n only. Replaying the same requests in the same order against the
+ * same seed therefore gets exactly the same delays, errors, resets and drips, however the requests are threaded.
+ */
+@ConfigurationProperties(FaultProfile.PREFIX)
+public record FaultProfile(boolean enabled, long seed, EndpointFaults defaults, List<EndpointFaults> endpoints) {
+
+    public static final String PREFIX = "mock.faults";
+
+    public FaultProfile {
+        defaults = defaults == null ? EndpointFaults.NONE : defaults;
+        endpoints = endpoints == null ? List.of() : List.copyOf(endpoints);
+    }
+
+    /*
+     * Binds a profile from nested maps and lists (e.g. parsed JSON) exactly as from the mock.faults block of
+     * application.yml, so durations such as "50ms" and names such as "log-normal" are written the same way in both.
+     * Invalid profiles fail with a BindException.
+     */
+    public static FaultProfile bind(Map<String, ?> properties) {
+        final var flattened = new LinkedHashMap<String, Object>();
+        flatten(PREFIX, properties, flattened);
+        return new Binder(new MapConfigurationPropertySource(flattened)).bindOrCreate(PREFIX, FaultProfile.class);
+    }
+
+    private static void flatten(String name, Object value, Map<String, Object> flattened) {
+        if (value instanceof Map<?, ?> map) {
+            map.forEach((key, nested) -> flatten(name + "." + key, nested, flattened));
+        } else if (value instanceof List<?> list) {
+            for (var i = 0; i < list.size(); i++) {
+                flatten(name + "[" + i + "]", list.get(i), flattened);
+            }
+        } else if (value != null) {
+            flattened.put(name, value);
+        }
+    }
+
+    EndpointFaults faultsFor(String method, String path) {
+        for (final var endpoint : endpoints) {
+            if (endpoint.matches(method, path)) {
+                return endpoint;
+            }
+        }
+        return defaults;
+    }
+
+    static void requireProbability(String name, double value) {
+        if (value < 0 || value > 1) {
+            throw new IllegalArgumentException(name + " must be between 0 and 1: " + value);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.reliaquest.server.web;
+
+import java.time.Duration;
+import java.util.random.RandomGenerator;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Delay added before a request is handled.
+ *
+ * <ul>
+ *   <li>{@code fixed}: always {@code fixed}.
+ *   <li>{@code uniform}: anywhere between {@code min} and {@code max}.
+ *   <li>{@code log-normal}: {@code median} scaled by e to the power of a normal variate of deviation
+ *       {@code sigma}, i.e. mostly near the median with a long right tail, like real service latency. The tail
+ *       is cut off at {@code max} when one is set.
+ * </ul>
+ *
+ * <p>On top of any distribution, a {@code spike-probability} share of requests is delayed by an extra
+ * {@code spike}, for the rare multi-second stalls (a GC pause, a lock convoy) that timeouts and hedging are for.
+ * No delay is ever longer than {@link #MAX_DELAY}.
+ */
+public record Latency(
+        @DefaultValue("none") Distribution distribution,
+        @DefaultValue("0ms") Duration fixed,
+        @DefaultValue("0ms") Duration min,
+        @DefaultValue("0ms") Duration max,
+        @DefaultValue("0ms") Duration median,
+        @DefaultValue("0.5") double sigma,
+        @DefaultValue("0") double spikeProbability,
+        @DefaultValue("0ms") Duration spike) {
+
+    public static final Latency NONE = new Latency(
+            Distribution.NONE, Duration.ZERO, Duration.ZERO, Duration.ZERO, Duration.ZERO, 0.5, 0, Duration.ZERO);
+
+    // e^(sigma * gaussian) overflows to infinity for a large sigma, which would hold a request for 292 years.
+    public static final Duration MAX_DELAY = Duration.ofMinutes(10);
+
+    private static final long MAX_DELAY_NANOS = MAX_DELAY.toNanos();
+
+    public enum Distribution {
+        NONE,
+        FIXED,
+        UNIFORM,
+        LOG_NORMAL
+    }
+
+    public Latency {
+        if (max.compareTo(min) < 0) {
+            throw new IllegalArgumentException("Latency max " + max + " is below min " + min);
+        }
+        if (sigma < 0) {
+            throw new IllegalArgumentException("Latency sigma cannot be negative: " + sigma);
+        }
+        FaultProfile.requireProbability("spike-probability", spikeProbability);
+    }
+
+    /*
+     * Always draws the same number of values for a distribution, so later draws for the request do not depend on
+     * which branch was taken.
+     */
+    long sampleNanos(RandomGenerator random) {
+        final var variate = random.nextDouble();
+        final var gaussian = random.nextGaussian();
+        final var spiked = random.nextDouble() < spikeProbability;
+        final long nanos =
+                switch (distribution) {
+                    case NONE -> 0;
+                    case FIXED -> fixed.toNanos();
+                    case UNIFORM -> min.toNanos() + (long) (variate * (max.toNanos() - min.toNanos()));
+                    case LOG_NORMAL -> (long) Math.min(
+                            median.toNanos() * Math.exp(sigma * gaussian),
+                            max.isZero() ? MAX_DELAY_NANOS : max.toNanos());
+                };
+        final var capped = Math.min(nanos, MAX_DELAY_NANOS);
+        return spiked ? Math.min(capped + Math.min(spike.toNanos(), MAX_DELAY_NANOS), MAX_DELAY_NANOS) : capped;
+    }
+}
@@ -0,0 +1,102 @@
+package com.reliaquest.server.web;
+
+import com.reliaquest.server.model.MockEmployeeChange;
+import com.reliaquest.server.service.MockEmployeeService;
+import jakarta.annotation.PreDestroy;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes employee changes to Server-Sent Events subscribers. Each event carries the version tag of its change
+ * ("<epoch>-<sequence>") as its id, so a reconnecting client resumes with {@code Last-Event-ID} and is replayed
+ * what it missed from the change log, or sent a {@value #RESYNC_EVENT} event when the log no longer reaches back
+ * that far.
+ *
+ * <p>Changes are only queued per subscriber while MockEmployeeService holds its write lock; they are sent from
+ * a separate executor, so a slow or stalled subscriber never holds up creates and deletes. One that falls more
+ * than {@code mock.events.queue-capacity} events behind is disconnected.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MockEmployeeChangeBroadcaster {
+
+    public static final String RESYNC_EVENT = "resync";
+
+    private final MockEmployeeService mockEmployeeService;
+    private final Set<ChangeSubscription<SseEmitter.SseEventBuilder>> subscriptions = ConcurrentHashMap.newKeySet();
+    private final ExecutorService sender = Executors.newCachedThreadPool(runnable -> {
+        final var thread = new Thread(runnable, "employee-change-sender");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${mock.events.queue-capacity:1024}")
+    private int queueCapacity;
+
+    public SseEmitter subscribe(String lastEventId) {
+        // Subscriptions are long-lived; a zero timeout disables the async request timeout.
+        final var emitter = new SseEmitter(0L);
+        final var subscription = new ChangeSubscription<SseEmitter.SseEventBuilder>(
+                emitter::send, queueCapacity, sender, cause -> {
+                    log.debug("Dropping employee change subscriber: {}", cause.getMessage());
+                    emitter.completeWithError(cause);
+                });
+        emitter.onCompletion(() -> subscriptions.remove(subscription));
+        emitter.onTimeout(() -> subscriptions.remove(subscription));
+        emitter.onError(ex -> subscriptions.remove(subscription));
+
+        if (lastEventId == null) {
+            subscriptions.add(subscription);
+            return emitter;
+        }
+
+        mockEmployeeService.replayChangesSince(lastEventId, changes -> {
+            // A replay that would not fit the queue is answered like one the change log cannot cover.
+            if (changes.resyncRequired() || changes.changes().size() > subscription.capacity()) {
+                final var version = mockEmployeeService.versionTag(changes.version());
+                subscription.offer(SseEmitter.event().id(version).name(RESYNC_EVENT).data(version));
+            } else {
+                changes.changes().forEach(change -> subscription.offer(event(change)));
+            }
+            subscriptions.add(subscription);
+        });
+        log.debug("Resumed employee change subscription from {}", lastEventId);
+        return emitter;
+    }
+
+    /*
+     * Published while MockEmployeeService holds its write lock, so changes are queued in sequence order. Only
+     * queued: nothing here waits for a subscriber.
+     */
+    @EventListener
+    public void onChange(MockEmployeeChange change) {
+        final var event = event(change);
+        subscriptions.forEach(subscription -> {
+            if (!subscription.offer(event)) {
+                subscriptions.remove(subscription);
+            }
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        sender.shutdownNow();
+    }
+
+    private SseEmitter.SseEventBuilder event(MockEmployeeChange change) {
+        return SseEmitter.event()
+                .id(mockEmployeeService.versionTag(change.sequence()))
+                .name(change.type().name())
+                .data(change, MediaType.APPLICATION_JSON);
+    }
+}
@@ -0,0 +1,38 @@
+package com.reliaquest.server.controller;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class MockEmployeeControllerTest {
+
+    @Test
+    void testGzipIsAcceptedWhenListed() {
+        Assertions.assertTrue(MockEmployeeController.acceptsGzip("gzip"));
+        Assertions.assertTrue(MockEmployeeController.acceptsGzip("deflate, GZIP;q=0.5, br"));
+        Assertions.assertTrue(MockEmployeeController.acceptsGzip("gzip;q=0.001"), "Any weight above 0 accepts.");
+    }
+
+    @Test
+    void testGzipWeightedZeroIsRefused() {
+        Assertions.assertFalse(MockEmployeeController.acceptsGzip("gzip;q=0"));
+        Assertions.assertFalse(MockEmployeeController.acceptsGzip("gzip; Q = 0.000, deflate"));
+        Assertions.assertFalse(
+                MockEmployeeController.acceptsGzip("gzip;q=0, *"), "An explicit refusal beats the wildcard.");
+    }
+
+    @Test
+    void testWildcardCoversGzipUnlessRefused() {
+        Assertions.assertTrue(MockEmployeeController.acceptsGzip("*"));
+        Assertions.assertTrue(MockEmployeeController.acceptsGzip("identity, *;q=0.1"));
+        Assertions.assertFalse(MockEmployeeController.acceptsGzip("*;q=0"));
+    }
+
+    @Test
+    void testIdentityOrNoHeaderGetsThePlainBody() {
+        Assertions.assertFalse(MockEmployeeController.acceptsGzip(null));
+        Assertions.assertFalse(MockEmployeeController.acceptsGzip(""));
+        Assertions.assertFalse(MockEmployeeController.acceptsGzip("identity"));
+        Assertions.assertFalse(MockEmployeeController.acceptsGzip("deflate, br"));
+        Assertions.assertFalse(MockEmployeeController.acceptsGzip("x-gzipped"), "Only the gzip coding itself.");
+    }
+}
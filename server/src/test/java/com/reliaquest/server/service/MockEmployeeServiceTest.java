@@ -0,0 +1,137 @@
+package com.reliaquest.server.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.shard.ShardTopology;
+import com.reliaquest.server.store.ListMockEmployeeStore;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class MockEmployeeServiceTest {
+
+    private final AtomicInteger serializations = new AtomicInteger();
+
+    private MockEmployeeService service(ObjectMapper objectMapper) {
+        return new MockEmployeeService(
+                new Faker(),
+                event -> {},
+                new ListMockEmployeeStore(),
+                new ShardTopology(0, 1),
+                objectMapper,
+                new SmileFactory());
+    }
+
+    private static CreateMockEmployeeInput input(String name) {
+        final var input = new CreateMockEmployeeInput();
+        input.setName(name);
+        input.setSalary(90_000);
+        input.setAge(30);
+        input.setTitle("Analyst");
+        return input;
+    }
+
+    @Test
+    void testListIsSerializedOncePerVersion() {
+        final var service = service(new CountingObjectMapper());
+        service.create(input("Liam Anderson"));
+
+        final var first = service.getSerializedEmployees();
+        Assertions.assertSame(first, service.getSerializedEmployees(), "The same version is served from the cache.");
+        Assertions.assertEquals(1, serializations.get());
+
+        service.create(input("Olivia Chen"));
+        final var second = service.getSerializedEmployees();
+        Assertions.assertNotSame(first, second, "A change makes a new version.");
+        Assertions.assertEquals(2, second.version());
+        Assertions.assertTrue(new String(second.json(), StandardCharsets.UTF_8).contains("Olivia Chen"));
+        Assertions.assertEquals(2, serializations.get());
+    }
+
+    @Test
+    void testConcurrentRequestsShareOneSerialization() throws Exception {
+        final var serializing = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+        final var service = service(new CountingObjectMapper() {
+            @Override
+            public byte[] writeValueAsBytes(Object value) throws JsonProcessingException {
+                serializing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.writeValueAsBytes(value);
+            }
+        });
+        service.create(input("Liam Anderson"));
+
+        final var results = new ArrayList<AtomicReference<SerializedEmployees>>();
+        final var threads = new ArrayList<Thread>();
+        for (var i = 0; i < 8; i++) {
+            final var result = new AtomicReference<SerializedEmployees>();
+            final var thread = new Thread(() -> result.set(service.getSerializedEmployees()));
+            results.add(result);
+            threads.add(thread);
+            thread.start();
+            if (i == 0) {
+                serializing.await();
+            }
+        }
+        // Everyone but the serializing request waits for its result rather than serializing too.
+        for (final var thread : threads.subList(1, threads.size())) {
+            while (thread.getState() != Thread.State.WAITING) {
+                Thread.onSpinWait();
+            }
+        }
+        release.countDown();
+        for (final var thread : threads) {
+            thread.join();
+        }
+
+        Assertions.assertEquals(1, serializations.get(), "Only one request serializes the version.");
+        for (final var result : results) {
+            Assertions.assertSame(results.get(0).get(), result.get(), "Every request gets the shared bytes.");
+        }
+    }
+
+    @Test
+    void testFailedSerializationIsRetriedByTheNextRequest() {
+        final var failures = new AtomicInteger(1);
+        final var service = service(new CountingObjectMapper() {
+            @Override
+            public byte[] writeValueAsBytes(Object value) throws JsonProcessingException {
+                if (failures.getAndDecrement() > 0) {
+                    super.writeValueAsBytes(value);
+                    throw new JsonMappingException(null, "Serialization failed");
+                }
+                return super.writeValueAsBytes(value);
+            }
+        });
+        service.create(input("Liam Anderson"));
+
+        Assertions.assertThrows(CompletionException.class, service::getSerializedEmployees);
+        final var serialized = service.getSerializedEmployees();
+
+        Assertions.assertEquals(1, serialized.version(), "A failure is not cached.");
+        Assertions.assertEquals(2, serializations.get());
+    }
+
+    private class CountingObjectMapper extends ObjectMapper {
+
+        @Override
+        public byte[] writeValueAsBytes(Object value) throws JsonProcessingException {
+            serializations.incrementAndGet();
+            return super.writeValueAsBytes(value);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.reliaquest.server.shard;
+
+import java.util.UUID;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ShardRingTest {
+
+    // Pinned owners on a ring of four, the same vectors as the api client's ShardRingTest.
+    private static final String[] IDS = {
+        "00000000-0000-0000-0000-000000000000",
+        "d005f39a-beb8-4390-afec-fd54e91d94ee",
+        "5255f1a5-f9f7-4be5-829a-134bde088d17",
+        "6e1c8d3a-2f4b-4c8e-9a1d-7b3e5f2a9c04",
+        "f0e1d2c3-b4a5-4968-8776-655443322110",
+        "123e4567-e89b-42d3-a456-426614174000"
+    };
+    private static final int[] OWNERS = {1, 2, 2, 1, 2, 3};
+
+    /*
+     * Fails on both sides, rather than letting them route ids to different shards, if either ring's hash or
+     * points change.
+     */
+    @Test
+    void testKnownHashesAndOwnersMatchTheApiClient() {
+        Assertions.assertEquals(-3413787052447643614L, ShardRing.hash("shard-0#0"), "Hash of the first point.");
+        Assertions.assertEquals(2174674170522848004L, ShardRing.hash(IDS[0]), "Hash of the nil UUID.");
+
+        final var ring = new ShardRing(4);
+        for (var i = 0; i < IDS.length; i++) {
+            Assertions.assertEquals(OWNERS[i], ring.shardOf(UUID.fromString(IDS[i])), "Owner of " + IDS[i]);
+        }
+    }
+
+    @Test
+    void testSingleShardOwnsEverything() {
+        Assertions.assertEquals(0, new ShardRing(1).shardOf(UUID.randomUUID()));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ShardRing(0));
+    }
+}
@@ -0,0 +1,102 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ColumnarMockEmployeeStoreTest {
+
+    private final ColumnarMockEmployeeStore store = new ColumnarMockEmployeeStore(false);
+
+    @Test
+    void testAddedEmployeesAreFoundById() {
+        final var liam = employee("Liam Anderson", 0);
+        final var olivia = new MockEmployee(UUID.randomUUID(), "Olivia Ch\u00e9n", null, null, null, null);
+        store.add(liam);
+        store.add(olivia);
+
+        Assertions.assertEquals(Optional.of(liam), store.findById(liam.getId()));
+        Assertions.assertEquals(
+                Optional.of(olivia), store.findById(olivia.getId()), "Nulls and non-ASCII names round trip.");
+        Assertions.assertEquals(Optional.empty(), store.findById(UUID.randomUUID()));
+        Assertions.assertEquals(List.of(liam, olivia), List.copyOf(store.snapshot()));
+        Assertions.assertEquals(Optional.of(olivia), store.findFirstByName("OLIVIA CH\u00c9N"));
+    }
+
+    @Test
+    void testRemovedEmployeesAreGoneButStayInEarlierSnapshots() {
+        final var liam = employee("Liam Anderson", 0);
+        final var olivia = employee("Olivia Chen", 1);
+        store.add(liam);
+        store.add(olivia);
+        final var before = store.snapshot();
+
+        Assertions.assertTrue(store.remove(liam.getId()));
+        Assertions.assertFalse(store.remove(liam.getId()), "An employee is only removed once.");
+
+        Assertions.assertEquals(Optional.empty(), store.findById(liam.getId()));
+        Assertions.assertEquals(List.of(olivia), List.copyOf(store.snapshot()));
+        Assertions.assertEquals(1, store.size());
+        Assertions.assertEquals(List.of(liam, olivia), List.copyOf(before), "A snapshot is not disturbed by writes.");
+    }
+
+    @Test
+    void testIdsAreFoundThroughIdTableGrowth() {
+        final var employees = new ArrayList<MockEmployee>();
+        for (var i = 0; i < 20_000; i++) {
+            final var employee = employee("Employee " + i, i);
+            employees.add(employee);
+            store.add(employee);
+        }
+
+        for (final var employee : employees) {
+            Assertions.assertEquals(Optional.of(employee), store.findById(employee.getId()));
+        }
+    }
+
+    @Test
+    void testCompactionKeepsLiveEmployeesInOrder() {
+        final var employees = new ArrayList<MockEmployee>();
+        for (var i = 0; i < 20_000; i++) {
+            final var employee = employee("Employee " + i, i);
+            employees.add(employee);
+            store.add(employee);
+        }
+        final var columnBytes = store.columnBytes();
+        final var beforeCompaction = store.snapshot();
+
+        // Removing three of every four outnumbers the live rows and triggers compaction.
+        final var survivors = new ArrayList<MockEmployee>();
+        for (var i = 0; i < employees.size(); i++) {
+            if (i % 4 == 0) {
+                survivors.add(employees.get(i));
+            } else {
+                Assertions.assertTrue(store.remove(employees.get(i).getId()));
+            }
+        }
+
+        Assertions.assertTrue(store.columnBytes() < columnBytes, "Compaction releases the removed rows.");
+        Assertions.assertEquals(survivors, List.copyOf(store.snapshot()));
+        Assertions.assertEquals(employees, List.copyOf(beforeCompaction), "Old snapshots keep the old chunks.");
+        for (var i = 0; i < employees.size(); i++) {
+            final var employee = employees.get(i);
+            Assertions.assertEquals(
+                    i % 4 == 0 ? Optional.of(employee) : Optional.empty(), store.findById(employee.getId()));
+        }
+
+        final var added = employee("Added After Compaction", 20_000);
+        store.add(added);
+        Assertions.assertEquals(Optional.of(added), store.findById(added.getId()));
+        Assertions.assertTrue(store.remove(survivors.get(0).getId()));
+        Assertions.assertEquals(Optional.empty(), store.findById(survivors.get(0).getId()));
+    }
+
+    private static MockEmployee employee(String name, int i) {
+        return new MockEmployee(
+                UUID.randomUUID(), name, 50_000 + i, 20 + i % 50, "Title " + i % 10, "employee" + i + "@company.com");
+    }
+}
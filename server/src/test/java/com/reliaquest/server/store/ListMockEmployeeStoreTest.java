@@ -0,0 +1,63 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ListMockEmployeeStoreTest {
+
+    private final ListMockEmployeeStore store = new ListMockEmployeeStore();
+
+    @Test
+    void testSnapshotIsNotChangedByLaterWrites() {
+        final var liam = employee("Liam Anderson", 0);
+        final var olivia = employee("Olivia Chen", 1);
+        store.add(liam);
+        store.add(olivia);
+        final var snapshot = store.snapshot();
+
+        Assertions.assertTrue(store.remove(liam.getId()));
+        store.add(employee("Noah Miller", 2));
+
+        Assertions.assertEquals(
+                List.of(liam, olivia), List.copyOf(snapshot), "A snapshot keeps the employees it was taken with.");
+        Assertions.assertEquals(2, snapshot.size(), "A snapshot's size does not follow later writes.");
+        Assertions.assertEquals(2, store.size());
+    }
+
+    @Test
+    void testLookupsFollowWrites() {
+        final var liam = employee("Liam Anderson", 0);
+        final var olivia = employee("Olivia Chen", 1);
+        store.add(liam);
+        store.add(olivia);
+
+        Assertions.assertEquals(liam, store.findById(liam.getId()).orElseThrow());
+        Assertions.assertEquals(olivia, store.findFirstByName("olivia chen").orElseThrow());
+        Assertions.assertTrue(store.remove(liam.getId()));
+        Assertions.assertFalse(store.remove(liam.getId()), "An employee is only removed once.");
+        Assertions.assertTrue(store.findById(liam.getId()).isEmpty());
+        Assertions.assertTrue(store.findFirstByName("Liam Anderson").isEmpty());
+        Assertions.assertEquals(1, store.size());
+    }
+
+    @Test
+    void testSnapshotKeepsInsertionOrderAndIsShared() {
+        final var employees = List.of(employee("Liam Anderson", 0), employee("Olivia Chen", 1), employee("Noah", 2));
+        employees.forEach(store::add);
+
+        final var snapshot = store.snapshot();
+
+        Assertions.assertEquals(employees, List.copyOf(snapshot));
+        Assertions.assertSame(snapshot, store.snapshot(), "Reads between writes share one snapshot.");
+        store.remove(employees.get(1).getId());
+        Assertions.assertEquals(List.of(employees.get(0), employees.get(2)), List.copyOf(store.snapshot()));
+    }
+
+    private static MockEmployee employee(String name, int i) {
+        return new MockEmployee(
+                UUID.randomUUID(), name, 50_000 + i, 20 + i % 50, "Title " + i % 10, "employee" + i + "@company.com");
+    }
+}
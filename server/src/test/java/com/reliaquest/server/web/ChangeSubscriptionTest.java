@@ -0,0 +1,73 @@
+package com.reliaquest.server.web;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ChangeSubscriptionTest {
+
+    @Test
+    void testEventsAreSentInTheOrderTheyWereOffered() throws InterruptedException {
+        final var sent = new CopyOnWriteArrayList<Integer>();
+        final var executor = Executors.newFixedThreadPool(4);
+        final var subscription = new ChangeSubscription<Integer>(sent::add, 1_000, executor, cause -> {});
+        try {
+            final var offered = new ArrayList<Integer>();
+            for (int i = 0; i < 1_000; i++) {
+                Assertions.assertTrue(subscription.offer(i), "A subscriber keeping up is never dropped.");
+                offered.add(i);
+            }
+            executor.shutdown();
+            Assertions.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+            Assertions.assertEquals(offered, sent, "One sender at a time keeps the events in order.");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testStalledSubscriberIsDroppedWithoutBlockingTheOfferingThread() throws InterruptedException {
+        final var stalled = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+        final var dropped = new AtomicReference<Exception>();
+        final var executor = Executors.newSingleThreadExecutor();
+        final var subscription = new ChangeSubscription<Integer>(
+                event -> {
+                    stalled.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                },
+                4,
+                executor,
+                dropped::set);
+        try {
+            subscription.offer(0);
+            Assertions.assertTrue(stalled.await(5, TimeUnit.SECONDS), "The first event is being sent.");
+
+            final var accepted = new ArrayList<Boolean>();
+            for (int i = 1; i <= 5; i++) {
+                accepted.add(subscription.offer(i));
+            }
+
+            Assertions.assertEquals(
+                    List.of(true, true, true, true, false),
+                    accepted,
+                    "The fifth event queued behind a stalled send overflows the queue.");
+            Assertions.assertTrue(subscription.isDropped());
+            Assertions.assertNotNull(dropped.get(), "Dropping the subscriber closes its connection.");
+            Assertions.assertFalse(subscription.offer(6), "Nothing more is queued for a dropped subscriber.");
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.reliaquest.server.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+public class FaultInjectionFilterTest {
+
+    private static final byte[] BODY =
+            "{\"data\":[\"Liam Anderson\",\"Olivia Chen\"]}".getBytes(StandardCharsets.UTF_8);
+
+    private final AtomicReference<ServletResponse> handledWith = new AtomicReference<>();
+
+    // The handler behind the filter: writes BODY to whichever response it is given.
+    private final FilterChain chain = (request, response) -> {
+        handledWith.set(response);
+        response.getOutputStream().write(BODY);
+    };
+
+    @Test
+    void testErrorIsAnsweredWithoutHandling() throws ServletException, IOException {
+        final var response = new MockHttpServletResponse();
+
+        filter(endpoint(1, 0, 0)).doFilter(request(), response, chain);
+
+        Assertions.assertNull(handledWith.get(), "An injected error is answered instead of the request.");
+        Assertions.assertEquals(503, response.getStatus());
+        Assertions.assertTrue(response.getContentAsString().contains(FaultInjectionFilter.INJECTED_FAULT));
+    }
+
+    @Test
+    void testResetCutsTheBodyOffHalfWay() throws ServletException, IOException {
+        final var response = new MockHttpServletResponse();
+
+        filter(endpoint(0, 1, 0)).doFilter(request(), response, chain);
+
+        Assertions.assertEquals(BODY.length, response.getContentLength(), "The full length is declared.");
+        Assertions.assertEquals(BODY.length / 2, response.getContentAsByteArray().length, "Half of it is written.");
+        Assertions.assertEquals("close", response.getHeader(HttpHeaders.CONNECTION));
+    }
+
+    @Test
+    void testDripWritesTheWholeBodyAChunkAtATime() throws ServletException, IOException {
+        final var response = new MockHttpServletResponse();
+        final var flushes = new AtomicInteger();
+        final var counting = new HttpServletResponseWrapper(response) {
+            @Override
+            public void flushBuffer() throws IOException {
+                flushes.incrementAndGet();
+                super.flushBuffer();
+            }
+        };
+
+        filter(endpoint(0, 0, 1)).doFilter(request(), counting, chain);
+
+        Assertions.assertArrayEquals(BODY, response.getContentAsByteArray(), "A dripped body arrives whole.");
+        Assertions.assertEquals(BODY.length, response.getContentLength());
+        Assertions.assertEquals((BODY.length + 7) / 8, flushes.get(), "One flush per 8-byte chunk.");
+    }
+
+    @Test
+    void testStreamedRequestsBypassBodyFaults() throws ServletException, IOException {
+        for (final var faults : List.of(endpoint(0, 1, 0), endpoint(0, 0, 1))) {
+            final var ndjson = request();
+            ndjson.addHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_NDJSON_VALUE);
+            final var formatNdjson = request();
+            formatNdjson.setParameter("format", "ndjson");
+            final var events = request();
+            events.addHeader(HttpHeaders.ACCEPT, MediaType.TEXT_EVENT_STREAM_VALUE);
+
+            for (final var request : List.of(ndjson, formatNdjson, events)) {
+                final var response = new MockHttpServletResponse();
+
+                filter(faults).doFilter(request, response, chain);
+
+                Assertions.assertSame(response, handledWith.get(), "A streamed response is not buffered.");
+                Assertions.assertArrayEquals(BODY, response.getContentAsByteArray());
+                Assertions.assertNull(response.getHeader(HttpHeaders.CONNECTION));
+            }
+        }
+    }
+
+    @Test
+    void testStreamedRequestsStillGetErrors() throws ServletException, IOException {
+        final var request = request();
+        request.addHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_NDJSON_VALUE);
+        final var response = new MockHttpServletResponse();
+
+        filter(endpoint(1, 0, 0)).doFilter(request, response, chain);
+
+        Assertions.assertNull(handledWith.get());
+        Assertions.assertEquals(503, response.getStatus());
+    }
+
+    @Test
+    void testDisabledFaultsPassRequestsThrough() throws ServletException, IOException {
+        final var response = new MockHttpServletResponse();
+        final var injector = new FaultInjector(new FaultProfile(false, 42, endpoint(1, 0, 0), List.of()));
+
+        new FaultInjectionFilter(injector, new ObjectMapper()).doFilter(request(), response, chain);
+
+        Assertions.assertSame(response, handledWith.get());
+        Assertions.assertArrayEquals(BODY, response.getContentAsByteArray());
+    }
+
+    private static MockHttpServletRequest request() {
+        return new MockHttpServletRequest("GET", "/api/v1/employee");
+    }
+
+    private static EndpointFaults endpoint(double errorRate, double resetRate, double dripRate) {
+        return new EndpointFaults(null, "/api/**", null, errorRate, 503, resetRate, dripRate, 8, Duration.ofMillis(1));
+    }
+
+    private static FaultInjectionFilter filter(EndpointFaults faults) {
+        final var injector = new FaultInjector(new FaultProfile(true, 42, faults, List.of()));
+        return new FaultInjectionFilter(injector, new ObjectMapper());
+    }
+}
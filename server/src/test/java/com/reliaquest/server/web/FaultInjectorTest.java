@@ -0,0 +1,97 @@
+package com.reliaquest.server.web;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class FaultInjectorTest {
+
+    private static final String PATH = "/api/v1/employee";
+
+    private static final Latency UNIFORM = new Latency(
+            Latency.Distribution.UNIFORM,
+            Duration.ZERO,
+            Duration.ZERO,
+            Duration.ofMillis(50),
+            Duration.ZERO,
+            0.5,
+            0.05,
+            Duration.ofSeconds(1));
+
+    private static final EndpointFaults EVERYTHING =
+            new EndpointFaults(null, "/api/**", UNIFORM, 0.1, 503, 0.1, 0.1, 256, Duration.ofMillis(100));
+
+    @Test
+    void testSameSeedGivesTheSameFaultsPerRequestNumber() {
+        final var profile = new FaultProfile(true, 42, EVERYTHING, List.of());
+
+        final var first = draw(new FaultInjector(profile), 1_000);
+        final var second = draw(new FaultInjector(profile), 1_000);
+
+        Assertions.assertEquals(first, second, "Request n gets the same faults from the same seed.");
+        Assertions.assertTrue(first.stream().anyMatch(faults -> faults.errorStatus() == 503));
+        Assertions.assertTrue(first.stream().anyMatch(FaultInjector.Faults::reset));
+        Assertions.assertTrue(first.stream().anyMatch(faults -> faults.drip() != null));
+    }
+
+    @Test
+    void testOtherSeedGivesOtherFaults() {
+        final var first = draw(new FaultInjector(new FaultProfile(true, 42, EVERYTHING, List.of())), 100);
+        final var second = draw(new FaultInjector(new FaultProfile(true, 43, EVERYTHING, List.of())), 100);
+
+        Assertions.assertNotEquals(first, second);
+    }
+
+    @Test
+    void testApplyingAProfileStartsTheNumberingOver() {
+        final var profile = new FaultProfile(true, 42, EVERYTHING, List.of());
+        final var injector = new FaultInjector(profile);
+        final var first = draw(injector, 100);
+
+        injector.apply(profile);
+
+        Assertions.assertEquals(first, draw(injector, 100), "A reapplied profile replays the same faults.");
+        Assertions.assertEquals(100, injector.stats().requests());
+    }
+
+    @Test
+    void testStatsCountWhatWasInjected() {
+        final var injector = new FaultInjector(new FaultProfile(true, 42, EVERYTHING, List.of()));
+
+        final var drawn = draw(injector, 1_000);
+        final var stats = injector.stats();
+
+        Assertions.assertEquals(1_000, stats.requests());
+        Assertions.assertEquals(drawn.stream().filter(faults -> faults.errorStatus() != 0).count(), stats.errors());
+        Assertions.assertEquals(drawn.stream().filter(FaultInjector.Faults::reset).count(), stats.resets());
+        Assertions.assertEquals(drawn.stream().filter(faults -> faults.drip() != null).count(), stats.drips());
+        Assertions.assertEquals(drawn.stream().filter(faults -> faults.delayNanos() > 0).count(), stats.delayed());
+    }
+
+    @Test
+    void testEndpointOverridesTheDefaultsForItsMethod() {
+        final var errors = new EndpointFaults("POST", "/api/**", null, 1, 500, 0, 0, 256, Duration.ofMillis(100));
+        final var injector = new FaultInjector(new FaultProfile(true, 42, EndpointFaults.NONE, List.of(errors)));
+
+        Assertions.assertEquals(500, injector.next("POST", PATH).errorStatus());
+        Assertions.assertEquals(0, injector.next("GET", PATH).errorStatus(), "Other methods get the defaults.");
+    }
+
+    @Test
+    void testDisabledProfileInjectsNothing() {
+        final var injector = new FaultInjector(new FaultProfile(false, 42, EVERYTHING, List.of()));
+
+        Assertions.assertNull(injector.next("GET", PATH));
+        Assertions.assertEquals(0, injector.stats().requests(), "Requests are not numbered while disabled.");
+    }
+
+    private static List<FaultInjector.Faults> draw(FaultInjector injector, int requests) {
+        final var faults = new ArrayList<FaultInjector.Faults>();
+        for (var i = 0; i < requests; i++) {
+            faults.add(injector.next("GET", PATH));
+        }
+        return faults;
+    }
+}
@@ -0,0 +1,72 @@
+package com.reliaquest.server.web;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.BindException;
+
+public class FaultProfileTest {
+
+    @Test
+    void testProfileBindsLikeTheYmlBlock() {
+        final var profile = FaultProfile.bind(Map.of(
+                "enabled", true,
+                "seed", 7,
+                "defaults", Map.of("latency", Map.of("distribution", "log-normal", "median", "20ms", "sigma", 0.6)),
+                "endpoints", List.of(Map.of("method", "POST", "error-rate", 0.5, "error-status", 500))));
+
+        Assertions.assertTrue(profile.enabled());
+        Assertions.assertEquals(7, profile.seed());
+        Assertions.assertEquals(Latency.Distribution.LOG_NORMAL, profile.defaults().latency().distribution());
+        Assertions.assertEquals(Duration.ofMillis(20), profile.defaults().latency().median());
+        Assertions.assertEquals("/api/**", profile.endpoints().get(0).path(), "An endpoint covers /api/** by default.");
+        Assertions.assertEquals(500, profile.faultsFor("POST", "/api/v1/employee").errorStatus());
+        Assertions.assertSame(profile.defaults(), profile.faultsFor("GET", "/api/v1/employee"));
+    }
+
+    @Test
+    void testMissingPartsFallBackToNoFaults() {
+        final var profile = new FaultProfile(true, 42, null, null);
+
+        Assertions.assertSame(EndpointFaults.NONE, profile.defaults());
+        Assertions.assertEquals(List.of(), profile.endpoints());
+        Assertions.assertSame(Latency.NONE, endpoint(null, 0, 503, 256).latency());
+    }
+
+    @Test
+    void testInvalidFaultsAreRejected() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> endpoint(null, 1.5, 503, 256), "error-rate");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> endpoint(null, -0.1, 503, 256), "error-rate");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> endpoint(null, 0, 200, 256), "error-status");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> endpoint(null, 0, 503, 0), "drip-chunk-bytes");
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> new EndpointFaults(null, "/api/**", null, 0, 503, 2, 0, 256, Duration.ofMillis(100)),
+                "reset-rate");
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> new EndpointFaults(null, "/api/**", null, 0, 503, 0, 2, 256, Duration.ofMillis(100)),
+                "drip-rate");
+    }
+
+    @Test
+    void testInvalidProfileFailsToBind() {
+        final var backwards = Map.of("distribution", "uniform", "min", "2s", "max", "1s");
+
+        Assertions.assertThrows(
+                BindException.class,
+                () -> FaultProfile.bind(Map.of("enabled", true, "defaults", Map.of("error-rate", 2))),
+                "A rate above 1 is not a probability.");
+        Assertions.assertThrows(
+                BindException.class,
+                () -> FaultProfile.bind(Map.of("defaults", Map.of("latency", backwards))),
+                "max cannot be below min.");
+    }
+
+    private static EndpointFaults endpoint(Latency latency, double errorRate, int errorStatus, int dripChunkBytes) {
+        return new EndpointFaults(
+                null, "/api/**", latency, errorRate, errorStatus, 0, 0, dripChunkBytes, Duration.ofMillis(100));
+    }
+}
@@ -0,0 +1,125 @@
+package com.reliaquest.server.web;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class LatencyTest {
+
+    private static final int SAMPLES = 100_000;
+
+    @Test
+    void testUniformStaysBetweenMinAndMax() {
+        final var latency = uniform(Duration.ofMillis(10), Duration.ofMillis(30));
+
+        final var samples = sample(latency);
+
+        Assertions.assertTrue(samples[0] >= Duration.ofMillis(10).toNanos(), "No delay is below min.");
+        Assertions.assertTrue(samples[SAMPLES - 1] < Duration.ofMillis(30).toNanos(), "No delay reaches max.");
+        Assertions.assertEquals(Duration.ofMillis(20).toNanos(), samples[SAMPLES / 2], Duration.ofMillis(1).toNanos());
+    }
+
+    @Test
+    void testLogNormalCentersOnTheMedian() {
+        final var latency = logNormal(Duration.ofMillis(20), 0.6, Duration.ZERO);
+
+        final var samples = sample(latency);
+
+        Assertions.assertEquals(Duration.ofMillis(20).toNanos(), samples[SAMPLES / 2], Duration.ofMillis(1).toNanos());
+        // e^(0.6 * 2.326), the 99th percentile of the distribution, is about 4.04 times the median.
+        Assertions.assertEquals(
+                Duration.ofMillis(81).toNanos(), samples[SAMPLES * 99 / 100], Duration.ofMillis(4).toNanos());
+        Assertions.assertTrue(samples[0] > 0, "A log-normal delay is never zero.");
+    }
+
+    @Test
+    void testLogNormalTailIsCutOffAtMax() {
+        final var samples = sample(logNormal(Duration.ofMillis(20), 3, Duration.ofMillis(500)));
+
+        Assertions.assertEquals(Duration.ofMillis(500).toNanos(), samples[SAMPLES - 1], "The tail stops at max.");
+        Assertions.assertTrue(samples[SAMPLES / 2] < Duration.ofMillis(500).toNanos());
+    }
+
+    @Test
+    void testLargeSigmaIsCappedAtTheMaximumDelay() {
+        final var samples = sample(logNormal(Duration.ofMillis(20), 500, Duration.ZERO));
+
+        Assertions.assertEquals(
+                Latency.MAX_DELAY.toNanos(), samples[SAMPLES - 1], "e^(sigma * gaussian) overflows, the delay not.");
+        Assertions.assertTrue(samples[0] >= 0);
+    }
+
+    @Test
+    void testSpikesHitTheirShareOfRequests() {
+        final var latency = fixed(Duration.ofMillis(5), 0.01, Duration.ofSeconds(2));
+
+        final var samples = sample(latency);
+        final var spiked = Arrays.stream(samples)
+                .filter(nanos -> nanos == Duration.ofMillis(2_005).toNanos())
+                .count();
+
+        Assertions.assertEquals(SAMPLES / 100, spiked, SAMPLES / 1_000, "About 1% of requests get the spike.");
+        Assertions.assertEquals(
+                SAMPLES - spiked,
+                Arrays.stream(samples)
+                        .filter(nanos -> nanos == Duration.ofMillis(5).toNanos())
+                        .count(),
+                "Every other request gets the fixed delay only.");
+    }
+
+    @Test
+    void testSpikeOnTopOfTheMaximumDelayIsCapped() {
+        final var latency = fixed(Duration.ofHours(1), 1, Duration.ofHours(1));
+
+        Assertions.assertEquals(Latency.MAX_DELAY.toNanos(), latency.sampleNanos(new SplittableRandom(42)));
+    }
+
+    @Test
+    void testInvalidLatencyIsRejected() {
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> uniform(Duration.ofMillis(30), Duration.ofMillis(10)),
+                "max cannot be below min.");
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> logNormal(Duration.ofMillis(20), -0.1, Duration.ZERO),
+                "sigma cannot be negative.");
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> fixed(Duration.ZERO, 1.5, Duration.ZERO),
+                "spike-probability is a probability.");
+    }
+
+    private static long[] sample(Latency latency) {
+        final var random = new SplittableRandom(42);
+        final var samples = new long[SAMPLES];
+        for (var i = 0; i < SAMPLES; i++) {
+            samples[i] = latency.sampleNanos(random);
+        }
+        Arrays.sort(samples);
+        return samples;
+    }
+
+    private static Latency uniform(Duration min, Duration max) {
+        return new Latency(Latency.Distribution.UNIFORM, Duration.ZERO, min, max, Duration.ZERO, 0.5, 0, Duration.ZERO);
+    }
+
+    private static Latency fixed(Duration fixed, double spikeProbability, Duration spike) {
+        return new Latency(
+                Latency.Distribution.FIXED,
+                fixed,
+                Duration.ZERO,
+                Duration.ZERO,
+                Duration.ZERO,
+                0.5,
+                spikeProbability,
+                spike);
+    }
+
+    private static Latency logNormal(Duration median, double sigma, Duration max) {
+        return new Latency(
+                Latency.Distribution.LOG_NORMAL, Duration.ZERO, Duration.ZERO, max, median, sigma, 0, Duration.ZERO);
+    }
+}